@@ -0,0 +1,78 @@
+package com.blindworks.rhenanenmanager.config;
+
+import com.blindworks.rhenanenmanager.domain.dto.response.BulkImportResponse;
+import com.blindworks.rhenanenmanager.service.ArticleImportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Command line import of article files, which exits when done:
+ * {@code java -jar rhenanenmanager-backend.jar --spring.main.web-application-type=none
+ * --import-articles=issue-2024-06.csv}. The option may be repeated. Files ending in
+ * {@code .json} are read as JSON arrays, all others as UTF-8 CSV. The exit code is 1 if any
+ * row was rejected.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ArticleImportRunner implements ApplicationRunner {
+
+    static final String OPTION = "import-articles";
+
+    private final ArticleImportService articleImportService;
+    private final ConfigurableApplicationContext context;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        if (!args.containsOption(OPTION)) {
+            return;
+        }
+        int exitCode = importFiles(args.getOptionValues(OPTION));
+        System.exit(SpringApplication.exit(context, () -> exitCode));
+    }
+
+    /**
+     * Import the files one after another.
+     *
+     * @return 0 if all rows were imported, 1 otherwise
+     */
+    public int importFiles(List<String> files) throws IOException {
+        int exitCode = 0;
+        for (String file : files) {
+            Path path = Path.of(file);
+            BulkImportResponse report;
+            if (file.toLowerCase(Locale.ROOT).endsWith(".json")) {
+                try (InputStream json = Files.newInputStream(path)) {
+                    report = articleImportService.importArticles(json);
+                }
+            } else {
+                try (Reader csv = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                    report = articleImportService.importArticlesCsv(csv);
+                }
+            }
+            log.info("Imported {}: {} of {} articles, {} rows rejected",
+                    file, report.getImported(), report.getTotalRows(), report.getFailed());
+            for (BulkImportResponse.RowError error : report.getErrors()) {
+                log.warn("{} row {}: {}", file, error.getRow(), error.getMessage());
+            }
+            if (report.getFailed() > 0) {
+                exitCode = 1;
+            }
+        }
+        return exitCode;
+    }
+}
@@ -0,0 +1,17 @@
+package com.blindworks.rhenanenmanager.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} background jobs, which run on the scheduler threads
+ * and never on request threads.
+ *
+ * The scheduler pool ({@code spring.task.scheduling.pool.size}) has a thread per job, so
+ * long runs such as the graph analytics or the daily related-articles rebuild do not hold
+ * up the change feed heartbeats or the completion refresh.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -2,7 +2,15 @@ package com.blindworks.rhenanenmanager.controller;
 
 import com.blindworks.rhenanenmanager.domain.dto.request.ArticleEntryRequest;
 import com.blindworks.rhenanenmanager.domain.dto.response.ArticleEntryResponse;
+import com.blindworks.rhenanenmanager.domain.dto.response.ArticleSearchResponse;
+import com.blindworks.rhenanenmanager.domain.dto.response.ArticleSliceResponse;
+import com.blindworks.rhenanenmanager.domain.dto.response.BulkImportResponse;
+import com.blindworks.rhenanenmanager.domain.dto.response.RelatedArticleResponse;
+import com.blindworks.rhenanenmanager.domain.dto.response.SuggestionResponse;
 import com.blindworks.rhenanenmanager.service.ArticleEntryService;
+import com.blindworks.rhenanenmanager.service.ArticleImportService;
+import com.blindworks.rhenanenmanager.service.ExportService;
+import com.blindworks.rhenanenmanager.service.export.ExportFormat;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -11,11 +19,16 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.io.Reader;
 import java.util.List;
 
 /**
@@ -29,11 +42,16 @@ import java.util.List;
 @Tag(name = "Article Entries", description = "Rhenanenruf Glossar API")
 public class ArticleEntryController {
 
+    private static final int MAX_SUGGESTIONS = 20;
+    private static final int MAX_SLICE_SIZE = 100;
+
     private final ArticleEntryService articleEntryService;
+    private final ArticleImportService articleImportService;
+    private final ExportService exportService;
 
     @GetMapping
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER')")
-    @Operation(summary = "Get all articles", description = "Get all articles with pagination")
+    @Operation(summary = "Get all articles", description = "Get all articles with pagination, with text previews instead of texts")
     public ResponseEntity<Page<ArticleEntryResponse>> getAllArticles(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
@@ -43,18 +61,61 @@ public class ArticleEntryController {
         return ResponseEntity.ok(articles);
     }
 
+    @GetMapping("/scroll")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER')")
+    @Operation(summary = "Scroll through articles",
+               description = "Get articles with text previews instead of texts, newest first, optionally of one category, " +
+                             "by keyset pagination. " +
+                             "Pass the nextCursor of a slice as cursor to get the following one; deep slices " +
+                             "cost the same as the first and no total is counted. size is capped at " +
+                             MAX_SLICE_SIZE)
+    public ResponseEntity<ArticleSliceResponse> scrollArticles(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        log.info("GET /api/articles/scroll?category={}&cursor={} - size: {}", category, cursor, size);
+        int boundedSize = Math.max(1, Math.min(size, MAX_SLICE_SIZE));
+        return ResponseEntity.ok(articleEntryService.getArticleSlice(category, cursor, boundedSize));
+    }
+
+    @GetMapping("/export")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @Operation(summary = "Export the article archive",
+               description = "Download all articles with their texts as csv, ndjson or xlsx, streamed while they " +
+                             "are read from the database. csv and ndjson are gzip-encoded if the client accepts it. " +
+                             "The csv columns match the bulk import")
+    public ResponseEntity<StreamingResponseBody> exportArticles(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        log.info("GET /api/articles/export?format={}", format);
+        ExportFormat exportFormat = ExportFormat.fromParameter(format);
+        return ExportResponses.stream(exportFormat, "rhenanenruf-articles", acceptEncoding,
+                out -> exportService.exportArticles(exportFormat, out));
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER')")
-    @Operation(summary = "Get article by ID", description = "Get a specific article by its ID")
+    @Operation(summary = "Get article by ID", description = "Get a specific article with its text by its ID")
     public ResponseEntity<ArticleEntryResponse> getArticleById(@PathVariable Long id) {
         log.info("GET /api/articles/{}", id);
         ArticleEntryResponse article = articleEntryService.getArticleById(id);
         return ResponseEntity.ok(article);
     }
 
+    @GetMapping("/{id}/related")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER')")
+    @Operation(summary = "Get related articles",
+               description = "Get up to 10 articles sharing the most keywords with an article, most similar " +
+                             "first. The lists are precomputed in the background and follow changes within " +
+                             "seconds")
+    public ResponseEntity<List<RelatedArticleResponse>> getRelatedArticles(@PathVariable Long id) {
+        log.info("GET /api/articles/{}/related", id);
+        return ResponseEntity.ok(articleEntryService.getRelatedArticles(id));
+    }
+
     @GetMapping("/year/{year}")
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER')")
-    @Operation(summary = "Get articles by year", description = "Get all articles from a specific year")
+    @Operation(summary = "Get articles by year", description = "Get all articles from a specific year, with text previews instead of texts")
     public ResponseEntity<List<ArticleEntryResponse>> getArticlesByYear(@PathVariable Integer year) {
         log.info("GET /api/articles/year/{}", year);
         List<ArticleEntryResponse> articles = articleEntryService.getArticlesByYear(year);
@@ -63,7 +124,7 @@ public class ArticleEntryController {
 
     @GetMapping("/category/{category}")
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER')")
-    @Operation(summary = "Get articles by category", description = "Get all articles from a specific category")
+    @Operation(summary = "Get articles by category", description = "Get all articles from a specific category, with text previews instead of texts")
     public ResponseEntity<Page<ArticleEntryResponse>> getArticlesByCategory(
             @PathVariable String category,
             @RequestParam(defaultValue = "0") int page,
@@ -76,20 +137,46 @@ public class ArticleEntryController {
 
     @GetMapping("/search")
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER')")
-    @Operation(summary = "Search articles", description = "Search articles by keyword in title or text")
-    public ResponseEntity<Page<ArticleEntryResponse>> searchArticles(
-            @RequestParam String keyword,
+    @Operation(summary = "Search articles",
+               description = "Search articles containing all keywords in title, subtitle, author or text, " +
+                             "best matches first. Ignores umlauts and inflection, finds compound words by " +
+                             "their parts and tolerates typos. Optionally narrowed to a category, year, decade " +
+                             "or month; the response counts the matches per category, year, decade and month. " +
+                             "Results carry a snippet of the text with the matches highlighted instead of the " +
+                             "full text")
+    public ResponseEntity<ArticleSearchResponse> searchArticles(
+            @RequestParam(defaultValue = "") String keyword,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) Integer decade,
+            @RequestParam(required = false) Integer month,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
-        log.info("GET /api/articles/search?keyword={} - page: {}, size: {}", keyword, page, size);
+        log.info("GET /api/articles/search?keyword={}&category={}&year={}&decade={}&month={} - page: {}, size: {}",
+                keyword, category, year, decade, month, page, size);
         Pageable pageable = PageRequest.of(page, size);
-        Page<ArticleEntryResponse> articles = articleEntryService.searchArticles(keyword, pageable);
+        ArticleSearchResponse articles =
+                articleEntryService.searchArticles(keyword, category, year, decade, month, pageable);
         return ResponseEntity.ok(articles);
     }
 
+    @GetMapping("/suggest")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER')")
+    @Operation(summary = "Complete a search prefix",
+               description = "Search-as-you-type: categories and newest article titles with a word starting " +
+                             "with the prefix, answered from memory. limit is capped at " + MAX_SUGGESTIONS)
+    public ResponseEntity<List<SuggestionResponse>> suggestArticles(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        // Called on every keystroke, so not logged at info level
+        log.debug("GET /api/articles/suggest?prefix={} - limit: {}", prefix, limit);
+        int boundedLimit = Math.max(1, Math.min(limit, MAX_SUGGESTIONS));
+        return ResponseEntity.ok(articleEntryService.suggestArticles(prefix, boundedLimit));
+    }
+
     @GetMapping("/categories")
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER')")
-    @Operation(summary = "Get all categories", description = "Get all distinct categories")
+    @Operation(summary = "Get all categories", description = "Get all distinct categories, alphabetically")
     public ResponseEntity<List<String>> getAllCategories() {
         log.info("GET /api/articles/categories");
         List<String> categories = articleEntryService.getAllCategories();
@@ -98,7 +185,7 @@ public class ArticleEntryController {
 
     @GetMapping("/years")
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER')")
-    @Operation(summary = "Get all years", description = "Get all distinct years")
+    @Operation(summary = "Get all years", description = "Get all distinct years, newest first")
     public ResponseEntity<List<Integer>> getAllYears() {
         log.info("GET /api/articles/years");
         List<Integer> years = articleEntryService.getAllYears();
@@ -114,6 +201,27 @@ public class ArticleEntryController {
         return ResponseEntity.status(HttpStatus.CREATED).body(article);
     }
 
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @Operation(summary = "Import articles",
+               description = "Create the articles of a JSON array, e.g. a whole issue. The body is read as a " +
+                             "stream and written in batches; invalid rows are skipped and reported by row number")
+    public ResponseEntity<BulkImportResponse> importArticles(InputStream json) {
+        log.info("POST /api/articles/bulk - Importing articles from JSON");
+        return ResponseEntity.ok(articleImportService.importArticles(json));
+    }
+
+    @PostMapping(value = "/bulk", consumes = "text/csv")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @Operation(summary = "Import articles from CSV",
+               description = "Create articles from CSV with a header line naming the columns title and " +
+                             "optionally subtitle, alternativeAuthor, category, text, year, month, page, date. " +
+                             "Rejected rows are reported by line number")
+    public ResponseEntity<BulkImportResponse> importArticlesCsv(Reader csv) {
+        log.info("POST /api/articles/bulk - Importing articles from CSV");
+        return ResponseEntity.ok(articleImportService.importArticlesCsv(csv));
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasAuthority('ROLE_ADMIN')")
     @Operation(summary = "Update article", description = "Update an existing article entry")
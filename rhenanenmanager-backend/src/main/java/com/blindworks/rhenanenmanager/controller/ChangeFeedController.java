@@ -0,0 +1,52 @@
+package com.blindworks.rhenanenmanager.controller;
+
+import com.blindworks.rhenanenmanager.service.event.ChangeFeed;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * REST Controller for the change feed.
+ * Lets clients apply connection and article changes as they happen instead of reloading lists.
+ */
+@RestController
+@RequestMapping("/api/changes")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Changes", description = "Change Feed API")
+public class ChangeFeedController {
+
+    private final ChangeFeed changeFeed;
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER')")
+    @Operation(
+        summary = "Stream changes",
+        description = "Server-sent events for every committed connection or article change. Event names are " +
+                      "'connection' and 'article', with the sequence number as event ID and the new state as data. " +
+                      "Reconnect with Last-Event-ID (or 'since') to receive missed changes; a 'reset' event means " +
+                      "they are no longer available and the client should reload fully."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Event stream opened"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public SseEmitter streamChanges(
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+            @RequestParam(required = false) Long since) {
+        Long resumeAfter = lastEventId != null ? lastEventId : since;
+        log.info("GET /api/changes/stream - resume after: {}", resumeAfter);
+        return changeFeed.subscribe(resumeAfter);
+    }
+}
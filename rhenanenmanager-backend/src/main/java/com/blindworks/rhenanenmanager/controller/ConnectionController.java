@@ -1,8 +1,20 @@
 package com.blindworks.rhenanenmanager.controller;
 
 import com.blindworks.rhenanenmanager.domain.dto.request.ConnectionRequest;
+import com.blindworks.rhenanenmanager.domain.dto.response.BulkImportResponse;
+import com.blindworks.rhenanenmanager.domain.dto.response.ConnectionPathResponse;
 import com.blindworks.rhenanenmanager.domain.dto.response.ConnectionResponse;
+import com.blindworks.rhenanenmanager.domain.dto.response.GraphConsistencyResponse;
+import com.blindworks.rhenanenmanager.domain.dto.response.GraphLayoutResponse;
+import com.blindworks.rhenanenmanager.domain.dto.response.GraphSnapshotResponse;
+import com.blindworks.rhenanenmanager.domain.dto.response.GraphStatsResponse;
+import com.blindworks.rhenanenmanager.domain.dto.response.LineageResponse;
+import com.blindworks.rhenanenmanager.domain.dto.response.NeighborhoodResponse;
+import com.blindworks.rhenanenmanager.domain.dto.response.ProfileGraphStatsResponse;
+import com.blindworks.rhenanenmanager.service.ConnectionGraphService;
 import com.blindworks.rhenanenmanager.service.ConnectionService;
+import com.blindworks.rhenanenmanager.service.graph.GraphSnapshotEncoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -10,16 +22,32 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Locale;
 
 /**
  * REST Controller for Connection operations.
  * Provides endpoints for managing relationships between Corps members.
+ *
+ * List endpoints accept {@code asOf=YYYY-MM-DD} to show the network as it was on that day.
  */
 @RestController
 @RequestMapping("/api/connections")
@@ -28,23 +56,88 @@ import java.util.List;
 @Tag(name = "Connections", description = "Corps Member Connection Management API")
 public class ConnectionController {
 
+    /**
+     * Response header carrying the cursor for the next page of a keyset-paginated listing.
+     */
+    public static final String NEXT_AFTER_ID_HEADER = "X-Next-After-Id";
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    /**
+     * Upper bound for neighborhood hops; beyond that the result is most of the graph.
+     */
+    private static final int MAX_NEIGHBORHOOD_HOPS = 4;
+
     private final ConnectionService connectionService;
+    private final ConnectionGraphService connectionGraphService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER')")
     @Operation(
         summary = "Get all connections",
-        description = "Retrieve all connections, optionally filtered by active status"
+        description = "Retrieve all connections, optionally filtered by active status or by validity " +
+                      "on the day given as asOf. " +
+                      "If afterId or limit is given, a page ordered by ID is returned instead and the " +
+                      "cursor for the next page is sent in the " + NEXT_AFTER_ID_HEADER + " header."
     )
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Connections retrieved successfully"),
         @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
     public ResponseEntity<List<ConnectionResponse>> getAllConnections(
-            @RequestParam(required = false, defaultValue = "false") boolean activeOnly) {
-        log.info("GET /api/connections?activeOnly={}", activeOnly);
-        List<ConnectionResponse> responses = connectionService.getAllConnections(activeOnly);
-        return ResponseEntity.ok(responses);
+            @RequestParam(required = false, defaultValue = "false") boolean activeOnly,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf) {
+        log.info("GET /api/connections?activeOnly={}&afterId={}&limit={}&asOf={}", activeOnly, afterId, limit, asOf);
+        if (afterId == null && limit == null) {
+            List<ConnectionResponse> responses = connectionService.getAllConnections(activeOnly, asOf);
+            return ResponseEntity.ok(responses);
+        }
+
+        int pageSize = Math.min(limit != null && limit > 0 ? limit : 100, MAX_PAGE_SIZE);
+        List<ConnectionResponse> responses = connectionService.getConnectionsAfter(afterId, pageSize, activeOnly, asOf);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (responses.size() == pageSize) {
+            builder.header(NEXT_AFTER_ID_HEADER, String.valueOf(responses.get(responses.size() - 1).getId()));
+        }
+        return builder.body(responses);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER')")
+    @Operation(
+        summary = "Stream all connections",
+        description = "Stream all connections as newline-delimited JSON while they are read from the database"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Connections streamed successfully"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<StreamingResponseBody> streamAllConnections(
+            @RequestParam(required = false, defaultValue = "false") boolean activeOnly,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf) {
+        log.info("GET /api/connections?activeOnly={}&asOf={} (ndjson)", activeOnly, asOf);
+        StreamingResponseBody body = outputStream -> {
+            OutputStream out = new BufferedOutputStream(outputStream);
+            try {
+                connectionService.streamAllConnections(activeOnly, asOf, response -> {
+                    try {
+                        out.write(objectMapper.writeValueAsBytes(response));
+                        out.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            out.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @PostMapping
@@ -66,6 +159,67 @@ public class ConnectionController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @Operation(
+        summary = "Import connections",
+        description = "Create many connections from a JSON array. Valid rows are created, invalid rows " +
+                      "(validation errors, unknown profiles, duplicates) are skipped and reported by row number."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Import report"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Admin access required")
+    })
+    public ResponseEntity<BulkImportResponse> importConnections(@RequestBody List<ConnectionRequest> requests) {
+        log.info("POST /api/connections/bulk - Importing {} connections", requests.size());
+        return ResponseEntity.ok(connectionService.importConnections(requests));
+    }
+
+    @PostMapping(value = "/bulk", consumes = "text/csv")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @Operation(
+        summary = "Import connections from CSV",
+        description = "Create many connections from CSV with a header line naming the columns fromProfileId, " +
+                      "toProfileId, relationType and optionally startDate, endDate, description, bidirectional. " +
+                      "Rejected rows are reported by line number."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Import report"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Admin access required")
+    })
+    public ResponseEntity<BulkImportResponse> importConnectionsCsv(Reader csv) {
+        log.info("POST /api/connections/bulk - Importing connections from CSV");
+        return ResponseEntity.ok(connectionService.importConnectionsCsv(csv));
+    }
+
+    @GetMapping("/path")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER')")
+    @Operation(
+        summary = "Find how two profiles are connected",
+        description = "Retrieve the shortest chain of connections between two profiles, " +
+                      "optionally restricted to relation types and to active connections or those valid on asOf"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Search completed (see 'found')"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<ConnectionPathResponse> findPath(
+            @RequestParam Long from,
+            @RequestParam Long to,
+            @RequestParam(required = false) List<String> types,
+            @RequestParam(defaultValue = "6") int maxHops,
+            @RequestParam(required = false, defaultValue = "false") boolean activeOnly,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf,
+            @RequestParam(required = false, defaultValue = "true") boolean directed) {
+        log.info("GET /api/connections/path?from={}&to={}&types={}&maxHops={}&activeOnly={}&asOf={}&directed={}",
+                from, to, types, maxHops, activeOnly, asOf, directed);
+        ConnectionPathResponse response =
+                connectionService.findShortestPath(from, to, types, maxHops, activeOnly, asOf, directed);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER')")
     @Operation(
@@ -110,12 +264,41 @@ public class ConnectionController {
         @ApiResponse(responseCode = "200", description = "Connections retrieved successfully"),
         @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
-    public ResponseEntity<List<ConnectionResponse>> getConnectionsForProfile(@PathVariable Long profileId) {
-        log.info("GET /api/connections/profile/{}", profileId);
-        List<ConnectionResponse> responses = connectionService.getConnectionsForProfile(profileId);
+    public ResponseEntity<List<ConnectionResponse>> getConnectionsForProfile(
+            @PathVariable Long profileId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf) {
+        log.info("GET /api/connections/profile/{}?asOf={}", profileId, asOf);
+        List<ConnectionResponse> responses = connectionService.getConnectionsForProfile(profileId, asOf);
         return ResponseEntity.ok(responses);
     }
 
+    @GetMapping("/profile/{profileId}/neighborhood")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER')")
+    @Operation(
+        summary = "Get the neighborhood of a profile",
+        description = "Retrieve all profiles within the given number of hops of a profile and the connections " +
+                      "among them, optionally restricted to relation types and to active connections or those " +
+                      "valid on asOf. hops is limited to " + MAX_NEIGHBORHOOD_HOPS
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Neighborhood retrieved successfully"),
+        @ApiResponse(responseCode = "404", description = "Profile not found"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<NeighborhoodResponse> getNeighborhood(
+            @PathVariable Long profileId,
+            @RequestParam(defaultValue = "2") int hops,
+            @RequestParam(required = false) List<String> types,
+            @RequestParam(required = false, defaultValue = "false") boolean activeOnly,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf) {
+        log.info("GET /api/connections/profile/{}/neighborhood?hops={}&types={}&activeOnly={}&asOf={}",
+                profileId, hops, types, activeOnly, asOf);
+        int boundedHops = Math.max(1, Math.min(hops, MAX_NEIGHBORHOOD_HOPS));
+        NeighborhoodResponse response =
+                connectionService.getNeighborhood(profileId, types, boundedHops, activeOnly, asOf);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/profile/{profileId}/detail")
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER')")
     @Operation(
@@ -127,10 +310,11 @@ public class ConnectionController {
         @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
     public ResponseEntity<List<ConnectionResponse.ConnectionDetailResponse>> getDetailedConnectionsForProfile(
-            @PathVariable Long profileId) {
-        log.info("GET /api/connections/profile/{}/detail", profileId);
+            @PathVariable Long profileId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf) {
+        log.info("GET /api/connections/profile/{}/detail?asOf={}", profileId, asOf);
         List<ConnectionResponse.ConnectionDetailResponse> responses =
-                connectionService.getDetailedConnectionsForProfile(profileId);
+                connectionService.getDetailedConnectionsForProfile(profileId, asOf);
         return ResponseEntity.ok(responses);
     }
 
@@ -144,9 +328,11 @@ public class ConnectionController {
         @ApiResponse(responseCode = "200", description = "Connections retrieved successfully"),
         @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
-    public ResponseEntity<List<ConnectionResponse>> getConnectionsFrom(@PathVariable Long profileId) {
-        log.info("GET /api/connections/profile/{}/from", profileId);
-        List<ConnectionResponse> responses = connectionService.getConnectionsFrom(profileId);
+    public ResponseEntity<List<ConnectionResponse>> getConnectionsFrom(
+            @PathVariable Long profileId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf) {
+        log.info("GET /api/connections/profile/{}/from?asOf={}", profileId, asOf);
+        List<ConnectionResponse> responses = connectionService.getConnectionsFrom(profileId, asOf);
         return ResponseEntity.ok(responses);
     }
 
@@ -160,9 +346,11 @@ public class ConnectionController {
         @ApiResponse(responseCode = "200", description = "Connections retrieved successfully"),
         @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
-    public ResponseEntity<List<ConnectionResponse>> getConnectionsTo(@PathVariable Long profileId) {
-        log.info("GET /api/connections/profile/{}/to", profileId);
-        List<ConnectionResponse> responses = connectionService.getConnectionsTo(profileId);
+    public ResponseEntity<List<ConnectionResponse>> getConnectionsTo(
+            @PathVariable Long profileId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf) {
+        log.info("GET /api/connections/profile/{}/to?asOf={}", profileId, asOf);
+        List<ConnectionResponse> responses = connectionService.getConnectionsTo(profileId, asOf);
         return ResponseEntity.ok(responses);
     }
 
@@ -170,18 +358,44 @@ public class ConnectionController {
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER')")
     @Operation(
         summary = "Get active connections for a profile",
-        description = "Retrieve all active connections (no end date or end date in the future)"
+        description = "Retrieve all active connections (no end date or end date in the future), " +
+                      "or those valid on the day given as asOf"
     )
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Active connections retrieved successfully"),
         @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
-    public ResponseEntity<List<ConnectionResponse>> getActiveConnectionsForProfile(@PathVariable Long profileId) {
-        log.info("GET /api/connections/profile/{}/active", profileId);
-        List<ConnectionResponse> responses = connectionService.getActiveConnectionsForProfile(profileId);
+    public ResponseEntity<List<ConnectionResponse>> getActiveConnectionsForProfile(
+            @PathVariable Long profileId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf) {
+        log.info("GET /api/connections/profile/{}/active?asOf={}", profileId, asOf);
+        List<ConnectionResponse> responses = connectionService.getActiveConnectionsForProfile(profileId, asOf);
         return ResponseEntity.ok(responses);
     }
 
+    @GetMapping("/profile/{profileId}/lineage")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER')")
+    @Operation(
+        summary = "Get the Leibfamilie of a profile",
+        description = "Retrieve all Leibburschen (direction=up) or all Leibfüchse (direction=down) of a profile " +
+                      "across generations in a single request"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Lineage retrieved successfully"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<LineageResponse> getLineage(
+            @PathVariable Long profileId,
+            @RequestParam(defaultValue = "up") String direction,
+            @RequestParam(required = false) Integer depth,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf) {
+        log.info("GET /api/connections/profile/{}/lineage?direction={}&depth={}&asOf={}",
+                profileId, direction, depth, asOf);
+        LineageResponse response = connectionService.getLineage(
+                profileId, LineageResponse.Direction.valueOf(direction.toUpperCase(Locale.ROOT)), depth, asOf);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/type/{relationType}")
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER')")
     @Operation(
@@ -192,9 +406,11 @@ public class ConnectionController {
         @ApiResponse(responseCode = "200", description = "Connections retrieved successfully"),
         @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
-    public ResponseEntity<List<ConnectionResponse>> getConnectionsByType(@PathVariable String relationType) {
-        log.info("GET /api/connections/type/{}", relationType);
-        List<ConnectionResponse> responses = connectionService.getConnectionsByType(relationType);
+    public ResponseEntity<List<ConnectionResponse>> getConnectionsByType(
+            @PathVariable String relationType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf) {
+        log.info("GET /api/connections/type/{}?asOf={}", relationType, asOf);
+        List<ConnectionResponse> responses = connectionService.getConnectionsByType(relationType, asOf);
         return ResponseEntity.ok(responses);
     }
 
@@ -210,9 +426,11 @@ public class ConnectionController {
     })
     public ResponseEntity<List<ConnectionResponse>> getActiveConnectionsByType(
             @PathVariable Long profileId,
-            @PathVariable String relationType) {
-        log.info("GET /api/connections/profile/{}/type/{}/active", profileId, relationType);
-        List<ConnectionResponse> responses = connectionService.getActiveConnectionsByType(profileId, relationType);
+            @PathVariable String relationType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf) {
+        log.info("GET /api/connections/profile/{}/type/{}/active?asOf={}", profileId, relationType, asOf);
+        List<ConnectionResponse> responses =
+                connectionService.getActiveConnectionsByType(profileId, relationType, asOf);
         return ResponseEntity.ok(responses);
     }
 
@@ -220,7 +438,7 @@ public class ConnectionController {
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER')")
     @Operation(
         summary = "Get all relation types",
-        description = "Retrieve all distinct relation types in use"
+        description = "Retrieve all registered relation types, sorted by name"
     )
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Relation types retrieved successfully"),
@@ -232,6 +450,101 @@ public class ConnectionController {
         return ResponseEntity.ok(types);
     }
 
+    @GetMapping(value = "/graph-snapshot", produces = GraphSnapshotEncoder.CONTENT_TYPE)
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER')")
+    @Operation(
+        summary = "Get the whole connection graph",
+        description = "Retrieve all profiles taking part in a connection and all connections as one compact, " +
+                      "columnar binary snapshot for the graph view. Supports If-None-Match."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Snapshot retrieved successfully"),
+        @ApiResponse(responseCode = "304", description = "Snapshot unchanged"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<byte[]> getGraphSnapshot(WebRequest request) {
+        log.info("GET /api/connections/graph-snapshot");
+        GraphSnapshotResponse snapshot = connectionGraphService.getGraphSnapshot();
+        CacheControl cacheControl = CacheControl.noCache().cachePrivate();
+        if (matchesIfNoneMatch(request.getHeaderValues(HttpHeaders.IF_NONE_MATCH), snapshot.getEtag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(snapshot.getEtag())
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(snapshot.getEtag())
+                .cacheControl(cacheControl)
+                .contentType(MediaType.parseMediaType(GraphSnapshotEncoder.CONTENT_TYPE))
+                .body(snapshot.getContent());
+    }
+
+    @GetMapping("/graph-layout")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER')")
+    @Operation(
+        summary = "Get the precomputed graph layout",
+        description = "Retrieve the node coordinates of the connection graph computed in the background. " +
+                      "If stale is true the graph changed since and an updated layout is on its way."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Layout retrieved successfully"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<GraphLayoutResponse> getGraphLayout() {
+        log.info("GET /api/connections/graph-layout");
+        return ResponseEntity.ok(connectionGraphService.getGraphLayout());
+    }
+
+    @GetMapping("/stats")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER')")
+    @Operation(
+        summary = "Get connection graph statistics",
+        description = "Retrieve components, centrality rankings and Leibfamilie statistics " +
+                      "from the last run of the background analytics job"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<GraphStatsResponse> getGraphStats() {
+        log.info("GET /api/connections/stats");
+        return ResponseEntity.ok(connectionGraphService.getGraphStats());
+    }
+
+    @GetMapping("/stats/profile/{profileId}")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER')")
+    @Operation(
+        summary = "Get connection graph statistics of a profile",
+        description = "Retrieve component size, centrality and Leibfamilie position of a profile " +
+                      "from the last run of the background analytics job"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully"),
+        @ApiResponse(responseCode = "404", description = "No statistics for this profile"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<ProfileGraphStatsResponse> getProfileGraphStats(@PathVariable Long profileId) {
+        log.info("GET /api/connections/stats/profile/{}", profileId);
+        return ResponseEntity.ok(connectionGraphService.getProfileGraphStats(profileId));
+    }
+
+    @GetMapping("/consistency")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @Operation(
+        summary = "Check connection data consistency",
+        description = "Scan all connections for anomalies such as Leibbursch cycles, Leibfuchse with several " +
+                      "Leibburschen at once, self links, duplicates and empty validity periods"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Consistency report"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Admin access required")
+    })
+    public ResponseEntity<GraphConsistencyResponse> checkConsistency() {
+        log.info("GET /api/connections/consistency");
+        return ResponseEntity.ok(connectionGraphService.checkConsistency());
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER')")
     @Operation(
@@ -289,4 +602,23 @@ public class ConnectionController {
         boolean exists = connectionService.connectionExists(fromProfileId, toProfileId, relationType);
         return ResponseEntity.ok(exists);
     }
+
+    /**
+     * Whether an If-None-Match header matches the current entity tag (RFC 9110, section 13.1.2):
+     * any tag of the lists compared weakly, or "*" since the snapshot always exists.
+     */
+    private static boolean matchesIfNoneMatch(String[] headerValues, String etag) {
+        if (headerValues == null) {
+            return false;
+        }
+        ETag current = ETag.create(etag);
+        for (String headerValue : headerValues) {
+            for (ETag requested : ETag.parse(headerValue)) {
+                if (requested.isWildcard() || requested.compare(current, false)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
 }
@@ -0,0 +1,55 @@
+package com.blindworks.rhenanenmanager.controller;
+
+import com.blindworks.rhenanenmanager.service.export.ExportFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Builds the streaming download responses of the export endpoints.
+ */
+final class ExportResponses {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private ExportResponses() {
+    }
+
+    /**
+     * Stream the export as an attachment, gzip-encoded if the client accepts it and the
+     * format is not compressed already.
+     *
+     * @param acceptEncoding the Accept-Encoding request header, may be {@code null}
+     */
+    static ResponseEntity<StreamingResponseBody> stream(ExportFormat format, String name, String acceptEncoding,
+                                                        StreamingResponseBody export) {
+        boolean gzip = format.isCompressible() && acceptEncoding != null && acceptEncoding.contains("gzip");
+        StreamingResponseBody body = outputStream -> {
+            if (gzip) {
+                GZIPOutputStream out = new GZIPOutputStream(outputStream, BUFFER_SIZE);
+                export.writeTo(out);
+                out.finish();
+            } else {
+                OutputStream out = new BufferedOutputStream(outputStream, BUFFER_SIZE);
+                export.writeTo(out);
+                out.flush();
+            }
+        };
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(name + "." + format.getExtension())
+                        .build().toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return builder.body(body);
+    }
+}
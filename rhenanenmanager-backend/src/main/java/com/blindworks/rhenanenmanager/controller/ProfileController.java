@@ -0,0 +1,62 @@
+package com.blindworks.rhenanenmanager.controller;
+
+import com.blindworks.rhenanenmanager.domain.dto.response.SuggestionResponse;
+import com.blindworks.rhenanenmanager.service.ExportService;
+import com.blindworks.rhenanenmanager.service.ProfileService;
+import com.blindworks.rhenanenmanager.service.export.ExportFormat;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+
+/**
+ * REST Controller for Profile operations.
+ */
+@RestController
+@RequestMapping("/api/profiles")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Profiles", description = "Member Profile API")
+public class ProfileController {
+
+    private static final int MAX_SUGGESTIONS = 20;
+
+    private final ProfileService profileService;
+    private final ExportService exportService;
+
+    @GetMapping("/suggest")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER')")
+    @Operation(summary = "Complete a member name",
+               description = "Search-as-you-type: profiles with a name part starting with the prefix, answered " +
+                             "from memory. limit is capped at " + MAX_SUGGESTIONS)
+    public ResponseEntity<List<SuggestionResponse>> suggestProfiles(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        // Called on every keystroke, so not logged at info level
+        log.debug("GET /api/profiles/suggest?prefix={} - limit: {}", prefix, limit);
+        int boundedLimit = Math.max(1, Math.min(limit, MAX_SUGGESTIONS));
+        return ResponseEntity.ok(profileService.suggestProfiles(prefix, boundedLimit));
+    }
+
+    @GetMapping("/export")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @Operation(summary = "Export the member directory",
+               description = "Download all profiles with private address and contact, employer and membership " +
+                             "data as csv, ndjson or xlsx, streamed while they are read from the database. " +
+                             "csv and ndjson are gzip-encoded if the client accepts it")
+    public ResponseEntity<StreamingResponseBody> exportProfiles(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        log.info("GET /api/profiles/export?format={}", format);
+        ExportFormat exportFormat = ExportFormat.fromParameter(format);
+        return ExportResponses.stream(exportFormat, "members", acceptEncoding,
+                out -> exportService.exportProfiles(exportFormat, out));
+    }
+}
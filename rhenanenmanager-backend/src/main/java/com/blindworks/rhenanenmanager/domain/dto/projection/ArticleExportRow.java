@@ -0,0 +1,35 @@
+package com.blindworks.rhenanenmanager.domain.dto.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * All fields of an article with its text, for archive exports.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArticleExportRow {
+
+    private Long id;
+    private String title;
+    private String subtitle;
+    private String alternativeAuthor;
+    private String category;
+    private Integer year;
+    private Integer month;
+    private Integer page;
+    private LocalDate date;
+    private LocalDateTime created;
+    private String createdBy;
+    private LocalDateTime modified;
+    private String modifiedBy;
+
+    private String text;
+}
@@ -0,0 +1,31 @@
+package com.blindworks.rhenanenmanager.domain.dto.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * The list-view fields of an article with the beginning of its text to cut the snippet
+ * from, for search result pages.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArticleListItem {
+
+    private Long id;
+    private String title;
+    private String subtitle;
+    private String alternativeAuthor;
+    private String category;
+    private Integer year;
+    private Integer month;
+    private Integer page;
+    private LocalDate date;
+
+    private String textPrefix;
+}
@@ -0,0 +1,25 @@
+package com.blindworks.rhenanenmanager.domain.dto.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The searchable and facet fields of an article, for building the full-text index.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArticleSearchFields {
+
+    private Long id;
+    private String title;
+    private String subtitle;
+    private String alternativeAuthor;
+    private String text;
+    private String category;
+    private Integer year;
+    private Integer month;
+}
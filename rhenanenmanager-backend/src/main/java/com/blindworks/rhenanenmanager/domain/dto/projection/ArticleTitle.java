@@ -0,0 +1,22 @@
+package com.blindworks.rhenanenmanager.domain.dto.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Title, category and issue of an article, for building the completion index.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArticleTitle {
+
+    private Long id;
+    private String title;
+    private String category;
+    private Integer year;
+    private Integer month;
+}
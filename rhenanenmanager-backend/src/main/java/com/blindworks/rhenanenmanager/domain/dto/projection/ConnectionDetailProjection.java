@@ -0,0 +1,46 @@
+package com.blindworks.rhenanenmanager.domain.dto.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Flat, read-only projection of a Connection row with the profile summary columns of both ends.
+ * Carries exactly what {@code ConnectionDetailResponse} needs, so no Profile entities are loaded.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConnectionDetailProjection {
+
+    private Long id;
+    private Long fromProfileId;
+    private String fromFirstname;
+    private String fromLastname;
+    private String fromEmail;
+    private String fromPictureUrl;
+    private Long toProfileId;
+    private String toFirstname;
+    private String toLastname;
+    private String toEmail;
+    private String toPictureUrl;
+    private String relationType;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private String description;
+    private Boolean bidirectional;
+    private LocalDateTime created;
+    private LocalDateTime updated;
+
+    /**
+     * Same semantics as {@code Connection.isActive()}.
+     */
+    public boolean isActive() {
+        return endDate == null || endDate.isAfter(LocalDate.now());
+    }
+}
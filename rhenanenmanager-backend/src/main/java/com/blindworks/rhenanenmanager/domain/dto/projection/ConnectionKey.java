@@ -0,0 +1,21 @@
+package com.blindworks.rhenanenmanager.domain.dto.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The fields that identify a connection: no two connections may share them.
+ * Usable as a hash key.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConnectionKey {
+
+    private Long fromProfileId;
+    private Long toProfileId;
+    private String relationType;
+}
@@ -0,0 +1,31 @@
+package com.blindworks.rhenanenmanager.domain.dto.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Leibbursch assignment recorded in {@code corps_member_data.leib_bursch_id},
+ * flattened together with the names of both members.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeibburschLink {
+
+    /**
+     * The Leibfuchs.
+     */
+    private Long profileId;
+    private String firstname;
+    private String lastname;
+
+    /**
+     * The Leibbursch of the profile.
+     */
+    private Long leibBurschId;
+    private String leibBurschFirstname;
+    private String leibBurschLastname;
+}
@@ -0,0 +1,43 @@
+package com.blindworks.rhenanenmanager.domain.dto.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * A profile flattened with its private address and contact, employer and membership data,
+ * for member directory exports.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProfileExportRow {
+
+    private Long id;
+    private String title;
+    private String firstname;
+    private String middlename;
+    private String lastname;
+    private String email;
+    private LocalDate birthDate;
+    private String birthPlace;
+    private Boolean deceased;
+    private LocalDate deathDate;
+
+    private String street;
+    private String zip;
+    private String city;
+    private String country;
+    private String telephoneNumber;
+    private String mobileNumber;
+    private String employer;
+
+    private String memberNumber;
+    private String status;
+    private LocalDate receptionDate;
+    private LocalDate philistrierungDate;
+}
@@ -0,0 +1,20 @@
+package com.blindworks.rhenanenmanager.domain.dto.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * ID and name of a profile, for lookups that need nothing else.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProfileName {
+
+    private Long id;
+    private String firstname;
+    private String lastname;
+}
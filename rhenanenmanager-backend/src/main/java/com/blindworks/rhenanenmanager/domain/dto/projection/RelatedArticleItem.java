@@ -0,0 +1,25 @@
+package com.blindworks.rhenanenmanager.domain.dto.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * An entry of a precomputed "related articles" list with the list-view fields of the
+ * related article.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RelatedArticleItem {
+
+    private Long id;
+    private String title;
+    private String subtitle;
+    private String category;
+    private Integer year;
+    private Integer month;
+    private Float similarity;
+}
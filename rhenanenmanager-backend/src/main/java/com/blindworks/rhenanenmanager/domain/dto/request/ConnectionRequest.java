@@ -2,6 +2,7 @@ package com.blindworks.rhenanenmanager.domain.dto.request;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -35,6 +36,7 @@ public class ConnectionRequest {
      * Type of relationship (e.g., LEIBBURSCH, MENTOR, SPONSOR, PEER).
      */
     @NotBlank(message = "Relation type is required")
+    @Size(max = 50, message = "Relation type must be at most 50 characters")
     private String relationType;
 
     /**
@@ -23,7 +23,17 @@ public class ArticleEntryResponse {
     private String subtitle;
     private String alternativeAuthor;
     private String category;
+
+    /**
+     * Only set for single articles; listings leave it {@code null}.
+     */
     private String text;
+
+    /**
+     * The first 200 characters of the text, "..." marking a cut; also set for listings.
+     */
+    private String textPreview;
+
     private Integer year;
     private Integer month;
     private Integer page;
@@ -44,14 +54,4 @@ public class ArticleEntryResponse {
         }
         return "Ausgabe unbekannt";
     }
-
-    /**
-     * Get short preview of text (first 200 characters).
-     */
-    public String getTextPreview() {
-        if (text == null || text.isEmpty()) {
-            return "";
-        }
-        return text.length() > 200 ? text.substring(0, 200) + "..." : text;
-    }
 }
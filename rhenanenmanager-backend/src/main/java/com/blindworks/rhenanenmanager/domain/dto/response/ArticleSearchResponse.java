@@ -0,0 +1,62 @@
+package com.blindworks.rhenanenmanager.domain.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for one page of article search results with the facet counts of all
+ * matching articles. The paging fields are named like those of a Spring Data page.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArticleSearchResponse {
+
+    /**
+     * List views of the articles with snippets; the full texts are not included.
+     */
+    private List<ArticleSummaryResponse> content;
+
+    /**
+     * Zero-based page number.
+     */
+    private int number;
+
+    private int size;
+    private long totalElements;
+    private int totalPages;
+
+    /**
+     * Matches per category, most first.
+     */
+    private List<FacetCount> categories;
+
+    /**
+     * Matches per year, newest first.
+     */
+    private List<FacetCount> years;
+
+    /**
+     * Matches per decade (e.g. "1990"), newest first.
+     */
+    private List<FacetCount> decades;
+
+    /**
+     * Matches per month of the year, January first.
+     */
+    private List<FacetCount> months;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FacetCount {
+        private String value;
+        private int count;
+    }
+}
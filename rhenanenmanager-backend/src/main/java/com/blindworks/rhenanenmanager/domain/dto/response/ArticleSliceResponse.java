@@ -0,0 +1,29 @@
+package com.blindworks.rhenanenmanager.domain.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for one slice of a keyset-paginated article listing.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArticleSliceResponse {
+
+    private List<ArticleEntryResponse> content;
+
+    private int size;
+
+    private boolean hasNext;
+
+    /**
+     * Opaque cursor to pass for the next slice; {@code null} on the last one.
+     */
+    private String nextCursor;
+}
@@ -0,0 +1,52 @@
+package com.blindworks.rhenanenmanager.domain.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Response DTO for an article in a result list: everything but the full text, which only
+ * {@code GET /api/articles/{id}} returns, plus a snippet of the text around the matches.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArticleSummaryResponse {
+
+    private Long id;
+    private String title;
+    private String subtitle;
+    private String alternativeAuthor;
+    private String category;
+    private Integer year;
+    private Integer month;
+    private Integer page;
+    private LocalDate date;
+
+    /**
+     * Part of the text around the matched terms, cut at word boundaries; "…" marks cuts.
+     */
+    private String snippet;
+
+    /**
+     * Character ranges of the matched terms in the snippet, as start and end (exclusive)
+     * pairs.
+     */
+    private int[] highlights;
+
+    /**
+     * Get formatted date string (e.g., "Ausgabe 01/2024").
+     */
+    public String getFormattedIssue() {
+        if (month != null && year != null) {
+            return String.format("Ausgabe %02d/%d", month, year);
+        } else if (year != null) {
+            return "Ausgabe " + year;
+        }
+        return "Ausgabe unbekannt";
+    }
+}
@@ -0,0 +1,41 @@
+package com.blindworks.rhenanenmanager.domain.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for a bulk import: what was imported and why the remaining rows were rejected.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkImportResponse {
+
+    private Integer totalRows;
+    private Integer imported;
+    private Integer failed;
+
+    /**
+     * IDs of the created records, in input order.
+     */
+    private List<Long> createdIds;
+
+    private List<RowError> errors;
+
+    /**
+     * A rejected input row. JSON rows are numbered from 1; CSV rows by their line, the header being line 1.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private Integer row;
+        private String message;
+    }
+}
@@ -0,0 +1,42 @@
+package com.blindworks.rhenanenmanager.domain.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO for one entry of the change feed.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeEventResponse {
+
+    /**
+     * Position in the feed; also sent as the SSE event ID, so clients resume after it.
+     */
+    private Long sequence;
+
+    /**
+     * Changed entity: {@code connection} or {@code article}.
+     */
+    private String entity;
+
+    /**
+     * CREATED, UPDATED or DELETED.
+     */
+    private String type;
+
+    private Long id;
+    private LocalDateTime occurredAt;
+
+    /**
+     * New state in the shape of the entity's REST response ({@link ConnectionResponse},
+     * {@link ArticleEntryResponse}); {@code null} for deletions.
+     */
+    private Object data;
+}
@@ -0,0 +1,41 @@
+package com.blindworks.rhenanenmanager.domain.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for the shortest relation chain between two profiles.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConnectionPathResponse {
+
+    private Long fromProfileId;
+    private Long toProfileId;
+
+    /**
+     * Whether a chain within the requested number of hops exists.
+     */
+    private Boolean found;
+
+    /**
+     * Number of connections in the chain (0 if both profiles are the same).
+     */
+    private Integer hops;
+
+    /**
+     * Profiles along the chain, starting with fromProfileId and ending with toProfileId.
+     */
+    private List<Long> profileIds;
+
+    /**
+     * Connections along the chain, in order.
+     */
+    private List<ConnectionResponse> connections;
+}
@@ -0,0 +1,77 @@
+package com.blindworks.rhenanenmanager.domain.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Response DTO for a consistency scan over all connections.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GraphConsistencyResponse {
+
+    private Long graphVersion;
+    private LocalDateTime checkedAt;
+    private Long durationMs;
+
+    private Integer profileCount;
+    private Integer connectionCount;
+
+    private Integer issueCount;
+    private Map<IssueType, Integer> issueCountByType;
+
+    /**
+     * Issues ordered by type, then by their first connection ID.
+     */
+    private List<Issue> issues;
+
+    public enum IssueType {
+        /**
+         * Connection from a profile to itself.
+         */
+        SELF_LINK,
+        /**
+         * End date on or before the start date, so the connection is never valid.
+         */
+        EMPTY_PERIOD,
+        /**
+         * Several connections with the same profiles and relation type.
+         */
+        DUPLICATE_CONNECTION,
+        /**
+         * Members that are, directly or further up, their own Leibbursch.
+         */
+        LEIBBURSCH_CYCLE,
+        /**
+         * Leibfuchs with more than one Leibbursch in overlapping periods.
+         */
+        MULTIPLE_LEIBBURSCHEN,
+        /**
+         * LEIBBURSCH connection marked as bidirectional, although the relation has a direction.
+         */
+        BIDIRECTIONAL_LEIBBURSCH,
+        /**
+         * Leibbursch in the corps member data that no LEIBBURSCH connection of the Leibfuchs names.
+         */
+        CORPS_DATA_MISMATCH
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Issue {
+        private IssueType type;
+        private List<Long> profileIds;
+        private List<Long> connectionIds;
+        private String message;
+    }
+}
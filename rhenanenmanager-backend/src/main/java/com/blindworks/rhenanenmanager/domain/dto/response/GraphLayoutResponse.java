@@ -0,0 +1,35 @@
+package com.blindworks.rhenanenmanager.domain.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO for the precomputed layout of the connection graph.
+ * Coordinates are given as parallel arrays; position i belongs to profileIds[i].
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GraphLayoutResponse {
+
+    /**
+     * Graph version the layout was computed for, comparable to the graph snapshot version.
+     */
+    private Long graphVersion;
+
+    /**
+     * Whether the graph changed since; a new layout is then being computed in the background.
+     */
+    private Boolean stale;
+
+    private LocalDateTime computedAt;
+
+    private long[] profileIds;
+    private float[] x;
+    private float[] y;
+}
@@ -0,0 +1,31 @@
+package com.blindworks.rhenanenmanager.domain.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Encoded whole-graph snapshot for the connections graph view.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GraphSnapshotResponse {
+
+    /**
+     * Graph version the snapshot was built from.
+     */
+    private Long version;
+
+    /**
+     * Strong entity tag identifying this snapshot, already quoted.
+     */
+    private String etag;
+
+    /**
+     * Binary snapshot, see {@link com.blindworks.rhenanenmanager.service.graph.GraphSnapshotEncoder}.
+     */
+    private byte[] content;
+}
@@ -0,0 +1,73 @@
+package com.blindworks.rhenanenmanager.domain.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Response DTO for the statistics of the whole connection graph, as computed by the last analytics run.
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class GraphStatsResponse {
+
+    /**
+     * Whether an analytics run has finished yet; all other fields are empty otherwise.
+     */
+    private Boolean available;
+
+    /**
+     * Whether the graph changed since the run; a new run will pick the changes up.
+     */
+    private Boolean stale;
+
+    private Long graphVersion;
+    private LocalDateTime computedAt;
+    private Long durationMs;
+
+    private Integer profileCount;
+    private Integer connectionCount;
+
+    private Integer componentCount;
+    private Integer largestComponentSize;
+
+    /**
+     * Whether betweenness was extrapolated from a sample of source profiles.
+     */
+    private Boolean betweennessSampled;
+
+    private Integer familyCount;
+    private Integer maxGeneration;
+
+    /**
+     * Number of Leibfamilie members per generation, starting with the founders.
+     */
+    private List<Integer> membersPerGeneration;
+
+    private List<RankedProfile> topDegree;
+    private List<RankedProfile> topBetweenness;
+
+    /**
+     * Largest Leibfamilien, ranked by size and represented by their founder.
+     */
+    private List<RankedProfile> largestFamilies;
+
+    /**
+     * A profile with the value it is ranked by.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RankedProfile {
+        private Long profileId;
+        private String profileName;
+        private Double value;
+    }
+}
@@ -0,0 +1,63 @@
+package com.blindworks.rhenanenmanager.domain.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for a Leibfamilie traversal.
+ * Lists all Leibburschen (direction UP) or Leibfüchse (direction DOWN) of a profile,
+ * ordered by generation.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LineageResponse {
+
+    public enum Direction {
+        UP,
+        DOWN
+    }
+
+    private Long profileId;
+    private Direction direction;
+
+    /**
+     * Maximum number of generations that was requested, {@code null} if unlimited.
+     */
+    private Integer depth;
+
+    private List<LineageMember> members;
+
+    /**
+     * A member of the Leibfamilie relative to the requested profile.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class LineageMember {
+        private Long profileId;
+        private String profileName;
+
+        /**
+         * Distance from the requested profile: 1 for the direct Leibbursch/Leibfuchs.
+         */
+        private Integer generation;
+
+        /**
+         * The member through which this one was reached.
+         */
+        private Long viaProfileId;
+
+        /**
+         * The LEIBBURSCH connection of this hop, {@code null} if the link
+         * only exists in the corps member data.
+         */
+        private Long connectionId;
+    }
+}
@@ -0,0 +1,55 @@
+package com.blindworks.rhenanenmanager.domain.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for the ego network of a profile: all profiles within a number of hops
+ * and the connections among them.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NeighborhoodResponse {
+
+    private Long profileId;
+
+    /**
+     * Maximum distance from the profile that was searched.
+     */
+    private Integer hops;
+
+    /**
+     * Version of the connection graph the neighborhood was computed from.
+     */
+    private Long graphVersion;
+
+    /**
+     * Profiles in the neighborhood in breadth-first order, starting with the profile itself.
+     */
+    private List<Member> members;
+
+    /**
+     * Connections between members, each once, ordered by ID.
+     */
+    private List<ConnectionResponse> connections;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Member {
+        private Long profileId;
+        private String profileName;
+
+        /**
+         * Number of connections between this member and the profile.
+         */
+        private Integer hops;
+    }
+}
@@ -0,0 +1,35 @@
+package com.blindworks.rhenanenmanager.domain.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO for the connection graph statistics of a single profile.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProfileGraphStatsResponse {
+
+    private Long profileId;
+
+    private Integer componentSize;
+    private Integer inDegree;
+    private Integer outDegree;
+    private Double betweenness;
+
+    /**
+     * Number of Leibbursch ancestors ({@code null} outside any Leibfamilie).
+     */
+    private Integer generation;
+    private Long familyFounderId;
+    private Integer familySize;
+
+    private Long graphVersion;
+    private LocalDateTime computedAt;
+}
@@ -0,0 +1,28 @@
+package com.blindworks.rhenanenmanager.domain.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for an article recommended on the page of another one.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RelatedArticleResponse {
+
+    private Long id;
+    private String title;
+    private String subtitle;
+    private String category;
+    private Integer year;
+    private Integer month;
+
+    /**
+     * Estimated share of their keywords both articles have in common (Jaccard similarity), 0 to 1.
+     */
+    private Float similarity;
+}
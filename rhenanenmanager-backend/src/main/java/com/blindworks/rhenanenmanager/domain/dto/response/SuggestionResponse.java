@@ -0,0 +1,34 @@
+package com.blindworks.rhenanenmanager.domain.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for one search-as-you-type completion.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SuggestionResponse {
+
+    public enum Type {
+        ARTICLE,
+        CATEGORY,
+        PROFILE
+    }
+
+    private Type type;
+
+    /**
+     * ID of the article or profile; {@code null} for categories.
+     */
+    private Long id;
+
+    /**
+     * Article title, category or profile name.
+     */
+    private String text;
+}
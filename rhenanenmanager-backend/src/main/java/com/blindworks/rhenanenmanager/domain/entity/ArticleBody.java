@@ -0,0 +1,59 @@
+package com.blindworks.rhenanenmanager.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The text of an {@link ArticleEntry}, kept compressed in a side table so that listings
+ * read only the metadata rows. Loaded for detail views, the search index and exports.
+ *
+ * The beginning of the text is kept uncompressed as well, so search result snippets can be
+ * cut from it in SQL without inflating the text.
+ */
+@Entity
+@Table(name = "article_body")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArticleBody {
+
+    /**
+     * Characters of the text kept uncompressed for cutting search result snippets.
+     */
+    public static final int SNIPPET_SOURCE_LENGTH = 4000;
+
+    /**
+     * ID of the article; every article has one body row.
+     */
+    @Id
+    @Column(name = "article_id")
+    private Long articleId;
+
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(name = "text", columnDefinition = "LONGBLOB")
+    private String text;
+
+    /**
+     * The first {@value #SNIPPET_SOURCE_LENGTH} characters of the text.
+     */
+    @Column(name = "snippet_source", columnDefinition = "TEXT")
+    private String snippetSource;
+
+    /**
+     * The body of an article with its snippet source.
+     */
+    public static ArticleBody of(Long articleId, String text) {
+        return new ArticleBody(articleId, text, snippetSource(text));
+    }
+
+    /**
+     * The part of a text kept uncompressed; {@code null} without text.
+     */
+    public static String snippetSource(String text) {
+        return text == null || text.length() <= SNIPPET_SOURCE_LENGTH ? text : text.substring(0, SNIPPET_SOURCE_LENGTH);
+    }
+}
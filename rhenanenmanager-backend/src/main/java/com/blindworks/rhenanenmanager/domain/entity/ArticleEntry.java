@@ -11,7 +11,8 @@ import java.time.LocalDateTime;
 
 /**
  * Entity representing an article entry in the Rhenanenruf (Corps journal).
- * Maps to the 'article_entry' table in the current database.
+ * Maps to the 'article_entry' table in the current database; the text is kept compressed
+ * in {@link ArticleBody}.
  */
 @Entity
 @Table(name = "article_entry")
@@ -21,6 +22,11 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class ArticleEntry {
 
+    /**
+     * Characters of the text shown in listings.
+     */
+    public static final int PREVIEW_LENGTH = 200;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -37,8 +43,12 @@ public class ArticleEntry {
     @Column(name = "category")
     private String category;
 
-    @Column(name = "text", columnDefinition = "TEXT")
-    private String text;
+    /**
+     * The beginning of the text for listings, see {@link #preview(String)}; kept here so
+     * listings never read the compressed text.
+     */
+    @Column(name = "preview", length = PREVIEW_LENGTH + 3)
+    private String preview;
 
     @Column(name = "year")
     private Integer year;
@@ -69,4 +79,14 @@ public class ArticleEntry {
 
     @Column(name = "modified_by_id")
     private Long modifiedById;
+
+    /**
+     * The first {@value #PREVIEW_LENGTH} characters of a text, "..." marking a cut.
+     */
+    public static String preview(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        return text.length() > PREVIEW_LENGTH ? text.substring(0, PREVIEW_LENGTH) + "..." : text;
+    }
 }
@@ -17,8 +17,12 @@ import java.time.LocalDateTime;
 @Table(name = "connection", indexes = {
     @Index(name = "idx_connection_from_profile", columnList = "from_profile_id"),
     @Index(name = "idx_connection_to_profile", columnList = "to_profile_id"),
-    @Index(name = "idx_connection_relation_type", columnList = "relation_type")
+    @Index(name = "idx_connection_relation_type", columnList = "relation_type_id")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_connection_profiles_type",
+            columnNames = {"from_profile_id", "to_profile_id", "relation_type_id"})
 })
+@EntityListeners(RelationTypeRegistration.class)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -26,6 +30,11 @@ import java.time.LocalDateTime;
 @Builder
 public class Connection extends BaseEntity {
 
+    /**
+     * Relation type of Leibbursch-Leibfuchs connections (from Leibbursch to Leibfuchs).
+     */
+    public static final String RELATION_LEIBBURSCH = "LEIBBURSCH";
+
     /**
      * The profile from which the relationship originates.
      * For example, in a Leibbursch-Leibfuchs relationship, this would be the Leibbursch.
@@ -50,8 +59,11 @@ public class Connection extends BaseEntity {
      * - SPONSOR: Sponsorship relationship
      * - PEER: Peer connection (same cohort)
      * - OTHER: Custom relationship type
+     *
+     * Stored as the ID of the name in the relation_type table.
      */
-    @Column(name = "relation_type", nullable = false, length = 50)
+    @Convert(converter = RelationTypeConverter.class)
+    @Column(name = "relation_type_id", nullable = false)
     private String relationType;
 
     /**
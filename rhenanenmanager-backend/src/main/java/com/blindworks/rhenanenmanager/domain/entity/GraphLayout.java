@@ -0,0 +1,68 @@
+package com.blindworks.rhenanenmanager.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity holding a precomputed layout of the connection graph.
+ * Only the latest layout is kept; it is valid as long as the graph hash matches.
+ *
+ * Maps to the 'graph_layout' table in the database.
+ */
+@Entity
+@Table(name = "graph_layout")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GraphLayout {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Structure hash of the graph the layout was computed for, stable across restarts.
+     */
+    @Column(name = "graph_hash", nullable = false)
+    private Long graphHash;
+
+    /**
+     * In-memory graph index version at computation time.
+     */
+    @Column(name = "graph_version", nullable = false)
+    private Long graphVersion;
+
+    @Column(name = "node_count", nullable = false)
+    private Integer nodeCount;
+
+    @Column(name = "edge_count", nullable = false)
+    private Integer edgeCount;
+
+    @Column(name = "iterations", nullable = false)
+    private Integer iterations;
+
+    @Column(name = "duration_ms", nullable = false)
+    private Long durationMs;
+
+    /**
+     * Mean edge length divided by the mean distance of random node pairs (lower is better).
+     */
+    @Column(name = "edge_length_ratio")
+    private Double edgeLengthRatio;
+
+    /**
+     * Node coordinates as packed big-endian (long profile ID, float x, float y) triples.
+     */
+    @Lob
+    @Column(name = "positions", nullable = false, columnDefinition = "LONGBLOB")
+    private byte[] positions;
+
+    @Column(name = "computed_at", nullable = false)
+    private LocalDateTime computedAt;
+}
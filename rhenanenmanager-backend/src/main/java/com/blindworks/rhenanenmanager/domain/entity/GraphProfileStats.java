@@ -0,0 +1,70 @@
+package com.blindworks.rhenanenmanager.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity holding the connection graph statistics of one profile, as computed by the
+ * last analytics run. The table is replaced as a whole by every run.
+ *
+ * Maps to the 'graph_profile_stats' table in the database.
+ */
+@Entity
+@Table(name = "graph_profile_stats")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GraphProfileStats {
+
+    @Id
+    @Column(name = "profile_id")
+    private Long profileId;
+
+    /**
+     * Connected component the profile belongs to; only meaningful within one run.
+     */
+    @Column(name = "component_id", nullable = false)
+    private Integer componentId;
+
+    @Column(name = "component_size", nullable = false)
+    private Integer componentSize;
+
+    @Column(name = "in_degree", nullable = false)
+    private Integer inDegree;
+
+    @Column(name = "out_degree", nullable = false)
+    private Integer outDegree;
+
+    /**
+     * Betweenness centrality (number of shortest paths between other members running through this one).
+     */
+    @Column(name = "betweenness", nullable = false)
+    private Double betweenness;
+
+    /**
+     * Number of Leibbursch ancestors; {@code null} outside any Leibfamilie.
+     */
+    @Column(name = "generation")
+    private Integer generation;
+
+    /**
+     * Founder (topmost Leibbursch) of the profile's Leibfamilie.
+     */
+    @Column(name = "family_founder_id")
+    private Long familyFounderId;
+
+    @Column(name = "family_size")
+    private Integer familySize;
+
+    @Column(name = "graph_version", nullable = false)
+    private Long graphVersion;
+
+    @Column(name = "computed_at", nullable = false)
+    private LocalDateTime computedAt;
+}
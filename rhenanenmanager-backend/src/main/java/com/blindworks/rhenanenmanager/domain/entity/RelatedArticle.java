@@ -0,0 +1,57 @@
+package com.blindworks.rhenanenmanager.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Entity holding one entry of the precomputed "related articles" list of an article.
+ * The lists are maintained by the related articles job.
+ *
+ * Maps to the 'article_related' table in the database.
+ */
+@Entity
+@Table(name = "article_related")
+@IdClass(RelatedArticle.Key.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RelatedArticle {
+
+    @Id
+    @Column(name = "article_id")
+    private Long articleId;
+
+    /**
+     * Position in the list, 0 for the most similar article.
+     */
+    @Id
+    @Column(name = "list_position")
+    private Integer listPosition;
+
+    @Column(name = "related_id", nullable = false)
+    private Long relatedId;
+
+    /**
+     * Estimated Jaccard similarity of the term sets of both articles.
+     */
+    @Column(name = "similarity", nullable = false)
+    private Float similarity;
+
+    @Column(name = "computed_at", nullable = false)
+    private LocalDateTime computedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long articleId;
+        private Integer listPosition;
+    }
+}
@@ -0,0 +1,25 @@
+package com.blindworks.rhenanenmanager.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Dictionary of connection relation types. Connections store the small integer ID instead
+ * of the name (see {@link RelationTypeConverter}).
+ */
+@Entity
+@Table(name = "relation_type")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RelationType {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Short id;
+
+    @Column(nullable = false, unique = true, length = 50)
+    private String name;
+}
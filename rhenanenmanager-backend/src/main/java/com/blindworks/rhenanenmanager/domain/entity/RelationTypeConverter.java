@@ -0,0 +1,35 @@
+package com.blindworks.rhenanenmanager.domain.entity;
+
+import com.blindworks.rhenanenmanager.service.dictionary.RelationTypeDictionary;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maps relation type names to their {@link RelationType} ID, so the connection table and its
+ * indexes hold small integers and JPQL comparisons on {@code relationType} compare IDs.
+ * Instantiated by Hibernate through the Spring bean container.
+ *
+ * Conversion never registers names: connections register their type before they are written
+ * ({@link RelationTypeRegistration}), the JDBC import registers explicitly, and query
+ * parameters with unknown names become {@link RelationTypeDictionary#UNKNOWN}, which matches
+ * no connection.
+ */
+@Component
+@Converter
+@RequiredArgsConstructor
+public class RelationTypeConverter implements AttributeConverter<String, Short> {
+
+    private final RelationTypeDictionary relationTypeDictionary;
+
+    @Override
+    public Short convertToDatabaseColumn(String name) {
+        return name == null ? null : relationTypeDictionary.codeOf(name);
+    }
+
+    @Override
+    public String convertToEntityAttribute(Short id) {
+        return id == null ? null : relationTypeDictionary.nameOf(id);
+    }
+}
@@ -0,0 +1,27 @@
+package com.blindworks.rhenanenmanager.domain.entity;
+
+import com.blindworks.rhenanenmanager.service.dictionary.RelationTypeDictionary;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Entity listener registering the relation type of a connection before it is written, so
+ * {@link RelationTypeConverter} finds its ID. Instantiated by Hibernate through the Spring
+ * bean container.
+ */
+@Component
+@RequiredArgsConstructor
+public class RelationTypeRegistration {
+
+    private final RelationTypeDictionary relationTypeDictionary;
+
+    @PrePersist
+    @PreUpdate
+    public void register(Connection connection) {
+        if (connection.getRelationType() != null) {
+            relationTypeDictionary.register(connection.getRelationType());
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.blindworks.rhenanenmanager.domain.repository;
+
+import com.blindworks.rhenanenmanager.domain.entity.ArticleBody;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for the compressed article texts.
+ */
+@Repository
+public interface ArticleBodyRepository extends JpaRepository<ArticleBody, Long> {
+
+    /**
+     * The (decompressed) text of an article.
+     */
+    @Query("SELECT b.text FROM ArticleBody b WHERE b.articleId = :articleId")
+    Optional<String> findTextByArticleId(@Param("articleId") Long articleId);
+}
@@ -1,14 +1,24 @@
 package com.blindworks.rhenanenmanager.domain.repository;
 
+import com.blindworks.rhenanenmanager.domain.dto.projection.ArticleExportRow;
+import com.blindworks.rhenanenmanager.domain.dto.projection.ArticleListItem;
+import com.blindworks.rhenanenmanager.domain.dto.projection.ArticleSearchFields;
+import com.blindworks.rhenanenmanager.domain.dto.projection.ArticleTitle;
 import com.blindworks.rhenanenmanager.domain.entity.ArticleEntry;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for ArticleEntry entity.
@@ -33,24 +43,93 @@ public interface ArticleEntryRepository extends JpaRepository<ArticleEntry, Long
     Page<ArticleEntry> findByCategoryOrderByYearDescMonthDesc(String category, Pageable pageable);
 
     /**
-     * Search articles by title or text content.
+     * Predicate selecting the articles after the keyset (:year, :month, :id) in the order
+     * year, month and ID descending, where NULL sorts after every value (as in MySQL). The
+     * cursor year and month may be NULL themselves.
      */
-    @Query("SELECT a FROM ArticleEntry a WHERE " +
-           "LOWER(a.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(a.text) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(a.subtitle) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
-           "ORDER BY a.year DESC, a.month DESC")
-    Page<ArticleEntry> searchArticles(@Param("searchTerm") String searchTerm, Pageable pageable);
+    String AFTER_KEYSET = "(a.year < :year " +
+            "OR (a.year IS NULL AND :year IS NOT NULL) " +
+            "OR ((a.year = :year OR (a.year IS NULL AND :year IS NULL)) AND (" +
+            "a.month < :month " +
+            "OR (a.month IS NULL AND :month IS NOT NULL) " +
+            "OR ((a.month = :month OR (a.month IS NULL AND :month IS NULL)) AND a.id < :id)))) ";
+
+    String KEYSET_ORDER = "ORDER BY a.year DESC, a.month DESC, a.id DESC";
+
+    /**
+     * First slice of all articles, newest first. Slices skip the count query.
+     */
+    Slice<ArticleEntry> findSliceByOrderByYearDescMonthDescIdDesc(Pageable pageable);
+
+    /**
+     * Keyset pagination: the next articles after (year, month, id), newest first. Only the
+     * page size of the Pageable is used.
+     */
+    @Query("SELECT a FROM ArticleEntry a WHERE " + AFTER_KEYSET + KEYSET_ORDER)
+    Slice<ArticleEntry> findSliceAfter(@Param("year") Integer year, @Param("month") Integer month,
+                                       @Param("id") Long id, Pageable pageable);
+
+    /**
+     * First slice of the articles of a category, newest first.
+     */
+    Slice<ArticleEntry> findSliceByCategoryOrderByYearDescMonthDescIdDesc(String category, Pageable pageable);
+
+    /**
+     * Keyset pagination within a category: the next articles after (year, month, id).
+     */
+    @Query("SELECT a FROM ArticleEntry a WHERE a.category = :category AND " + AFTER_KEYSET + KEYSET_ORDER)
+    Slice<ArticleEntry> findSliceByCategoryAfter(@Param("category") String category, @Param("year") Integer year,
+                                                 @Param("month") Integer month, @Param("id") Long id,
+                                                 Pageable pageable);
+
+    /**
+     * Keyset batch of the searchable fields of articles with an ID greater than afterId,
+     * for building the full-text index. Only the page size of the Pageable is used.
+     */
+    @Query("SELECT new com.blindworks.rhenanenmanager.domain.dto.projection.ArticleSearchFields(" +
+           "a.id, a.title, a.subtitle, a.alternativeAuthor, b.text, a.category, a.year, a.month) " +
+           "FROM ArticleEntry a LEFT JOIN ArticleBody b ON b.articleId = a.id WHERE a.id > :afterId ORDER BY a.id")
+    List<ArticleSearchFields> findSearchFieldsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * The searchable fields of the given articles.
+     */
+    @Query("SELECT new com.blindworks.rhenanenmanager.domain.dto.projection.ArticleSearchFields(" +
+           "a.id, a.title, a.subtitle, a.alternativeAuthor, b.text, a.category, a.year, a.month) " +
+           "FROM ArticleEntry a LEFT JOIN ArticleBody b ON b.articleId = a.id WHERE a.id IN :ids")
+    List<ArticleSearchFields> findSearchFieldsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * List-view fields of the given articles with the first textLength characters of their
+     * uncompressed snippet source, so search pages never read or inflate whole texts.
+     */
+    @Query("SELECT new com.blindworks.rhenanenmanager.domain.dto.projection.ArticleListItem(" +
+           "a.id, a.title, a.subtitle, a.alternativeAuthor, a.category, a.year, a.month, a.page, a.date, " +
+           "SUBSTRING(b.snippetSource, 1, :textLength)) " +
+           "FROM ArticleEntry a LEFT JOIN ArticleBody b ON b.articleId = a.id WHERE a.id IN :ids")
+    List<ArticleListItem> findListItemsByIdIn(@Param("ids") Collection<Long> ids,
+                                              @Param("textLength") int textLength);
 
     /**
-     * Get all distinct categories.
+     * Keyset batch of titles and categories of articles with an ID greater than afterId,
+     * for building the completion index. Only the page size of the Pageable is used.
      */
-    @Query("SELECT DISTINCT a.category FROM ArticleEntry a WHERE a.category IS NOT NULL ORDER BY a.category")
-    List<String> findDistinctCategories();
+    @Query("SELECT new com.blindworks.rhenanenmanager.domain.dto.projection.ArticleTitle(" +
+           "a.id, a.title, a.category, a.year, a.month) " +
+           "FROM ArticleEntry a WHERE a.id > :afterId ORDER BY a.id")
+    List<ArticleTitle> findTitlesAfter(@Param("afterId") Long afterId, Pageable pageable);
 
     /**
-     * Get all distinct years.
+     * Stream all articles with their texts from a forward-only cursor, for exports.
+     * Must be consumed inside a transaction and closed afterwards.
      */
-    @Query("SELECT DISTINCT a.year FROM ArticleEntry a WHERE a.year IS NOT NULL ORDER BY a.year DESC")
-    List<Integer> findDistinctYears();
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.blindworks.rhenanenmanager.domain.dto.projection.ArticleExportRow(" +
+           "a.id, a.title, a.subtitle, a.alternativeAuthor, a.category, a.year, a.month, a.page, a.date, " +
+           "a.created, a.createdBy, a.modified, a.modifiedBy, b.text) " +
+           "FROM ArticleEntry a LEFT JOIN ArticleBody b ON b.articleId = a.id ORDER BY a.id")
+    Stream<ArticleExportRow> streamExportRows();
 }
@@ -1,12 +1,22 @@
 package com.blindworks.rhenanenmanager.domain.repository;
 
+import com.blindworks.rhenanenmanager.domain.dto.projection.ConnectionDetailProjection;
+import com.blindworks.rhenanenmanager.domain.dto.projection.ConnectionKey;
+import com.blindworks.rhenanenmanager.domain.dto.projection.ConnectionProjection;
 import com.blindworks.rhenanenmanager.domain.entity.Connection;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Connection entity.
@@ -15,6 +25,26 @@ import java.util.List;
 @Repository
 public interface ConnectionRepository extends JpaRepository<Connection, Long> {
 
+    /**
+     * Select clause for {@link ConnectionProjection}. Joins both profiles explicitly so
+     * names are read in the same statement without initializing Profile entities.
+     */
+    String PROJECTION_SELECT =
+            "SELECT new com.blindworks.rhenanenmanager.domain.dto.projection.ConnectionProjection(" +
+            "c.id, f.id, f.firstname, f.lastname, t.id, t.firstname, t.lastname, " +
+            "c.relationType, c.startDate, c.endDate, c.description, c.bidirectional, c.created, c.updated) " +
+            "FROM Connection c JOIN c.fromProfile f JOIN c.toProfile t ";
+
+    /**
+     * Select clause for {@link ConnectionDetailProjection}.
+     */
+    String DETAIL_PROJECTION_SELECT =
+            "SELECT new com.blindworks.rhenanenmanager.domain.dto.projection.ConnectionDetailProjection(" +
+            "c.id, f.id, f.firstname, f.lastname, f.email, f.pictureUrl, " +
+            "t.id, t.firstname, t.lastname, t.email, t.pictureUrl, " +
+            "c.relationType, c.startDate, c.endDate, c.description, c.bidirectional, c.created, c.updated) " +
+            "FROM Connection c JOIN c.fromProfile f JOIN c.toProfile t ";
+
     /**
      * Find all connections where the given profile is the source (from).
      * For example, all Leibfüchse of a Leibbursch.
@@ -95,14 +125,76 @@ public interface ConnectionRepository extends JpaRepository<Connection, Long> {
     );
 
     /**
-     * Get all distinct relation types in use.
+     * Get the identifying fields of all connections starting at one of the given profiles.
      */
-    @Query("SELECT DISTINCT c.relationType FROM Connection c ORDER BY c.relationType")
-    List<String> findDistinctRelationTypes();
+    @Query("SELECT new com.blindworks.rhenanenmanager.domain.dto.projection.ConnectionKey(" +
+           "c.fromProfile.id, c.toProfile.id, c.relationType) " +
+           "FROM Connection c WHERE c.fromProfile.id IN :profileIds")
+    List<ConnectionKey> findKeysByFromProfileIdIn(@Param("profileIds") Collection<Long> profileIds);
 
     /**
      * Find all active connections (no end date or end date in the future).
      */
     @Query("SELECT c FROM Connection c WHERE c.endDate IS NULL OR c.endDate > CURRENT_DATE")
     List<Connection> findAllActiveConnections();
+
+    /**
+     * Load every connection as a flat projection including both profile names.
+     * Also used to build the in-memory connection graph index in a single statement.
+     */
+    @Query(PROJECTION_SELECT + "ORDER BY c.id")
+    List<ConnectionProjection> findAllProjections();
+
+    /**
+     * Load all active connections as flat projections.
+     */
+    @Query(PROJECTION_SELECT + "WHERE c.endDate IS NULL OR c.endDate > CURRENT_DATE ORDER BY c.id")
+    List<ConnectionProjection> findAllActiveProjections();
+
+    /**
+     * Keyset pagination: load the next connections with an ID greater than afterId.
+     * Only the page size of the Pageable is used; the seek on the primary key keeps every
+     * page equally cheap and needs no count query.
+     */
+    @Query(PROJECTION_SELECT + "WHERE c.id > :afterId " +
+           "AND (:activeOnly = false OR c.endDate IS NULL OR c.endDate > CURRENT_DATE) ORDER BY c.id")
+    List<ConnectionProjection> findProjectionsAfter(@Param("afterId") Long afterId,
+                                                    @Param("activeOnly") boolean activeOnly,
+                                                    Pageable pageable);
+
+    /**
+     * Stream all connections as flat projections from a forward-only cursor.
+     * Must be consumed inside a transaction and closed afterwards.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(PROJECTION_SELECT + "WHERE :activeOnly = false OR c.endDate IS NULL OR c.endDate > CURRENT_DATE " +
+           "ORDER BY c.id")
+    Stream<ConnectionProjection> streamProjections(@Param("activeOnly") boolean activeOnly);
+
+    /**
+     * Load a single connection as a flat projection.
+     */
+    @Query(PROJECTION_SELECT + "WHERE c.id = :id")
+    Optional<ConnectionProjection> findProjectionById(@Param("id") Long id);
+
+    /**
+     * Load all connections of a relation type as flat projections.
+     */
+    @Query(PROJECTION_SELECT + "WHERE c.relationType = :relationType ORDER BY c.id")
+    List<ConnectionProjection> findProjectionsByRelationType(@Param("relationType") String relationType);
+
+    /**
+     * Load a single connection with the profile summaries of both ends.
+     */
+    @Query(DETAIL_PROJECTION_SELECT + "WHERE c.id = :id")
+    Optional<ConnectionDetailProjection> findDetailProjectionById(@Param("id") Long id);
+
+    /**
+     * Load all connections of a profile (as source or target) with the profile summaries of both ends.
+     */
+    @Query(DETAIL_PROJECTION_SELECT + "WHERE f.id = :profileId OR t.id = :profileId ORDER BY c.id")
+    List<ConnectionDetailProjection> findDetailProjectionsByProfileId(@Param("profileId") Long profileId);
 }
@@ -0,0 +1,53 @@
+package com.blindworks.rhenanenmanager.domain.repository;
+
+import com.blindworks.rhenanenmanager.domain.dto.projection.LeibburschLink;
+import com.blindworks.rhenanenmanager.domain.entity.CorpsMemberData;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for CorpsMemberData entity.
+ */
+@Repository
+public interface CorpsMemberDataRepository extends JpaRepository<CorpsMemberData, Long> {
+
+    /**
+     * Get all Leibbursch assignments with the names of both members in one statement.
+     */
+    @Query("SELECT new com.blindworks.rhenanenmanager.domain.dto.projection.LeibburschLink(" +
+           "p.id, p.firstname, p.lastname, lb.id, lb.firstname, lb.lastname) " +
+           "FROM CorpsMemberData c JOIN c.profile p JOIN c.leibBursch lb")
+    List<LeibburschLink> findAllLeibburschLinks();
+
+    /**
+     * Leibbursch assignments of the given Leibfüchse. With {@code asOf}, only assignments
+     * valid on that day: the Leibfuchs was received by then and had not quit.
+     */
+    @Query("SELECT new com.blindworks.rhenanenmanager.domain.dto.projection.LeibburschLink(" +
+           "p.id, p.firstname, p.lastname, lb.id, lb.firstname, lb.lastname) " +
+           "FROM CorpsMemberData c JOIN c.profile p JOIN c.leibBursch lb " +
+           "WHERE p.id IN :profileIds " +
+           "AND (:asOf IS NULL OR ((c.receptionDate IS NULL OR c.receptionDate <= :asOf) " +
+           "AND (c.quitDate IS NULL OR c.quitDate > :asOf)))")
+    List<LeibburschLink> findLeibburschLinksByProfileIdIn(@Param("profileIds") Collection<Long> profileIds,
+                                                          @Param("asOf") LocalDate asOf);
+
+    /**
+     * Leibbursch assignments naming the given members as Leibbursch, with the same
+     * {@code asOf} rule as {@link #findLeibburschLinksByProfileIdIn}.
+     */
+    @Query("SELECT new com.blindworks.rhenanenmanager.domain.dto.projection.LeibburschLink(" +
+           "p.id, p.firstname, p.lastname, lb.id, lb.firstname, lb.lastname) " +
+           "FROM CorpsMemberData c JOIN c.profile p JOIN c.leibBursch lb " +
+           "WHERE lb.id IN :leibBurschIds " +
+           "AND (:asOf IS NULL OR ((c.receptionDate IS NULL OR c.receptionDate <= :asOf) " +
+           "AND (c.quitDate IS NULL OR c.quitDate > :asOf)))")
+    List<LeibburschLink> findLeibburschLinksByLeibBurschIdIn(@Param("leibBurschIds") Collection<Long> leibBurschIds,
+                                                             @Param("asOf") LocalDate asOf);
+}
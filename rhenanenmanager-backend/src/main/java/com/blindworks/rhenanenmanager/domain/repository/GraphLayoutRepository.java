@@ -0,0 +1,19 @@
+package com.blindworks.rhenanenmanager.domain.repository;
+
+import com.blindworks.rhenanenmanager.domain.entity.GraphLayout;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for GraphLayout entity.
+ */
+@Repository
+public interface GraphLayoutRepository extends JpaRepository<GraphLayout, Long> {
+
+    /**
+     * Get the most recently computed layout.
+     */
+    Optional<GraphLayout> findFirstByOrderByIdDesc();
+}
@@ -0,0 +1,12 @@
+package com.blindworks.rhenanenmanager.domain.repository;
+
+import com.blindworks.rhenanenmanager.domain.entity.GraphProfileStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for GraphProfileStats entity.
+ */
+@Repository
+public interface GraphProfileStatsRepository extends JpaRepository<GraphProfileStats, Long> {
+}
@@ -1,12 +1,22 @@
 package com.blindworks.rhenanenmanager.domain.repository;
 
+import com.blindworks.rhenanenmanager.domain.dto.projection.ProfileExportRow;
+import com.blindworks.rhenanenmanager.domain.dto.projection.ProfileName;
 import com.blindworks.rhenanenmanager.domain.entity.Profile;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProfileRepository extends JpaRepository<Profile, Long> {
@@ -17,4 +27,35 @@ public interface ProfileRepository extends JpaRepository<Profile, Long> {
     // CorpsMemberData
 
     Page<Profile> findByLastnameContainingIgnoreCase(String lastname, Pageable pageable);
+
+    /**
+     * Get ID and name of those of the given profiles that exist, in one statement.
+     */
+    @Query("SELECT new com.blindworks.rhenanenmanager.domain.dto.projection.ProfileName(p.id, p.firstname, p.lastname) " +
+           "FROM Profile p WHERE p.id IN :ids")
+    List<ProfileName> findNamesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Keyset batch of ID and name of profiles with an ID greater than afterId, for building
+     * the completion index. Only the page size of the Pageable is used.
+     */
+    @Query("SELECT new com.blindworks.rhenanenmanager.domain.dto.projection.ProfileName(p.id, p.firstname, p.lastname) " +
+           "FROM Profile p WHERE p.id > :afterId ORDER BY p.id")
+    List<ProfileName> findNamesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Stream all profiles flattened for the member directory from a forward-only cursor.
+     * Must be consumed inside a transaction and closed afterwards.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.blindworks.rhenanenmanager.domain.dto.projection.ProfileExportRow(" +
+           "p.id, p.title, p.firstname, p.middlename, p.lastname, p.email, p.birthDate, p.birthPlace, " +
+           "p.deceased, p.deathDate, a.street, a.zip, a.city, a.country, c.telephoneNumber, c.mobileNumber, " +
+           "e.name, m.memberNumber, s.name, m.receptionDate, m.philistrierungDate) " +
+           "FROM Profile p LEFT JOIN p.privateAddress a LEFT JOIN p.privateContact c LEFT JOIN p.employer e " +
+           "LEFT JOIN CorpsMemberData m ON m.profile = p LEFT JOIN m.status s ORDER BY p.id")
+    Stream<ProfileExportRow> streamExportRows();
 }
@@ -0,0 +1,33 @@
+package com.blindworks.rhenanenmanager.domain.repository;
+
+import com.blindworks.rhenanenmanager.domain.dto.projection.RelatedArticleItem;
+import com.blindworks.rhenanenmanager.domain.entity.RelatedArticle;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for RelatedArticle entity.
+ */
+@Repository
+public interface RelatedArticleRepository extends JpaRepository<RelatedArticle, RelatedArticle.Key> {
+
+    /**
+     * The precomputed list of an article joined with the list-view fields of the related
+     * articles, most similar first: one primary key range scan.
+     */
+    @Query("SELECT new com.blindworks.rhenanenmanager.domain.dto.projection.RelatedArticleItem(" +
+           "a.id, a.title, a.subtitle, a.category, a.year, a.month, r.similarity) " +
+           "FROM RelatedArticle r JOIN ArticleEntry a ON a.id = r.relatedId " +
+           "WHERE r.articleId = :articleId ORDER BY r.listPosition")
+    List<RelatedArticleItem> findItemsByArticleId(@Param("articleId") Long articleId);
+
+    @Modifying
+    @Query("DELETE FROM RelatedArticle r WHERE r.articleId IN :articleIds")
+    void deleteByArticleIdIn(@Param("articleIds") Collection<Long> articleIds);
+}
@@ -2,6 +2,10 @@ package com.blindworks.rhenanenmanager.service;
 
 import com.blindworks.rhenanenmanager.domain.dto.request.ArticleEntryRequest;
 import com.blindworks.rhenanenmanager.domain.dto.response.ArticleEntryResponse;
+import com.blindworks.rhenanenmanager.domain.dto.response.ArticleSearchResponse;
+import com.blindworks.rhenanenmanager.domain.dto.response.ArticleSliceResponse;
+import com.blindworks.rhenanenmanager.domain.dto.response.RelatedArticleResponse;
+import com.blindworks.rhenanenmanager.domain.dto.response.SuggestionResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -17,11 +21,30 @@ public interface ArticleEntryService {
      */
     Page<ArticleEntryResponse> getAllArticles(Pageable pageable);
 
+    /**
+     * Get a slice of articles, newest first, by keyset pagination: every slice costs the
+     * same regardless of its depth, and no count query is run.
+     *
+     * @param category only articles of this category ({@code null} for all)
+     * @param cursor   the cursor returned with the previous slice ({@code null} to start)
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    ArticleSliceResponse getArticleSlice(String category, String cursor, int size);
+
     /**
      * Get article by ID.
      */
     ArticleEntryResponse getArticleById(Long id);
 
+    /**
+     * Get the articles most similar to an article, most similar first, as precomputed by the
+     * background job; empty for articles it has not seen yet.
+     *
+     * @throws com.blindworks.rhenanenmanager.exception.ResourceNotFoundException if the article
+     *                                                                            does not exist
+     */
+    List<RelatedArticleResponse> getRelatedArticles(Long id);
+
     /**
      * Get articles by year.
      */
@@ -33,17 +56,30 @@ public interface ArticleEntryService {
     Page<ArticleEntryResponse> getArticlesByCategory(String category, Pageable pageable);
 
     /**
-     * Search articles by keyword.
+     * Search articles containing all terms of the keyword string, ranked by relevance, and
+     * count the matches per category, year, decade and month. Non-null filters restrict the
+     * search to articles with that category, year, decade or month. Without any searchable
+     * term all (filtered) articles are returned, newest first.
+     *
+     * Results are list views with a highlighted snippet of the text instead of the full
+     * text, which is only returned by {@link #getArticleById}.
+     */
+    ArticleSearchResponse searchArticles(String keyword, String category, Integer year, Integer decade,
+                                         Integer month, Pageable pageable);
+
+    /**
+     * Complete a search prefix: matching categories first, then the newest matching
+     * article titles, at most {@code limit} in total. Answered from memory.
      */
-    Page<ArticleEntryResponse> searchArticles(String keyword, Pageable pageable);
+    List<SuggestionResponse> suggestArticles(String prefix, int limit);
 
     /**
-     * Get all distinct categories.
+     * Get all distinct categories, in alphabetical order. Answered from memory.
      */
     List<String> getAllCategories();
 
     /**
-     * Get all distinct years.
+     * Get all distinct years, newest first. Answered from memory.
      */
     List<Integer> getAllYears();
 
@@ -53,7 +89,7 @@ public interface ArticleEntryService {
     ArticleEntryResponse createArticle(ArticleEntryRequest request);
 
     /**
-     * Update an existing article.
+     * Update an existing article. Without a text in the request the stored text is kept.
      */
     ArticleEntryResponse updateArticle(Long id, ArticleEntryRequest request);
 
@@ -0,0 +1,30 @@
+package com.blindworks.rhenanenmanager.service;
+
+import com.blindworks.rhenanenmanager.domain.dto.response.BulkImportResponse;
+
+import java.io.InputStream;
+import java.io.Reader;
+
+/**
+ * Service interface for importing whole Rhenanenruf issues.
+ *
+ * The input is read incrementally, so its size is not limited by memory. Rows are parsed and
+ * validated in worker threads and written in JDBC batches, each batch in its own
+ * transaction: a failing batch leaves the earlier ones imported. Invalid rows are skipped
+ * and reported.
+ */
+public interface ArticleImportService {
+
+    /**
+     * Import a JSON array of {@link com.blindworks.rhenanenmanager.domain.dto.request.ArticleEntryRequest}
+     * objects. Rows are numbered from 1; malformed JSON ends the import at that row.
+     */
+    BulkImportResponse importArticles(InputStream json);
+
+    /**
+     * Import CSV with a header line naming the
+     * {@link com.blindworks.rhenanenmanager.domain.dto.request.ArticleEntryRequest} fields;
+     * title is required. Rows are numbered by line.
+     */
+    BulkImportResponse importArticlesCsv(Reader csv);
+}
@@ -0,0 +1,39 @@
+package com.blindworks.rhenanenmanager.service;
+
+import com.blindworks.rhenanenmanager.domain.dto.response.GraphConsistencyResponse;
+import com.blindworks.rhenanenmanager.domain.dto.response.GraphLayoutResponse;
+import com.blindworks.rhenanenmanager.domain.dto.response.GraphSnapshotResponse;
+import com.blindworks.rhenanenmanager.domain.dto.response.GraphStatsResponse;
+import com.blindworks.rhenanenmanager.domain.dto.response.ProfileGraphStatsResponse;
+
+/**
+ * Service interface for whole-graph views of the connections.
+ */
+public interface ConnectionGraphService {
+
+    /**
+     * Get the encoded snapshot of the current connection graph.
+     * The snapshot is cached and only rebuilt after the graph changed.
+     */
+    GraphSnapshotResponse getGraphSnapshot();
+
+    /**
+     * Get the precomputed node coordinates of the connection graph.
+     */
+    GraphLayoutResponse getGraphLayout();
+
+    /**
+     * Get the statistics of the whole graph from the last analytics run.
+     */
+    GraphStatsResponse getGraphStats();
+
+    /**
+     * Get the graph statistics of a profile from the last analytics run.
+     */
+    ProfileGraphStatsResponse getProfileGraphStats(Long profileId);
+
+    /**
+     * Scan all connections for inconsistent data, such as Leibbursch cycles.
+     */
+    GraphConsistencyResponse checkConsistency();
+}
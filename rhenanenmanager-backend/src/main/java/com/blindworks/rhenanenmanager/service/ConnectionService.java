@@ -1,13 +1,23 @@
 package com.blindworks.rhenanenmanager.service;
 
 import com.blindworks.rhenanenmanager.domain.dto.request.ConnectionRequest;
+import com.blindworks.rhenanenmanager.domain.dto.response.BulkImportResponse;
+import com.blindworks.rhenanenmanager.domain.dto.response.ConnectionPathResponse;
 import com.blindworks.rhenanenmanager.domain.dto.response.ConnectionResponse;
+import com.blindworks.rhenanenmanager.domain.dto.response.LineageResponse;
+import com.blindworks.rhenanenmanager.domain.dto.response.NeighborhoodResponse;
 
+import java.io.Reader;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Service interface for Connection operations.
  * Manages relationships between Corps members.
+ *
+ * Read methods taking {@code asOf} only return connections valid on that day, i.e. started
+ * on or before it (or without start date) and not ended by it; {@code null} means no restriction.
  */
 public interface ConnectionService {
 
@@ -16,6 +26,18 @@ public interface ConnectionService {
      */
     ConnectionResponse createConnection(ConnectionRequest request);
 
+    /**
+     * Create many connections at once. Invalid rows are skipped and reported; all valid rows
+     * are inserted in one transaction.
+     */
+    BulkImportResponse importConnections(List<ConnectionRequest> requests);
+
+    /**
+     * Same as {@link #importConnections(List)} for CSV input with a header line naming the
+     * {@link ConnectionRequest} fields.
+     */
+    BulkImportResponse importConnectionsCsv(Reader csv);
+
     /**
      * Update an existing connection.
      */
@@ -39,37 +61,37 @@ public interface ConnectionService {
     /**
      * Get all connections for a specific profile (as source or target).
      */
-    List<ConnectionResponse> getConnectionsForProfile(Long profileId);
+    List<ConnectionResponse> getConnectionsForProfile(Long profileId, LocalDate asOf);
 
     /**
      * Get detailed connections for a specific profile (with full profile information).
      */
-    List<ConnectionResponse.ConnectionDetailResponse> getDetailedConnectionsForProfile(Long profileId);
+    List<ConnectionResponse.ConnectionDetailResponse> getDetailedConnectionsForProfile(Long profileId, LocalDate asOf);
 
     /**
      * Get all connections of a specific type.
      */
-    List<ConnectionResponse> getConnectionsByType(String relationType);
+    List<ConnectionResponse> getConnectionsByType(String relationType, LocalDate asOf);
 
     /**
      * Get all connections where the profile is the source (from).
      */
-    List<ConnectionResponse> getConnectionsFrom(Long profileId);
+    List<ConnectionResponse> getConnectionsFrom(Long profileId, LocalDate asOf);
 
     /**
      * Get all connections where the profile is the target (to).
      */
-    List<ConnectionResponse> getConnectionsTo(Long profileId);
+    List<ConnectionResponse> getConnectionsTo(Long profileId, LocalDate asOf);
 
     /**
-     * Get active connections for a profile.
+     * Get active connections for a profile (as of today unless asOf is given).
      */
-    List<ConnectionResponse> getActiveConnectionsForProfile(Long profileId);
+    List<ConnectionResponse> getActiveConnectionsForProfile(Long profileId, LocalDate asOf);
 
     /**
-     * Get active connections of a specific type for a profile.
+     * Get active connections of a specific type for a profile (as of today unless asOf is given).
      */
-    List<ConnectionResponse> getActiveConnectionsByType(Long profileId, String relationType);
+    List<ConnectionResponse> getActiveConnectionsByType(Long profileId, String relationType, LocalDate asOf);
 
     /**
      * Get all available relation types.
@@ -82,7 +104,56 @@ public interface ConnectionService {
     boolean connectionExists(Long fromProfileId, Long toProfileId, String relationType);
 
     /**
-     * Get all connections, optionally filtered by active status.
+     * Get all connections, optionally filtered by active status or validity on a day
+     * (asOf takes precedence over activeOnly).
+     */
+    List<ConnectionResponse> getAllConnections(boolean activeOnly, LocalDate asOf);
+
+    /**
+     * Get the next page of connections ordered by ID (keyset pagination).
+     *
+     * @param afterId only connections with a greater ID are returned ({@code null} to start at the beginning)
+     * @param limit   maximum number of connections to return
+     */
+    List<ConnectionResponse> getConnectionsAfter(Long afterId, int limit, boolean activeOnly, LocalDate asOf);
+
+    /**
+     * Pass every connection to the consumer while reading it from a database cursor,
+     * without materializing the whole result.
+     */
+    void streamAllConnections(boolean activeOnly, LocalDate asOf, Consumer<ConnectionResponse> consumer);
+
+    /**
+     * Get the Leibfamilie of a profile: all Leibburschen (UP) or all Leibfüchse (DOWN),
+     * following LEIBBURSCH connections and the Leibbursch recorded in the corps member data.
+     *
+     * @param depth maximum number of generations, {@code null} for unlimited
+     * @param asOf  only follow links valid on that day, {@code null} for all; a corps member data
+     *              link is valid from the Leibfuchs' reception until the day they quit
+     */
+    LineageResponse getLineage(Long profileId, LineageResponse.Direction direction, Integer depth, LocalDate asOf);
+
+    /**
+     * Find the shortest chain of connections between two profiles.
+     *
+     * @param relationTypes only follow these relation types ({@code null} or empty for all)
+     * @param maxHops       maximum number of connections in the chain
+     * @param activeOnly    only follow active connections
+     * @param asOf          only follow connections valid on that day (takes precedence over activeOnly)
+     * @param directed      respect the direction of unidirectional connections
+     */
+    ConnectionPathResponse findShortestPath(Long fromProfileId, Long toProfileId, List<String> relationTypes,
+                                            int maxHops, boolean activeOnly, LocalDate asOf, boolean directed);
+
+    /**
+     * Get all profiles within a number of hops of a profile, following connections in both
+     * directions, together with the connections among them.
+     *
+     * @param relationTypes only follow these relation types ({@code null} or empty for all)
+     * @param hops          maximum distance from the profile
+     * @param activeOnly    only follow active connections
+     * @param asOf          only follow connections valid on that day (takes precedence over activeOnly)
      */
-    List<ConnectionResponse> getAllConnections(boolean activeOnly);
+    NeighborhoodResponse getNeighborhood(Long profileId, List<String> relationTypes, int hops,
+                                         boolean activeOnly, LocalDate asOf);
 }
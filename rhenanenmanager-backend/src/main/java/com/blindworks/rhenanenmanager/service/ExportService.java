@@ -0,0 +1,29 @@
+package com.blindworks.rhenanenmanager.service;
+
+import com.blindworks.rhenanenmanager.service.export.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Service interface for complete exports of the article archive and the member directory.
+ *
+ * Rows are written while they are read from a forward-only database cursor, so memory use
+ * does not grow with the number of rows. The stream is completed but not closed.
+ */
+public interface ExportService {
+
+    /**
+     * Write all articles with their texts, ordered by ID.
+     *
+     * @return the number of rows written
+     */
+    long exportArticles(ExportFormat format, OutputStream out) throws IOException;
+
+    /**
+     * Write all profiles with address, contact, employer and membership data, ordered by ID.
+     *
+     * @return the number of rows written
+     */
+    long exportProfiles(ExportFormat format, OutputStream out) throws IOException;
+}
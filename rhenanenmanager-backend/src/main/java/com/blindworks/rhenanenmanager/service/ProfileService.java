@@ -0,0 +1,16 @@
+package com.blindworks.rhenanenmanager.service;
+
+import com.blindworks.rhenanenmanager.domain.dto.response.SuggestionResponse;
+
+import java.util.List;
+
+/**
+ * Service interface for Profile operations.
+ */
+public interface ProfileService {
+
+    /**
+     * Complete a name prefix with up to {@code limit} profiles, by name. Answered from memory.
+     */
+    List<SuggestionResponse> suggestProfiles(String prefix, int limit);
+}
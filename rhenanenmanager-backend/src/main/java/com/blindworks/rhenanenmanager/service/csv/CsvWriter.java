@@ -0,0 +1,49 @@
+package com.blindworks.rhenanenmanager.service.csv;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Minimal streaming writer for RFC 4180 CSV, the counterpart of {@link CsvReader}: fields
+ * containing commas, quotes or line breaks are enclosed in double quotes with inner quotes
+ * doubled, records end with CRLF. {@code null} is written as an empty field.
+ */
+public class CsvWriter {
+
+    private final Writer out;
+
+    public CsvWriter(Writer out) {
+        this.out = out;
+    }
+
+    public void write(Object... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            if (fields[i] != null) {
+                writeField(fields[i].toString());
+            }
+        }
+        out.write("\r\n");
+    }
+
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    private void writeField(String field) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < field.length() && !quote; i++) {
+            char c = field.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            out.write(field);
+            return;
+        }
+        out.write('"');
+        out.write(field.replace("\"", "\"\""));
+        out.write('"');
+    }
+}
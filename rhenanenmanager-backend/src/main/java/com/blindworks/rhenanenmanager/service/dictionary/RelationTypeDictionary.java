@@ -0,0 +1,179 @@
+package com.blindworks.rhenanenmanager.service.dictionary;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * In-memory copy of the relation_type table, mapping names to their small integer IDs.
+ *
+ * The table is read once on first use and again when a name or ID is not found, which also
+ * picks up types registered by other instances. Lookups read an immutable snapshot without
+ * locking; registering a type replaces the snapshot.
+ *
+ * Names come from requests, so a name miss reloads at most once per
+ * {@link #MISS_RELOAD_INTERVAL_MS}: repeated lookups of an unknown name are answered from
+ * memory. Only {@link #register} adds types; lookups never do. IDs come from connection rows,
+ * which reference existing types, so an ID miss always reloads.
+ *
+ * Types are registered within the caller's transaction, on its connection, so registering
+ * never waits for a second pooled connection and a rolled back type is not kept.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RelationTypeDictionary {
+
+    /**
+     * ID returned by {@link #codeOf} for names that are not registered. Never assigned.
+     */
+    public static final short UNKNOWN = 0;
+
+    static final long MISS_RELOAD_INTERVAL_MS = 5000;
+
+    /**
+     * Leaves a concurrently registered name alone; waits for that transaction if it is still open.
+     */
+    private static final String INSERT_SQL = "INSERT IGNORE INTO relation_type (name) VALUES (?)";
+
+    /**
+     * Locking read, so a row committed by another transaction since this one started is seen.
+     */
+    private static final String SELECT_ID_SQL = "SELECT id FROM relation_type WHERE name = ? FOR UPDATE";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Snapshot snapshot;
+
+    private static final class Snapshot {
+        private final Map<String, Short> ids;
+        private final String[] names;
+        private final List<String> sortedNames;
+        private final long loadedAt = System.currentTimeMillis();
+
+        private Snapshot with(String name, short id) {
+            Map<String, Short> extended = new HashMap<>(ids);
+            extended.put(name, id);
+            return new Snapshot(extended);
+        }
+
+        private Snapshot(Map<String, Short> ids) {
+            this.ids = ids;
+            int maxId = ids.values().stream().mapToInt(Short::intValue).max().orElse(0);
+            this.names = new String[maxId + 1];
+            ids.forEach((name, id) -> names[id] = name);
+            List<String> sorted = new ArrayList<>(ids.keySet());
+            Collections.sort(sorted);
+            this.sortedNames = Collections.unmodifiableList(sorted);
+        }
+    }
+
+    /**
+     * All registered relation type names, sorted.
+     */
+    public List<String> names() {
+        return current().sortedNames;
+    }
+
+    /**
+     * ID of a registered name, or {@link #UNKNOWN}. Never registers the name.
+     */
+    public short codeOf(String name) {
+        Short id = current().ids.get(name);
+        if (id == null) {
+            id = reloadAfterMiss().ids.get(name);
+        }
+        return id != null ? id : UNKNOWN;
+    }
+
+    /**
+     * Name of an ID, or {@code null} if there is no such relation type.
+     */
+    public String nameOf(short id) {
+        String name = lookup(current(), id);
+        return name != null ? name : lookup(reload(), id);
+    }
+
+    /**
+     * ID of the name, registering it first if needed. The row is inserted in the caller's
+     * transaction; if that rolls back, the dictionary is reloaded without the name.
+     */
+    public short register(String name) {
+        Objects.requireNonNull(name, "relation type");
+        short id = codeOf(name);
+        if (id != UNKNOWN) {
+            return id;
+        }
+        if (jdbcTemplate.update(INSERT_SQL, name) > 0) {
+            log.info("Registered relation type {}", name);
+        }
+        List<Short> ids = jdbcTemplate.queryForList(SELECT_ID_SQL, Short.class, name);
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("Could not register relation type " + name);
+        }
+        remember(name, ids.get(0));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        reload();
+                    }
+                }
+            });
+        }
+        return ids.get(0);
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        return current != null ? current : reload();
+    }
+
+    /**
+     * Reload unless the snapshot is younger than {@link #MISS_RELOAD_INTERVAL_MS}. Callers
+     * waiting for a concurrent reload get its result instead of reloading again.
+     */
+    private synchronized Snapshot reloadAfterMiss() {
+        Snapshot current = snapshot;
+        if (current != null && System.currentTimeMillis() - current.loadedAt < MISS_RELOAD_INTERVAL_MS) {
+            return current;
+        }
+        return reload();
+    }
+
+    private synchronized void remember(String name, short id) {
+        snapshot = current().with(name, id);
+    }
+
+    private synchronized Snapshot reload() {
+        Map<String, Short> ids = new HashMap<>();
+        try {
+            jdbcTemplate.query("SELECT id, name FROM relation_type",
+                    (RowCallbackHandler) row -> ids.put(row.getString("name"), row.getShort("id")));
+        } catch (DataAccessException e) {
+            throw new IllegalStateException("Could not load relation types", e);
+        }
+        Snapshot loaded = new Snapshot(ids);
+        snapshot = loaded;
+        log.debug("Loaded {} relation types: {}", ids.size(), Arrays.toString(loaded.names));
+        return loaded;
+    }
+
+    private static String lookup(Snapshot snapshot, short id) {
+        return id > 0 && id < snapshot.names.length ? snapshot.names[id] : null;
+    }
+}
@@ -0,0 +1,29 @@
+package com.blindworks.rhenanenmanager.service.event;
+
+import com.blindworks.rhenanenmanager.domain.dto.response.ArticleEntryResponse;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by the article service after an article was created, updated or deleted.
+ * Listeners that keep in-memory structures in sync should consume it after commit.
+ */
+@Getter
+@AllArgsConstructor
+public class ArticleChangedEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Type type;
+
+    private final Long articleId;
+
+    /**
+     * Current state of the article; {@code null} for {@link Type#DELETED}.
+     */
+    private final ArticleEntryResponse article;
+}
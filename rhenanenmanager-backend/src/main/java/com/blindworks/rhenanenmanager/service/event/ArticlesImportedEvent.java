@@ -0,0 +1,22 @@
+package com.blindworks.rhenanenmanager.service.event;
+
+import com.blindworks.rhenanenmanager.domain.dto.response.ArticleEntryResponse;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Published by the article import once per written batch instead of one
+ * {@link ArticleChangedEvent} per article, so in-memory listeners can apply the whole batch
+ * under one lock. Listeners should consume it after commit.
+ */
+@Getter
+@AllArgsConstructor
+public class ArticlesImportedEvent {
+
+    /**
+     * The created articles, in input order.
+     */
+    private final List<ArticleEntryResponse> articles;
+}
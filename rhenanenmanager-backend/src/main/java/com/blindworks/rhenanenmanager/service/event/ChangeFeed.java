@@ -0,0 +1,311 @@
+package com.blindworks.rhenanenmanager.service.event;
+
+import com.blindworks.rhenanenmanager.domain.dto.projection.ConnectionProjection;
+import com.blindworks.rhenanenmanager.domain.dto.response.ArticleEntryResponse;
+import com.blindworks.rhenanenmanager.domain.dto.response.ChangeEventResponse;
+import com.blindworks.rhenanenmanager.domain.dto.response.ConnectionResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-process change feed over committed connection and article writes, streamed to clients
+ * as server-sent events.
+ *
+ * Every change gets a sequence number and is kept in a bounded history, so a client that
+ * reconnects with {@code Last-Event-ID} is sent what it missed. Sequence numbers start at
+ * the boot time in microseconds; they keep increasing across restarts and an ID from
+ * before a restart falls outside the history. When the history no longer reaches back
+ * far enough, or a slow subscriber overflows its own ring buffer, the subscriber gets a
+ * {@value #RESET_EVENT} event instead and has to reload fully.
+ *
+ * Writers only append to the buffers; each subscriber is drained on a virtual thread.
+ */
+@Component
+@Slf4j
+public class ChangeFeed {
+
+    public static final String RESET_EVENT = "reset";
+    public static final String READY_EVENT = "ready";
+
+    @Value("${app.changes.history-size:1024}")
+    private int historySize;
+
+    @Value("${app.changes.buffer-size:1024}")
+    private int bufferSize;
+
+    @Value("${app.changes.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+
+    // Guarded by this
+    private ChangeEventResponse[] history;
+    private long sequence;
+    private int historyCount;
+
+    @PostConstruct
+    void init() {
+        history = new ChangeEventResponse[historySize];
+        sequence = System.currentTimeMillis() * 1000;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onConnectionChanged(ConnectionChangedEvent event) {
+        ConnectionProjection connection = event.getConnection();
+        publish("connection", event.getType().name(), event.getConnectionId(),
+                connection == null ? null : ConnectionResponse.builder()
+                        .id(connection.getId())
+                        .fromProfileId(connection.getFromProfileId())
+                        .fromProfileName(connection.getFromFirstname() + " " + connection.getFromLastname())
+                        .toProfileId(connection.getToProfileId())
+                        .toProfileName(connection.getToFirstname() + " " + connection.getToLastname())
+                        .relationType(connection.getRelationType())
+                        .startDate(connection.getStartDate())
+                        .endDate(connection.getEndDate())
+                        .description(connection.getDescription())
+                        .bidirectional(connection.getBidirectional())
+                        .active(connection.isActive())
+                        .created(connection.getCreated())
+                        .updated(connection.getUpdated())
+                        .build());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        publish("article", event.getType().name(), event.getArticleId(), event.getArticle());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticlesImported(ArticlesImportedEvent event) {
+        for (ArticleEntryResponse article : event.getArticles()) {
+            publish("article", ArticleChangedEvent.Type.CREATED.name(), article.getId(), article);
+        }
+    }
+
+    /**
+     * Append a change and hand it to all subscribers.
+     */
+    public void publish(String entity, String type, Long id, Object data) {
+        synchronized (this) {
+            ChangeEventResponse event = ChangeEventResponse.builder()
+                    .sequence(++sequence)
+                    .entity(entity)
+                    .type(type)
+                    .id(id)
+                    .occurredAt(LocalDateTime.now())
+                    .data(data)
+                    .build();
+            history[(int) (event.getSequence() % historySize)] = event;
+            historyCount = Math.min(historyCount + 1, historySize);
+            // Offered under the lock, so every subscriber sees the feed in sequence order
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(event);
+            }
+        }
+        for (Subscriber subscriber : subscribers) {
+            subscriber.scheduleDrain();
+        }
+    }
+
+    /**
+     * Open a stream. With {@code lastEventId} the changes after it are replayed first.
+     */
+    public SseEmitter subscribe(Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+
+        synchronized (this) {
+            subscriber.offerReady(sequence);
+            if (lastEventId != null && lastEventId < sequence) {
+                List<ChangeEventResponse> missed = eventsAfter(lastEventId);
+                if (missed == null) {
+                    subscriber.overflow(sequence);
+                } else {
+                    missed.forEach(subscriber::offer);
+                }
+            } else if (lastEventId != null && lastEventId > sequence) {
+                subscriber.overflow(sequence);
+            }
+            subscribers.add(subscriber);
+        }
+        subscriber.scheduleDrain();
+        return emitter;
+    }
+
+    /**
+     * Changes after the given sequence number, oldest first, or {@code null} if the history
+     * does not reach back that far.
+     */
+    public synchronized List<ChangeEventResponse> eventsAfter(long after) {
+        long oldest = sequence - historyCount + 1;
+        if (after + 1 < oldest) {
+            return null;
+        }
+        List<ChangeEventResponse> events = new ArrayList<>();
+        for (long s = Math.max(after + 1, oldest); s <= sequence; s++) {
+            events.add(history[(int) (s % historySize)]);
+        }
+        return events;
+    }
+
+    public synchronized long currentSequence() {
+        return sequence;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Comment lines keep idle connections open through proxies and detect closed clients.
+     */
+    @Scheduled(fixedDelayString = "${app.changes.heartbeat-ms:20000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            sender.execute(() -> subscriber.send(SseEmitter.event().comment("keep-alive")));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        sender.shutdownNow();
+    }
+
+    /**
+     * One open stream with its own bounded ring buffer of undelivered events.
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final ChangeEventResponse[] buffer = new ChangeEventResponse[bufferSize];
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        // Guarded by this
+        private int head;
+        private int size;
+        private Long ready;
+        private Long resetAt;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        synchronized void offer(ChangeEventResponse event) {
+            if (size == buffer.length) {
+                overflow(event.getSequence());
+                return;
+            }
+            buffer[(head + size++) % buffer.length] = event;
+        }
+
+        synchronized void offerReady(long sequence) {
+            ready = sequence;
+        }
+
+        /**
+         * Drop the buffered events and tell the client to reload; later events are delivered
+         * again after the reset.
+         *
+         * @param resumeAt last sequence number the reload is guaranteed to contain
+         */
+        synchronized void overflow(long resumeAt) {
+            for (int i = 0; i < size; i++) {
+                buffer[(head + i) % buffer.length] = null;
+            }
+            resetAt = resumeAt;
+            head = 0;
+            size = 0;
+        }
+
+        void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                while (true) {
+                    SseEmitter.SseEventBuilder next = next();
+                    if (next == null) {
+                        return;
+                    }
+                    if (!send(next)) {
+                        return;
+                    }
+                }
+            } finally {
+                draining.set(false);
+                if (hasPending() && subscribers.contains(this)) {
+                    scheduleDrain();
+                }
+            }
+        }
+
+        private synchronized SseEmitter.SseEventBuilder next() {
+            if (ready != null) {
+                // No ID: a replay may follow, and the client must resume from the replayed events
+                SseEmitter.SseEventBuilder event = SseEmitter.event().name(READY_EVENT).data(ready);
+                ready = null;
+                return event;
+            }
+            if (resetAt != null) {
+                SseEmitter.SseEventBuilder event = SseEmitter.event()
+                        .name(RESET_EVENT).id(String.valueOf(resetAt)).data(resetAt);
+                resetAt = null;
+                return event;
+            }
+            if (size == 0) {
+                return null;
+            }
+            ChangeEventResponse event = buffer[head];
+            buffer[head] = null;
+            head = (head + 1) % buffer.length;
+            size--;
+            return SseEmitter.event()
+                    .name(event.getEntity())
+                    .id(String.valueOf(event.getSequence()))
+                    .data(event, MediaType.APPLICATION_JSON);
+        }
+
+        private synchronized boolean hasPending() {
+            return ready != null || resetAt != null || size > 0;
+        }
+
+        boolean send(SseEmitter.SseEventBuilder event) {
+            try {
+                emitter.send(event);
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Change feed subscriber disconnected: {}", e.getMessage());
+                subscribers.remove(this);
+                emitter.completeWithError(e);
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.blindworks.rhenanenmanager.service.event;
+
+import com.blindworks.rhenanenmanager.domain.dto.projection.ConnectionProjection;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by the connection service after a connection was created, updated or deleted.
+ * Listeners that keep in-memory structures in sync should consume it after commit.
+ */
+@Getter
+@AllArgsConstructor
+public class ConnectionChangedEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Type type;
+
+    private final Long connectionId;
+
+    /**
+     * Current state of the connection; {@code null} for {@link Type#DELETED}.
+     */
+    private final ConnectionProjection connection;
+}
@@ -0,0 +1,35 @@
+package com.blindworks.rhenanenmanager.service.export;
+
+import com.blindworks.rhenanenmanager.service.csv.CsvWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * UTF-8 CSV with a header line, readable by the CSV bulk imports.
+ */
+class CsvExportWriter implements ExportWriter {
+
+    private final BufferedWriter writer;
+    private final CsvWriter csv;
+
+    CsvExportWriter(OutputStream out, List<String> columns) throws IOException {
+        writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        csv = new CsvWriter(writer);
+        csv.write(columns.toArray());
+    }
+
+    @Override
+    public void writeRow(Object... values) throws IOException {
+        csv.write(values);
+    }
+
+    @Override
+    public void finish() throws IOException {
+        csv.flush();
+    }
+}
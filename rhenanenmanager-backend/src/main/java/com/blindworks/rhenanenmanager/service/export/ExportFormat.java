@@ -0,0 +1,75 @@
+package com.blindworks.rhenanenmanager.service.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The formats of the archive and member directory exports.
+ */
+public enum ExportFormat {
+
+    CSV("text/csv", "csv", true),
+    NDJSON("application/x-ndjson", "ndjson", true),
+    XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx", false);
+
+    private final String mediaType;
+    private final String extension;
+    private final boolean compressible;
+
+    ExportFormat(String mediaType, String extension, boolean compressible) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+        this.compressible = compressible;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Whether gzip makes the output smaller; XLSX files are already zip archives.
+     */
+    public boolean isCompressible() {
+        return compressible;
+    }
+
+    /**
+     * Start writing a table with the given columns.
+     *
+     * @param objectMapper serializes NDJSON values, so dates look as in the other responses
+     */
+    public ExportWriter open(OutputStream out, List<String> columns, ObjectMapper objectMapper) throws IOException {
+        return switch (this) {
+            case CSV -> new CsvExportWriter(out, columns);
+            case NDJSON -> new NdjsonExportWriter(out, columns, objectMapper);
+            case XLSX -> new XlsxExportWriter(out, columns);
+        };
+    }
+
+    /**
+     * Resolve a format by its name or file extension, ignoring case.
+     *
+     * @throws IllegalArgumentException for unknown formats
+     */
+    public static ExportFormat fromParameter(String format) {
+        for (ExportFormat value : values()) {
+            if (value.extension.equalsIgnoreCase(format)) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Unknown export format: " + format + " (expected csv, ndjson or xlsx)");
+    }
+
+    @Override
+    public String toString() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,21 @@
+package com.blindworks.rhenanenmanager.service.export;
+
+import java.io.IOException;
+
+/**
+ * Writes a table row by row to an output stream, in one of the {@link ExportFormat}s.
+ * The columns are fixed when the writer is opened.
+ */
+public interface ExportWriter {
+
+    /**
+     * Write one row, with one value per column. Values are written by their {@code toString},
+     * {@code null} as an empty cell.
+     */
+    void writeRow(Object... values) throws IOException;
+
+    /**
+     * Complete the output and flush it. The underlying stream is left open.
+     */
+    void finish() throws IOException;
+}
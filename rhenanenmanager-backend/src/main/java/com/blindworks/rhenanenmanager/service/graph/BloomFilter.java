@@ -0,0 +1,54 @@
+package com.blindworks.rhenanenmanager.service.graph;
+
+/**
+ * Bloom filter over 64-bit hashes, sized for about 1% false positives at its capacity.
+ * Elements cannot be removed; callers rebuild the filter instead. Not thread-safe.
+ */
+public class BloomFilter {
+
+    private static final int BITS_PER_ELEMENT = 10;
+    private static final int HASHES = 7;
+
+    private final long[] words;
+    private final long bitMask;
+    private final int capacity;
+
+    public BloomFilter(int capacity) {
+        this.capacity = Math.max(64, capacity);
+        long bits = Long.highestOneBit((long) this.capacity * BITS_PER_ELEMENT - 1) << 1;
+        this.words = new long[(int) (bits >>> 6)];
+        this.bitMask = bits - 1;
+    }
+
+    /**
+     * Number of elements the filter was sized for.
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    public void add(long hash) {
+        // Double hashing (Kirsch and Mitzenmacher): bit i = h1 + i * h2
+        long h1 = hash;
+        long h2 = (hash >>> 32) | 1;
+        for (int i = 0; i < HASHES; i++) {
+            long bit = (h1 + i * h2) & bitMask;
+            words[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    /**
+     * {@code false} if the hash was certainly never added.
+     */
+    public boolean mightContain(long hash) {
+        long h1 = hash;
+        long h2 = (hash >>> 32) | 1;
+        for (int i = 0; i < HASHES; i++) {
+            long bit = (h1 + i * h2) & bitMask;
+            if ((words[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
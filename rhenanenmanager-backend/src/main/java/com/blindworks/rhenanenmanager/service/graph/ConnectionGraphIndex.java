@@ -0,0 +1,1108 @@
+package com.blindworks.rhenanenmanager.service.graph;
+
+import com.blindworks.rhenanenmanager.domain.dto.projection.ConnectionProjection;
+import com.blindworks.rhenanenmanager.domain.dto.projection.ProfileName;
+import com.blindworks.rhenanenmanager.domain.entity.Connection;
+import com.blindworks.rhenanenmanager.domain.repository.ConnectionRepository;
+import com.blindworks.rhenanenmanager.domain.repository.ProfileRepository;
+import com.blindworks.rhenanenmanager.service.event.ConnectionChangedEvent;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Resident adjacency index over the connection table.
+ *
+ * Profiles are mapped to dense node numbers and edges are stored column-wise in primitive
+ * arrays (endpoints, relation type code, start/end epoch days), so neighbour lookups are a
+ * hash probe plus a walk over the node's adjacency list without any database round trip.
+ * The index is built once from a single projection query and afterwards kept in sync by
+ * {@link ConnectionChangedEvent}s published by the connection service. Changes committed
+ * while the index loads wait for the load and are applied after it.
+ *
+ * Profiles are not written through this application, so member names are refreshed from
+ * the profile table on a schedule instead of by events.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ConnectionGraphIndex {
+
+    public enum Direction {
+        OUTGOING,
+        INCOMING,
+        BOTH
+    }
+
+    /**
+     * Callback for {@link #forEachNeighbour}.
+     */
+    @FunctionalInterface
+    public interface NeighbourVisitor {
+        void visit(long connectionId, long neighbourProfileId);
+    }
+
+    /**
+     * Node numbers are packed into 23 bits of a connection key (see {@link #keyOf}).
+     */
+    private static final int MAX_NODES = 1 << 23;
+
+    private static final int MIN_KEY_FILTER_CAPACITY = 1024;
+
+    /**
+     * Encoded start date of a connection without start date.
+     */
+    public static final int OPEN_START = Integer.MIN_VALUE;
+
+    /**
+     * Encoded end date of a connection without end date.
+     */
+    public static final int OPEN_END = Integer.MAX_VALUE;
+
+    private static final int NAME_BATCH_SIZE = 1000;
+
+    private final ConnectionRepository connectionRepository;
+    private final ProfileRepository profileRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean loaded;
+    private volatile long version;
+
+    // Nodes (one per profile that takes part in at least one connection)
+    private final LongIntHashMap nodeByProfileId = new LongIntHashMap();
+    private long[] nodeProfileId = new long[16];
+    private String[] nodeFirstname = new String[16];
+    private String[] nodeLastname = new String[16];
+    private IntList[] outEdges = new IntList[16];
+    private IntList[] inEdges = new IntList[16];
+    private int nodeCount;
+
+    // Edges, stored column-wise; freed slots are reused
+    private final LongIntHashMap slotByEdgeId = new LongIntHashMap();
+    private long[] edgeId = new long[16];
+    private int[] edgeFrom = new int[16];
+    private int[] edgeTo = new int[16];
+    private short[] edgeType = new short[16];
+    private int[] edgeStart = new int[16];
+    private int[] edgeEnd = new int[16];
+    private boolean[] edgeBidirectional = new boolean[16];
+    private String[] edgeDescription = new String[16];
+    private LocalDateTime[] edgeCreated = new LocalDateTime[16];
+    private LocalDateTime[] edgeUpdated = new LocalDateTime[16];
+    private int edgeHighWater;
+    private final IntList freeEdgeSlots = new IntList();
+
+    // Relation type dictionary
+    private final Map<String, Short> typeCodes = new HashMap<>();
+    private final List<String> typeNames = new ArrayList<>();
+
+    // Validity intervals of all edges, rebuilt lazily for the current version
+    private volatile IntervalIndex intervalIndex;
+
+    // Existence of (from, to, relation type): number of connections per packed key, with a
+    // Bloom filter over profile IDs in front so most misses need neither node nor type lookup
+    private final LongIntHashMap keyCounts = new LongIntHashMap();
+    private BloomFilter keyFilter = new BloomFilter(MIN_KEY_FILTER_CAPACITY);
+    private int keyFilterAdds;
+
+    // Topological order of the LEIBBURSCH edges, for write-time cycle checks
+    private DynamicTopologicalOrder lineage = new DynamicTopologicalOrder();
+
+    /**
+     * Monotonic counter that changes whenever the graph changes.
+     * Derived caches can use it to detect staleness.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Number of connections currently held by the index.
+     */
+    public int edgeCount() {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return slotByEdgeId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find the connections of a profile.
+     *
+     * @param profileId    the profile
+     * @param direction    whether the profile must be the source, the target, or either
+     * @param relationType optional relation type filter ({@code null} for all types)
+     * @param activeOnly   only return connections without end date or ending in the future
+     * @param asOf         only return connections valid on that day (overrides activeOnly; {@code null} for none)
+     */
+    public List<ConnectionProjection> findConnections(long profileId, Direction direction,
+                                                      String relationType, boolean activeOnly, LocalDate asOf) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            int node = nodeByProfileId.get(profileId);
+            if (node == LongIntHashMap.MISSING) {
+                return List.of();
+            }
+            int typeFilter = -1;
+            if (relationType != null) {
+                Short code = typeCodes.get(relationType);
+                if (code == null) {
+                    return List.of();
+                }
+                typeFilter = code;
+            }
+            Window window = Window.of(activeOnly, asOf);
+
+            List<ConnectionProjection> result = new ArrayList<>();
+            if (direction != Direction.INCOMING) {
+                collect(outEdges[node], typeFilter, window, result);
+            }
+            if (direction != Direction.OUTGOING) {
+                collect(inEdges[node], typeFilter, window, result);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find all connections valid on a given day, i.e. started on or before it (or without
+     * start date) and not ended by it, using the interval index instead of a full scan.
+     *
+     * @param relationType optional relation type filter ({@code null} for all types)
+     * @return the connections ordered by ID
+     */
+    public List<ConnectionProjection> findConnectionsAsOf(LocalDate asOf, String relationType) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            int typeFilter = -1;
+            if (relationType != null) {
+                Short code = typeCodes.get(relationType);
+                if (code == null) {
+                    return List.of();
+                }
+                typeFilter = code;
+            }
+            IntList slots = new IntList();
+            currentIntervalIndex().stab((int) asOf.toEpochDay(), slots);
+
+            long[] ordered = new long[slots.size()];
+            int count = 0;
+            for (int i = 0; i < slots.size(); i++) {
+                int slot = slots.get(i);
+                if (typeFilter < 0 || edgeType[slot] == typeFilter) {
+                    ordered[count++] = slot;
+                }
+            }
+            // Order by connection ID without boxing: sort the IDs, then map them back to slots
+            for (int i = 0; i < count; i++) {
+                ordered[i] = edgeId[(int) ordered[i]];
+            }
+            Arrays.sort(ordered, 0, count);
+            List<ConnectionProjection> result = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                result.add(toProjection(slotByEdgeId.get(ordered[i])));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Visit the neighbours of a profile over connections of the given type.
+     * The visitor runs under the index read lock and must not call back into the index.
+     *
+     * @param relationType optional relation type filter ({@code null} for all types)
+     * @param asOf         only follow connections valid on that day (overrides activeOnly; {@code null} for none)
+     */
+    public void forEachNeighbour(long profileId, Direction direction, String relationType,
+                                 boolean activeOnly, LocalDate asOf, NeighbourVisitor visitor) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            int node = nodeByProfileId.get(profileId);
+            if (node == LongIntHashMap.MISSING) {
+                return;
+            }
+            int typeFilter = -1;
+            if (relationType != null) {
+                Short code = typeCodes.get(relationType);
+                if (code == null) {
+                    return;
+                }
+                typeFilter = code;
+            }
+            Window window = Window.of(activeOnly, asOf);
+            if (direction != Direction.INCOMING) {
+                visit(outEdges[node], edgeTo, typeFilter, window, visitor);
+            }
+            if (direction != Direction.OUTGOING) {
+                visit(inEdges[node], edgeFrom, typeFilter, window, visitor);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Whether a connection of the type from one profile to the other exists.
+     */
+    public boolean containsConnection(long fromProfileId, long toProfileId, String relationType) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            if (!keyFilter.mightContain(filterHash(fromProfileId, toProfileId, relationType))) {
+                return false;
+            }
+            int from = nodeByProfileId.get(fromProfileId);
+            int to = nodeByProfileId.get(toProfileId);
+            Short type = typeCodes.get(relationType);
+            return from != LongIntHashMap.MISSING && to != LongIntHashMap.MISSING && type != null
+                    && keyCounts.containsKey(keyOf(from, to, type));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The profiles within {@code hops} connections of a profile and the connections among them.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Neighborhood {
+        private final long version;
+
+        /**
+         * Profiles in breadth-first order, starting with the center.
+         */
+        private final long[] profileIds;
+        private final String[] profileNames;
+
+        /**
+         * Distance of each profile from the center.
+         */
+        private final int[] hops;
+
+        /**
+         * Every matching connection between two of the profiles, once, ordered by ID.
+         */
+        private final List<ConnectionProjection> connections;
+    }
+
+    /**
+     * Collect the ego network of a profile in one breadth-first pass, following connections
+     * in both directions. The result is the induced subgraph: it also contains connections
+     * between profiles on the outermost ring.
+     *
+     * @param relationTypes only traverse these relation types ({@code null} or empty for all)
+     * @param activeOnly    only traverse connections without end date or ending in the future
+     * @param asOf          only traverse connections valid on that day (overrides activeOnly; {@code null} for none)
+     * @return the neighborhood, or empty if the profile has no connections at all
+     */
+    public Optional<Neighborhood> findNeighborhood(long profileId, Set<String> relationTypes, int hops,
+                                                   boolean activeOnly, LocalDate asOf) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            int center = nodeByProfileId.get(profileId);
+            if (center == LongIntHashMap.MISSING) {
+                return Optional.empty();
+            }
+            boolean[] allowedTypes = allowedTypes(relationTypes);
+            Window window = Window.of(activeOnly, asOf);
+
+            // Keyed by node: a neighborhood is usually tiny compared to the whole graph
+            LongIntHashMap distance = new LongIntHashMap();
+            IntList members = new IntList();
+            distance.put(center, 0);
+            members.add(center);
+            // members doubles as the queue: nodes are appended in non-decreasing distance
+            for (int head = 0; head < members.size(); head++) {
+                int node = members.get(head);
+                int next = distance.get(node) + 1;
+                if (next > hops) {
+                    break;
+                }
+                for (int pass = 0; pass < 2; pass++) {
+                    IntList edges = pass == 0 ? outEdges[node] : inEdges[node];
+                    for (int j = 0; j < edges.size(); j++) {
+                        int slot = edges.get(j);
+                        int neighbour = pass == 0 ? edgeTo[slot] : edgeFrom[slot];
+                        if (!distance.containsKey(neighbour) && traversable(slot, allowedTypes, window)) {
+                            distance.put(neighbour, next);
+                            members.add(neighbour);
+                        }
+                    }
+                }
+            }
+
+            int count = members.size();
+            long[] profileIds = new long[count];
+            String[] profileNames = new String[count];
+            int[] distances = new int[count];
+            IntList slots = new IntList();
+            for (int i = 0; i < count; i++) {
+                int node = members.get(i);
+                profileIds[i] = nodeProfileId[node];
+                profileNames[i] = nodeFirstname[node] + " " + nodeLastname[node];
+                distances[i] = distance.get(node);
+                // Taking edges from their source side only reports each one once
+                IntList out = outEdges[node];
+                for (int j = 0; j < out.size(); j++) {
+                    int slot = out.get(j);
+                    if (distance.containsKey(edgeTo[slot]) && traversable(slot, allowedTypes, window)) {
+                        slots.add(slot);
+                    }
+                }
+            }
+            List<ConnectionProjection> connections = new ArrayList<>(slots.size());
+            for (int i = 0; i < slots.size(); i++) {
+                connections.add(toProjection(slots.get(i)));
+            }
+            connections.sort(Comparator.comparingLong(ConnectionProjection::getId));
+            return Optional.of(new Neighborhood(version, profileIds, profileNames, distances, connections));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find a shortest chain of connections between two profiles with a bidirectional
+     * breadth-first search that always expands the smaller frontier.
+     *
+     * @param relationTypes only traverse these relation types ({@code null} or empty for all)
+     * @param maxHops       maximum chain length
+     * @param activeOnly    only traverse connections without end date or ending in the future
+     * @param asOf          only traverse connections valid on that day (overrides activeOnly; {@code null} for none)
+     * @param directed      if {@code true}, unidirectional connections are only followed from
+     *                      source to target and bidirectional ones both ways; if {@code false},
+     *                      every connection is followed both ways
+     * @return the connections along the chain in order, or empty if there is none within maxHops
+     */
+    public Optional<List<ConnectionProjection>> findShortestPath(long fromProfileId, long toProfileId,
+                                                                 Set<String> relationTypes, int maxHops,
+                                                                 boolean activeOnly, LocalDate asOf,
+                                                                 boolean directed) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            int source = nodeByProfileId.get(fromProfileId);
+            int target = nodeByProfileId.get(toProfileId);
+            if (source == LongIntHashMap.MISSING || target == LongIntHashMap.MISSING) {
+                return Optional.empty();
+            }
+            if (source == target) {
+                return Optional.of(List.of());
+            }
+            boolean[] allowedTypes = allowedTypes(relationTypes);
+            Window window = Window.of(activeOnly, asOf);
+
+            int[] distForward = new int[nodeCount];
+            int[] distBackward = new int[nodeCount];
+            int[] viaForward = new int[nodeCount];
+            int[] viaBackward = new int[nodeCount];
+            Arrays.fill(distForward, -1);
+            Arrays.fill(distBackward, -1);
+            distForward[source] = 0;
+            distBackward[target] = 0;
+
+            IntList frontierForward = new IntList();
+            IntList frontierBackward = new IntList();
+            frontierForward.add(source);
+            frontierBackward.add(target);
+            int levels = 0;
+
+            int best = Integer.MAX_VALUE;
+            int meetEdge = -1;
+            int meetForward = -1;
+            int meetBackward = -1;
+
+            while (best == Integer.MAX_VALUE && levels < maxHops
+                    && !frontierForward.isEmpty() && !frontierBackward.isEmpty()) {
+                boolean forward = frontierForward.size() <= frontierBackward.size();
+                IntList frontier = forward ? frontierForward : frontierBackward;
+                int[] dist = forward ? distForward : distBackward;
+                int[] otherDist = forward ? distBackward : distForward;
+                int[] via = forward ? viaForward : viaBackward;
+                IntList next = new IntList();
+
+                for (int i = 0; i < frontier.size(); i++) {
+                    int node = frontier.get(i);
+                    // Forward search leaves a node over its out-edges, backward search over its in-edges;
+                    // the opposite list is only usable for bidirectional edges (or undirected traversal)
+                    IntList always = forward ? outEdges[node] : inEdges[node];
+                    IntList reverse = forward ? inEdges[node] : outEdges[node];
+                    for (int pass = 0; pass < 2; pass++) {
+                        IntList edges = pass == 0 ? always : reverse;
+                        for (int j = 0; j < edges.size(); j++) {
+                            int slot = edges.get(j);
+                            if (pass == 1 && directed && !edgeBidirectional[slot]) {
+                                continue;
+                            }
+                            if (!traversable(slot, allowedTypes, window)) {
+                                continue;
+                            }
+                            int neighbour = edgeFrom[slot] == node ? edgeTo[slot] : edgeFrom[slot];
+                            if (otherDist[neighbour] >= 0) {
+                                int length = dist[node] + 1 + otherDist[neighbour];
+                                if (length < best) {
+                                    best = length;
+                                    meetEdge = slot;
+                                    meetForward = forward ? node : neighbour;
+                                    meetBackward = forward ? neighbour : node;
+                                }
+                            }
+                            if (dist[neighbour] < 0) {
+                                dist[neighbour] = dist[node] + 1;
+                                via[neighbour] = slot;
+                                next.add(neighbour);
+                            }
+                        }
+                    }
+                }
+                if (forward) {
+                    frontierForward = next;
+                } else {
+                    frontierBackward = next;
+                }
+                levels++;
+            }
+
+            if (best > maxHops) {
+                return Optional.empty();
+            }
+
+            List<ConnectionProjection> path = new ArrayList<>(best);
+            for (int node = meetForward; node != source; ) {
+                int slot = viaForward[node];
+                path.add(toProjection(slot));
+                node = edgeFrom[slot] == node ? edgeTo[slot] : edgeFrom[slot];
+            }
+            Collections.reverse(path);
+            path.add(toProjection(meetEdge));
+            for (int node = meetBackward; node != target; ) {
+                int slot = viaBackward[node];
+                path.add(toProjection(slot));
+                node = edgeFrom[slot] == node ? edgeTo[slot] : edgeFrom[slot];
+            }
+            return Optional.of(path);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Copy the current graph into an immutable, compacted {@link GraphSnapshot}.
+     * Nodes are ordered by profile ID and edges by connection ID, so equal graphs
+     * produce equal snapshots.
+     */
+    public GraphSnapshot snapshot() {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            // Only profiles that still take part in a connection
+            int[] liveNodes = new int[nodeCount];
+            int liveNodeCount = 0;
+            for (int node = 0; node < nodeCount; node++) {
+                if (!outEdges[node].isEmpty() || !inEdges[node].isEmpty()) {
+                    liveNodes[liveNodeCount++] = node;
+                }
+            }
+            Integer[] nodeOrder = new Integer[liveNodeCount];
+            for (int i = 0; i < liveNodeCount; i++) {
+                nodeOrder[i] = liveNodes[i];
+            }
+            Arrays.sort(nodeOrder, (a, b) -> Long.compare(nodeProfileId[a], nodeProfileId[b]));
+
+            int[] compactNode = new int[nodeCount];
+            long[] profileIds = new long[liveNodeCount];
+            String[] firstnames = new String[liveNodeCount];
+            String[] lastnames = new String[liveNodeCount];
+            for (int i = 0; i < liveNodeCount; i++) {
+                int node = nodeOrder[i];
+                compactNode[node] = i;
+                profileIds[i] = nodeProfileId[node];
+                firstnames[i] = nodeFirstname[node];
+                lastnames[i] = nodeLastname[node];
+            }
+
+            int edgeCount = slotByEdgeId.size();
+            Integer[] edgeOrder = new Integer[edgeCount];
+            int next = 0;
+            for (int node = 0; node < nodeCount; node++) {
+                IntList edges = outEdges[node];
+                for (int i = 0; i < edges.size(); i++) {
+                    edgeOrder[next++] = edges.get(i);
+                }
+            }
+            Arrays.sort(edgeOrder, (a, b) -> Long.compare(edgeId[a], edgeId[b]));
+
+            long[] ids = new long[edgeCount];
+            int[] from = new int[edgeCount];
+            int[] to = new int[edgeCount];
+            short[] types = new short[edgeCount];
+            int[] start = new int[edgeCount];
+            int[] end = new int[edgeCount];
+            boolean[] bidirectional = new boolean[edgeCount];
+            for (int i = 0; i < edgeCount; i++) {
+                int slot = edgeOrder[i];
+                ids[i] = edgeId[slot];
+                from[i] = compactNode[edgeFrom[slot]];
+                to[i] = compactNode[edgeTo[slot]];
+                types[i] = edgeType[slot];
+                start[i] = edgeStart[slot];
+                end[i] = edgeEnd[slot];
+                bidirectional[i] = edgeBidirectional[slot];
+            }
+
+            return new GraphSnapshot(version, profileIds, firstnames, lastnames,
+                    typeNames.toArray(new String[0]), ids, from, to, types, start, end, bidirectional);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Display name ("firstname lastname") of a profile known to the index, or {@code null}.
+     */
+    public String profileName(long profileId) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            int node = nodeByProfileId.get(profileId);
+            return node == LongIntHashMap.MISSING ? null : nodeFirstname[node] + " " + nodeLastname[node];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Whether a LEIBBURSCH connection {@code fromProfileId -> toProfileId} would close a cycle
+     * of Leibbursch relations. Answered from the maintained topological order, so an edge that
+     * agrees with it costs constant time and others only a search between their positions.
+     *
+     * @param replacedConnectionId connection that is being changed into this one, or {@code null}
+     */
+    public boolean closesLeibburschCycle(long fromProfileId, long toProfileId, Long replacedConnectionId) {
+        if (fromProfileId == toProfileId) {
+            return true;
+        }
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            int from = nodeByProfileId.get(fromProfileId);
+            int to = nodeByProfileId.get(toProfileId);
+            if (from == LongIntHashMap.MISSING || to == LongIntHashMap.MISSING) {
+                // A profile without connections is on no path
+                return false;
+            }
+            int ignoredFrom = -1;
+            int ignoredTo = -1;
+            int replaced = replacedConnectionId != null
+                    ? slotByEdgeId.get(replacedConnectionId) : LongIntHashMap.MISSING;
+            if (replaced != LongIntHashMap.MISSING && isLineage(replaced)) {
+                ignoredFrom = edgeFrom[replaced];
+                ignoredTo = edgeTo[replaced];
+            }
+            return lineage.wouldCloseCycle(from, to, ignoredFrom, ignoredTo);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Batch form of {@link #closesLeibburschCycle}: for LEIBBURSCH connections added in list
+     * order, whether each would close a cycle with the stored ones and the earlier accepted
+     * ones. Works on a copy of the order, the index itself is not changed.
+     */
+    public boolean[] closesLeibburschCycles(long[] fromProfileIds, long[] toProfileIds) {
+        ensureLoaded();
+        boolean[] closes = new boolean[fromProfileIds.length];
+        lock.readLock().lock();
+        try {
+            DynamicTopologicalOrder trial = lineage.copy();
+            Map<Long, Integer> newNodes = new HashMap<>();
+            for (int i = 0; i < closes.length; i++) {
+                int from = trialNode(fromProfileIds[i], newNodes);
+                int to = trialNode(toProfileIds[i], newNodes);
+                closes[i] = !trial.addEdge(from, to);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return closes;
+    }
+
+    private int trialNode(long profileId, Map<Long, Integer> newNodes) {
+        int node = nodeByProfileId.get(profileId);
+        if (node != LongIntHashMap.MISSING) {
+            return node;
+        }
+        return newNodes.computeIfAbsent(profileId, id -> nodeCount + newNodes.size());
+    }
+
+    /**
+     * Load the index on startup so the first request does not pay for it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        ensureLoaded();
+    }
+
+    /**
+     * Apply committed connection changes.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onConnectionChanged(ConnectionChangedEvent event) {
+        // Checked under the lock: a load in progress may have read the rows before this
+        // change committed, so the change is applied once the load is done
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                // The full load will pick the change up
+                return;
+            }
+            if (event.getType() == ConnectionChangedEvent.Type.DELETED) {
+                removeEdge(event.getConnectionId());
+            } else {
+                upsertEdge(event.getConnection());
+            }
+            version++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Read the current names of all indexed profiles and apply those that changed.
+     *
+     * @return the number of renamed profiles
+     */
+    @Scheduled(initialDelayString = "${app.graph.names.refresh-ms:300000}",
+               fixedDelayString = "${app.graph.names.refresh-ms:300000}")
+    public int refreshNames() {
+        if (!loaded) {
+            return 0;
+        }
+        long[] profileIds;
+        lock.readLock().lock();
+        try {
+            profileIds = Arrays.copyOf(nodeProfileId, nodeCount);
+        } finally {
+            lock.readLock().unlock();
+        }
+        // Read outside the lock; profiles added meanwhile come with their current names
+        List<ProfileName> names = new ArrayList<>(profileIds.length);
+        for (int start = 0; start < profileIds.length; start += NAME_BATCH_SIZE) {
+            List<Long> batch = Arrays.stream(profileIds, start, Math.min(profileIds.length, start + NAME_BATCH_SIZE))
+                    .boxed()
+                    .toList();
+            names.addAll(profileRepository.findNamesByIdIn(batch));
+        }
+
+        int renamed = 0;
+        lock.writeLock().lock();
+        try {
+            for (ProfileName name : names) {
+                int node = nodeByProfileId.get(name.getId());
+                if (node != LongIntHashMap.MISSING
+                        && (!Objects.equals(nodeFirstname[node], name.getFirstname())
+                            || !Objects.equals(nodeLastname[node], name.getLastname()))) {
+                    nodeFirstname[node] = name.getFirstname();
+                    nodeLastname[node] = name.getLastname();
+                    renamed++;
+                }
+            }
+            if (renamed > 0) {
+                version++;
+                log.info("Connection graph index: {} renamed profiles", renamed);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return renamed;
+    }
+
+    /**
+     * Discard the current content and rebuild the index from the database.
+     */
+    public void reload() {
+        lock.writeLock().lock();
+        try {
+            loaded = false;
+            load();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                load();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void load() {
+        long started = System.nanoTime();
+        clear();
+        List<ConnectionProjection> rows = connectionRepository.findAllProjections();
+        keyFilter = new BloomFilter(Math.max(MIN_KEY_FILTER_CAPACITY, rows.size() * 2));
+        for (ConnectionProjection row : rows) {
+            upsertEdge(row);
+        }
+        for (int slot = 0; slot < edgeHighWater; slot++) {
+            if (slotByEdgeId.get(edgeId[slot]) == slot && isLineage(slot)) {
+                lineage.addEdgeUnordered(edgeFrom[slot], edgeTo[slot]);
+            }
+        }
+        lineage.rebuild();
+        if (!lineage.isAcyclic()) {
+            log.warn("Leibbursch connections contain cycles; see the consistency report");
+        }
+        version++;
+        loaded = true;
+        log.info("Connection graph index loaded: {} connections, {} profiles in {} ms",
+                rows.size(), nodeCount, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void clear() {
+        nodeByProfileId.clear();
+        slotByEdgeId.clear();
+        keyCounts.clear();
+        keyFilter = new BloomFilter(MIN_KEY_FILTER_CAPACITY);
+        keyFilterAdds = 0;
+        Arrays.fill(outEdges, 0, nodeCount, null);
+        Arrays.fill(inEdges, 0, nodeCount, null);
+        Arrays.fill(edgeDescription, 0, edgeHighWater, null);
+        Arrays.fill(edgeCreated, 0, edgeHighWater, null);
+        Arrays.fill(edgeUpdated, 0, edgeHighWater, null);
+        nodeCount = 0;
+        edgeHighWater = 0;
+        freeEdgeSlots.clear();
+        lineage = new DynamicTopologicalOrder();
+    }
+
+    /**
+     * Interval index for the current version. Must be called under the read lock; concurrent
+     * readers may build it twice, which is harmless.
+     */
+    private IntervalIndex currentIntervalIndex() {
+        IntervalIndex index = intervalIndex;
+        if (index != null && index.getVersion() == version) {
+            return index;
+        }
+        int edges = slotByEdgeId.size();
+        int[] slots = new int[edges];
+        int next = 0;
+        for (int node = 0; node < nodeCount; node++) {
+            IntList out = outEdges[node];
+            for (int i = 0; i < out.size(); i++) {
+                slots[next++] = out.get(i);
+            }
+        }
+        index = new IntervalIndex(version, slots, edgeStart, edgeEnd);
+        intervalIndex = index;
+        return index;
+    }
+
+    private void collect(IntList edges, int typeFilter, Window window, List<ConnectionProjection> result) {
+        for (int i = 0; i < edges.size(); i++) {
+            int slot = edges.get(i);
+            if (typeFilter >= 0 && edgeType[slot] != typeFilter) {
+                continue;
+            }
+            if (!window.contains(edgeStart[slot], edgeEnd[slot])) {
+                continue;
+            }
+            result.add(toProjection(slot));
+        }
+    }
+
+    private void visit(IntList edges, int[] otherEnd, int typeFilter, Window window, NeighbourVisitor visitor) {
+        for (int i = 0; i < edges.size(); i++) {
+            int slot = edges.get(i);
+            if (typeFilter >= 0 && edgeType[slot] != typeFilter) {
+                continue;
+            }
+            if (!window.contains(edgeStart[slot], edgeEnd[slot])) {
+                continue;
+            }
+            visitor.visit(edgeId[slot], nodeProfileId[otherEnd[slot]]);
+        }
+    }
+
+    private boolean[] allowedTypes(Set<String> relationTypes) {
+        if (relationTypes == null || relationTypes.isEmpty()) {
+            return null;
+        }
+        boolean[] allowed = new boolean[typeNames.size()];
+        for (String relationType : relationTypes) {
+            Short code = typeCodes.get(relationType);
+            if (code != null) {
+                allowed[code] = true;
+            }
+        }
+        return allowed;
+    }
+
+    private boolean traversable(int slot, boolean[] allowedTypes, Window window) {
+        return (allowedTypes == null || allowedTypes[edgeType[slot]])
+                && window.contains(edgeStart[slot], edgeEnd[slot]);
+    }
+
+    private ConnectionProjection toProjection(int slot) {
+        int from = edgeFrom[slot];
+        int to = edgeTo[slot];
+        return ConnectionProjection.builder()
+                .id(edgeId[slot])
+                .fromProfileId(nodeProfileId[from])
+                .fromFirstname(nodeFirstname[from])
+                .fromLastname(nodeLastname[from])
+                .toProfileId(nodeProfileId[to])
+                .toFirstname(nodeFirstname[to])
+                .toLastname(nodeLastname[to])
+                .relationType(typeNames.get(edgeType[slot]))
+                .startDate(decodeDate(edgeStart[slot], OPEN_START))
+                .endDate(decodeDate(edgeEnd[slot], OPEN_END))
+                .description(edgeDescription[slot])
+                .bidirectional(edgeBidirectional[slot])
+                .created(edgeCreated[slot])
+                .updated(edgeUpdated[slot])
+                .build();
+    }
+
+    private void upsertEdge(ConnectionProjection row) {
+        removeEdge(row.getId());
+
+        int from = nodeFor(row.getFromProfileId(), row.getFromFirstname(), row.getFromLastname());
+        int to = nodeFor(row.getToProfileId(), row.getToFirstname(), row.getToLastname());
+
+        int slot = freeEdgeSlots.isEmpty() ? nextEdgeSlot() : freeEdgeSlots.removeLast();
+        edgeId[slot] = row.getId();
+        edgeFrom[slot] = from;
+        edgeTo[slot] = to;
+        edgeType[slot] = typeCode(row.getRelationType());
+        edgeStart[slot] = encodeDate(row.getStartDate(), OPEN_START);
+        edgeEnd[slot] = encodeDate(row.getEndDate(), OPEN_END);
+        edgeBidirectional[slot] = Boolean.TRUE.equals(row.getBidirectional());
+        edgeDescription[slot] = row.getDescription();
+        edgeCreated[slot] = row.getCreated();
+        edgeUpdated[slot] = row.getUpdated();
+
+        slotByEdgeId.put(row.getId(), slot);
+        outEdges[from].add(slot);
+        inEdges[to].add(slot);
+        addKey(slot);
+
+        // During a full load the order is built in one pass afterwards
+        if (loaded && isLineage(slot) && !lineage.addEdge(from, to)) {
+            log.warn("Connection {} closes a Leibbursch cycle", row.getId());
+            lineage.forceEdge(from, to);
+        }
+    }
+
+    private void removeEdge(long id) {
+        int slot = slotByEdgeId.remove(id);
+        if (slot == LongIntHashMap.MISSING) {
+            return;
+        }
+        outEdges[edgeFrom[slot]].removeValue(slot);
+        inEdges[edgeTo[slot]].removeValue(slot);
+        removeKey(slot);
+        if (loaded && isLineage(slot)) {
+            lineage.removeEdge(edgeFrom[slot], edgeTo[slot]);
+        }
+        edgeDescription[slot] = null;
+        edgeCreated[slot] = null;
+        edgeUpdated[slot] = null;
+        freeEdgeSlots.add(slot);
+    }
+
+    private void addKey(int slot) {
+        long key = keyOf(edgeFrom[slot], edgeTo[slot], edgeType[slot]);
+        int count = keyCounts.get(key);
+        keyCounts.put(key, count == LongIntHashMap.MISSING ? 1 : count + 1);
+
+        if (keyFilterAdds >= keyFilter.capacity()) {
+            // Full, or saturated by keys removed since the last build: rebuild from the live edges
+            keyFilter = new BloomFilter(Math.max(MIN_KEY_FILTER_CAPACITY, slotByEdgeId.size() * 2));
+            keyFilterAdds = 0;
+            for (int node = 0; node < nodeCount; node++) {
+                IntList out = outEdges[node];
+                for (int i = 0; i < out.size(); i++) {
+                    addToKeyFilter(out.get(i));
+                }
+            }
+        } else {
+            addToKeyFilter(slot);
+        }
+    }
+
+    private void addToKeyFilter(int slot) {
+        keyFilter.add(filterHash(nodeProfileId[edgeFrom[slot]], nodeProfileId[edgeTo[slot]],
+                typeNames.get(edgeType[slot])));
+        keyFilterAdds++;
+    }
+
+    private void removeKey(int slot) {
+        // The Bloom filter keeps the bits; the exact count decides
+        long key = keyOf(edgeFrom[slot], edgeTo[slot], edgeType[slot]);
+        int count = keyCounts.get(key);
+        if (count > 1) {
+            keyCounts.put(key, count - 1);
+        } else {
+            keyCounts.remove(key);
+        }
+    }
+
+    private static long keyOf(int from, int to, short type) {
+        return (long) from << 40 | (long) to << 16 | (type & 0xFFFF);
+    }
+
+    private static long filterHash(long fromProfileId, long toProfileId, String relationType) {
+        long h = fromProfileId * 0x9E3779B97F4A7C15L;
+        h = (h ^ (h >>> 29) ^ toProfileId) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 32) ^ relationType.hashCode()) * 0x94D049BB133111EBL;
+        return h ^ (h >>> 31);
+    }
+
+    private int nodeFor(long profileId, String firstname, String lastname) {
+        int node = nodeByProfileId.get(profileId);
+        if (node == LongIntHashMap.MISSING) {
+            if (nodeCount == MAX_NODES) {
+                throw new IllegalStateException("Connection graph index is limited to " + MAX_NODES + " profiles");
+            }
+            if (nodeCount == nodeProfileId.length) {
+                int capacity = nodeCount << 1;
+                nodeProfileId = Arrays.copyOf(nodeProfileId, capacity);
+                nodeFirstname = Arrays.copyOf(nodeFirstname, capacity);
+                nodeLastname = Arrays.copyOf(nodeLastname, capacity);
+                outEdges = Arrays.copyOf(outEdges, capacity);
+                inEdges = Arrays.copyOf(inEdges, capacity);
+            }
+            node = nodeCount++;
+            nodeProfileId[node] = profileId;
+            outEdges[node] = new IntList();
+            inEdges[node] = new IntList();
+            nodeByProfileId.put(profileId, node);
+        }
+        // Keep names current with the latest write touching the profile
+        nodeFirstname[node] = firstname;
+        nodeLastname[node] = lastname;
+        return node;
+    }
+
+    private int nextEdgeSlot() {
+        if (edgeHighWater == edgeId.length) {
+            int capacity = edgeHighWater << 1;
+            edgeId = Arrays.copyOf(edgeId, capacity);
+            edgeFrom = Arrays.copyOf(edgeFrom, capacity);
+            edgeTo = Arrays.copyOf(edgeTo, capacity);
+            edgeType = Arrays.copyOf(edgeType, capacity);
+            edgeStart = Arrays.copyOf(edgeStart, capacity);
+            edgeEnd = Arrays.copyOf(edgeEnd, capacity);
+            edgeBidirectional = Arrays.copyOf(edgeBidirectional, capacity);
+            edgeDescription = Arrays.copyOf(edgeDescription, capacity);
+            edgeCreated = Arrays.copyOf(edgeCreated, capacity);
+            edgeUpdated = Arrays.copyOf(edgeUpdated, capacity);
+        }
+        return edgeHighWater++;
+    }
+
+    private boolean isLineage(int slot) {
+        return Connection.RELATION_LEIBBURSCH.equals(typeNames.get(edgeType[slot]));
+    }
+
+    private short typeCode(String relationType) {
+        Short code = typeCodes.get(relationType);
+        if (code == null) {
+            code = (short) typeNames.size();
+            typeNames.add(relationType);
+            typeCodes.put(relationType, code);
+        }
+        return code;
+    }
+
+    private static int encodeDate(LocalDate date, int open) {
+        return date == null ? open : (int) date.toEpochDay();
+    }
+
+    private static LocalDate decodeDate(int epochDay, int open) {
+        return epochDay == open ? null : LocalDate.ofEpochDay(epochDay);
+    }
+
+    /**
+     * Validity filter: a connection passes if it ends after {@code minEnd} and starts on or
+     * before {@code maxStart} (both epoch days).
+     */
+    private static final class Window {
+
+        private static final Window ALL = new Window(Integer.MIN_VALUE, Integer.MAX_VALUE);
+
+        private final int minEnd;
+        private final int maxStart;
+
+        private Window(int minEnd, int maxStart) {
+            this.minEnd = minEnd;
+            this.maxStart = maxStart;
+        }
+
+        /**
+         * "Active" only looks at the end date, like the database queries;
+         * "as of" additionally requires the connection to have started.
+         */
+        static Window of(boolean activeOnly, LocalDate asOf) {
+            if (asOf != null) {
+                int day = (int) asOf.toEpochDay();
+                return new Window(day, day);
+            }
+            if (activeOnly) {
+                return new Window((int) LocalDate.now().toEpochDay(), Integer.MAX_VALUE);
+            }
+            return ALL;
+        }
+
+        boolean contains(int start, int end) {
+            return end > minEnd && start <= maxStart;
+        }
+    }
+}
@@ -0,0 +1,330 @@
+package com.blindworks.rhenanenmanager.service.graph;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Topological order of a directed graph, maintained while edges are added (Pearce and Kelly,
+ * "A Dynamic Topological Sort Algorithm for Directed Acyclic Graphs", 2006).
+ *
+ * Every node holds a position and all edges point from a lower to a higher one. An edge that
+ * already agrees with the order is accepted in constant time; otherwise only the nodes whose
+ * positions lie between its endpoints are searched and shifted, and reaching the source from
+ * the target in that search means the edge would close a cycle.
+ *
+ * Edges that close cycles can still be forced in (existing data). While any edge runs against
+ * the order, cycle checks fall back to an unbounded search. Not thread-safe.
+ */
+class DynamicTopologicalOrder {
+
+    private int[] position = new int[16];
+    private int[] nodeAt = new int[16];
+    private IntList[] out = new IntList[16];
+    private IntList[] in = new IntList[16];
+    private int nodeCount;
+
+    /**
+     * Number of edges pointing from a higher to a lower position.
+     */
+    private int backwardEdges;
+
+    // Search state of the write path
+    private int[] mark = new int[16];
+    private int stamp;
+    private final IntList stack = new IntList();
+    private final IntList forward = new IntList();
+    private final IntList backward = new IntList();
+
+    int nodeCount() {
+        return nodeCount;
+    }
+
+    boolean isAcyclic() {
+        return backwardEdges == 0;
+    }
+
+    /**
+     * Make nodes {@code 0..node} known; new nodes are appended at the end of the order.
+     */
+    void ensureNode(int node) {
+        while (nodeCount <= node) {
+            if (nodeCount == position.length) {
+                int capacity = nodeCount << 1;
+                position = Arrays.copyOf(position, capacity);
+                nodeAt = Arrays.copyOf(nodeAt, capacity);
+                out = Arrays.copyOf(out, capacity);
+                in = Arrays.copyOf(in, capacity);
+                mark = Arrays.copyOf(mark, capacity);
+            }
+            position[nodeCount] = nodeCount;
+            nodeAt[nodeCount] = nodeCount;
+            out[nodeCount] = new IntList(2);
+            in[nodeCount] = new IntList(2);
+            nodeCount++;
+        }
+    }
+
+    /**
+     * Whether adding {@code from -> to} would close a cycle. An existing edge
+     * {@code ignoredFrom -> ignoredTo} is treated as absent (pass -1 to ignore nothing).
+     * Does not modify the order, so concurrent readers may call it.
+     */
+    boolean wouldCloseCycle(int from, int to, int ignoredFrom, int ignoredTo) {
+        if (from == to) {
+            return true;
+        }
+        if (from >= nodeCount || to >= nodeCount) {
+            // A node without edges cannot be on a path
+            return false;
+        }
+        boolean bounded = backwardEdges == 0;
+        int upper = bounded ? position[from] : Integer.MAX_VALUE;
+        if (position[to] > upper) {
+            return false;
+        }
+        BitSet visited = new BitSet();
+        IntList pending = new IntList();
+        pending.add(to);
+        visited.set(to);
+        while (!pending.isEmpty()) {
+            int node = pending.removeLast();
+            IntList successors = out[node];
+            for (int i = 0; i < successors.size(); i++) {
+                int next = successors.get(i);
+                if (node == ignoredFrom && next == ignoredTo) {
+                    continue;
+                }
+                if (next == from) {
+                    return true;
+                }
+                if (!visited.get(next) && position[next] <= upper) {
+                    visited.set(next);
+                    pending.add(next);
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Add {@code from -> to} unless it would close a cycle.
+     *
+     * @return {@code false} if the edge was rejected; the graph is then unchanged
+     */
+    boolean addEdge(int from, int to) {
+        ensureNode(Math.max(from, to));
+        if (from == to) {
+            return false;
+        }
+        if (position[from] < position[to]) {
+            link(from, to);
+            return true;
+        }
+        if (backwardEdges > 0) {
+            // No valid order to repair locally
+            if (wouldCloseCycle(from, to, -1, -1)) {
+                return false;
+            }
+            link(from, to);
+            backwardEdges++;
+            return true;
+        }
+        int lower = position[to];
+        int upper = position[from];
+        stamp++;
+        forward.clear();
+        if (!search(to, out, lower, upper, from, forward)) {
+            return false;
+        }
+        backward.clear();
+        search(from, in, lower, upper, -1, backward);
+        reorder();
+        link(from, to);
+        return true;
+    }
+
+    /**
+     * Add an edge that {@link #addEdge} rejected because it closes a cycle.
+     */
+    void forceEdge(int from, int to) {
+        ensureNode(Math.max(from, to));
+        link(from, to);
+        backwardEdges++;
+    }
+
+    /**
+     * Add an edge without maintaining the order; call {@link #rebuild()} afterwards.
+     */
+    void addEdgeUnordered(int from, int to) {
+        ensureNode(Math.max(from, to));
+        link(from, to);
+    }
+
+    void removeEdge(int from, int to) {
+        if (from >= nodeCount || !out[from].removeValue(to)) {
+            return;
+        }
+        in[to].removeValue(from);
+        if (backwardEdges > 0) {
+            // The removed edge may have been part of the last cycle
+            rebuild();
+        }
+    }
+
+    /**
+     * Recompute the order from scratch (Kahn). Nodes on or behind cycles are placed last.
+     */
+    void rebuild() {
+        int[] pending = new int[nodeCount];
+        for (int node = 0; node < nodeCount; node++) {
+            pending[node] = in[node].size();
+        }
+        int[] queue = new int[nodeCount];
+        int head = 0;
+        int tail = 0;
+        for (int node = 0; node < nodeCount; node++) {
+            if (pending[node] == 0) {
+                queue[tail++] = node;
+            }
+        }
+        while (head < tail) {
+            int node = queue[head++];
+            IntList successors = out[node];
+            for (int i = 0; i < successors.size(); i++) {
+                if (--pending[successors.get(i)] == 0) {
+                    queue[tail++] = successors.get(i);
+                }
+            }
+        }
+        boolean[] placed = new boolean[nodeCount];
+        for (int i = 0; i < tail; i++) {
+            placed[queue[i]] = true;
+        }
+        for (int node = 0; node < nodeCount; node++) {
+            if (!placed[node]) {
+                queue[tail++] = node;
+            }
+        }
+        for (int i = 0; i < nodeCount; i++) {
+            nodeAt[i] = queue[i];
+            position[queue[i]] = i;
+        }
+        backwardEdges = 0;
+        for (int node = 0; node < nodeCount; node++) {
+            IntList successors = out[node];
+            for (int i = 0; i < successors.size(); i++) {
+                if (position[successors.get(i)] <= position[node]) {
+                    backwardEdges++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Independent copy, for trying out a series of edges without touching this order.
+     */
+    DynamicTopologicalOrder copy() {
+        DynamicTopologicalOrder copy = new DynamicTopologicalOrder();
+        int capacity = Math.max(16, nodeCount);
+        copy.position = Arrays.copyOf(position, capacity);
+        copy.nodeAt = Arrays.copyOf(nodeAt, capacity);
+        copy.out = new IntList[capacity];
+        copy.in = new IntList[capacity];
+        for (int node = 0; node < nodeCount; node++) {
+            copy.out[node] = out[node].copy();
+            copy.in[node] = in[node].copy();
+        }
+        copy.mark = new int[capacity];
+        copy.nodeCount = nodeCount;
+        copy.backwardEdges = backwardEdges;
+        return copy;
+    }
+
+    /**
+     * Positions are a permutation and, if acyclic, every edge points forward. For tests.
+     */
+    boolean isConsistent() {
+        for (int node = 0; node < nodeCount; node++) {
+            if (nodeAt[position[node]] != node) {
+                return false;
+            }
+            IntList successors = out[node];
+            for (int i = 0; i < successors.size(); i++) {
+                if (backwardEdges == 0 && position[successors.get(i)] <= position[node]) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private void link(int from, int to) {
+        out[from].add(to);
+        in[to].add(from);
+    }
+
+    /**
+     * Depth-first search from {@code start} along {@code edges}, restricted to positions in
+     * {@code [lower, upper]}, collecting the visited nodes.
+     *
+     * @return {@code false} if {@code target} was reached
+     */
+    private boolean search(int start, IntList[] edges, int lower, int upper, int target, IntList visited) {
+        stack.clear();
+        stack.add(start);
+        mark[start] = stamp;
+        visited.add(start);
+        while (!stack.isEmpty()) {
+            IntList next = edges[stack.removeLast()];
+            for (int i = 0; i < next.size(); i++) {
+                int node = next.get(i);
+                if (node == target) {
+                    return false;
+                }
+                int p = position[node];
+                if (mark[node] != stamp && p >= lower && p <= upper) {
+                    mark[node] = stamp;
+                    visited.add(node);
+                    stack.add(node);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Move the nodes reaching the new edge's source in front of the nodes reachable from its
+     * target, reusing the positions they occupied.
+     */
+    private void reorder() {
+        int[] before = sortedByPosition(backward);
+        int[] after = sortedByPosition(forward);
+        int[] slots = new int[before.length + after.length];
+        for (int i = 0; i < before.length; i++) {
+            slots[i] = position[before[i]];
+        }
+        for (int i = 0; i < after.length; i++) {
+            slots[before.length + i] = position[after[i]];
+        }
+        Arrays.sort(slots);
+        for (int i = 0; i < slots.length; i++) {
+            int node = i < before.length ? before[i] : after[i - before.length];
+            position[node] = slots[i];
+            nodeAt[slots[i]] = node;
+        }
+    }
+
+    private int[] sortedByPosition(IntList nodes) {
+        long[] keyed = new long[nodes.size()];
+        for (int i = 0; i < keyed.length; i++) {
+            int node = nodes.get(i);
+            keyed[i] = ((long) position[node] << 32) | node;
+        }
+        Arrays.sort(keyed);
+        int[] sorted = new int[keyed.length];
+        for (int i = 0; i < keyed.length; i++) {
+            sorted[i] = (int) keyed[i];
+        }
+        return sorted;
+    }
+}
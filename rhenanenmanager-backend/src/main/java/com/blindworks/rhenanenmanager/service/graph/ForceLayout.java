@@ -0,0 +1,379 @@
+package com.blindworks.rhenanenmanager.service.graph;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Force-directed graph layout (Fruchterman-Reingold) with Barnes-Hut approximation
+ * of the repulsive forces.
+ *
+ * Each iteration builds a quadtree over the current positions and computes the
+ * repulsion of every node against it in parallel on a {@link ForkJoinPool}, which
+ * brings an iteration from O(n²) down to O(n log n). Attraction along edges and a weak
+ * gravity towards the origin (which keeps disconnected members close) are added sequentially.
+ *
+ * Distances are in units of the ideal edge length. Instances are not thread-safe;
+ * the parallelism is internal.
+ */
+public class ForceLayout {
+
+    private static final double THETA = 0.8;
+    private static final double GRAVITY = 0.05;
+    private static final double MIN_DISTANCE_SQ = 1e-6;
+    private static final int MAX_TREE_DEPTH = 32;
+    private static final int PARALLEL_THRESHOLD = 256;
+
+    private final ForkJoinPool pool;
+
+    private final int nodeCount;
+    private final int[] edgeFrom;
+    private final int[] edgeTo;
+
+    private final double[] x;
+    private final double[] y;
+    private final double[] dispX;
+    private final double[] dispY;
+
+    private final QuadTree tree;
+
+    /**
+     * @param nodeCount number of nodes, numbered {@code 0..nodeCount-1}
+     * @param edgeFrom  first endpoint of every edge
+     * @param edgeTo    second endpoint of every edge
+     */
+    public ForceLayout(int nodeCount, int[] edgeFrom, int[] edgeTo, ForkJoinPool pool) {
+        this.pool = pool;
+        this.nodeCount = nodeCount;
+        this.edgeFrom = edgeFrom;
+        this.edgeTo = edgeTo;
+        this.x = new double[nodeCount];
+        this.y = new double[nodeCount];
+        this.dispX = new double[nodeCount];
+        this.dispY = new double[nodeCount];
+        this.tree = new QuadTree(nodeCount);
+    }
+
+    /**
+     * Set the start position of a node, e.g. from a previous layout.
+     */
+    public void place(int node, double px, double py) {
+        x[node] = px;
+        y[node] = py;
+    }
+
+    /**
+     * Place every node for which {@code placed[node]} is false: next to an already placed
+     * neighbour if there is one, otherwise on a spiral around the origin.
+     * The jitter is seeded, so equal inputs give equal layouts.
+     */
+    public void placeRemaining(boolean[] placed, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int spiral = 0;
+        for (int pass = 0; pass < 2; pass++) {
+            for (int i = 0; i < edgeFrom.length; i++) {
+                int a = edgeFrom[i];
+                int b = edgeTo[i];
+                if (placed[a] != placed[b]) {
+                    int anchor = placed[a] ? a : b;
+                    int node = placed[a] ? b : a;
+                    place(node, x[anchor] + random.nextDouble(-0.5, 0.5), y[anchor] + random.nextDouble(-0.5, 0.5));
+                    placed[node] = true;
+                }
+            }
+        }
+        for (int node = 0; node < nodeCount; node++) {
+            if (!placed[node]) {
+                // Sunflower spiral: even density with one node per unit area
+                double radius = Math.sqrt(spiral + 0.5);
+                double angle = spiral * 2.399963229728653;
+                place(node, radius * Math.cos(angle), radius * Math.sin(angle));
+                placed[node] = true;
+                spiral++;
+            }
+        }
+    }
+
+    /**
+     * Run the simulation.
+     *
+     * @param iterations         number of iterations
+     * @param initialTemperature maximum displacement of a node in the first iteration;
+     *                           it cools down geometrically to a small fraction of it
+     */
+    public void run(int iterations, double initialTemperature) {
+        if (nodeCount == 0 || iterations <= 0) {
+            return;
+        }
+        double temperature = initialTemperature;
+        double cooling = Math.pow(0.01, 1.0 / iterations);
+        for (int iteration = 0; iteration < iterations; iteration++) {
+            step(temperature);
+            temperature *= cooling;
+        }
+    }
+
+    public double x(int node) {
+        return x[node];
+    }
+
+    public double y(int node) {
+        return y[node];
+    }
+
+    /**
+     * Layout quality: the mean edge length divided by the mean distance of random node pairs.
+     * Small values mean that connected members end up close together compared to the size of the drawing.
+     */
+    public double edgeLengthRatio(long seed) {
+        if (edgeFrom.length == 0 || nodeCount < 2) {
+            return 0;
+        }
+        double edgeLength = 0;
+        for (int i = 0; i < edgeFrom.length; i++) {
+            edgeLength += Math.hypot(x[edgeFrom[i]] - x[edgeTo[i]], y[edgeFrom[i]] - y[edgeTo[i]]);
+        }
+        edgeLength /= edgeFrom.length;
+
+        SplittableRandom random = new SplittableRandom(seed);
+        int samples = Math.min(10_000, nodeCount * 4);
+        double pairDistance = 0;
+        for (int i = 0; i < samples; i++) {
+            int a = random.nextInt(nodeCount);
+            int b = random.nextInt(nodeCount);
+            pairDistance += Math.hypot(x[a] - x[b], y[a] - y[b]);
+        }
+        pairDistance /= samples;
+        return pairDistance == 0 ? 0 : edgeLength / pairDistance;
+    }
+
+    private void step(double temperature) {
+        tree.build(x, y);
+        pool.invoke(new RepulsionTask(0, nodeCount));
+
+        for (int i = 0; i < edgeFrom.length; i++) {
+            int a = edgeFrom[i];
+            int b = edgeTo[i];
+            if (a == b) {
+                continue;
+            }
+            double dx = x[a] - x[b];
+            double dy = y[a] - y[b];
+            // f = d² / k with k = 1, applied along the unit vector
+            double distance = Math.sqrt(dx * dx + dy * dy);
+            dispX[a] -= dx * distance;
+            dispY[a] -= dy * distance;
+            dispX[b] += dx * distance;
+            dispY[b] += dy * distance;
+        }
+
+        for (int node = 0; node < nodeCount; node++) {
+            double dx = dispX[node] - GRAVITY * x[node];
+            double dy = dispY[node] - GRAVITY * y[node];
+            double length = Math.sqrt(dx * dx + dy * dy);
+            if (length > 0) {
+                double move = Math.min(length, temperature) / length;
+                x[node] += dx * move;
+                y[node] += dy * move;
+            }
+        }
+    }
+
+    /**
+     * Computes the repulsive displacement of a range of nodes, splitting the range
+     * until it is small enough.
+     */
+    private class RepulsionTask extends RecursiveAction {
+
+        private final int from;
+        private final int to;
+
+        RepulsionTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > PARALLEL_THRESHOLD) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new RepulsionTask(from, middle), new RepulsionTask(middle, to));
+                return;
+            }
+            int[] stack = new int[3 * MAX_TREE_DEPTH + 4];
+            double[] force = new double[2];
+            for (int node = from; node < to; node++) {
+                tree.repulsion(node, x[node], y[node], stack, force);
+                dispX[node] = force[0];
+                dispY[node] = force[1];
+            }
+        }
+    }
+
+    /**
+     * Array-backed quadtree holding the node count and position sum of each cell.
+     * Cells are allocated in groups of four children; {@code firstChild < 0} marks a leaf.
+     */
+    private static class QuadTree {
+
+        private int cells;
+        private int[] firstChild;
+        private int[] body;
+        private int[] count;
+        private double[] sumX;
+        private double[] sumY;
+        private double[] centerX;
+        private double[] centerY;
+        private double[] halfSize;
+
+        QuadTree(int nodeCount) {
+            allocate(Math.max(16, nodeCount * 2));
+        }
+
+        void build(double[] x, double[] y) {
+            double minX = Double.POSITIVE_INFINITY;
+            double minY = Double.POSITIVE_INFINITY;
+            double maxX = Double.NEGATIVE_INFINITY;
+            double maxY = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < x.length; i++) {
+                minX = Math.min(minX, x[i]);
+                minY = Math.min(minY, y[i]);
+                maxX = Math.max(maxX, x[i]);
+                maxY = Math.max(maxY, y[i]);
+            }
+            cells = 0;
+            newCell((minX + maxX) / 2, (minY + maxY) / 2, Math.max(maxX - minX, maxY - minY) / 2 + 1e-9);
+            for (int i = 0; i < x.length; i++) {
+                insert(i, x[i], y[i]);
+            }
+        }
+
+        private void insert(int node, double px, double py) {
+            int cell = 0;
+            int depth = 0;
+            while (true) {
+                if (firstChild[cell] < 0) {
+                    if (count[cell] == 0) {
+                        body[cell] = node;
+                        count[cell] = 1;
+                        sumX[cell] = px;
+                        sumY[cell] = py;
+                        return;
+                    }
+                    if (depth >= MAX_TREE_DEPTH) {
+                        // (Nearly) coincident nodes share one leaf
+                        count[cell]++;
+                        sumX[cell] += px;
+                        sumY[cell] += py;
+                        return;
+                    }
+                    split(cell);
+                }
+                count[cell]++;
+                sumX[cell] += px;
+                sumY[cell] += py;
+                cell = childFor(cell, px, py);
+                depth++;
+            }
+        }
+
+        private void split(int cell) {
+            double half = halfSize[cell] / 2;
+            int first = cells;
+            newCell(centerX[cell] - half, centerY[cell] - half, half);
+            newCell(centerX[cell] + half, centerY[cell] - half, half);
+            newCell(centerX[cell] - half, centerY[cell] + half, half);
+            newCell(centerX[cell] + half, centerY[cell] + half, half);
+            firstChild[cell] = first;
+
+            int child = childFor(cell, sumX[cell], sumY[cell]);
+            body[child] = body[cell];
+            count[child] = 1;
+            sumX[child] = sumX[cell];
+            sumY[child] = sumY[cell];
+            body[cell] = -1;
+        }
+
+        private int childFor(int cell, double px, double py) {
+            int quadrant = (px >= centerX[cell] ? 1 : 0) | (py >= centerY[cell] ? 2 : 0);
+            return firstChild[cell] + quadrant;
+        }
+
+        private void newCell(double cx, double cy, double half) {
+            if (cells == firstChild.length) {
+                grow();
+            }
+            firstChild[cells] = -1;
+            body[cells] = -1;
+            count[cells] = 0;
+            sumX[cells] = 0;
+            sumY[cells] = 0;
+            centerX[cells] = cx;
+            centerY[cells] = cy;
+            halfSize[cells] = half;
+            cells++;
+        }
+
+        /**
+         * Repulsive force k² · m / d (k = 1) on a node from all other nodes, approximating
+         * distant cells by their centre of mass. Read-only on the tree, so it can run concurrently.
+         *
+         * @param stack scratch space for the traversal
+         * @param force receives the force as {x, y}
+         */
+        void repulsion(int node, double px, double py, int[] stack, double[] force) {
+            double fx = 0;
+            double fy = 0;
+            int top = 0;
+            stack[top++] = 0;
+            while (top > 0) {
+                int cell = stack[--top];
+                int n = count[cell];
+                if (n == 0 || (n == 1 && body[cell] == node)) {
+                    continue;
+                }
+                double dx = px - sumX[cell] / n;
+                double dy = py - sumY[cell] / n;
+                double distanceSq = dx * dx + dy * dy;
+                boolean leaf = firstChild[cell] < 0;
+                double size = halfSize[cell] * 2;
+                if (leaf || size * size < THETA * THETA * distanceSq) {
+                    if (distanceSq < MIN_DISTANCE_SQ) {
+                        // Coincident with this node; push apart in a fixed, node-specific direction
+                        double angle = node * 2.399963229728653;
+                        fx += Math.cos(angle);
+                        fy += Math.sin(angle);
+                    } else {
+                        int mass = leaf && body[cell] == node ? n - 1 : n;
+                        fx += dx * mass / distanceSq;
+                        fy += dy * mass / distanceSq;
+                    }
+                } else {
+                    int first = firstChild[cell];
+                    stack[top++] = first;
+                    stack[top++] = first + 1;
+                    stack[top++] = first + 2;
+                    stack[top++] = first + 3;
+                }
+            }
+            force[0] = fx;
+            force[1] = fy;
+        }
+
+        private void grow() {
+            allocate(firstChild.length * 2);
+        }
+
+        private void allocate(int capacity) {
+            firstChild = firstChild == null ? new int[capacity] : Arrays.copyOf(firstChild, capacity);
+            body = body == null ? new int[capacity] : Arrays.copyOf(body, capacity);
+            count = count == null ? new int[capacity] : Arrays.copyOf(count, capacity);
+            sumX = sumX == null ? new double[capacity] : Arrays.copyOf(sumX, capacity);
+            sumY = sumY == null ? new double[capacity] : Arrays.copyOf(sumY, capacity);
+            centerX = centerX == null ? new double[capacity] : Arrays.copyOf(centerX, capacity);
+            centerY = centerY == null ? new double[capacity] : Arrays.copyOf(centerY, capacity);
+            halfSize = halfSize == null ? new double[capacity] : Arrays.copyOf(halfSize, capacity);
+        }
+    }
+}
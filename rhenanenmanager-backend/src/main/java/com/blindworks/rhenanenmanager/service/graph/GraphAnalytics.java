@@ -0,0 +1,363 @@
+package com.blindworks.rhenanenmanager.service.graph;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Structural statistics over a {@link GraphSnapshot}, computed on primitive adjacency
+ * arrays (compressed sparse rows).
+ *
+ * <ul>
+ *   <li>Connected components (union-find, treating every connection as undirected)</li>
+ *   <li>Degree centrality (in, out, total)</li>
+ *   <li>Betweenness centrality with Brandes' algorithm on the undirected graph. The
+ *       single-source passes are split across a {@link ForkJoinPool}; above
+ *       {@code maxSources} nodes a seeded random sample of sources is used and the
+ *       result is extrapolated (Brandes and Pich), which keeps large graphs in seconds.</li>
+ *   <li>Leibfamilie structure along LEIBBURSCH connections: the generation of every member
+ *       (number of Leibbursch ancestors), the founder of its Leibfamilie and the family size.
+ *       Members on a Leibbursch cycle get no generation.</li>
+ * </ul>
+ */
+public class GraphAnalytics {
+
+    /**
+     * Generation / family value of nodes outside any Leibfamilie.
+     */
+    public static final int NONE = -1;
+
+    private static final int SOURCES_PER_TASK = 8;
+
+    private GraphAnalytics() {
+    }
+
+    @Getter
+    public static class Result {
+        private final int nodeCount;
+        private final int edgeCount;
+        private final int[] component;
+        private final int[] componentSize;
+        private final int componentCount;
+        private final int[] inDegree;
+        private final int[] outDegree;
+        private final double[] betweenness;
+        private final boolean betweennessSampled;
+        private final int[] generation;
+        private final int[] familyFounder;
+        private final int[] familySize;
+
+        Result(int nodeCount, int edgeCount, int[] component, int[] componentSize, int componentCount,
+               int[] inDegree, int[] outDegree, double[] betweenness, boolean betweennessSampled,
+               int[] generation, int[] familyFounder, int[] familySize) {
+            this.nodeCount = nodeCount;
+            this.edgeCount = edgeCount;
+            this.component = component;
+            this.componentSize = componentSize;
+            this.componentCount = componentCount;
+            this.inDegree = inDegree;
+            this.outDegree = outDegree;
+            this.betweenness = betweenness;
+            this.betweennessSampled = betweennessSampled;
+            this.generation = generation;
+            this.familyFounder = familyFounder;
+            this.familySize = familySize;
+        }
+
+        public int degree(int node) {
+            return inDegree[node] + outDegree[node];
+        }
+    }
+
+    /**
+     * @param lineageRelationType relation type whose connections point from Leibbursch to Leibfuchs
+     * @param maxSources          maximum number of betweenness source nodes before sampling kicks in
+     */
+    public static Result compute(GraphSnapshot snapshot, String lineageRelationType, int maxSources,
+                                 ForkJoinPool pool) {
+        int n = snapshot.nodeCount();
+        int m = snapshot.edgeCount();
+        int[] from = snapshot.getEdgeFrom();
+        int[] to = snapshot.getEdgeTo();
+
+        int[] inDegree = new int[n];
+        int[] outDegree = new int[n];
+        for (int i = 0; i < m; i++) {
+            outDegree[from[i]]++;
+            inDegree[to[i]]++;
+        }
+
+        // Components
+        int[] parent = new int[n];
+        for (int node = 0; node < n; node++) {
+            parent[node] = node;
+        }
+        for (int i = 0; i < m; i++) {
+            int a = find(parent, from[i]);
+            int b = find(parent, to[i]);
+            if (a != b) {
+                parent[Math.max(a, b)] = Math.min(a, b);
+            }
+        }
+        int[] component = new int[n];
+        int[] rootSize = new int[n];
+        int componentCount = 0;
+        for (int node = 0; node < n; node++) {
+            // Roots are the smallest node of their component, so they are numbered in node order
+            int root = find(parent, node);
+            component[node] = root == node ? componentCount++ : component[root];
+            rootSize[root]++;
+        }
+        int[] componentSize = new int[n];
+        for (int node = 0; node < n; node++) {
+            componentSize[node] = rootSize[find(parent, node)];
+        }
+
+        // Betweenness
+        int[][] csr = undirectedAdjacency(n, m, from, to);
+        int[] sources = sources(n, maxSources, snapshot.structureHash());
+        double[] betweenness = pool.invoke(new BetweennessTask(csr[0], csr[1], sources, 0, sources.length));
+        double scale = sources.length < n ? (double) n / sources.length : 1.0;
+        for (int node = 0; node < n; node++) {
+            // Undirected: every pair was counted from both ends
+            betweenness[node] = betweenness[node] * scale / 2;
+        }
+
+        // Leibfamilien
+        int[] generation = new int[n];
+        int[] founder = new int[n];
+        Arrays.fill(generation, NONE);
+        Arrays.fill(founder, NONE);
+        int[] familySize = new int[n];
+        int lineageType = Arrays.asList(snapshot.getRelationTypes()).indexOf(lineageRelationType);
+        if (lineageType >= 0) {
+            lineage(n, m, from, to, snapshot.getEdgeTypes(), (short) lineageType, generation, founder);
+            int[] perFounder = new int[n];
+            for (int node = 0; node < n; node++) {
+                if (founder[node] != NONE) {
+                    perFounder[founder[node]]++;
+                }
+            }
+            for (int node = 0; node < n; node++) {
+                familySize[node] = founder[node] != NONE ? perFounder[founder[node]] : 0;
+            }
+        }
+
+        return new Result(n, m, component, componentSize, componentCount, inDegree, outDegree,
+                betweenness, sources.length < n, generation, founder, familySize);
+    }
+
+    private static int find(int[] parent, int node) {
+        while (parent[node] != node) {
+            parent[node] = parent[parent[node]];
+            node = parent[node];
+        }
+        return node;
+    }
+
+    /**
+     * Undirected adjacency without self loops and duplicate neighbours, as {offsets, neighbours}.
+     */
+    private static int[][] undirectedAdjacency(int n, int m, int[] from, int[] to) {
+        int[] offsets = new int[n + 1];
+        for (int i = 0; i < m; i++) {
+            if (from[i] != to[i]) {
+                offsets[from[i] + 1]++;
+                offsets[to[i] + 1]++;
+            }
+        }
+        for (int node = 0; node < n; node++) {
+            offsets[node + 1] += offsets[node];
+        }
+        int[] neighbours = new int[offsets[n]];
+        int[] fill = Arrays.copyOf(offsets, n);
+        for (int i = 0; i < m; i++) {
+            if (from[i] != to[i]) {
+                neighbours[fill[from[i]]++] = to[i];
+                neighbours[fill[to[i]]++] = from[i];
+            }
+        }
+        // Several connections between the same two members count as one adjacency
+        int[] compactOffsets = new int[n + 1];
+        int write = 0;
+        for (int node = 0; node < n; node++) {
+            int start = offsets[node];
+            int end = offsets[node + 1];
+            Arrays.sort(neighbours, start, end);
+            compactOffsets[node] = write;
+            for (int i = start; i < end; i++) {
+                if (i == start || neighbours[i] != neighbours[i - 1]) {
+                    neighbours[write++] = neighbours[i];
+                }
+            }
+        }
+        compactOffsets[n] = write;
+        return new int[][]{compactOffsets, neighbours};
+    }
+
+    private static int[] sources(int n, int maxSources, long seed) {
+        int[] nodes = new int[n];
+        for (int node = 0; node < n; node++) {
+            nodes[node] = node;
+        }
+        if (n <= maxSources) {
+            return nodes;
+        }
+        // Partial Fisher-Yates shuffle
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = 0; i < maxSources; i++) {
+            int j = i + random.nextInt(n - i);
+            int swap = nodes[i];
+            nodes[i] = nodes[j];
+            nodes[j] = swap;
+        }
+        return Arrays.copyOf(nodes, maxSources);
+    }
+
+    /**
+     * Topological sweep over the Leibbursch edges (Kahn). Every member inherits generation + 1
+     * and the founder of the first of its Leibburschen to be reached.
+     */
+    private static void lineage(int n, int m, int[] from, int[] to, short[] types, short lineageType,
+                                int[] generation, int[] founder) {
+        int[] offsets = new int[n + 1];
+        int[] pending = new int[n];
+        boolean[] member = new boolean[n];
+        for (int i = 0; i < m; i++) {
+            if (types[i] == lineageType && from[i] != to[i]) {
+                offsets[from[i] + 1]++;
+                pending[to[i]]++;
+                member[from[i]] = true;
+                member[to[i]] = true;
+            }
+        }
+        for (int node = 0; node < n; node++) {
+            offsets[node + 1] += offsets[node];
+        }
+        int[] children = new int[offsets[n]];
+        int[] fill = Arrays.copyOf(offsets, n);
+        for (int i = 0; i < m; i++) {
+            if (types[i] == lineageType && from[i] != to[i]) {
+                children[fill[from[i]]++] = to[i];
+            }
+        }
+
+        int[] queue = new int[n];
+        int head = 0;
+        int tail = 0;
+        for (int node = 0; node < n; node++) {
+            if (member[node] && pending[node] == 0) {
+                generation[node] = 0;
+                founder[node] = node;
+                queue[tail++] = node;
+            }
+        }
+        while (head < tail) {
+            int node = queue[head++];
+            for (int i = offsets[node]; i < offsets[node + 1]; i++) {
+                int child = children[i];
+                if (founder[child] == NONE) {
+                    founder[child] = founder[node];
+                }
+                generation[child] = Math.max(generation[child], generation[node] + 1);
+                if (--pending[child] == 0) {
+                    queue[tail++] = child;
+                }
+            }
+        }
+        // Members left with pending Leibburschen sit on or below a cycle
+        for (int node = 0; node < n; node++) {
+            if (pending[node] > 0) {
+                generation[node] = NONE;
+                founder[node] = NONE;
+            }
+        }
+    }
+
+    /**
+     * Brandes' single-source dependency accumulation for a range of sources,
+     * summed into one array per task.
+     */
+    private static class BetweennessTask extends RecursiveTask<double[]> {
+
+        private final int[] offsets;
+        private final int[] neighbours;
+        private final int[] sources;
+        private final int from;
+        private final int to;
+
+        BetweennessTask(int[] offsets, int[] neighbours, int[] sources, int from, int to) {
+            this.offsets = offsets;
+            this.neighbours = neighbours;
+            this.sources = sources;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected double[] compute() {
+            if (to - from > SOURCES_PER_TASK) {
+                int middle = (from + to) >>> 1;
+                BetweennessTask left = new BetweennessTask(offsets, neighbours, sources, from, middle);
+                left.fork();
+                double[] right = new BetweennessTask(offsets, neighbours, sources, middle, to).compute();
+                double[] sum = left.join();
+                for (int node = 0; node < sum.length; node++) {
+                    sum[node] += right[node];
+                }
+                return sum;
+            }
+
+            int n = offsets.length - 1;
+            double[] centrality = new double[n];
+            int[] distance = new int[n];
+            double[] paths = new double[n];
+            double[] dependency = new double[n];
+            int[] order = new int[n];
+            Arrays.fill(distance, -1);
+
+            for (int s = from; s < to; s++) {
+                int source = sources[s];
+                int visited = 0;
+                distance[source] = 0;
+                paths[source] = 1;
+                order[visited++] = source;
+                // order doubles as the BFS queue: nodes are appended in non-decreasing distance
+                for (int head = 0; head < visited; head++) {
+                    int node = order[head];
+                    for (int i = offsets[node]; i < offsets[node + 1]; i++) {
+                        int next = neighbours[i];
+                        if (distance[next] < 0) {
+                            distance[next] = distance[node] + 1;
+                            order[visited++] = next;
+                        }
+                        if (distance[next] == distance[node] + 1) {
+                            paths[next] += paths[node];
+                        }
+                    }
+                }
+                for (int k = visited - 1; k > 0; k--) {
+                    int node = order[k];
+                    double share = (1 + dependency[node]) / paths[node];
+                    for (int i = offsets[node]; i < offsets[node + 1]; i++) {
+                        int previous = neighbours[i];
+                        if (distance[previous] == distance[node] - 1) {
+                            dependency[previous] += paths[previous] * share;
+                        }
+                    }
+                    centrality[node] += dependency[node];
+                }
+                for (int k = 0; k < visited; k++) {
+                    int node = order[k];
+                    distance[node] = -1;
+                    paths[node] = 0;
+                    dependency[node] = 0;
+                }
+            }
+            return centrality;
+        }
+    }
+}
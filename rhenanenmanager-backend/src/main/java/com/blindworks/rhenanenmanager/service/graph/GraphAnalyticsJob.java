@@ -0,0 +1,214 @@
+package com.blindworks.rhenanenmanager.service.graph;
+
+import com.blindworks.rhenanenmanager.domain.dto.response.GraphStatsResponse;
+import com.blindworks.rhenanenmanager.domain.entity.Connection;
+import com.blindworks.rhenanenmanager.domain.repository.GraphProfileStatsRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * Scheduled analytics over the connection graph (see {@link GraphAnalytics}).
+ *
+ * Runs on the scheduler thread whenever the graph index moved to a new version, replaces
+ * the rows of the graph_profile_stats table and keeps the aggregated summary in memory.
+ * Request threads only ever read the last finished result.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GraphAnalyticsJob {
+
+    private static final int TOP = 10;
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO graph_profile_stats (profile_id, component_id, component_size, in_degree, out_degree, " +
+            "betweenness, generation, family_founder_id, family_size, graph_version, computed_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final ConnectionGraphIndex connectionGraphIndex;
+    private final GraphProfileStatsRepository graphProfileStatsRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.graph.analytics.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.graph.analytics.betweenness-sources:512}")
+    private int betweennessSources;
+
+    private final ForkJoinPool pool = new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+
+    private volatile GraphStatsResponse summary;
+
+    /**
+     * Summary of the last finished run, or {@code null} if none finished yet.
+     */
+    public GraphStatsResponse getSummary() {
+        return summary;
+    }
+
+    @Scheduled(initialDelayString = "${app.graph.analytics.initial-delay-ms:30000}",
+               fixedDelayString = "${app.graph.analytics.interval-ms:600000}")
+    public void runIfChanged() {
+        GraphStatsResponse last = summary;
+        if (!enabled || (last != null && last.getGraphVersion() == connectionGraphIndex.getVersion())) {
+            return;
+        }
+        try {
+            run();
+        } catch (RuntimeException e) {
+            log.error("Connection graph analytics failed", e);
+        }
+    }
+
+    /**
+     * Compute and store the statistics for the current graph. Runs on the calling thread.
+     */
+    public synchronized GraphStatsResponse run() {
+        long started = System.nanoTime();
+        GraphSnapshot snapshot = connectionGraphIndex.snapshot();
+        GraphAnalytics.Result result = GraphAnalytics.compute(
+                snapshot, Connection.RELATION_LEIBBURSCH, betweennessSources, pool);
+        long computedMs = (System.nanoTime() - started) / 1_000_000;
+        LocalDateTime computedAt = LocalDateTime.now();
+
+        store(snapshot, result, computedAt);
+        long durationMs = (System.nanoTime() - started) / 1_000_000;
+
+        GraphStatsResponse stats = summarize(snapshot, result, computedAt, durationMs);
+        summary = stats;
+        log.info("Connection graph analytics: {} profiles, {} connections, {} components, {} Leibfamilien " +
+                 "in {} ms ({} ms computing)", stats.getProfileCount(), stats.getConnectionCount(),
+                stats.getComponentCount(), stats.getFamilyCount(), durationMs, computedMs);
+        return stats;
+    }
+
+    private void store(GraphSnapshot snapshot, GraphAnalytics.Result result, LocalDateTime computedAt) {
+        long[] profileIds = snapshot.getProfileIds();
+        Timestamp timestamp = Timestamp.valueOf(computedAt);
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        int[] argumentTypes = {Types.BIGINT, Types.INTEGER, Types.INTEGER, Types.INTEGER, Types.INTEGER,
+                Types.DOUBLE, Types.INTEGER, Types.BIGINT, Types.INTEGER, Types.BIGINT, Types.TIMESTAMP};
+
+        transactionTemplate.executeWithoutResult(status -> {
+            graphProfileStatsRepository.deleteAllInBatch();
+            for (int node = 0; node < result.getNodeCount(); node++) {
+                int founder = result.getFamilyFounder()[node];
+                boolean inFamily = founder != GraphAnalytics.NONE;
+                batch.add(new Object[]{
+                        profileIds[node],
+                        result.getComponent()[node],
+                        result.getComponentSize()[node],
+                        result.getInDegree()[node],
+                        result.getOutDegree()[node],
+                        result.getBetweenness()[node],
+                        inFamily ? result.getGeneration()[node] : null,
+                        inFamily ? profileIds[founder] : null,
+                        inFamily ? result.getFamilySize()[node] : null,
+                        snapshot.getVersion(),
+                        timestamp
+                });
+                if (batch.size() == BATCH_SIZE) {
+                    jdbcTemplate.batchUpdate(INSERT_SQL, batch, argumentTypes);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch, argumentTypes);
+            }
+        });
+    }
+
+    private GraphStatsResponse summarize(GraphSnapshot snapshot, GraphAnalytics.Result result,
+                                         LocalDateTime computedAt, long durationMs) {
+        int n = result.getNodeCount();
+        int largestComponent = 0;
+        int maxGeneration = GraphAnalytics.NONE;
+        int families = 0;
+        for (int node = 0; node < n; node++) {
+            largestComponent = Math.max(largestComponent, result.getComponentSize()[node]);
+            maxGeneration = Math.max(maxGeneration, result.getGeneration()[node]);
+            if (result.getFamilyFounder()[node] == node) {
+                families++;
+            }
+        }
+        List<Integer> perGeneration = new ArrayList<>();
+        for (int generation = 0; generation <= maxGeneration; generation++) {
+            perGeneration.add(0);
+        }
+        for (int node = 0; node < n; node++) {
+            int generation = result.getGeneration()[node];
+            if (generation != GraphAnalytics.NONE) {
+                perGeneration.set(generation, perGeneration.get(generation) + 1);
+            }
+        }
+
+        return GraphStatsResponse.builder()
+                .available(true)
+                .stale(false)
+                .graphVersion(snapshot.getVersion())
+                .computedAt(computedAt)
+                .durationMs(durationMs)
+                .profileCount(n)
+                .connectionCount(result.getEdgeCount())
+                .componentCount(result.getComponentCount())
+                .largestComponentSize(largestComponent)
+                .betweennessSampled(result.isBetweennessSampled())
+                .familyCount(families)
+                .maxGeneration(maxGeneration == GraphAnalytics.NONE ? null : maxGeneration)
+                .membersPerGeneration(perGeneration)
+                .topDegree(ranked(snapshot, n, result::degree))
+                .topBetweenness(ranked(snapshot, n, node -> result.getBetweenness()[node]))
+                .largestFamilies(ranked(snapshot, n,
+                        node -> result.getFamilyFounder()[node] == node ? result.getFamilySize()[node] : -1))
+                .build();
+    }
+
+    /**
+     * The {@link #TOP} nodes with the highest positive values, highest first.
+     */
+    private List<GraphStatsResponse.RankedProfile> ranked(GraphSnapshot snapshot, int n, IntToDoubleFunction value) {
+        PriorityQueue<double[]> top = new PriorityQueue<>(TOP + 1, (a, b) -> Double.compare(a[0], b[0]));
+        for (int node = 0; node < n; node++) {
+            double v = value.applyAsDouble(node);
+            if (v > 0 && (top.size() < TOP || v > top.peek()[0])) {
+                top.add(new double[]{v, node});
+                if (top.size() > TOP) {
+                    top.poll();
+                }
+            }
+        }
+        List<GraphStatsResponse.RankedProfile> ranked = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            double[] entry = top.poll();
+            int node = (int) entry[1];
+            ranked.add(0, GraphStatsResponse.RankedProfile.builder()
+                    .profileId(snapshot.getProfileIds()[node])
+                    .profileName(snapshot.getFirstnames()[node] + " " + snapshot.getLastnames()[node])
+                    .value(entry[0])
+                    .build());
+        }
+        return ranked;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+}
@@ -0,0 +1,419 @@
+package com.blindworks.rhenanenmanager.service.graph;
+
+import com.blindworks.rhenanenmanager.domain.dto.projection.LeibburschLink;
+import com.blindworks.rhenanenmanager.domain.dto.response.GraphConsistencyResponse;
+import com.blindworks.rhenanenmanager.domain.dto.response.GraphConsistencyResponse.Issue;
+import com.blindworks.rhenanenmanager.domain.dto.response.GraphConsistencyResponse.IssueType;
+import com.blindworks.rhenanenmanager.domain.entity.Connection;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Batch scan of a {@link GraphSnapshot} for data the write path would reject today but
+ * that may exist from older versions or direct database edits (see
+ * {@link GraphConsistencyResponse.IssueType}).
+ *
+ * Per-connection and per-Leibfuchs checks are split into ranges on a {@link ForkJoinPool};
+ * duplicate detection sorts packed keys in parallel, and the Leibbursch cycle search
+ * (Tarjan's strongly connected components) runs alongside as one task.
+ */
+public class GraphConsistencyScanner {
+
+    private static final int EDGES_PER_TASK = 8192;
+    private static final int NODES_PER_TASK = 4096;
+
+    private GraphConsistencyScanner() {
+    }
+
+    /**
+     * @param corpsLinks Leibbursch assignments from the corps member data, compared with the connections
+     */
+    public static GraphConsistencyResponse scan(GraphSnapshot snapshot, List<LeibburschLink> corpsLinks,
+                                                ForkJoinPool pool) {
+        long started = System.nanoTime();
+        int lineageType = Arrays.asList(snapshot.getRelationTypes()).indexOf(Connection.RELATION_LEIBBURSCH);
+        int[][] leibburschen = incomingLineage(snapshot, lineageType);
+
+        ForkJoinTask<List<Issue>> edges = pool.submit(new EdgeTask(snapshot, lineageType, 0, snapshot.edgeCount()));
+        ForkJoinTask<List<Issue>> leibfuechse = pool.submit(
+                new LeibfuchsTask(snapshot, leibburschen, 0, snapshot.nodeCount()));
+        ForkJoinTask<List<Issue>> cycles = pool.submit(() -> cycles(snapshot, leibburschen));
+        ForkJoinTask<List<Issue>> duplicates = pool.submit(() -> duplicates(snapshot));
+
+        List<Issue> issues = new ArrayList<>(edges.join());
+        issues.addAll(duplicates.join());
+        issues.addAll(cycles.join());
+        issues.addAll(leibfuechse.join());
+        issues.addAll(corpsDataMismatches(snapshot, leibburschen, corpsLinks));
+        issues.sort(Comparator.comparing(Issue::getType)
+                .thenComparing(issue -> issue.getConnectionIds().isEmpty() ? 0L : issue.getConnectionIds().get(0)));
+
+        Map<IssueType, Integer> byType = new EnumMap<>(IssueType.class);
+        for (Issue issue : issues) {
+            byType.merge(issue.getType(), 1, Integer::sum);
+        }
+        return GraphConsistencyResponse.builder()
+                .graphVersion(snapshot.getVersion())
+                .checkedAt(LocalDateTime.now())
+                .durationMs((System.nanoTime() - started) / 1_000_000)
+                .profileCount(snapshot.nodeCount())
+                .connectionCount(snapshot.edgeCount())
+                .issueCount(issues.size())
+                .issueCountByType(byType)
+                .issues(issues)
+                .build();
+    }
+
+    /**
+     * LEIBBURSCH edges per Leibfuchs as {offsets, edges}, self links excluded.
+     */
+    private static int[][] incomingLineage(GraphSnapshot snapshot, int lineageType) {
+        int n = snapshot.nodeCount();
+        int m = snapshot.edgeCount();
+        int[] offsets = new int[n + 1];
+        if (lineageType < 0) {
+            return new int[][]{offsets, new int[0]};
+        }
+        short[] types = snapshot.getEdgeTypes();
+        int[] from = snapshot.getEdgeFrom();
+        int[] to = snapshot.getEdgeTo();
+        for (int i = 0; i < m; i++) {
+            if (types[i] == lineageType && from[i] != to[i]) {
+                offsets[to[i] + 1]++;
+            }
+        }
+        for (int node = 0; node < n; node++) {
+            offsets[node + 1] += offsets[node];
+        }
+        int[] edges = new int[offsets[n]];
+        int[] fill = Arrays.copyOf(offsets, n);
+        for (int i = 0; i < m; i++) {
+            if (types[i] == lineageType && from[i] != to[i]) {
+                edges[fill[to[i]]++] = i;
+            }
+        }
+        return new int[][]{offsets, edges};
+    }
+
+    private static List<Issue> duplicates(GraphSnapshot snapshot) {
+        int m = snapshot.edgeCount();
+        int[] from = snapshot.getEdgeFrom();
+        int[] to = snapshot.getEdgeTo();
+        short[] types = snapshot.getEdgeTypes();
+        // Node numbers stay below 2^24 and type codes below 2^16, so the packed key keeps its order
+        long[] keys = new long[m];
+        for (int i = 0; i < m; i++) {
+            keys[i] = ((long) from[i] << 40) | ((long) to[i] << 16) | types[i];
+        }
+        long[] sorted = keys.clone();
+        Arrays.parallelSort(sorted);
+        List<Long> duplicateKeys = new ArrayList<>();
+        for (int i = 1; i < m; i++) {
+            if (sorted[i] == sorted[i - 1]
+                    && (duplicateKeys.isEmpty() || duplicateKeys.get(duplicateKeys.size() - 1) != sorted[i])) {
+                duplicateKeys.add(sorted[i]);
+            }
+        }
+        List<Issue> issues = new ArrayList<>();
+        if (duplicateKeys.isEmpty()) {
+            return issues;
+        }
+        long[] wanted = duplicateKeys.stream().mapToLong(Long::longValue).toArray();
+        List<List<Long>> groups = new ArrayList<>();
+        for (int k = 0; k < wanted.length; k++) {
+            groups.add(new ArrayList<>());
+        }
+        // Edges are ordered by ID, so every group lists its connections ascending
+        for (int i = 0; i < m; i++) {
+            int k = Arrays.binarySearch(wanted, keys[i]);
+            if (k >= 0) {
+                groups.get(k).add(snapshot.getEdgeIds()[i]);
+            }
+        }
+        for (int k = 0; k < wanted.length; k++) {
+            int edge = Arrays.binarySearch(snapshot.getEdgeIds(), groups.get(k).get(0));
+            issues.add(issue(IssueType.DUPLICATE_CONNECTION, snapshot,
+                    List.of(from[edge], to[edge]), groups.get(k),
+                    groups.get(k).size() + " " + snapshot.getRelationTypes()[types[edge]] + " connections from "
+                    + name(snapshot, from[edge]) + " to " + name(snapshot, to[edge])));
+        }
+        return issues;
+    }
+
+    /**
+     * Strongly connected components of the Leibbursch graph with more than one member (Tarjan,
+     * iterative). Each one is a set of members that are their own Leibbursch further up.
+     */
+    private static List<Issue> cycles(GraphSnapshot snapshot, int[][] leibburschen) {
+        int n = snapshot.nodeCount();
+        int[] offsets = leibburschen[0];
+        int[] edges = leibburschen[1];
+        int[] from = snapshot.getEdgeFrom();
+        int[] index = new int[n];
+        int[] low = new int[n];
+        boolean[] onStack = new boolean[n];
+        Arrays.fill(index, -1);
+        int[] stack = new int[n];
+        int stackSize = 0;
+        int[] callNode = new int[n];
+        int[] callEdge = new int[n];
+        int counter = 0;
+        List<Issue> issues = new ArrayList<>();
+
+        for (int root = 0; root < n; root++) {
+            if (index[root] >= 0 || offsets[root] == offsets[root + 1]) {
+                continue;
+            }
+            int depth = 0;
+            callNode[0] = root;
+            callEdge[0] = offsets[root];
+            index[root] = low[root] = counter++;
+            stack[stackSize++] = root;
+            onStack[root] = true;
+            while (depth >= 0) {
+                int node = callNode[depth];
+                if (callEdge[depth] < offsets[node + 1]) {
+                    // Walk from the Leibfuchs up to its Leibbursch
+                    int next = from[edges[callEdge[depth]++]];
+                    if (index[next] < 0) {
+                        index[next] = low[next] = counter++;
+                        stack[stackSize++] = next;
+                        onStack[next] = true;
+                        depth++;
+                        callNode[depth] = next;
+                        callEdge[depth] = offsets[next];
+                    } else if (onStack[next]) {
+                        low[node] = Math.min(low[node], index[next]);
+                    }
+                    continue;
+                }
+                if (low[node] == index[node]) {
+                    List<Integer> component = new ArrayList<>();
+                    int member;
+                    do {
+                        member = stack[--stackSize];
+                        onStack[member] = false;
+                        component.add(member);
+                    } while (member != node);
+                    if (component.size() > 1) {
+                        issues.add(cycleIssue(snapshot, leibburschen, component));
+                    }
+                }
+                depth--;
+                if (depth >= 0) {
+                    int parent = callNode[depth];
+                    low[parent] = Math.min(low[parent], low[node]);
+                }
+            }
+        }
+        return issues;
+    }
+
+    private static Issue cycleIssue(GraphSnapshot snapshot, int[][] leibburschen, List<Integer> component) {
+        component.sort(null);
+        List<Long> profileIds = new ArrayList<>();
+        List<Long> connectionIds = new ArrayList<>();
+        for (int node : component) {
+            profileIds.add(snapshot.getProfileIds()[node]);
+            for (int i = leibburschen[0][node]; i < leibburschen[0][node + 1]; i++) {
+                int edge = leibburschen[1][i];
+                if (component.contains(snapshot.getEdgeFrom()[edge])) {
+                    connectionIds.add(snapshot.getEdgeIds()[edge]);
+                }
+            }
+        }
+        connectionIds.sort(null);
+        return Issue.builder()
+                .type(IssueType.LEIBBURSCH_CYCLE)
+                .profileIds(profileIds)
+                .connectionIds(connectionIds)
+                .message(component.size() + " members are their own Leibbursch: "
+                         + String.join(", ", component.stream().map(node -> name(snapshot, node)).toList()))
+                .build();
+    }
+
+    /**
+     * Leibburschen of a Leibfuchs according to the corps member data that no LEIBBURSCH
+     * connection confirms. Members without LEIBBURSCH connections are not compared, as the
+     * corps member data is their only record.
+     */
+    private static List<Issue> corpsDataMismatches(GraphSnapshot snapshot, int[][] leibburschen,
+                                                   List<LeibburschLink> corpsLinks) {
+        List<Issue> issues = new ArrayList<>();
+        long[] profileIds = snapshot.getProfileIds();
+        for (LeibburschLink link : corpsLinks) {
+            int node = Arrays.binarySearch(profileIds, link.getProfileId());
+            if (node < 0 || leibburschen[0][node] == leibburschen[0][node + 1]) {
+                continue;
+            }
+            boolean confirmed = false;
+            List<Long> connectionIds = new ArrayList<>();
+            for (int i = leibburschen[0][node]; i < leibburschen[0][node + 1]; i++) {
+                int edge = leibburschen[1][i];
+                connectionIds.add(snapshot.getEdgeIds()[edge]);
+                confirmed |= profileIds[snapshot.getEdgeFrom()[edge]] == link.getLeibBurschId();
+            }
+            if (!confirmed) {
+                issues.add(Issue.builder()
+                        .type(IssueType.CORPS_DATA_MISMATCH)
+                        .profileIds(List.of(link.getProfileId(), link.getLeibBurschId()))
+                        .connectionIds(connectionIds)
+                        .message("Corps member data names " + link.getLeibBurschFirstname() + " "
+                                 + link.getLeibBurschLastname() + " as Leibbursch of " + name(snapshot, node)
+                                 + ", the connections do not")
+                        .build());
+            }
+        }
+        return issues;
+    }
+
+    private static Issue issue(IssueType type, GraphSnapshot snapshot, List<Integer> nodes, List<Long> connectionIds,
+                               String message) {
+        return Issue.builder()
+                .type(type)
+                .profileIds(nodes.stream().distinct().map(node -> snapshot.getProfileIds()[node]).toList())
+                .connectionIds(connectionIds)
+                .message(message)
+                .build();
+    }
+
+    private static String name(GraphSnapshot snapshot, int node) {
+        return snapshot.getFirstnames()[node] + " " + snapshot.getLastnames()[node];
+    }
+
+    /**
+     * Checks of single connections for a range of edges.
+     */
+    private static class EdgeTask extends RecursiveTask<List<Issue>> {
+
+        private final GraphSnapshot snapshot;
+        private final int lineageType;
+        private final int from;
+        private final int to;
+
+        EdgeTask(GraphSnapshot snapshot, int lineageType, int from, int to) {
+            this.snapshot = snapshot;
+            this.lineageType = lineageType;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<Issue> compute() {
+            if (to - from > EDGES_PER_TASK) {
+                int middle = (from + to) >>> 1;
+                EdgeTask left = new EdgeTask(snapshot, lineageType, from, middle);
+                left.fork();
+                List<Issue> right = new EdgeTask(snapshot, lineageType, middle, to).compute();
+                List<Issue> issues = left.join();
+                issues.addAll(right);
+                return issues;
+            }
+            List<Issue> issues = new ArrayList<>();
+            for (int edge = from; edge < to; edge++) {
+                int source = snapshot.getEdgeFrom()[edge];
+                int target = snapshot.getEdgeTo()[edge];
+                List<Long> connection = List.of(snapshot.getEdgeIds()[edge]);
+                if (source == target) {
+                    issues.add(issue(IssueType.SELF_LINK, snapshot, List.of(source), connection,
+                            name(snapshot, source) + " is connected to themselves"));
+                }
+                int start = snapshot.getEdgeStart()[edge];
+                int end = snapshot.getEdgeEnd()[edge];
+                if (start != ConnectionGraphIndex.OPEN_START && end != ConnectionGraphIndex.OPEN_END && end <= start) {
+                    issues.add(issue(IssueType.EMPTY_PERIOD, snapshot, List.of(source, target), connection,
+                            "Connection ends on or before its start"));
+                }
+                if (snapshot.getEdgeTypes()[edge] == lineageType && snapshot.getEdgeBidirectional()[edge]) {
+                    issues.add(issue(IssueType.BIDIRECTIONAL_LEIBBURSCH, snapshot, List.of(source, target),
+                            connection, "Leibbursch connection is marked as bidirectional"));
+                }
+            }
+            return issues;
+        }
+    }
+
+    /**
+     * Leibfuchse with Leibburschen in overlapping periods, for a range of nodes.
+     */
+    private static class LeibfuchsTask extends RecursiveTask<List<Issue>> {
+
+        private final GraphSnapshot snapshot;
+        private final int[][] leibburschen;
+        private final int from;
+        private final int to;
+
+        LeibfuchsTask(GraphSnapshot snapshot, int[][] leibburschen, int from, int to) {
+            this.snapshot = snapshot;
+            this.leibburschen = leibburschen;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<Issue> compute() {
+            if (to - from > NODES_PER_TASK) {
+                int middle = (from + to) >>> 1;
+                LeibfuchsTask left = new LeibfuchsTask(snapshot, leibburschen, from, middle);
+                left.fork();
+                List<Issue> right = new LeibfuchsTask(snapshot, leibburschen, middle, to).compute();
+                List<Issue> issues = left.join();
+                issues.addAll(right);
+                return issues;
+            }
+            List<Issue> issues = new ArrayList<>();
+            int[] offsets = leibburschen[0];
+            int[] start = snapshot.getEdgeStart();
+            int[] end = snapshot.getEdgeEnd();
+            for (int node = from; node < to; node++) {
+                if (offsets[node + 1] - offsets[node] < 2) {
+                    continue;
+                }
+                Integer[] edges = new Integer[offsets[node + 1] - offsets[node]];
+                for (int i = 0; i < edges.length; i++) {
+                    edges[i] = leibburschen[1][offsets[node] + i];
+                }
+                Arrays.sort(edges, Comparator.comparingInt(edge -> start[edge]));
+                // Sweep by start date; an edge overlaps if it starts before an earlier one ended
+                List<Integer> overlapping = new ArrayList<>();
+                int latestEnd = end[edges[0]];
+                int latestEdge = edges[0];
+                for (int i = 1; i < edges.length; i++) {
+                    if (start[edges[i]] < latestEnd) {
+                        if (!overlapping.contains(latestEdge)) {
+                            overlapping.add(latestEdge);
+                        }
+                        overlapping.add(edges[i]);
+                    }
+                    if (end[edges[i]] > latestEnd) {
+                        latestEnd = end[edges[i]];
+                        latestEdge = edges[i];
+                    }
+                }
+                if (overlapping.isEmpty()) {
+                    continue;
+                }
+                List<Integer> nodes = new ArrayList<>();
+                nodes.add(node);
+                List<Long> connectionIds = new ArrayList<>();
+                for (int edge : overlapping) {
+                    nodes.add(snapshot.getEdgeFrom()[edge]);
+                    connectionIds.add(snapshot.getEdgeIds()[edge]);
+                }
+                connectionIds.sort(null);
+                issues.add(issue(IssueType.MULTIPLE_LEIBBURSCHEN, snapshot, nodes, connectionIds,
+                        name(snapshot, node) + " has several Leibburschen at the same time"));
+            }
+            return issues;
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.blindworks.rhenanenmanager.service.graph;
+
+import com.blindworks.rhenanenmanager.domain.entity.GraphLayout;
+import com.blindworks.rhenanenmanager.domain.repository.GraphLayoutRepository;
+import com.blindworks.rhenanenmanager.service.event.ConnectionChangedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps a precomputed {@link ForceLayout} of the connection graph, so the graph page
+ * can render immediately instead of simulating in the browser.
+ *
+ * Changes are debounced and the layout is recomputed on a background thread, starting
+ * from the previous coordinates so the picture stays stable. The latest layout is
+ * persisted with the structure hash of its graph and reused after a restart if the
+ * graph did not change in the meantime.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GraphLayoutManager {
+
+    private static final int FULL_ITERATIONS = 300;
+    private static final int INCREMENTAL_ITERATIONS = 60;
+    private static final int BYTES_PER_NODE = Long.BYTES + 2 * Float.BYTES;
+
+    private final ConnectionGraphIndex connectionGraphIndex;
+    private final GraphLayoutRepository graphLayoutRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.graph.layout.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.graph.layout.delay-ms:2000}")
+    private long delayMs;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "graph-layout");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final ForkJoinPool pool = new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+
+    private volatile Layout current;
+
+    private ScheduledFuture<?> pending;
+
+    /**
+     * Computed coordinates; position i belongs to profileIds[i], which are sorted ascending.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class Layout {
+        private final long graphHash;
+        private final long graphVersion;
+        private final LocalDateTime computedAt;
+        private final long[] profileIds;
+        private final float[] x;
+        private final float[] y;
+
+        Layout withGraphVersion(long version) {
+            return new Layout(graphHash, version, computedAt, profileIds, x, y);
+        }
+    }
+
+    /**
+     * Latest layout, or {@code null} if none was computed yet.
+     */
+    public Layout getLayout() {
+        return current;
+    }
+
+    public boolean isStale(Layout layout) {
+        return layout == null || layout.getGraphVersion() != connectionGraphIndex.getVersion();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        scheduler.execute(() -> {
+            try {
+                graphLayoutRepository.findFirstByOrderByIdDesc().ifPresent(entity -> current = fromEntity(entity));
+            } catch (RuntimeException e) {
+                log.warn("Could not load stored graph layout", e);
+            }
+            recompute();
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onConnectionChanged(ConnectionChangedEvent event) {
+        if (enabled) {
+            scheduleRecompute();
+        }
+    }
+
+    /**
+     * Recompute after the configured delay; further changes within the delay postpone it.
+     */
+    public synchronized void scheduleRecompute() {
+        if (pending != null) {
+            pending.cancel(false);
+        }
+        pending = scheduler.schedule(this::recompute, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Bring the layout up to date with the graph index. Runs on the layout thread.
+     */
+    void recompute() {
+        try {
+            GraphSnapshot snapshot = connectionGraphIndex.snapshot();
+            long hash = snapshot.structureHash();
+            Layout previous = current;
+            if (previous != null && previous.getGraphHash() == hash) {
+                // Only names or attributes changed; the coordinates still fit
+                current = previous.withGraphVersion(snapshot.getVersion());
+                return;
+            }
+            current = compute(snapshot, hash, previous);
+        } catch (RuntimeException e) {
+            log.error("Graph layout computation failed", e);
+        }
+    }
+
+    private Layout compute(GraphSnapshot snapshot, long hash, Layout previous) {
+        long started = System.nanoTime();
+        int nodes = snapshot.nodeCount();
+        long[] profileIds = snapshot.getProfileIds();
+        ForceLayout layout = new ForceLayout(nodes, snapshot.getEdgeFrom(), snapshot.getEdgeTo(), pool);
+
+        boolean[] placed = new boolean[nodes];
+        int reused = 0;
+        if (previous != null) {
+            for (int node = 0; node < nodes; node++) {
+                int position = Arrays.binarySearch(previous.getProfileIds(), profileIds[node]);
+                if (position >= 0) {
+                    layout.place(node, previous.getX()[position], previous.getY()[position]);
+                    placed[node] = true;
+                    reused++;
+                }
+            }
+        }
+        layout.placeRemaining(placed, hash);
+
+        boolean incremental = reused * 2 > nodes;
+        int iterations = incremental ? INCREMENTAL_ITERATIONS : FULL_ITERATIONS;
+        layout.run(iterations, incremental ? 1.0 : Math.sqrt(nodes));
+
+        float[] x = new float[nodes];
+        float[] y = new float[nodes];
+        ByteBuffer positions = ByteBuffer.allocate(nodes * BYTES_PER_NODE);
+        for (int node = 0; node < nodes; node++) {
+            x[node] = (float) layout.x(node);
+            y[node] = (float) layout.y(node);
+            positions.putLong(profileIds[node]).putFloat(x[node]).putFloat(y[node]);
+        }
+        long durationMs = (System.nanoTime() - started) / 1_000_000;
+        double ratio = layout.edgeLengthRatio(hash);
+        LocalDateTime computedAt = LocalDateTime.now();
+
+        GraphLayout entity = GraphLayout.builder()
+                .graphHash(hash)
+                .graphVersion(snapshot.getVersion())
+                .nodeCount(nodes)
+                .edgeCount(snapshot.edgeCount())
+                .iterations(iterations)
+                .durationMs(durationMs)
+                .edgeLengthRatio(ratio)
+                .positions(positions.array())
+                .computedAt(computedAt)
+                .build();
+        transactionTemplate.executeWithoutResult(status -> {
+            graphLayoutRepository.deleteAllInBatch();
+            graphLayoutRepository.save(entity);
+        });
+
+        log.info("Graph layout computed: {} nodes, {} edges, {} iterations ({}) in {} ms, edge length ratio {}",
+                nodes, snapshot.edgeCount(), iterations, incremental ? "incremental" : "full", durationMs,
+                String.format("%.3f", ratio));
+        return new Layout(hash, snapshot.getVersion(), computedAt, profileIds, x, y);
+    }
+
+    private Layout fromEntity(GraphLayout entity) {
+        ByteBuffer positions = ByteBuffer.wrap(entity.getPositions());
+        int nodes = positions.remaining() / BYTES_PER_NODE;
+        long[] profileIds = new long[nodes];
+        float[] x = new float[nodes];
+        float[] y = new float[nodes];
+        for (int node = 0; node < nodes; node++) {
+            profileIds[node] = positions.getLong();
+            x[node] = positions.getFloat();
+            y[node] = positions.getFloat();
+        }
+        // Version numbers restart with the application; recompute() re-validates by hash
+        return new Layout(entity.getGraphHash(), -1, entity.getComputedAt(), profileIds, x, y);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        pool.shutdownNow();
+    }
+}
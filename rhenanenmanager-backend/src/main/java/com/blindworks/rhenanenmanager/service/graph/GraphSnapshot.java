@@ -0,0 +1,62 @@
+package com.blindworks.rhenanenmanager.service.graph;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Immutable, compacted copy of the connection graph at one index version.
+ *
+ * Nodes are numbered {@code 0..nodeCount-1} and edges {@code 0..edgeCount-1}; the edge
+ * columns reference nodes by that number and relation types by their position in
+ * {@link #relationTypes}. Dates are epoch days, with {@link ConnectionGraphIndex#OPEN_START}
+ * and {@link ConnectionGraphIndex#OPEN_END} for missing start and end dates.
+ * The arrays must not be modified.
+ */
+@Getter
+@AllArgsConstructor
+public class GraphSnapshot {
+
+    private final long version;
+
+    // Node columns
+    private final long[] profileIds;
+    private final String[] firstnames;
+    private final String[] lastnames;
+
+    // Relation type dictionary
+    private final String[] relationTypes;
+
+    // Edge columns
+    private final long[] edgeIds;
+    private final int[] edgeFrom;
+    private final int[] edgeTo;
+    private final short[] edgeTypes;
+    private final int[] edgeStart;
+    private final int[] edgeEnd;
+    private final boolean[] edgeBidirectional;
+
+    public int nodeCount() {
+        return profileIds.length;
+    }
+
+    public int edgeCount() {
+        return edgeIds.length;
+    }
+
+    /**
+     * Hash over the profiles and the endpoints of all edges. Unlike {@link #version} it is
+     * stable across restarts, so it can tell whether derived data stored earlier (such as a
+     * layout) still matches the graph's structure.
+     */
+    public long structureHash() {
+        long hash = 0xCBF29CE484222325L;
+        for (long profileId : profileIds) {
+            hash = (hash ^ profileId) * 0x100000001B3L;
+        }
+        for (int i = 0; i < edgeIds.length; i++) {
+            hash = (hash ^ profileIds[edgeFrom[i]]) * 0x100000001B3L;
+            hash = (hash ^ profileIds[edgeTo[i]]) * 0x100000001B3L;
+        }
+        return hash ^ (hash >>> 29);
+    }
+}
@@ -0,0 +1,128 @@
+package com.blindworks.rhenanenmanager.service.graph;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encodes a {@link GraphSnapshot} into a compact, column-oriented binary format
+ * for the connections graph view.
+ *
+ * Layout (all integers are unsigned LEB128 varints, strings are a varint byte length
+ * followed by UTF-8 bytes):
+ * <pre>
+ * magic "RMGS", format version (1 byte)
+ * graph version
+ * relation type count, relation types (strings)
+ * node count N
+ *   profile IDs     N varints, delta-encoded (ascending)
+ *   first names     N strings
+ *   last names      N strings
+ * edge count M
+ *   connection IDs  M varints, delta-encoded (ascending)
+ *   from nodes      M varints (node number)
+ *   to nodes        M varints (node number)
+ *   relation types  M varints (dictionary position)
+ *   start dates     M varints, 0 = none, otherwise zigzag(epoch day) + 1
+ *   end dates       M varints, 0 = none, otherwise zigzag(epoch day) + 1
+ *   bidirectional   ceil(M / 8) bytes, bit i (LSB first) set if edge i is bidirectional
+ * </pre>
+ */
+public final class GraphSnapshotEncoder {
+
+    public static final String CONTENT_TYPE = "application/vnd.rhenanenmanager.graph";
+
+    private static final byte[] MAGIC = {'R', 'M', 'G', 'S'};
+    private static final int FORMAT_VERSION = 1;
+
+    private GraphSnapshotEncoder() {
+    }
+
+    public static byte[] encode(GraphSnapshot snapshot) {
+        int nodes = snapshot.nodeCount();
+        int edges = snapshot.edgeCount();
+        Buffer out = new Buffer(64 + nodes * 24 + edges * 12);
+
+        out.write(MAGIC, 0, MAGIC.length);
+        out.write(FORMAT_VERSION);
+        out.writeVarLong(snapshot.getVersion());
+
+        String[] relationTypes = snapshot.getRelationTypes();
+        out.writeVarLong(relationTypes.length);
+        for (String relationType : relationTypes) {
+            out.writeString(relationType);
+        }
+
+        out.writeVarLong(nodes);
+        writeDeltas(out, snapshot.getProfileIds());
+        for (String firstname : snapshot.getFirstnames()) {
+            out.writeString(firstname);
+        }
+        for (String lastname : snapshot.getLastnames()) {
+            out.writeString(lastname);
+        }
+
+        out.writeVarLong(edges);
+        writeDeltas(out, snapshot.getEdgeIds());
+        for (int from : snapshot.getEdgeFrom()) {
+            out.writeVarLong(from);
+        }
+        for (int to : snapshot.getEdgeTo()) {
+            out.writeVarLong(to);
+        }
+        for (short type : snapshot.getEdgeTypes()) {
+            out.writeVarLong(type);
+        }
+        writeDates(out, snapshot.getEdgeStart(), ConnectionGraphIndex.OPEN_START);
+        writeDates(out, snapshot.getEdgeEnd(), ConnectionGraphIndex.OPEN_END);
+
+        boolean[] bidirectional = snapshot.getEdgeBidirectional();
+        for (int i = 0; i < edges; i += 8) {
+            int bits = 0;
+            for (int bit = 0; bit < 8 && i + bit < edges; bit++) {
+                if (bidirectional[i + bit]) {
+                    bits |= 1 << bit;
+                }
+            }
+            out.write(bits);
+        }
+        return out.toByteArray();
+    }
+
+    private static void writeDeltas(Buffer out, long[] ascending) {
+        long previous = 0;
+        for (long value : ascending) {
+            out.writeVarLong(value - previous);
+            previous = value;
+        }
+    }
+
+    private static void writeDates(Buffer out, int[] epochDays, int open) {
+        for (int epochDay : epochDays) {
+            out.writeVarLong(epochDay == open ? 0 : ((epochDay << 1) ^ (epochDay >> 31)) + 1L);
+        }
+    }
+
+    /**
+     * Unsynchronized byte buffer with varint helpers.
+     */
+    private static final class Buffer extends ByteArrayOutputStream {
+
+        Buffer(int initialSize) {
+            super(initialSize);
+        }
+
+        void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        void writeString(String value) {
+            byte[] bytes = (value != null ? value : "").getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length);
+            write(bytes, 0, bytes.length);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.blindworks.rhenanenmanager.service.graph;
+
+import java.util.Arrays;
+
+/**
+ * Static interval tree over the validity periods [start, end) of graph edges.
+ *
+ * The intervals are sorted by start and laid out as an implicit balanced search tree
+ * over that array (the middle element of every range is the subtree root). Each root
+ * stores the largest end in its subtree, so a stabbing query skips subtrees that ended
+ * before the day and stops at the first start after it: O(log n + k) for k hits.
+ * Immutable once built; it describes the edges of one index version.
+ */
+class IntervalIndex {
+
+    private final long version;
+    private final int[] start;
+    private final int[] end;
+    private final int[] slot;
+    private final int[] maxEnd;
+
+    /**
+     * @param slots     edge slots to index
+     * @param edgeStart start day per slot (inclusive)
+     * @param edgeEnd   end day per slot (exclusive)
+     */
+    IntervalIndex(long version, int[] slots, int[] edgeStart, int[] edgeEnd) {
+        this.version = version;
+        int size = slots.length;
+        // Sort by start without boxing: start in the high, slot in the low 32 bits
+        long[] packed = new long[size];
+        for (int i = 0; i < size; i++) {
+            packed[i] = ((long) edgeStart[slots[i]] << 32) | slots[i];
+        }
+        Arrays.sort(packed);
+
+        start = new int[size];
+        end = new int[size];
+        slot = new int[size];
+        maxEnd = new int[size];
+        for (int i = 0; i < size; i++) {
+            slot[i] = (int) packed[i];
+            start[i] = edgeStart[slot[i]];
+            end[i] = edgeEnd[slot[i]];
+        }
+        buildMaxEnd(0, size);
+    }
+
+    long getVersion() {
+        return version;
+    }
+
+    /**
+     * Add the slots of all edges with {@code start <= day < end} to the list.
+     */
+    void stab(int day, IntList result) {
+        stab(0, start.length, day, result);
+    }
+
+    private void stab(int from, int to, int day, IntList result) {
+        while (from < to) {
+            int middle = (from + to) >>> 1;
+            if (maxEnd[middle] <= day) {
+                return;
+            }
+            stab(from, middle, day, result);
+            if (start[middle] > day) {
+                // Everything to the right starts even later
+                return;
+            }
+            if (end[middle] > day) {
+                result.add(slot[middle]);
+            }
+            from = middle + 1;
+        }
+    }
+
+    private int buildMaxEnd(int from, int to) {
+        if (from >= to) {
+            return Integer.MIN_VALUE;
+        }
+        int middle = (from + to) >>> 1;
+        int max = Math.max(end[middle], Math.max(buildMaxEnd(from, middle), buildMaxEnd(middle + 1, to)));
+        maxEnd[middle] = max;
+        return max;
+    }
+}
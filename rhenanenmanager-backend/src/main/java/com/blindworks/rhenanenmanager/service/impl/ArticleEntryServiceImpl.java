@@ -1,23 +1,60 @@
 package com.blindworks.rhenanenmanager.service.impl;
 
+import com.blindworks.rhenanenmanager.domain.dto.projection.ArticleListItem;
+import com.blindworks.rhenanenmanager.domain.dto.projection.RelatedArticleItem;
 import com.blindworks.rhenanenmanager.domain.dto.request.ArticleEntryRequest;
 import com.blindworks.rhenanenmanager.domain.dto.response.ArticleEntryResponse;
+import com.blindworks.rhenanenmanager.domain.dto.response.ArticleSearchResponse;
+import com.blindworks.rhenanenmanager.domain.dto.response.ArticleSliceResponse;
+import com.blindworks.rhenanenmanager.domain.dto.response.ArticleSummaryResponse;
+import com.blindworks.rhenanenmanager.domain.dto.response.RelatedArticleResponse;
+import com.blindworks.rhenanenmanager.domain.dto.response.SuggestionResponse;
+import com.blindworks.rhenanenmanager.domain.entity.ArticleBody;
 import com.blindworks.rhenanenmanager.domain.entity.ArticleEntry;
+import com.blindworks.rhenanenmanager.domain.repository.ArticleBodyRepository;
 import com.blindworks.rhenanenmanager.domain.repository.ArticleEntryRepository;
+import com.blindworks.rhenanenmanager.domain.repository.RelatedArticleRepository;
+import com.blindworks.rhenanenmanager.exception.ResourceNotFoundException;
 import com.blindworks.rhenanenmanager.service.ArticleEntryService;
+import com.blindworks.rhenanenmanager.service.event.ArticleChangedEvent;
+import com.blindworks.rhenanenmanager.service.search.ArticleSearchIndex;
+import com.blindworks.rhenanenmanager.service.search.ArticleSuggestIndex;
+import com.blindworks.rhenanenmanager.service.search.InvertedIndex;
+import com.blindworks.rhenanenmanager.service.search.PrefixIndex;
+import com.blindworks.rhenanenmanager.service.search.SnippetExtractor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
  * Implementation of ArticleEntryService.
+ *
+ * Every write publishes an {@link ArticleChangedEvent} for in-memory listeners, such as the
+ * {@link ArticleSearchIndex} that answers keyword searches and the {@link ArticleSuggestIndex}
+ * that completes them.
+ *
+ * Texts are stored compressed in {@link ArticleBody} rows: listings return metadata with
+ * the preview stored next to it when the text is written, search results cut their snippets
+ * from the uncompressed snippet source, and the full text is only inflated for single articles.
  */
 @Service
 @RequiredArgsConstructor
@@ -25,55 +62,238 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class ArticleEntryServiceImpl implements ArticleEntryService {
 
+    /**
+     * Categories take at most this many of the completion slots.
+     */
+    private static final int MAX_CATEGORY_SUGGESTIONS = 3;
+
     private final ArticleEntryRepository articleEntryRepository;
+    private final ArticleBodyRepository articleBodyRepository;
+    private final RelatedArticleRepository relatedArticleRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ArticleSearchIndex articleSearchIndex;
+    private final ArticleSuggestIndex articleSuggestIndex;
+    private final SnippetExtractor snippetExtractor = new SnippetExtractor();
 
     @Override
     public Page<ArticleEntryResponse> getAllArticles(Pageable pageable) {
         log.debug("Fetching all articles with pagination: {}", pageable);
         return articleEntryRepository.findAllByOrderByYearDescMonthDesc(pageable)
-                .map(this::convertToResponse);
+                .map(entity -> convertToResponse(entity, null));
+    }
+
+    @Override
+    public ArticleSliceResponse getArticleSlice(String category, String cursor, int size) {
+        log.debug("Fetching article slice of category: {} after cursor: {} with size: {}", category, cursor, size);
+        Pageable pageable = PageRequest.ofSize(size);
+        Slice<ArticleEntry> slice;
+        if (cursor == null || cursor.isEmpty()) {
+            slice = category == null
+                    ? articleEntryRepository.findSliceByOrderByYearDescMonthDescIdDesc(pageable)
+                    : articleEntryRepository.findSliceByCategoryOrderByYearDescMonthDescIdDesc(category, pageable);
+        } else {
+            Integer[] yearMonth = new Integer[2];
+            long id = decodeCursor(cursor, yearMonth);
+            slice = category == null
+                    ? articleEntryRepository.findSliceAfter(yearMonth[0], yearMonth[1], id, pageable)
+                    : articleEntryRepository.findSliceByCategoryAfter(category, yearMonth[0], yearMonth[1], id,
+                            pageable);
+        }
+
+        List<ArticleEntry> articles = slice.getContent();
+        String nextCursor = slice.hasNext() ? encodeCursor(articles.get(articles.size() - 1)) : null;
+        return ArticleSliceResponse.builder()
+                .content(articles.stream().map(entity -> convertToResponse(entity, null)).toList())
+                .size(size)
+                .hasNext(slice.hasNext())
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * The keyset (year, month, id) of the last article of a slice as URL-safe Base64 of
+     * "year:month:id", with empty fields for NULL.
+     */
+    private static String encodeCursor(ArticleEntry last) {
+        String keyset = (last.getYear() != null ? last.getYear() : "") + ":"
+                + (last.getMonth() != null ? last.getMonth() : "") + ":" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(keyset.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor into its year and month (written to yearMonth) and ID.
+     */
+    private static long decodeCursor(String cursor, Integer[] yearMonth) {
+        try {
+            String[] fields = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":", -1);
+            if (fields.length != 3) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            yearMonth[0] = fields[0].isEmpty() ? null : Integer.valueOf(fields[0]);
+            yearMonth[1] = fields[1].isEmpty() ? null : Integer.valueOf(fields[1]);
+            return Long.parseLong(fields[2]);
+        } catch (IllegalArgumentException e) {
+            // Also covers malformed Base64 and numbers
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
     }
 
     @Override
     public ArticleEntryResponse getArticleById(Long id) {
         log.debug("Fetching article by ID: {}", id);
-        return articleEntryRepository.findById(id)
-                .map(this::convertToResponse)
+        ArticleEntry entity = articleEntryRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Article not found with ID: " + id));
+        return convertToResponse(entity, articleBodyRepository.findTextByArticleId(id).orElse(null));
+    }
+
+    @Override
+    public List<RelatedArticleResponse> getRelatedArticles(Long id) {
+        log.debug("Fetching related articles of article ID: {}", id);
+        List<RelatedArticleItem> items = relatedArticleRepository.findItemsByArticleId(id);
+        // Only an empty list needs the extra lookup
+        if (items.isEmpty() && !articleEntryRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Article", "id", id);
+        }
+        return items.stream()
+                .map(item -> RelatedArticleResponse.builder()
+                        .id(item.getId())
+                        .title(item.getTitle())
+                        .subtitle(item.getSubtitle())
+                        .category(item.getCategory())
+                        .year(item.getYear())
+                        .month(item.getMonth())
+                        .similarity(item.getSimilarity())
+                        .build())
+                .toList();
     }
 
     @Override
     public List<ArticleEntryResponse> getArticlesByYear(Integer year) {
         log.debug("Fetching articles by year: {}", year);
         return articleEntryRepository.findByYearOrderByMonthDesc(year).stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+                .map(entity -> convertToResponse(entity, null))
+                .toList();
     }
 
     @Override
     public Page<ArticleEntryResponse> getArticlesByCategory(String category, Pageable pageable) {
         log.debug("Fetching articles by category: {} with pagination: {}", category, pageable);
         return articleEntryRepository.findByCategoryOrderByYearDescMonthDesc(category, pageable)
-                .map(this::convertToResponse);
+                .map(entity -> convertToResponse(entity, null));
     }
 
     @Override
-    public Page<ArticleEntryResponse> searchArticles(String keyword, Pageable pageable) {
-        log.debug("Searching articles with keyword: {} with pagination: {}", keyword, pageable);
-        return articleEntryRepository.searchArticles(keyword, pageable)
-                .map(this::convertToResponse);
+    public ArticleSearchResponse searchArticles(String keyword, String category, Integer year, Integer decade,
+                                                Integer month, Pageable pageable) {
+        log.debug("Searching articles with keyword: {}, category: {}, year: {}, decade: {}, month: {} " +
+                  "with pagination: {}", keyword, category, year, decade, month, pageable);
+        Map<String, String> facets = new HashMap<>();
+        if (category != null) {
+            facets.put(ArticleSearchIndex.FACET_CATEGORY, category);
+        }
+        if (year != null) {
+            facets.put(ArticleSearchIndex.FACET_YEAR, String.valueOf(year));
+        }
+        if (decade != null) {
+            facets.put(ArticleSearchIndex.FACET_DECADE, String.valueOf(decade));
+        }
+        if (month != null) {
+            facets.put(ArticleSearchIndex.FACET_MONTH, String.valueOf(month));
+        }
+        InvertedIndex.Result result = articleSearchIndex.search(
+                keyword, facets, (int) Math.min(pageable.getOffset(), Integer.MAX_VALUE), pageable.getPageSize());
+
+        // Snippet windows come from the term offsets in the index, so only the uncompressed
+        // snippet source up to the furthest window is read
+        long[] ids = result.getIds();
+        int[] windowStarts = new int[ids.length];
+        int textLength = 0;
+        for (int i = 0; i < ids.length; i++) {
+            windowStarts[i] = snippetExtractor.windowStart(result.getOffsets()[i]);
+            textLength = Math.max(textLength, snippetExtractor.requiredLength(windowStarts[i]));
+        }
+        Map<Long, ArticleListItem> articles = ids.length == 0 ? Map.of()
+                : articleEntryRepository.findListItemsByIdIn(Arrays.stream(ids).boxed().toList(), textLength)
+                        .stream()
+                        .collect(Collectors.toMap(ArticleListItem::getId, Function.identity()));
+        // Keep the ranking; skip articles deleted since the search
+        List<ArticleSummaryResponse> content = new ArrayList<>(ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            ArticleListItem article = articles.get(ids[i]);
+            if (article != null) {
+                SnippetExtractor.Snippet snippet = snippetExtractor.extract(
+                        article.getTextPrefix(), windowStarts[i], result.getMatchedTerms());
+                content.add(convertToSummary(article, snippet));
+            }
+        }
+        Page<ArticleSummaryResponse> page = new PageImpl<>(content, pageable, result.getTotal());
+
+        Map<String, Map<String, Integer>> counts = result.getFacets();
+        Comparator<ArticleSearchResponse.FacetCount> byNumber =
+                Comparator.comparingInt(facet -> Integer.parseInt(facet.getValue()));
+        return ArticleSearchResponse.builder()
+                .content(content)
+                .number(page.getNumber())
+                .size(page.getSize())
+                .totalElements(page.getTotalElements())
+                .totalPages(page.getTotalPages())
+                .categories(facetCounts(counts.get(ArticleSearchIndex.FACET_CATEGORY),
+                        Comparator.comparingInt(ArticleSearchResponse.FacetCount::getCount).reversed()
+                                .thenComparing(ArticleSearchResponse.FacetCount::getValue)))
+                .years(facetCounts(counts.get(ArticleSearchIndex.FACET_YEAR), byNumber.reversed()))
+                .decades(facetCounts(counts.get(ArticleSearchIndex.FACET_DECADE), byNumber.reversed()))
+                .months(facetCounts(counts.get(ArticleSearchIndex.FACET_MONTH), byNumber))
+                .build();
+    }
+
+    private static List<ArticleSearchResponse.FacetCount> facetCounts(
+            Map<String, Integer> counts, Comparator<ArticleSearchResponse.FacetCount> order) {
+        if (counts == null) {
+            return List.of();
+        }
+        return counts.entrySet().stream()
+                .map(count -> new ArticleSearchResponse.FacetCount(count.getKey(), count.getValue()))
+                .sorted(order)
+                .toList();
+    }
+
+    @Override
+    public List<SuggestionResponse> suggestArticles(String prefix, int limit) {
+        List<PrefixIndex.Suggestion> categories =
+                articleSuggestIndex.suggestCategories(prefix, Math.min(limit, MAX_CATEGORY_SUGGESTIONS));
+        List<PrefixIndex.Suggestion> titles = articleSuggestIndex.suggestTitles(prefix, limit - categories.size());
+        List<SuggestionResponse> suggestions = new ArrayList<>(categories.size() + titles.size());
+        for (PrefixIndex.Suggestion category : categories) {
+            suggestions.add(SuggestionResponse.builder()
+                    .type(SuggestionResponse.Type.CATEGORY)
+                    .text(category.getText())
+                    .build());
+        }
+        for (PrefixIndex.Suggestion title : titles) {
+            suggestions.add(SuggestionResponse.builder()
+                    .type(SuggestionResponse.Type.ARTICLE)
+                    .id(title.getId())
+                    .text(title.getText())
+                    .build());
+        }
+        return suggestions;
     }
 
     @Override
     public List<String> getAllCategories() {
         log.debug("Fetching all distinct categories");
-        return articleEntryRepository.findDistinctCategories();
+        return articleSearchIndex.facetValues(ArticleSearchIndex.FACET_CATEGORY).keySet().stream()
+                .sorted()
+                .toList();
     }
 
     @Override
     public List<Integer> getAllYears() {
         log.debug("Fetching all distinct years");
-        return articleEntryRepository.findDistinctYears();
+        return articleSearchIndex.facetValues(ArticleSearchIndex.FACET_YEAR).keySet().stream()
+                .map(Integer::valueOf)
+                .sorted(Comparator.reverseOrder())
+                .toList();
     }
 
     @Override
@@ -86,18 +306,19 @@ public class ArticleEntryServiceImpl implements ArticleEntryService {
                 .subtitle(request.getSubtitle())
                 .alternativeAuthor(request.getAlternativeAuthor())
                 .category(request.getCategory())
-                .text(request.getText())
                 .year(request.getYear())
                 .month(request.getMonth())
                 .page(request.getPage())
                 .date(request.getDate())
+                .preview(ArticleEntry.preview(request.getText()))
                 .created(LocalDateTime.now())
                 .createdBy("system") // TODO: Get from SecurityContext
                 .build();
 
         ArticleEntry savedEntity = articleEntryRepository.save(entity);
+        articleBodyRepository.save(ArticleBody.of(savedEntity.getId(), request.getText()));
         log.info("Article created with ID: {}", savedEntity.getId());
-        return convertToResponse(savedEntity);
+        return publishChange(ArticleChangedEvent.Type.CREATED, convertToResponse(savedEntity, request.getText()));
     }
 
     @Override
@@ -112,17 +333,26 @@ public class ArticleEntryServiceImpl implements ArticleEntryService {
         entity.setSubtitle(request.getSubtitle());
         entity.setAlternativeAuthor(request.getAlternativeAuthor());
         entity.setCategory(request.getCategory());
-        entity.setText(request.getText());
         entity.setYear(request.getYear());
         entity.setMonth(request.getMonth());
         entity.setPage(request.getPage());
         entity.setDate(request.getDate());
         entity.setModified(LocalDateTime.now());
         entity.setModifiedBy("system"); // TODO: Get from SecurityContext
+        String text = request.getText();
+        if (text != null) {
+            entity.setPreview(ArticleEntry.preview(text));
+        }
 
         ArticleEntry savedEntity = articleEntryRepository.save(entity);
+        if (text != null) {
+            articleBodyRepository.save(ArticleBody.of(id, text));
+        } else {
+            // No text in the request: keep the stored one, which the event and response carry
+            text = articleBodyRepository.findTextByArticleId(id).orElse(null);
+        }
         log.info("Article updated with ID: {}", savedEntity.getId());
-        return convertToResponse(savedEntity);
+        return publishChange(ArticleChangedEvent.Type.UPDATED, convertToResponse(savedEntity, text));
     }
 
     @Override
@@ -134,21 +364,32 @@ public class ArticleEntryServiceImpl implements ArticleEntryService {
             throw new RuntimeException("Article not found with ID: " + id);
         }
 
+        articleBodyRepository.deleteById(id);
         articleEntryRepository.deleteById(id);
         log.info("Article deleted with ID: {}", id);
+        eventPublisher.publishEvent(new ArticleChangedEvent(ArticleChangedEvent.Type.DELETED, id, null));
+    }
+
+    /**
+     * Publish the committed state of an article for in-memory listeners.
+     */
+    private ArticleEntryResponse publishChange(ArticleChangedEvent.Type type, ArticleEntryResponse response) {
+        eventPublisher.publishEvent(new ArticleChangedEvent(type, response.getId(), response));
+        return response;
     }
 
     /**
-     * Convert ArticleEntry entity to ArticleEntryResponse DTO.
+     * Convert ArticleEntry entity and its text to ArticleEntryResponse DTO.
      */
-    private ArticleEntryResponse convertToResponse(ArticleEntry entity) {
+    private ArticleEntryResponse convertToResponse(ArticleEntry entity, String text) {
         return ArticleEntryResponse.builder()
                 .id(entity.getId())
                 .title(entity.getTitle())
                 .subtitle(entity.getSubtitle())
                 .alternativeAuthor(entity.getAlternativeAuthor())
                 .category(entity.getCategory())
-                .text(entity.getText())
+                .text(text)
+                .textPreview(entity.getPreview())
                 .year(entity.getYear())
                 .month(entity.getMonth())
                 .page(entity.getPage())
@@ -159,4 +400,20 @@ public class ArticleEntryServiceImpl implements ArticleEntryService {
                 .modifiedBy(entity.getModifiedBy())
                 .build();
     }
+
+    private ArticleSummaryResponse convertToSummary(ArticleListItem item, SnippetExtractor.Snippet snippet) {
+        return ArticleSummaryResponse.builder()
+                .id(item.getId())
+                .title(item.getTitle())
+                .subtitle(item.getSubtitle())
+                .alternativeAuthor(item.getAlternativeAuthor())
+                .category(item.getCategory())
+                .year(item.getYear())
+                .month(item.getMonth())
+                .page(item.getPage())
+                .date(item.getDate())
+                .snippet(snippet.getText())
+                .highlights(snippet.getHighlights())
+                .build();
+    }
 }
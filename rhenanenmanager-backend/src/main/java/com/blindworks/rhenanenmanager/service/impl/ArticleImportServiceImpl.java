@@ -0,0 +1,467 @@
+package com.blindworks.rhenanenmanager.service.impl;
+
+import com.blindworks.rhenanenmanager.domain.dto.request.ArticleEntryRequest;
+import com.blindworks.rhenanenmanager.domain.dto.response.ArticleEntryResponse;
+import com.blindworks.rhenanenmanager.domain.dto.response.BulkImportResponse;
+import com.blindworks.rhenanenmanager.domain.entity.ArticleBody;
+import com.blindworks.rhenanenmanager.domain.entity.ArticleEntry;
+import com.blindworks.rhenanenmanager.domain.entity.CompressedTextConverter;
+import com.blindworks.rhenanenmanager.service.ArticleImportService;
+import com.blindworks.rhenanenmanager.service.csv.CsvReader;
+import com.blindworks.rhenanenmanager.service.event.ArticlesImportedEvent;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of ArticleImportService as a three-stage pipeline: the calling thread reads
+ * raw rows (CSV records or JSON object trees) and hands them to the workers in batches of
+ * {@link #BATCH_SIZE}; the workers convert, validate and compress them; the calling thread
+ * writes the finished batches in input order. At most one batch per worker is read ahead,
+ * so memory stays bounded however large the input is.
+ *
+ * Every batch is inserted with two JDBC batch statements and announced with one
+ * {@link ArticlesImportedEvent}, which updates the search and completion indexes once per
+ * batch after its commit.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ArticleImportServiceImpl implements ArticleImportService {
+
+    static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_ENTRY_SQL =
+            "INSERT INTO article_entry (title, subtitle, alternative_author, category, preview, `year`, `month`, " +
+            "`page`, `date`, created, created_by) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_BODY_SQL =
+            "INSERT INTO article_body (article_id, `text`, snippet_source) VALUES (?, ?, ?)";
+
+    private static final String CREATED_BY = "system"; // TODO: Get from SecurityContext
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    private final CompressedTextConverter compressor = new CompressedTextConverter();
+
+    /**
+     * Worker threads; 0 for one per processor.
+     */
+    @Value("${app.articles.import.workers:0}")
+    private int workerCount;
+
+    private ExecutorService workers;
+
+    /**
+     * A raw input row; {@code error} is set for rows that could not even be read.
+     */
+    private record Row<T>(int number, T raw, String error) {
+    }
+
+    private interface RowSource<T> {
+        /**
+         * The next row, or {@code null} at the end of the input.
+         */
+        Row<T> next() throws IOException;
+    }
+
+    /**
+     * The accepted rows of a batch with their compressed texts, and the rejected ones.
+     */
+    private record ValidatedBatch(List<ArticleEntryRequest> requests, List<byte[]> bodies,
+                                  List<BulkImportResponse.RowError> errors) {
+    }
+
+    @PostConstruct
+    void init() {
+        if (workerCount <= 0) {
+            workerCount = Runtime.getRuntime().availableProcessors();
+        }
+        AtomicInteger threads = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "article-import-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    @Override
+    public BulkImportResponse importArticles(InputStream json) {
+        try {
+            JsonParser parser = objectMapper.getFactory().createParser(json);
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Expected a JSON array of articles");
+            }
+            int[] number = new int[1];
+            boolean[] ended = new boolean[1];
+            return run(() -> {
+                if (ended[0]) {
+                    return null;
+                }
+                try {
+                    JsonToken token = parser.nextToken();
+                    if (token == null || token == JsonToken.END_ARRAY) {
+                        return null;
+                    }
+                    number[0]++;
+                    return new Row<>(number[0], (JsonNode) objectMapper.readTree(parser), null);
+                } catch (JsonProcessingException e) {
+                    // Nothing can be read after a syntax error
+                    ended[0] = true;
+                    return new Row<>(number[0], null, "Malformed JSON: " + e.getOriginalMessage());
+                }
+            }, this::parseJsonRow);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage(), e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read import input", e);
+        }
+    }
+
+    @Override
+    public BulkImportResponse importArticlesCsv(Reader csv) {
+        CsvReader reader = new CsvReader(csv);
+        Map<String, Integer> columns = new HashMap<>();
+        boolean[] ended = new boolean[1];
+        return run(() -> {
+            if (ended[0]) {
+                return null;
+            }
+            try {
+                if (columns.isEmpty()) {
+                    List<String> header = reader.next();
+                    if (header == null) {
+                        return null;
+                    }
+                    for (int i = 0; i < header.size(); i++) {
+                        columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+                    }
+                    if (!columns.containsKey("title")) {
+                        ended[0] = true;
+                        return new Row<>(1, null, "Missing column(s): title");
+                    }
+                }
+                List<String> record = reader.next();
+                return record == null ? null : new Row<>(reader.getLine(), record, null);
+            } catch (IllegalArgumentException e) {
+                // Nothing can be read after an unterminated quote
+                ended[0] = true;
+                return new Row<>(reader.getLine(), null, e.getMessage());
+            }
+        }, record -> parseCsvRecord(record, columns));
+    }
+
+    /**
+     * Run the pipeline over all rows of a source.
+     */
+    private <T> BulkImportResponse run(RowSource<T> source, Function<T, ArticleEntryRequest> parser) {
+        long started = System.nanoTime();
+        int totalRows = 0;
+        List<Long> ids = new ArrayList<>();
+        List<BulkImportResponse.RowError> errors = new ArrayList<>();
+        Deque<Future<ValidatedBatch>> inFlight = new ArrayDeque<>();
+        try {
+            List<Row<T>> batch = new ArrayList<>(BATCH_SIZE);
+            for (Row<T> row = source.next(); row != null; row = source.next()) {
+                totalRows++;
+                batch.add(row);
+                if (batch.size() == BATCH_SIZE) {
+                    List<Row<T>> rows = batch;
+                    inFlight.add(workers.submit(() -> validate(rows, parser)));
+                    batch = new ArrayList<>(BATCH_SIZE);
+                    // Read ahead only while a worker is free
+                    if (inFlight.size() > workerCount) {
+                        write(await(inFlight.poll()), ids, errors);
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                List<Row<T>> rows = batch;
+                inFlight.add(workers.submit(() -> validate(rows, parser)));
+            }
+            while (!inFlight.isEmpty()) {
+                write(await(inFlight.poll()), ids, errors);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read import input", e);
+        } finally {
+            inFlight.forEach(future -> future.cancel(true));
+        }
+
+        errors.sort(Comparator.comparing(BulkImportResponse.RowError::getRow));
+        long millis = (System.nanoTime() - started) / 1_000_000;
+        log.info("Article import: {} of {} articles created, {} rows rejected in {} ms ({} articles/s)",
+                ids.size(), totalRows, errors.size(), millis, ids.size() * 1000L / Math.max(1, millis));
+        return BulkImportResponse.builder()
+                .totalRows(totalRows)
+                .imported(ids.size())
+                .failed(errors.size())
+                .createdIds(ids)
+                .errors(errors)
+                .build();
+    }
+
+    /**
+     * Worker stage: convert, validate and compress a batch of rows.
+     */
+    private <T> ValidatedBatch validate(List<Row<T>> rows, Function<T, ArticleEntryRequest> parser) {
+        List<ArticleEntryRequest> requests = new ArrayList<>(rows.size());
+        List<byte[]> bodies = new ArrayList<>(rows.size());
+        List<BulkImportResponse.RowError> errors = new ArrayList<>();
+        for (Row<T> row : rows) {
+            if (row.error() != null) {
+                errors.add(rowError(row.number(), row.error()));
+                continue;
+            }
+            ArticleEntryRequest request;
+            try {
+                request = parser.apply(row.raw());
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                errors.add(rowError(row.number(), e.getMessage()));
+                continue;
+            }
+            Set<ConstraintViolation<ArticleEntryRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                errors.add(rowError(row.number(), violations.stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; "))));
+                continue;
+            }
+            requests.add(request);
+            bodies.add(compressor.convertToDatabaseColumn(request.getText()));
+        }
+        return new ValidatedBatch(requests, bodies, errors);
+    }
+
+    private static ValidatedBatch await(Future<ValidatedBatch> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Article import interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Article import failed", e.getCause());
+        }
+    }
+
+    /**
+     * Writer stage: insert a batch in its own transaction and announce it after commit.
+     */
+    private void write(ValidatedBatch batch, List<Long> ids, List<BulkImportResponse.RowError> errors) {
+        errors.addAll(batch.errors());
+        if (batch.requests().isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        ids.addAll(transactionTemplate.execute(status -> {
+            List<Long> created = insertEntries(batch.requests(), now);
+            insertBodies(created, batch.requests(), batch.bodies());
+            List<ArticleEntryResponse> articles = new ArrayList<>(created.size());
+            for (int i = 0; i < created.size(); i++) {
+                articles.add(convertToResponse(created.get(i), batch.requests().get(i), now));
+            }
+            eventPublisher.publishEvent(new ArticlesImportedEvent(articles));
+            return created;
+        }));
+    }
+
+    private List<Long> insertEntries(List<ArticleEntryRequest> requests, LocalDateTime now) {
+        Timestamp timestamp = Timestamp.valueOf(now);
+        return jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            List<Long> ids = new ArrayList<>(requests.size());
+            try (PreparedStatement statement =
+                         connection.prepareStatement(INSERT_ENTRY_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (ArticleEntryRequest request : requests) {
+                    statement.setString(1, request.getTitle());
+                    statement.setString(2, request.getSubtitle());
+                    statement.setString(3, request.getAlternativeAuthor());
+                    statement.setString(4, request.getCategory());
+                    statement.setString(5, ArticleEntry.preview(request.getText()));
+                    setInteger(statement, 6, request.getYear());
+                    setInteger(statement, 7, request.getMonth());
+                    setInteger(statement, 8, request.getPage());
+                    if (request.getDate() != null) {
+                        statement.setDate(9, Date.valueOf(request.getDate()));
+                    } else {
+                        statement.setNull(9, Types.DATE);
+                    }
+                    statement.setTimestamp(10, timestamp);
+                    statement.setString(11, CREATED_BY);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    while (keys.next()) {
+                        ids.add(keys.getLong(1));
+                    }
+                }
+            }
+            if (ids.size() != requests.size()) {
+                throw new IllegalStateException("Expected " + requests.size() + " generated IDs, got " + ids.size());
+            }
+            return ids;
+        });
+    }
+
+    private void insertBodies(List<Long> ids, List<ArticleEntryRequest> requests, List<byte[]> bodies) {
+        jdbcTemplate.batchUpdate(INSERT_BODY_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int i) throws SQLException {
+                statement.setLong(1, ids.get(i));
+                if (bodies.get(i) != null) {
+                    statement.setBytes(2, bodies.get(i));
+                } else {
+                    statement.setNull(2, Types.LONGVARBINARY);
+                }
+                statement.setString(3, ArticleBody.snippetSource(requests.get(i).getText()));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return ids.size();
+            }
+        });
+    }
+
+    private static void setInteger(PreparedStatement statement, int index, Integer value) throws SQLException {
+        if (value != null) {
+            statement.setInt(index, value);
+        } else {
+            statement.setNull(index, Types.INTEGER);
+        }
+    }
+
+    private ArticleEntryRequest parseJsonRow(JsonNode node) {
+        if (!node.isObject()) {
+            throw new IllegalArgumentException("Not a JSON object");
+        }
+        try {
+            return objectMapper.convertValue(node, ArticleEntryRequest.class);
+        } catch (IllegalArgumentException e) {
+            if (e.getCause() instanceof JsonMappingException mapping) {
+                String field = mapping.getPath().isEmpty() ? null
+                        : mapping.getPath().get(mapping.getPath().size() - 1).getFieldName();
+                throw new IllegalArgumentException((field != null ? field + ": " : "") + mapping.getOriginalMessage());
+            }
+            throw e;
+        }
+    }
+
+    private static ArticleEntryRequest parseCsvRecord(List<String> record, Map<String, Integer> columns) {
+        Function<String, String> field = column -> {
+            Integer index = columns.get(column.toLowerCase(Locale.ROOT));
+            if (index == null || index >= record.size()) {
+                return null;
+            }
+            String value = record.get(index).trim();
+            return value.isEmpty() ? null : value;
+        };
+        return ArticleEntryRequest.builder()
+                .title(field.apply("title"))
+                .subtitle(field.apply("subtitle"))
+                .alternativeAuthor(field.apply("alternativeAuthor"))
+                .category(field.apply("category"))
+                .text(field.apply("text"))
+                .year(parseInteger("year", field.apply("year")))
+                .month(parseInteger("month", field.apply("month")))
+                .page(parseInteger("page", field.apply("page")))
+                .date(parseDate(field.apply("date")))
+                .build();
+    }
+
+    private static Integer parseInteger(String column, String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + ": not a number: " + value);
+        }
+    }
+
+    private static LocalDate parseDate(String value) {
+        return value != null ? LocalDate.parse(value) : null;
+    }
+
+    private static ArticleEntryResponse convertToResponse(Long id, ArticleEntryRequest request, LocalDateTime now) {
+        return ArticleEntryResponse.builder()
+                .id(id)
+                .title(request.getTitle())
+                .subtitle(request.getSubtitle())
+                .alternativeAuthor(request.getAlternativeAuthor())
+                .category(request.getCategory())
+                .text(request.getText())
+                .year(request.getYear())
+                .month(request.getMonth())
+                .page(request.getPage())
+                .date(request.getDate())
+                .created(now)
+                .createdBy(CREATED_BY)
+                .build();
+    }
+
+    private static BulkImportResponse.RowError rowError(int row, String message) {
+        return BulkImportResponse.RowError.builder().row(row).message(message).build();
+    }
+}
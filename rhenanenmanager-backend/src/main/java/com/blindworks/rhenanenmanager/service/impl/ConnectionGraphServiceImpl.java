@@ -0,0 +1,135 @@
+package com.blindworks.rhenanenmanager.service.impl;
+
+import com.blindworks.rhenanenmanager.domain.dto.response.GraphConsistencyResponse;
+import com.blindworks.rhenanenmanager.domain.dto.response.GraphLayoutResponse;
+import com.blindworks.rhenanenmanager.domain.dto.response.GraphSnapshotResponse;
+import com.blindworks.rhenanenmanager.domain.dto.response.GraphStatsResponse;
+import com.blindworks.rhenanenmanager.domain.dto.response.ProfileGraphStatsResponse;
+import com.blindworks.rhenanenmanager.domain.entity.GraphProfileStats;
+import com.blindworks.rhenanenmanager.domain.repository.CorpsMemberDataRepository;
+import com.blindworks.rhenanenmanager.domain.repository.GraphProfileStatsRepository;
+import com.blindworks.rhenanenmanager.exception.ResourceNotFoundException;
+import com.blindworks.rhenanenmanager.service.ConnectionGraphService;
+import com.blindworks.rhenanenmanager.service.graph.ConnectionGraphIndex;
+import com.blindworks.rhenanenmanager.service.graph.GraphConsistencyScanner;
+import com.blindworks.rhenanenmanager.service.graph.GraphAnalyticsJob;
+import com.blindworks.rhenanenmanager.service.graph.GraphLayoutManager;
+import com.blindworks.rhenanenmanager.service.graph.GraphSnapshot;
+import com.blindworks.rhenanenmanager.service.graph.GraphSnapshotEncoder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Implementation of ConnectionGraphService.
+ *
+ * The encoded snapshot is kept until the version of the {@link ConnectionGraphIndex} moves on,
+ * so repeated graph view loads cost neither a query nor an encoding pass.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ConnectionGraphServiceImpl implements ConnectionGraphService {
+
+    /**
+     * Distinguishes ETags across restarts, where the graph version starts over.
+     */
+    private final String bootId = Long.toHexString(System.currentTimeMillis());
+
+    private final ConnectionGraphIndex connectionGraphIndex;
+    private final GraphLayoutManager graphLayoutManager;
+    private final GraphAnalyticsJob graphAnalyticsJob;
+    private final GraphProfileStatsRepository graphProfileStatsRepository;
+    private final CorpsMemberDataRepository corpsMemberDataRepository;
+
+    private volatile GraphSnapshotResponse cachedSnapshot;
+
+    @Override
+    public GraphSnapshotResponse getGraphSnapshot() {
+        GraphSnapshotResponse cached = cachedSnapshot;
+        if (cached != null && cached.getVersion() == connectionGraphIndex.getVersion()) {
+            return cached;
+        }
+        synchronized (this) {
+            cached = cachedSnapshot;
+            if (cached != null && cached.getVersion() == connectionGraphIndex.getVersion()) {
+                return cached;
+            }
+            long start = System.nanoTime();
+            GraphSnapshot snapshot = connectionGraphIndex.snapshot();
+            byte[] content = GraphSnapshotEncoder.encode(snapshot);
+            cached = GraphSnapshotResponse.builder()
+                    .version(snapshot.getVersion())
+                    .etag("\"" + bootId + "-" + snapshot.getVersion() + "\"")
+                    .content(content)
+                    .build();
+            cachedSnapshot = cached;
+            log.debug("Built graph snapshot v{} ({} nodes, {} edges, {} bytes) in {} ms",
+                    snapshot.getVersion(), snapshot.nodeCount(), snapshot.edgeCount(), content.length,
+                    (System.nanoTime() - start) / 1_000_000);
+            return cached;
+        }
+    }
+
+    @Override
+    public GraphLayoutResponse getGraphLayout() {
+        GraphLayoutManager.Layout layout = graphLayoutManager.getLayout();
+        if (layout == null) {
+            return GraphLayoutResponse.builder()
+                    .stale(true)
+                    .profileIds(new long[0])
+                    .x(new float[0])
+                    .y(new float[0])
+                    .build();
+        }
+        return GraphLayoutResponse.builder()
+                .graphVersion(layout.getGraphVersion())
+                .stale(graphLayoutManager.isStale(layout))
+                .computedAt(layout.getComputedAt())
+                .profileIds(layout.getProfileIds())
+                .x(layout.getX())
+                .y(layout.getY())
+                .build();
+    }
+
+    @Override
+    public GraphStatsResponse getGraphStats() {
+        GraphStatsResponse summary = graphAnalyticsJob.getSummary();
+        if (summary == null) {
+            return GraphStatsResponse.builder().available(false).stale(true).build();
+        }
+        return summary.toBuilder()
+                .stale(summary.getGraphVersion() != connectionGraphIndex.getVersion())
+                .build();
+    }
+
+    @Override
+    public ProfileGraphStatsResponse getProfileGraphStats(Long profileId) {
+        GraphProfileStats stats = graphProfileStatsRepository.findById(profileId)
+                .orElseThrow(() -> new ResourceNotFoundException("Graph statistics", "profile ID", profileId));
+        return ProfileGraphStatsResponse.builder()
+                .profileId(stats.getProfileId())
+                .componentSize(stats.getComponentSize())
+                .inDegree(stats.getInDegree())
+                .outDegree(stats.getOutDegree())
+                .betweenness(stats.getBetweenness())
+                .generation(stats.getGeneration())
+                .familyFounderId(stats.getFamilyFounderId())
+                .familySize(stats.getFamilySize())
+                .graphVersion(stats.getGraphVersion())
+                .computedAt(stats.getComputedAt())
+                .build();
+    }
+
+    @Override
+    public GraphConsistencyResponse checkConsistency() {
+        GraphSnapshot snapshot = connectionGraphIndex.snapshot();
+        GraphConsistencyResponse report = GraphConsistencyScanner.scan(
+                snapshot, corpsMemberDataRepository.findAllLeibburschLinks(), ForkJoinPool.commonPool());
+        log.info("Connection consistency scan: {} issues in {} connections ({} ms)",
+                report.getIssueCount(), report.getConnectionCount(), report.getDurationMs());
+        return report;
+    }
+}
@@ -1,23 +1,77 @@
 package com.blindworks.rhenanenmanager.service.impl;
 
+import com.blindworks.rhenanenmanager.domain.dto.projection.ConnectionDetailProjection;
+import com.blindworks.rhenanenmanager.domain.dto.projection.ConnectionKey;
+import com.blindworks.rhenanenmanager.domain.dto.projection.ConnectionProjection;
+import com.blindworks.rhenanenmanager.domain.dto.projection.LeibburschLink;
+import com.blindworks.rhenanenmanager.domain.dto.projection.ProfileName;
 import com.blindworks.rhenanenmanager.domain.dto.request.ConnectionRequest;
+import com.blindworks.rhenanenmanager.domain.dto.response.BulkImportResponse;
+import com.blindworks.rhenanenmanager.domain.dto.response.ConnectionPathResponse;
 import com.blindworks.rhenanenmanager.domain.dto.response.ConnectionResponse;
+import com.blindworks.rhenanenmanager.domain.dto.response.LineageResponse;
+import com.blindworks.rhenanenmanager.domain.dto.response.NeighborhoodResponse;
 import com.blindworks.rhenanenmanager.domain.entity.Connection;
 import com.blindworks.rhenanenmanager.domain.entity.Profile;
 import com.blindworks.rhenanenmanager.domain.repository.ConnectionRepository;
+import com.blindworks.rhenanenmanager.domain.repository.CorpsMemberDataRepository;
 import com.blindworks.rhenanenmanager.domain.repository.ProfileRepository;
+import com.blindworks.rhenanenmanager.exception.ResourceNotFoundException;
 import com.blindworks.rhenanenmanager.service.ConnectionService;
+import com.blindworks.rhenanenmanager.service.csv.CsvReader;
+import com.blindworks.rhenanenmanager.service.dictionary.RelationTypeDictionary;
+import com.blindworks.rhenanenmanager.service.event.ConnectionChangedEvent;
+import com.blindworks.rhenanenmanager.service.graph.ConnectionGraphIndex;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Implementation of ConnectionService.
  * Handles business logic for Corps member connections.
+ *
+ * Per-profile lookups are answered from the in-memory {@link ConnectionGraphIndex};
+ * every write publishes a {@link ConnectionChangedEvent} that keeps the index in sync.
  */
 @Service
 @RequiredArgsConstructor
@@ -25,14 +79,57 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class ConnectionServiceImpl implements ConnectionService {
 
+    /**
+     * IDs per IN list when loading profiles and existing connections for a bulk import.
+     */
+    private static final int BULK_LOOKUP_CHUNK = 1000;
+
+    private static final int BULK_INSERT_BATCH = 500;
+
+    private static final String LEIBBURSCH_CYCLE_MESSAGE = "Connection would create a Leibbursch cycle";
+
+    private static final String DUPLICATE_MESSAGE = "Connection already exists between these profiles with this type";
+
+    /**
+     * Neighborhoods kept per graph version; the least recently requested are dropped first.
+     */
+    private static final int NEIGHBORHOOD_CACHE_SIZE = 256;
+
+    private static final String BULK_INSERT_SQL =
+            "INSERT INTO connection (from_profile_id, to_profile_id, relation_type_id, start_date, end_date, " +
+            "description, bidirectional, created, updated) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
     private final ConnectionRepository connectionRepository;
     private final ProfileRepository profileRepository;
+    private final CorpsMemberDataRepository corpsMemberDataRepository;
+    private final ConnectionGraphIndex connectionGraphIndex;
+    private final RelationTypeDictionary relationTypeDictionary;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final Validator validator;
+
+    private final Map<String, NeighborhoodResponse> neighborhoodCache =
+            new LinkedHashMap<>(NEIGHBORHOOD_CACHE_SIZE, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, NeighborhoodResponse> eldest) {
+                    return size() > NEIGHBORHOOD_CACHE_SIZE;
+                }
+            };
+    private long neighborhoodCacheVersion = -1;
+
+    /**
+     * Serializes the writes that validate against the graph index (duplicates, Leibbursch rules).
+     * Held from the checks until the transaction has completed, which is after the index has
+     * applied the committed change, so a concurrent write cannot pass the same checks.
+     */
+    private final ReentrantLock writeLock = new ReentrantLock();
 
     @Override
     @Transactional
     public ConnectionResponse createConnection(ConnectionRequest request) {
         log.debug("Creating new connection: {} -> {} ({})",
                 request.getFromProfileId(), request.getToProfileId(), request.getRelationType());
+        lockWritesUntilCompletion();
 
         // Validate that both profiles exist
         Profile fromProfile = profileRepository.findById(request.getFromProfileId())
@@ -47,10 +144,11 @@ public class ConnectionServiceImpl implements ConnectionService {
         }
 
         // Check if connection already exists
-        if (connectionRepository.existsByFromProfileIdAndToProfileIdAndRelationType(
+        if (connectionGraphIndex.containsConnection(
                 request.getFromProfileId(), request.getToProfileId(), request.getRelationType())) {
-            throw new IllegalArgumentException("Connection already exists between these profiles with this type");
+            throw new IllegalArgumentException(DUPLICATE_MESSAGE);
         }
+        checkLeibbursch(null, request);
 
         Connection entity = Connection.builder()
                 .fromProfile(fromProfile)
@@ -62,15 +160,440 @@ public class ConnectionServiceImpl implements ConnectionService {
                 .bidirectional(request.getBidirectional() != null ? request.getBidirectional() : false)
                 .build();
 
-        Connection savedEntity = connectionRepository.save(entity);
+        Connection savedEntity = saveUnique(entity);
         log.info("Connection created with ID: {}", savedEntity.getId());
+        publishChange(ConnectionChangedEvent.Type.CREATED, savedEntity);
         return convertToResponse(savedEntity);
     }
 
+    @Override
+    @Transactional
+    public BulkImportResponse importConnections(List<ConnectionRequest> requests) {
+        log.debug("Importing {} connections", requests.size());
+        List<Integer> rows = new ArrayList<>(requests.size());
+        for (int row = 1; row <= requests.size(); row++) {
+            rows.add(row);
+        }
+        return importRows(requests, rows, new ArrayList<>());
+    }
+
+    @Override
+    @Transactional
+    public BulkImportResponse importConnectionsCsv(Reader csv) {
+        List<ConnectionRequest> requests = new ArrayList<>();
+        List<Integer> rows = new ArrayList<>();
+        List<BulkImportResponse.RowError> errors = new ArrayList<>();
+        try {
+            CsvReader reader = new CsvReader(csv);
+            List<String> header = reader.next();
+            if (header == null) {
+                return importRows(requests, rows, errors);
+            }
+            Map<String, Integer> columns = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+            List<String> missing = Stream.of("fromProfileId", "toProfileId", "relationType")
+                    .filter(column -> !columns.containsKey(column.toLowerCase(Locale.ROOT)))
+                    .toList();
+            if (!missing.isEmpty()) {
+                errors.add(rowError(1, "Missing column(s): " + String.join(", ", missing)));
+                return importRows(requests, rows, errors);
+            }
+
+            List<String> record;
+            while (true) {
+                try {
+                    record = reader.next();
+                } catch (IllegalArgumentException e) {
+                    // Nothing can be read after an unterminated quote
+                    errors.add(rowError(reader.getLine(), e.getMessage()));
+                    break;
+                }
+                if (record == null) {
+                    break;
+                }
+                try {
+                    requests.add(parseCsvRecord(record, columns));
+                    rows.add(reader.getLine());
+                } catch (IllegalArgumentException | DateTimeParseException e) {
+                    errors.add(rowError(reader.getLine(), e.getMessage()));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read CSV input", e);
+        }
+        return importRows(requests, rows, errors);
+    }
+
+    /**
+     * Validate all rows with set-based lookups, then insert the valid ones in JDBC batches.
+     *
+     * @param rows   row number of every request, for the error report
+     * @param errors rows already rejected while parsing
+     */
+    private BulkImportResponse importRows(List<ConnectionRequest> requests, List<Integer> rows,
+                                          List<BulkImportResponse.RowError> errors) {
+        lockWritesUntilCompletion();
+        int totalRows = requests.size() + errors.size();
+
+        // Field validation
+        List<Integer> candidates = new ArrayList<>();
+        Set<Long> profileIds = new HashSet<>();
+        for (int i = 0; i < requests.size(); i++) {
+            ConnectionRequest request = requests.get(i);
+            String error = validateRow(request);
+            if (error != null) {
+                errors.add(rowError(rows.get(i), error));
+                continue;
+            }
+            candidates.add(i);
+            profileIds.add(request.getFromProfileId());
+            profileIds.add(request.getToProfileId());
+        }
+
+        // Profile existence, one query per chunk of IDs
+        Map<Long, ProfileName> profiles = new HashMap<>();
+        for (ProfileName profile : findInChunks(profileIds, profileRepository::findNamesByIdIn)) {
+            profiles.put(profile.getId(), profile);
+        }
+        Set<Long> fromProfileIds = new HashSet<>();
+        List<Integer> known = new ArrayList<>(candidates.size());
+        for (int i : candidates) {
+            ConnectionRequest request = requests.get(i);
+            if (!profiles.containsKey(request.getFromProfileId())) {
+                errors.add(rowError(rows.get(i), "From profile not found with ID: " + request.getFromProfileId()));
+            } else if (!profiles.containsKey(request.getToProfileId())) {
+                errors.add(rowError(rows.get(i), "To profile not found with ID: " + request.getToProfileId()));
+            } else {
+                known.add(i);
+                fromProfileIds.add(request.getFromProfileId());
+            }
+        }
+
+        // Duplicates, against the database and within the input
+        Set<ConnectionKey> stored = new HashSet<>(
+                findInChunks(fromProfileIds, connectionRepository::findKeysByFromProfileIdIn));
+        Map<ConnectionKey, Integer> firstRow = new HashMap<>();
+        List<Integer> accepted = new ArrayList<>(known.size());
+        for (int i : known) {
+            ConnectionRequest request = requests.get(i);
+            ConnectionKey key = new ConnectionKey(
+                    request.getFromProfileId(), request.getToProfileId(), request.getRelationType());
+            Integer duplicateOf = firstRow.putIfAbsent(key, rows.get(i));
+            if (stored.contains(key)) {
+                errors.add(rowError(rows.get(i), DUPLICATE_MESSAGE));
+            } else if (duplicateOf != null) {
+                errors.add(rowError(rows.get(i), "Duplicate of row " + duplicateOf));
+            } else {
+                accepted.add(i);
+            }
+        }
+
+        accepted = rejectLeibburschConflicts(requests, rows, accepted, errors);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<ConnectionRequest> inserts = accepted.stream().map(requests::get).toList();
+        List<Long> ids = insertBatched(inserts, now);
+        for (int k = 0; k < inserts.size(); k++) {
+            ConnectionRequest request = inserts.get(k);
+            ProfileName from = profiles.get(request.getFromProfileId());
+            ProfileName to = profiles.get(request.getToProfileId());
+            eventPublisher.publishEvent(new ConnectionChangedEvent(ConnectionChangedEvent.Type.CREATED, ids.get(k),
+                    ConnectionProjection.builder()
+                            .id(ids.get(k))
+                            .fromProfileId(from.getId())
+                            .fromFirstname(from.getFirstname())
+                            .fromLastname(from.getLastname())
+                            .toProfileId(to.getId())
+                            .toFirstname(to.getFirstname())
+                            .toLastname(to.getLastname())
+                            .relationType(request.getRelationType())
+                            .startDate(request.getStartDate())
+                            .endDate(request.getEndDate())
+                            .description(request.getDescription())
+                            .bidirectional(Boolean.TRUE.equals(request.getBidirectional()))
+                            .created(now)
+                            .updated(now)
+                            .build()));
+        }
+
+        errors.sort((a, b) -> Integer.compare(a.getRow(), b.getRow()));
+        log.info("Bulk import: {} of {} connections created, {} rows rejected",
+                ids.size(), totalRows, errors.size());
+        return BulkImportResponse.builder()
+                .totalRows(totalRows)
+                .imported(ids.size())
+                .failed(errors.size())
+                .createdIds(ids)
+                .errors(errors)
+                .build();
+    }
+
+    /**
+     * Apply the Leibbursch rules of {@link #checkLeibbursch} to the accepted LEIBBURSCH rows,
+     * against the stored connections and the earlier rows of the import.
+     *
+     * @return the rows still accepted
+     */
+    private List<Integer> rejectLeibburschConflicts(List<ConnectionRequest> requests, List<Integer> rows,
+                                                    List<Integer> accepted,
+                                                    List<BulkImportResponse.RowError> errors) {
+        List<Integer> candidates = new ArrayList<>();
+        Map<Long, List<ConnectionRequest>> leibburschenInImport = new HashMap<>();
+        for (int i : accepted) {
+            ConnectionRequest request = requests.get(i);
+            if (!Connection.RELATION_LEIBBURSCH.equals(request.getRelationType())) {
+                continue;
+            }
+            List<ConnectionRequest> earlier = leibburschenInImport.computeIfAbsent(
+                    request.getToProfileId(), key -> new ArrayList<>());
+            String conflict = findSecondLeibbursch(null, request);
+            if (conflict == null && earlier.stream().anyMatch(other -> overlaps(other, request))) {
+                conflict = "Profile " + request.getToProfileId() + " gets more than one Leibbursch in this import " +
+                           "for the same period";
+            }
+            if (conflict != null) {
+                errors.add(rowError(rows.get(i), conflict));
+            } else {
+                earlier.add(request);
+                candidates.add(i);
+            }
+        }
+
+        long[] from = new long[candidates.size()];
+        long[] to = new long[candidates.size()];
+        for (int k = 0; k < candidates.size(); k++) {
+            from[k] = requests.get(candidates.get(k)).getFromProfileId();
+            to[k] = requests.get(candidates.get(k)).getToProfileId();
+        }
+        boolean[] closesCycle = connectionGraphIndex.closesLeibburschCycles(from, to);
+        Set<Integer> acceptedLeibburschen = new HashSet<>();
+        for (int k = 0; k < candidates.size(); k++) {
+            if (closesCycle[k]) {
+                errors.add(rowError(rows.get(candidates.get(k)), LEIBBURSCH_CYCLE_MESSAGE));
+            } else {
+                acceptedLeibburschen.add(candidates.get(k));
+            }
+        }
+        List<Integer> remaining = new ArrayList<>(accepted.size());
+        for (int i : accepted) {
+            if (!Connection.RELATION_LEIBBURSCH.equals(requests.get(i).getRelationType())
+                    || acceptedLeibburschen.contains(i)) {
+                remaining.add(i);
+            }
+        }
+        return remaining;
+    }
+
+    /**
+     * Field checks of a single row; returns the error message or {@code null} if the row is valid.
+     */
+    private String validateRow(ConnectionRequest request) {
+        if (request == null) {
+            return "Empty row";
+        }
+        Set<ConstraintViolation<ConnectionRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        if (request.getFromProfileId().equals(request.getToProfileId())) {
+            return "Cannot create a connection from a profile to itself";
+        }
+        return null;
+    }
+
+    /**
+     * Take the write lock and release it once the current transaction has completed.
+     * The graph index applies the change after commit, before the completion callbacks run.
+     */
+    private void lockWritesUntilCompletion() {
+        writeLock.lock();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                writeLock.unlock();
+            }
+        });
+    }
+
+    /**
+     * Save and flush, reporting a violation of the unique (from, to, type) constraint as a
+     * duplicate. The lock only covers this instance; the constraint also covers other ones.
+     */
+    private Connection saveUnique(Connection entity) {
+        try {
+            return connectionRepository.saveAndFlush(entity);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalArgumentException(DUPLICATE_MESSAGE, e);
+        }
+    }
+
+    /**
+     * Enforce the Leibbursch rules for a LEIBBURSCH connection: no cycles (nobody is their own
+     * Leibbursch, directly or further up) and at most one Leibbursch per Leibfuchs at a time.
+     *
+     * @param connectionId connection being updated, or {@code null} on create
+     */
+    private void checkLeibbursch(Long connectionId, ConnectionRequest request) {
+        if (!Connection.RELATION_LEIBBURSCH.equals(request.getRelationType())) {
+            return;
+        }
+        String conflict = findSecondLeibbursch(connectionId, request);
+        if (conflict != null) {
+            throw new IllegalArgumentException(conflict);
+        }
+        if (connectionGraphIndex.closesLeibburschCycle(
+                request.getFromProfileId(), request.getToProfileId(), connectionId)) {
+            throw new IllegalArgumentException(LEIBBURSCH_CYCLE_MESSAGE);
+        }
+    }
+
+    /**
+     * Error message if the Leibfuchs of the request already has a Leibbursch in an overlapping period.
+     */
+    private String findSecondLeibbursch(Long connectionId, ConnectionRequest request) {
+        return connectionGraphIndex.findConnections(request.getToProfileId(), ConnectionGraphIndex.Direction.INCOMING,
+                        Connection.RELATION_LEIBBURSCH, false, null)
+                .stream()
+                .filter(existing -> !existing.getId().equals(connectionId))
+                .filter(existing -> overlaps(existing.getStartDate(), existing.getEndDate(),
+                        request.getStartDate(), request.getEndDate()))
+                .findFirst()
+                .map(existing -> "Profile " + request.getToProfileId() + " already has Leibbursch " +
+                                 existing.getFromProfileId() + " in this period (connection " + existing.getId() + ")")
+                .orElse(null);
+    }
+
+    private static boolean overlaps(ConnectionRequest a, ConnectionRequest b) {
+        return overlaps(a.getStartDate(), a.getEndDate(), b.getStartDate(), b.getEndDate());
+    }
+
+    /**
+     * Whether two validity periods {@code [start, end)} share a day; missing dates are open.
+     */
+    private static boolean overlaps(LocalDate startA, LocalDate endA, LocalDate startB, LocalDate endB) {
+        return (startA == null || endB == null || startA.isBefore(endB))
+                && (startB == null || endA == null || startB.isBefore(endA));
+    }
+
+    private static <T> List<T> findInChunks(Collection<Long> ids, Function<List<Long>, List<T>> query) {
+        List<Long> all = new ArrayList<>(ids);
+        List<T> result = new ArrayList<>();
+        for (int start = 0; start < all.size(); start += BULK_LOOKUP_CHUNK) {
+            result.addAll(query.apply(all.subList(start, Math.min(all.size(), start + BULK_LOOKUP_CHUNK))));
+        }
+        return result;
+    }
+
+    /**
+     * Insert rows with JDBC batching and return the generated IDs in input order.
+     * The caller must publish the change events.
+     */
+    private List<Long> insertBatched(List<ConnectionRequest> requests, LocalDateTime now) {
+        if (requests.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Timestamp timestamp = Timestamp.valueOf(now);
+        return jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            List<Long> ids = new ArrayList<>(requests.size());
+            try (PreparedStatement statement =
+                         connection.prepareStatement(BULK_INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (int start = 0; start < requests.size(); start += BULK_INSERT_BATCH) {
+                    int end = Math.min(requests.size(), start + BULK_INSERT_BATCH);
+                    for (ConnectionRequest request : requests.subList(start, end)) {
+                        statement.setLong(1, request.getFromProfileId());
+                        statement.setLong(2, request.getToProfileId());
+                        statement.setShort(3, relationTypeDictionary.register(request.getRelationType()));
+                        setDate(statement, 4, request.getStartDate());
+                        setDate(statement, 5, request.getEndDate());
+                        statement.setString(6, request.getDescription());
+                        statement.setBoolean(7, Boolean.TRUE.equals(request.getBidirectional()));
+                        statement.setTimestamp(8, timestamp);
+                        statement.setTimestamp(9, timestamp);
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+                    try (ResultSet keys = statement.getGeneratedKeys()) {
+                        while (keys.next()) {
+                            ids.add(keys.getLong(1));
+                        }
+                    }
+                }
+            }
+            if (ids.size() != requests.size()) {
+                throw new IllegalStateException("Expected " + requests.size() + " generated IDs, got " + ids.size());
+            }
+            return ids;
+        });
+    }
+
+    private static void setDate(PreparedStatement statement, int index, LocalDate date) throws SQLException {
+        if (date != null) {
+            statement.setDate(index, Date.valueOf(date));
+        } else {
+            statement.setNull(index, Types.DATE);
+        }
+    }
+
+    private static ConnectionRequest parseCsvRecord(List<String> record, Map<String, Integer> columns) {
+        Function<String, String> field = column -> {
+            Integer index = columns.get(column.toLowerCase(Locale.ROOT));
+            if (index == null || index >= record.size()) {
+                return null;
+            }
+            String value = record.get(index).trim();
+            return value.isEmpty() ? null : value;
+        };
+        return ConnectionRequest.builder()
+                .fromProfileId(parseId("fromProfileId", field.apply("fromProfileId")))
+                .toProfileId(parseId("toProfileId", field.apply("toProfileId")))
+                .relationType(field.apply("relationType"))
+                .startDate(parseDate(field.apply("startDate")))
+                .endDate(parseDate(field.apply("endDate")))
+                .description(field.apply("description"))
+                .bidirectional(parseBoolean(field.apply("bidirectional")))
+                .build();
+    }
+
+    private static Long parseId(String column, String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + ": not a number: " + value);
+        }
+    }
+
+    private static LocalDate parseDate(String value) {
+        return value != null ? LocalDate.parse(value) : null;
+    }
+
+    private static Boolean parseBoolean(String value) {
+        if (value == null) {
+            return false;
+        }
+        return switch (value.toLowerCase(Locale.ROOT)) {
+            case "true", "1", "yes" -> true;
+            case "false", "0", "no" -> false;
+            default -> throw new IllegalArgumentException("bidirectional: not a boolean: " + value);
+        };
+    }
+
+    private static BulkImportResponse.RowError rowError(int row, String message) {
+        return BulkImportResponse.RowError.builder().row(row).message(message).build();
+    }
+
     @Override
     @Transactional
     public ConnectionResponse updateConnection(Long id, ConnectionRequest request) {
         log.debug("Updating connection with ID: {}", id);
+        lockWritesUntilCompletion();
 
         Connection entity = connectionRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Connection not found with ID: " + id));
@@ -81,6 +604,14 @@ public class ConnectionServiceImpl implements ConnectionService {
 
         Profile toProfile = profileRepository.findById(request.getToProfileId())
                 .orElseThrow(() -> new RuntimeException("To profile not found with ID: " + request.getToProfileId()));
+        boolean keyChanged = !entity.getFromProfile().getId().equals(request.getFromProfileId())
+                || !entity.getToProfile().getId().equals(request.getToProfileId())
+                || !entity.getRelationType().equals(request.getRelationType());
+        if (keyChanged && connectionGraphIndex.containsConnection(
+                request.getFromProfileId(), request.getToProfileId(), request.getRelationType())) {
+            throw new IllegalArgumentException(DUPLICATE_MESSAGE);
+        }
+        checkLeibbursch(id, request);
 
         // Update entity
         entity.setFromProfile(fromProfile);
@@ -91,8 +622,10 @@ public class ConnectionServiceImpl implements ConnectionService {
         entity.setDescription(request.getDescription());
         entity.setBidirectional(request.getBidirectional() != null ? request.getBidirectional() : false);
 
-        Connection savedEntity = connectionRepository.save(entity);
+        // Flush so the audit timestamp published below is the committed one
+        Connection savedEntity = saveUnique(entity);
         log.info("Connection updated with ID: {}", savedEntity.getId());
+        publishChange(ConnectionChangedEvent.Type.UPDATED, savedEntity);
         return convertToResponse(savedEntity);
     }
 
@@ -107,12 +640,13 @@ public class ConnectionServiceImpl implements ConnectionService {
 
         connectionRepository.deleteById(id);
         log.info("Connection deleted with ID: {}", id);
+        eventPublisher.publishEvent(new ConnectionChangedEvent(ConnectionChangedEvent.Type.DELETED, id, null));
     }
 
     @Override
     public ConnectionResponse getConnectionById(Long id) {
         log.debug("Fetching connection by ID: {}", id);
-        return connectionRepository.findById(id)
+        return connectionRepository.findProjectionById(id)
                 .map(this::convertToResponse)
                 .orElseThrow(() -> new RuntimeException("Connection not found with ID: " + id));
     }
@@ -120,78 +654,285 @@ public class ConnectionServiceImpl implements ConnectionService {
     @Override
     public ConnectionResponse.ConnectionDetailResponse getConnectionDetailById(Long id) {
         log.debug("Fetching detailed connection by ID: {}", id);
-        return connectionRepository.findById(id)
+        return connectionRepository.findDetailProjectionById(id)
                 .map(this::convertToDetailResponse)
                 .orElseThrow(() -> new RuntimeException("Connection not found with ID: " + id));
     }
 
     @Override
-    public List<ConnectionResponse> getConnectionsForProfile(Long profileId) {
-        log.debug("Fetching all connections for profile ID: {}", profileId);
-        return connectionRepository.findByProfileId(profileId).stream()
+    public List<ConnectionResponse> getConnectionsForProfile(Long profileId, LocalDate asOf) {
+        log.debug("Fetching all connections for profile ID: {} (asOf: {})", profileId, asOf);
+        return connectionGraphIndex.findConnections(
+                        profileId, ConnectionGraphIndex.Direction.BOTH, null, false, asOf)
+                .stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
     }
 
     @Override
-    public List<ConnectionResponse.ConnectionDetailResponse> getDetailedConnectionsForProfile(Long profileId) {
-        log.debug("Fetching detailed connections for profile ID: {}", profileId);
-        return connectionRepository.findByProfileId(profileId).stream()
+    public List<ConnectionResponse.ConnectionDetailResponse> getDetailedConnectionsForProfile(Long profileId,
+                                                                                             LocalDate asOf) {
+        log.debug("Fetching detailed connections for profile ID: {} (asOf: {})", profileId, asOf);
+        return connectionRepository.findDetailProjectionsByProfileId(profileId).stream()
+                .filter(projection -> asOf == null || isValidOn(projection.getStartDate(), projection.getEndDate(), asOf))
                 .map(this::convertToDetailResponse)
                 .collect(Collectors.toList());
     }
 
     @Override
-    public List<ConnectionResponse> getConnectionsByType(String relationType) {
-        log.debug("Fetching connections by type: {}", relationType);
-        return connectionRepository.findByRelationType(relationType).stream()
+    public List<ConnectionResponse> getConnectionsByType(String relationType, LocalDate asOf) {
+        log.debug("Fetching connections by type: {} (asOf: {})", relationType, asOf);
+        if (relationTypeDictionary.codeOf(relationType) == RelationTypeDictionary.UNKNOWN) {
+            return List.of();
+        }
+        List<ConnectionProjection> connections = asOf != null
+                ? connectionGraphIndex.findConnectionsAsOf(asOf, relationType)
+                : connectionRepository.findProjectionsByRelationType(relationType);
+        return connections.stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
     }
 
     @Override
-    public List<ConnectionResponse> getConnectionsFrom(Long profileId) {
-        log.debug("Fetching connections from profile ID: {}", profileId);
-        return connectionRepository.findByFromProfileId(profileId).stream()
+    public List<ConnectionResponse> getConnectionsFrom(Long profileId, LocalDate asOf) {
+        log.debug("Fetching connections from profile ID: {} (asOf: {})", profileId, asOf);
+        return connectionGraphIndex.findConnections(
+                        profileId, ConnectionGraphIndex.Direction.OUTGOING, null, false, asOf)
+                .stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
     }
 
     @Override
-    public List<ConnectionResponse> getConnectionsTo(Long profileId) {
-        log.debug("Fetching connections to profile ID: {}", profileId);
-        return connectionRepository.findByToProfileId(profileId).stream()
+    public List<ConnectionResponse> getConnectionsTo(Long profileId, LocalDate asOf) {
+        log.debug("Fetching connections to profile ID: {} (asOf: {})", profileId, asOf);
+        return connectionGraphIndex.findConnections(
+                        profileId, ConnectionGraphIndex.Direction.INCOMING, null, false, asOf)
+                .stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
     }
 
     @Override
-    public List<ConnectionResponse> getActiveConnectionsForProfile(Long profileId) {
-        log.debug("Fetching active connections for profile ID: {}", profileId);
-        return connectionRepository.findActiveConnectionsByProfileId(profileId).stream()
+    public List<ConnectionResponse> getActiveConnectionsForProfile(Long profileId, LocalDate asOf) {
+        log.debug("Fetching active connections for profile ID: {} (asOf: {})", profileId, asOf);
+        return connectionGraphIndex.findConnections(
+                        profileId, ConnectionGraphIndex.Direction.BOTH, null, true, asOf)
+                .stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
     }
 
     @Override
-    public List<ConnectionResponse> getActiveConnectionsByType(Long profileId, String relationType) {
-        log.debug("Fetching active connections for profile ID: {} and type: {}", profileId, relationType);
-        return connectionRepository.findActiveConnectionsByProfileIdAndType(profileId, relationType).stream()
+    public List<ConnectionResponse> getActiveConnectionsByType(Long profileId, String relationType, LocalDate asOf) {
+        log.debug("Fetching active connections for profile ID: {} and type: {} (asOf: {})",
+                profileId, relationType, asOf);
+        return connectionGraphIndex.findConnections(
+                        profileId, ConnectionGraphIndex.Direction.BOTH, relationType, true, asOf)
+                .stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
     }
 
     @Override
     public List<String> getRelationTypes() {
-        log.debug("Fetching all distinct relation types");
-        return connectionRepository.findDistinctRelationTypes();
+        log.debug("Fetching all relation types");
+        return relationTypeDictionary.names();
     }
 
     @Override
     public boolean connectionExists(Long fromProfileId, Long toProfileId, String relationType) {
         log.debug("Checking if connection exists: {} -> {} ({})", fromProfileId, toProfileId, relationType);
-        return connectionRepository.existsByFromProfileIdAndToProfileIdAndRelationType(
-                fromProfileId, toProfileId, relationType);
+        return connectionGraphIndex.containsConnection(fromProfileId, toProfileId, relationType);
+    }
+
+    @Override
+    public LineageResponse getLineage(Long profileId, LineageResponse.Direction direction, Integer depth,
+                                      LocalDate asOf) {
+        log.debug("Fetching {} lineage for profile ID: {} (depth: {}, asOf: {})", direction, profileId, depth, asOf);
+        boolean up = direction == LineageResponse.Direction.UP;
+        int maxGeneration = depth != null && depth > 0 ? depth : Integer.MAX_VALUE;
+
+        List<LineageResponse.LineageMember> members = new ArrayList<>();
+        Set<Long> visited = new HashSet<>();
+        visited.add(profileId);
+        List<LineageResponse.LineageMember> frontier = List.of(
+                LineageResponse.LineageMember.builder().profileId(profileId).generation(0).build());
+
+        // Breadth-first one generation at a time, so every member is reported with its shortest
+        // generation distance and the corps member data is queried once per generation
+        for (int generation = 1; generation <= maxGeneration && !frontier.isEmpty(); generation++) {
+            int current = generation;
+            List<LineageResponse.LineageMember> next = new ArrayList<>();
+            for (LineageResponse.LineageMember member : frontier) {
+                connectionGraphIndex.forEachNeighbour(member.getProfileId(),
+                        up ? ConnectionGraphIndex.Direction.INCOMING : ConnectionGraphIndex.Direction.OUTGOING,
+                        Connection.RELATION_LEIBBURSCH, false, asOf,
+                        (connectionId, neighbourId) -> {
+                            if (visited.add(neighbourId)) {
+                                next.add(LineageResponse.LineageMember.builder()
+                                        .profileId(neighbourId)
+                                        .generation(current)
+                                        .viaProfileId(member.getProfileId())
+                                        .connectionId(connectionId)
+                                        .build());
+                            }
+                        });
+            }
+            for (LineageResponse.LineageMember member : next) {
+                member.setProfileName(connectionGraphIndex.profileName(member.getProfileId()));
+            }
+
+            // Leibbursch links kept only in the corps member data, for this generation only
+            Set<Long> frontierIds = frontier.stream()
+                    .map(LineageResponse.LineageMember::getProfileId)
+                    .collect(Collectors.toSet());
+            List<LeibburschLink> corpsLinks = up
+                    ? corpsMemberDataRepository.findLeibburschLinksByProfileIdIn(frontierIds, asOf)
+                    : corpsMemberDataRepository.findLeibburschLinksByLeibBurschIdIn(frontierIds, asOf);
+            for (LeibburschLink link : corpsLinks) {
+                Long neighbourId = up ? link.getLeibBurschId() : link.getProfileId();
+                if (visited.add(neighbourId)) {
+                    next.add(LineageResponse.LineageMember.builder()
+                            .profileId(neighbourId)
+                            .profileName(up
+                                    ? link.getLeibBurschFirstname() + " " + link.getLeibBurschLastname()
+                                    : link.getFirstname() + " " + link.getLastname())
+                            .generation(current)
+                            .viaProfileId(up ? link.getProfileId() : link.getLeibBurschId())
+                            .build());
+                }
+            }
+
+            members.addAll(next);
+            frontier = next;
+        }
+
+        return LineageResponse.builder()
+                .profileId(profileId)
+                .direction(direction)
+                .depth(depth)
+                .members(members)
+                .build();
+    }
+
+    @Override
+    public ConnectionPathResponse findShortestPath(Long fromProfileId, Long toProfileId, List<String> relationTypes,
+                                                   int maxHops, boolean activeOnly, LocalDate asOf,
+                                                   boolean directed) {
+        log.debug("Finding shortest path {} -> {} (types: {}, maxHops: {}, activeOnly: {}, asOf: {}, directed: {})",
+                fromProfileId, toProfileId, relationTypes, maxHops, activeOnly, asOf, directed);
+        Optional<List<ConnectionProjection>> path = connectionGraphIndex.findShortestPath(
+                fromProfileId, toProfileId,
+                relationTypes != null ? new HashSet<>(relationTypes) : null,
+                maxHops, activeOnly, asOf, directed);
+
+        ConnectionPathResponse.ConnectionPathResponseBuilder response = ConnectionPathResponse.builder()
+                .fromProfileId(fromProfileId)
+                .toProfileId(toProfileId)
+                .found(path.isPresent());
+        if (path.isEmpty()) {
+            return response.profileIds(List.of()).connections(List.of()).build();
+        }
+
+        List<Long> profileIds = new ArrayList<>();
+        profileIds.add(fromProfileId);
+        Long current = fromProfileId;
+        for (ConnectionProjection edge : path.get()) {
+            current = edge.getFromProfileId().equals(current) ? edge.getToProfileId() : edge.getFromProfileId();
+            profileIds.add(current);
+        }
+
+        return response
+                .hops(path.get().size())
+                .profileIds(profileIds)
+                .connections(path.get().stream().map(this::convertToResponse).toList())
+                .build();
+    }
+
+    @Override
+    public NeighborhoodResponse getNeighborhood(Long profileId, List<String> relationTypes, int hops,
+                                                boolean activeOnly, LocalDate asOf) {
+        Set<String> types = relationTypes != null && !relationTypes.isEmpty()
+                ? new TreeSet<>(relationTypes) : null;
+        // activeOnly depends on today's date, so yesterday's entries must not match
+        String key = profileId + "|" + hops + "|" + types + "|" + asOf + "|"
+                + (activeOnly && asOf == null ? LocalDate.now() : "-");
+        long version = connectionGraphIndex.getVersion();
+        synchronized (neighborhoodCache) {
+            if (neighborhoodCacheVersion != version) {
+                neighborhoodCache.clear();
+                neighborhoodCacheVersion = version;
+            }
+            NeighborhoodResponse cached = neighborhoodCache.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        log.debug("Computing neighborhood of profile {} (types: {}, hops: {}, activeOnly: {}, asOf: {})",
+                profileId, types, hops, activeOnly, asOf);
+        NeighborhoodResponse response = connectionGraphIndex
+                .findNeighborhood(profileId, types, hops, activeOnly, asOf)
+                .map(neighborhood -> toNeighborhoodResponse(profileId, hops, neighborhood))
+                .orElseGet(() -> emptyNeighborhood(profileId, hops, version));
+
+        synchronized (neighborhoodCache) {
+            // Computed against a newer graph than the cache holds: start the new version with it
+            if (neighborhoodCacheVersion != response.getGraphVersion()) {
+                neighborhoodCache.clear();
+                neighborhoodCacheVersion = response.getGraphVersion();
+            }
+            neighborhoodCache.put(key, response);
+        }
+        return response;
+    }
+
+    private NeighborhoodResponse toNeighborhoodResponse(Long profileId, int hops,
+                                                        ConnectionGraphIndex.Neighborhood neighborhood) {
+        long[] ids = neighborhood.getProfileIds();
+        List<NeighborhoodResponse.Member> members = new ArrayList<>(ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            members.add(NeighborhoodResponse.Member.builder()
+                    .profileId(ids[i])
+                    .profileName(neighborhood.getProfileNames()[i])
+                    .hops(neighborhood.getHops()[i])
+                    .build());
+        }
+        return NeighborhoodResponse.builder()
+                .profileId(profileId)
+                .hops(hops)
+                .graphVersion(neighborhood.getVersion())
+                .members(members)
+                .connections(neighborhood.getConnections().stream().map(this::convertToResponse).toList())
+                .build();
+    }
+
+    /**
+     * Neighborhood of a profile without any connection: just the profile itself, if it exists.
+     */
+    private NeighborhoodResponse emptyNeighborhood(Long profileId, int hops, long version) {
+        Profile profile = profileRepository.findById(profileId)
+                .orElseThrow(() -> new ResourceNotFoundException("Profile", "id", profileId));
+        NeighborhoodResponse.Member member = NeighborhoodResponse.Member.builder()
+                .profileId(profileId)
+                .profileName(profile.getFirstname() + " " + profile.getLastname())
+                .hops(0)
+                .build();
+        return NeighborhoodResponse.builder()
+                .profileId(profileId)
+                .hops(hops)
+                .graphVersion(version)
+                .members(List.of(member))
+                .connections(List.of())
+                .build();
+    }
+
+    /**
+     * Whether a connection with the given dates is valid on the day.
+     */
+    private static boolean isValidOn(LocalDate startDate, LocalDate endDate, LocalDate day) {
+        return (startDate == null || !startDate.isAfter(day)) && (endDate == null || endDate.isAfter(day));
     }
 
     /**
@@ -216,34 +957,77 @@ public class ConnectionServiceImpl implements ConnectionService {
     }
 
     /**
-     * Convert Connection entity to ConnectionDetailResponse DTO with full profile information.
+     * Convert ConnectionProjection to ConnectionResponse DTO.
      */
-    private ConnectionResponse.ConnectionDetailResponse convertToDetailResponse(Connection entity) {
-        return ConnectionResponse.ConnectionDetailResponse.builder()
+    private ConnectionResponse convertToResponse(ConnectionProjection projection) {
+        return ConnectionResponse.builder()
+                .id(projection.getId())
+                .fromProfileId(projection.getFromProfileId())
+                .fromProfileName(projection.getFromFirstname() + " " + projection.getFromLastname())
+                .toProfileId(projection.getToProfileId())
+                .toProfileName(projection.getToFirstname() + " " + projection.getToLastname())
+                .relationType(projection.getRelationType())
+                .startDate(projection.getStartDate())
+                .endDate(projection.getEndDate())
+                .description(projection.getDescription())
+                .bidirectional(projection.getBidirectional())
+                .active(projection.isActive())
+                .created(projection.getCreated())
+                .updated(projection.getUpdated())
+                .build();
+    }
+
+    /**
+     * Publish the committed state of a connection for in-memory listeners.
+     */
+    private void publishChange(ConnectionChangedEvent.Type type, Connection entity) {
+        ConnectionProjection projection = ConnectionProjection.builder()
                 .id(entity.getId())
-                .fromProfile(convertToProfileSummary(entity.getFromProfile()))
-                .toProfile(convertToProfileSummary(entity.getToProfile()))
+                .fromProfileId(entity.getFromProfile().getId())
+                .fromFirstname(entity.getFromProfile().getFirstname())
+                .fromLastname(entity.getFromProfile().getLastname())
+                .toProfileId(entity.getToProfile().getId())
+                .toFirstname(entity.getToProfile().getFirstname())
+                .toLastname(entity.getToProfile().getLastname())
                 .relationType(entity.getRelationType())
                 .startDate(entity.getStartDate())
                 .endDate(entity.getEndDate())
                 .description(entity.getDescription())
                 .bidirectional(entity.getBidirectional())
-                .active(entity.isActive())
                 .created(entity.getCreated())
                 .updated(entity.getUpdated())
                 .build();
+        eventPublisher.publishEvent(new ConnectionChangedEvent(type, entity.getId(), projection));
     }
 
     /**
-     * Convert Profile entity to ProfileSummary DTO.
+     * Convert ConnectionDetailProjection to ConnectionDetailResponse DTO with profile summaries.
      */
-    private ConnectionResponse.ProfileSummary convertToProfileSummary(Profile profile) {
-        return ConnectionResponse.ProfileSummary.builder()
-                .id(profile.getId())
-                .firstname(profile.getFirstname())
-                .lastname(profile.getLastname())
-                .email(profile.getEmail())
-                .pictureUrl(profile.getPictureUrl())
+    private ConnectionResponse.ConnectionDetailResponse convertToDetailResponse(ConnectionDetailProjection projection) {
+        return ConnectionResponse.ConnectionDetailResponse.builder()
+                .id(projection.getId())
+                .fromProfile(ConnectionResponse.ProfileSummary.builder()
+                        .id(projection.getFromProfileId())
+                        .firstname(projection.getFromFirstname())
+                        .lastname(projection.getFromLastname())
+                        .email(projection.getFromEmail())
+                        .pictureUrl(projection.getFromPictureUrl())
+                        .build())
+                .toProfile(ConnectionResponse.ProfileSummary.builder()
+                        .id(projection.getToProfileId())
+                        .firstname(projection.getToFirstname())
+                        .lastname(projection.getToLastname())
+                        .email(projection.getToEmail())
+                        .pictureUrl(projection.getToPictureUrl())
+                        .build())
+                .relationType(projection.getRelationType())
+                .startDate(projection.getStartDate())
+                .endDate(projection.getEndDate())
+                .description(projection.getDescription())
+                .bidirectional(projection.getBidirectional())
+                .active(projection.isActive())
+                .created(projection.getCreated())
+                .updated(projection.getUpdated())
                 .build();
     }
 
@@ -252,15 +1036,18 @@ public class ConnectionServiceImpl implements ConnectionService {
      */
     @Override
     @Transactional(readOnly = true)
-    public List<ConnectionResponse> getAllConnections(boolean activeOnly) {
-        log.info("Getting all connections (activeOnly: {})", activeOnly);
+    public List<ConnectionResponse> getAllConnections(boolean activeOnly, LocalDate asOf) {
+        log.info("Getting all connections (activeOnly: {}, asOf: {})", activeOnly, asOf);
 
-        List<Connection> connections;
-        if (activeOnly) {
-            connections = connectionRepository.findAllActiveConnections();
+        List<ConnectionProjection> connections;
+        if (asOf != null) {
+            connections = connectionGraphIndex.findConnectionsAsOf(asOf, null);
+            log.info("Found {} connections as of {}", connections.size(), asOf);
+        } else if (activeOnly) {
+            connections = connectionRepository.findAllActiveProjections();
             log.info("Found {} active connections", connections.size());
         } else {
-            connections = connectionRepository.findAll();
+            connections = connectionRepository.findAllProjections();
             log.info("Found {} total connections", connections.size());
         }
 
@@ -268,4 +1055,35 @@ public class ConnectionServiceImpl implements ConnectionService {
                 .map(this::convertToResponse)
                 .toList();
     }
+
+    @Override
+    public List<ConnectionResponse> getConnectionsAfter(Long afterId, int limit, boolean activeOnly, LocalDate asOf) {
+        log.debug("Fetching {} connections after ID: {} (activeOnly: {}, asOf: {})", limit, afterId, activeOnly, asOf);
+        if (asOf != null) {
+            long after = afterId != null ? afterId : 0L;
+            return connectionGraphIndex.findConnectionsAsOf(asOf, null).stream()
+                    .filter(projection -> projection.getId() > after)
+                    .limit(limit)
+                    .map(this::convertToResponse)
+                    .toList();
+        }
+        return connectionRepository.findProjectionsAfter(afterId != null ? afterId : 0L, activeOnly,
+                        PageRequest.ofSize(limit)).stream()
+                .map(this::convertToResponse)
+                .toList();
+    }
+
+    @Override
+    public void streamAllConnections(boolean activeOnly, LocalDate asOf, Consumer<ConnectionResponse> consumer) {
+        log.info("Streaming all connections (activeOnly: {}, asOf: {})", activeOnly, asOf);
+        if (asOf != null) {
+            connectionGraphIndex.findConnectionsAsOf(asOf, null).stream()
+                    .map(this::convertToResponse)
+                    .forEach(consumer);
+            return;
+        }
+        try (Stream<ConnectionProjection> connections = connectionRepository.streamProjections(activeOnly)) {
+            connections.map(this::convertToResponse).forEach(consumer);
+        }
+    }
 }
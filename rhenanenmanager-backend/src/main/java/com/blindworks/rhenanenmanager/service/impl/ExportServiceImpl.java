@@ -0,0 +1,83 @@
+package com.blindworks.rhenanenmanager.service.impl;
+
+import com.blindworks.rhenanenmanager.domain.dto.projection.ArticleExportRow;
+import com.blindworks.rhenanenmanager.domain.dto.projection.ProfileExportRow;
+import com.blindworks.rhenanenmanager.domain.repository.ArticleEntryRepository;
+import com.blindworks.rhenanenmanager.domain.repository.ProfileRepository;
+import com.blindworks.rhenanenmanager.service.ExportService;
+import com.blindworks.rhenanenmanager.service.export.ExportFormat;
+import com.blindworks.rhenanenmanager.service.export.ExportWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of ExportService.
+ *
+ * The article columns match the fields of the article bulk import, so an exported CSV can
+ * be imported again.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class ExportServiceImpl implements ExportService {
+
+    static final List<String> ARTICLE_COLUMNS = List.of("id", "title", "subtitle", "alternativeAuthor",
+            "category", "year", "month", "page", "date", "created", "createdBy", "modified", "modifiedBy", "text");
+
+    static final List<String> PROFILE_COLUMNS = List.of("id", "title", "firstname", "middlename", "lastname",
+            "email", "birthDate", "birthPlace", "deceased", "deathDate", "street", "zip", "city", "country",
+            "telephoneNumber", "mobileNumber", "employer", "memberNumber", "status", "receptionDate",
+            "philistrierungDate");
+
+    private final ArticleEntryRepository articleEntryRepository;
+    private final ProfileRepository profileRepository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public long exportArticles(ExportFormat format, OutputStream out) throws IOException {
+        long started = System.nanoTime();
+        ExportWriter writer = format.open(out, ARTICLE_COLUMNS, objectMapper);
+        long rows = 0;
+        try (Stream<ArticleExportRow> articles = articleEntryRepository.streamExportRows()) {
+            for (Iterator<ArticleExportRow> it = articles.iterator(); it.hasNext(); rows++) {
+                ArticleExportRow a = it.next();
+                writer.writeRow(a.getId(), a.getTitle(), a.getSubtitle(), a.getAlternativeAuthor(),
+                        a.getCategory(), a.getYear(), a.getMonth(), a.getPage(), a.getDate(), a.getCreated(),
+                        a.getCreatedBy(), a.getModified(), a.getModifiedBy(), a.getText());
+            }
+        }
+        writer.finish();
+        log.info("Exported {} articles as {} in {} ms", rows, format, (System.nanoTime() - started) / 1_000_000);
+        return rows;
+    }
+
+    @Override
+    public long exportProfiles(ExportFormat format, OutputStream out) throws IOException {
+        long started = System.nanoTime();
+        ExportWriter writer = format.open(out, PROFILE_COLUMNS, objectMapper);
+        long rows = 0;
+        try (Stream<ProfileExportRow> profiles = profileRepository.streamExportRows()) {
+            for (Iterator<ProfileExportRow> it = profiles.iterator(); it.hasNext(); rows++) {
+                ProfileExportRow p = it.next();
+                writer.writeRow(p.getId(), p.getTitle(), p.getFirstname(), p.getMiddlename(), p.getLastname(),
+                        p.getEmail(), p.getBirthDate(), p.getBirthPlace(), p.getDeceased(), p.getDeathDate(),
+                        p.getStreet(), p.getZip(), p.getCity(), p.getCountry(), p.getTelephoneNumber(),
+                        p.getMobileNumber(), p.getEmployer(), p.getMemberNumber(), p.getStatus(),
+                        p.getReceptionDate(), p.getPhilistrierungDate());
+            }
+        }
+        writer.finish();
+        log.info("Exported {} profiles as {} in {} ms", rows, format, (System.nanoTime() - started) / 1_000_000);
+        return rows;
+    }
+}
@@ -0,0 +1,32 @@
+package com.blindworks.rhenanenmanager.service.impl;
+
+import com.blindworks.rhenanenmanager.domain.dto.response.SuggestionResponse;
+import com.blindworks.rhenanenmanager.service.ProfileService;
+import com.blindworks.rhenanenmanager.service.search.ProfileSuggestIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Implementation of ProfileService.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProfileServiceImpl implements ProfileService {
+
+    private final ProfileSuggestIndex profileSuggestIndex;
+
+    @Override
+    public List<SuggestionResponse> suggestProfiles(String prefix, int limit) {
+        return profileSuggestIndex.suggest(prefix, limit).stream()
+                .map(profile -> SuggestionResponse.builder()
+                        .type(SuggestionResponse.Type.PROFILE)
+                        .id(profile.getId())
+                        .text(profile.getText())
+                        .build())
+                .toList();
+    }
+}
@@ -0,0 +1,283 @@
+package com.blindworks.rhenanenmanager.service.search;
+
+import com.blindworks.rhenanenmanager.domain.dto.projection.ArticleSearchFields;
+import com.blindworks.rhenanenmanager.domain.dto.response.ArticleEntryResponse;
+import com.blindworks.rhenanenmanager.domain.repository.ArticleEntryRepository;
+import com.blindworks.rhenanenmanager.service.event.ArticleChangedEvent;
+import com.blindworks.rhenanenmanager.service.event.ArticlesImportedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Resident full-text index over the Rhenanenruf articles (title, subtitle, alternative
+ * author and text), ranked with BM25 (see {@link InvertedIndex}).
+ *
+ * Built on startup from keyset batches of the article table, analyzing each batch in
+ * parallel, and afterwards kept in sync by {@link ArticleChangedEvent}s published by the
+ * article service. Title and subtitle matches weigh more than matches in the text.
+ *
+ * Category, year, decade and month are indexed as facets, so searches can be narrowed to
+ * them and report how many matches each value has without extra GROUP BY queries.
+ * The first offset of every term in the text is kept for cutting result snippets.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ArticleSearchIndex {
+
+    public static final String FACET_CATEGORY = "category";
+    public static final String FACET_YEAR = "year";
+    public static final String FACET_DECADE = "decade";
+    public static final String FACET_MONTH = "month";
+
+    private static final int LOAD_BATCH_SIZE = 500;
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final int SUBTITLE_WEIGHT = 2;
+    private static final int AUTHOR_WEIGHT = 2;
+    private static final int TEXT_WEIGHT = 1;
+
+    private final ArticleEntryRepository articleEntryRepository;
+
+    private final TextAnalyzer analyzer = new TextAnalyzer();
+    private final InvertedIndex index = new InvertedIndex();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean loaded;
+
+    /**
+     * Rank the articles containing all terms of the query.
+     *
+     * @return the requested page of article IDs, best first; empty if the query has no terms
+     */
+    public InvertedIndex.Result search(String query, int offset, int limit) {
+        List<String> terms = analyzer.terms(query);
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return index.search(terms, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rank the articles containing all terms of the query and having all the given facet
+     * values (keyed by the {@code FACET_} field names). A query without terms matches every
+     * article having the facet values, newest first.
+     *
+     * @return the requested page of article IDs with the facet counts of all matches
+     */
+    public InvertedIndex.Result search(String query, Map<String, String> facets, int offset, int limit) {
+        List<String> terms = analyzer.terms(query);
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return index.search(terms, facets, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The values of a facet field over all articles, with their article counts.
+     */
+    public Map<String, Integer> facetValues(String field) {
+        return search(null, Map.of(), 0, 0).getFacets().getOrDefault(field, Map.of());
+    }
+
+    /**
+     * The terms that characterize an article best: its (field-weighted) terms ranked by
+     * TF-IDF, with the document frequencies of the current index.
+     */
+    public Set<String> keywords(ArticleSearchFields article, int limit) {
+        InvertedIndex.Document document = analyze(article);
+        ensureLoaded();
+        String[] terms = document.getTerms();
+        float[] scores = new float[terms.length];
+        lock.readLock().lock();
+        try {
+            int documents = Math.max(1, index.size());
+            for (int i = 0; i < terms.length; i++) {
+                int df = index.documentFrequency(terms[i]);
+                scores[i] = document.getFrequencies()[i] * (float) Math.log(1 + (double) documents / (1 + df));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        Integer[] order = new Integer[terms.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        // Ties by term, so the keywords of an article do not depend on hash order
+        Arrays.sort(order, Comparator.comparingDouble((Integer i) -> -scores[i]).thenComparing(i -> terms[i]));
+        Set<String> keywords = new HashSet<>();
+        for (int i = 0; i < order.length && i < limit; i++) {
+            keywords.add(terms[order[i]]);
+        }
+        return keywords;
+    }
+
+    public int size() {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Build the index on startup so the first search does not pay for it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        ensureLoaded();
+    }
+
+    /**
+     * Apply committed article changes.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        // Analyze outside the lock; only the postings update needs it
+        InvertedIndex.Document document = event.getType() == ArticleChangedEvent.Type.DELETED
+                ? null : analyze(event.getArticle());
+        lock.writeLock().lock();
+        try {
+            // Checked under the lock: a load in progress may have read the article's batch
+            // before this change committed, so the change is applied once the load is done
+            if (!loaded) {
+                // The full load will pick the change up
+                return;
+            }
+            if (document == null) {
+                index.remove(event.getArticleId());
+            } else {
+                index.add(document);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Apply a committed import batch under one write lock.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticlesImported(ArticlesImportedEvent event) {
+        List<InvertedIndex.Document> documents = event.getArticles().stream().map(this::analyze).toList();
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            documents.forEach(index::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Discard the current content and rebuild the index from the database.
+     */
+    public void reload() {
+        lock.writeLock().lock();
+        try {
+            loaded = false;
+            load();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                load();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void load() {
+        long started = System.nanoTime();
+        index.clear();
+        long afterId = 0;
+        while (true) {
+            List<ArticleSearchFields> batch =
+                    articleEntryRepository.findSearchFieldsAfter(afterId, PageRequest.ofSize(LOAD_BATCH_SIZE));
+            if (batch.isEmpty()) {
+                break;
+            }
+            batch.parallelStream()
+                    .map(this::analyze)
+                    .toList()
+                    .forEach(index::add);
+            afterId = batch.get(batch.size() - 1).getId();
+        }
+        index.optimize();
+        loaded = true;
+        log.info("Article search index loaded: {} articles, {} terms in {} ms",
+                index.size(), index.termCount(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private InvertedIndex.Document analyze(ArticleSearchFields article) {
+        return document(article.getId(), article.getCategory(), article.getYear(), article.getMonth(),
+                article.getTitle(), article.getSubtitle(), article.getAlternativeAuthor(), article.getText());
+    }
+
+    private InvertedIndex.Document analyze(ArticleEntryResponse article) {
+        return document(article.getId(), article.getCategory(), article.getYear(), article.getMonth(),
+                article.getTitle(), article.getSubtitle(), article.getAlternativeAuthor(), article.getText());
+    }
+
+    private InvertedIndex.Document document(long id, String category, Integer year, Integer month, String title,
+                                            String subtitle, String alternativeAuthor, String text) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        analyzer.analyze(title, term -> frequencies.merge(term, TITLE_WEIGHT, Integer::sum));
+        analyzer.analyze(subtitle, term -> frequencies.merge(term, SUBTITLE_WEIGHT, Integer::sum));
+        analyzer.analyze(alternativeAuthor, term -> frequencies.merge(term, AUTHOR_WEIGHT, Integer::sum));
+        // The text is the snippet field; windows must fit into its uncompressed beginning
+        Map<String, Integer> offsets = new HashMap<>();
+        analyzer.analyze(text, (term, start, end) -> {
+            frequencies.merge(term, TEXT_WEIGHT, Integer::sum);
+            if (SnippetExtractor.withinSnippetSource(start)) {
+                offsets.putIfAbsent(term, InvertedIndex.packOffset(start, end));
+            }
+        });
+        int sortKey = (year != null ? year : 0) * 100 + (month != null ? month : 0);
+
+        Map<String, String> facets = new HashMap<>();
+        if (category != null) {
+            facets.put(FACET_CATEGORY, category);
+        }
+        if (year != null) {
+            facets.put(FACET_YEAR, String.valueOf(year));
+            facets.put(FACET_DECADE, String.valueOf(Math.floorDiv(year, 10) * 10));
+        }
+        if (month != null) {
+            facets.put(FACET_MONTH, String.valueOf(month));
+        }
+        return new InvertedIndex.Document(id, sortKey, frequencies, facets, offsets);
+    }
+}
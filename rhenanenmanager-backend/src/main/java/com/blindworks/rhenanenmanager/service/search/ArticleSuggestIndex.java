@@ -0,0 +1,225 @@
+package com.blindworks.rhenanenmanager.service.search;
+
+import com.blindworks.rhenanenmanager.domain.dto.projection.ArticleTitle;
+import com.blindworks.rhenanenmanager.domain.repository.ArticleEntryRepository;
+import com.blindworks.rhenanenmanager.domain.dto.response.ArticleEntryResponse;
+import com.blindworks.rhenanenmanager.service.event.ArticleChangedEvent;
+import com.blindworks.rhenanenmanager.service.event.ArticlesImportedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Resident completion index over article titles and categories (see {@link PrefixIndex}).
+ *
+ * Built on startup from keyset batches of the article table and afterwards kept in sync by
+ * {@link ArticleChangedEvent}s, so typing never reaches the database. Newer articles rank
+ * first; categories rank by their number of articles.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ArticleSuggestIndex {
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private final ArticleEntryRepository articleEntryRepository;
+
+    private final PrefixIndex titles = new PrefixIndex();
+    private final PrefixIndex categories = new PrefixIndex();
+
+    /**
+     * Article count and completion entry ID per category, and the category of every article
+     * so updates and deletions can adjust the counts.
+     */
+    private final Map<String, Integer> categoryCounts = new HashMap<>();
+    private final Map<String, Long> categoryIds = new HashMap<>();
+    private final Map<Long, String> articleCategories = new HashMap<>();
+    private long nextCategoryId;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean loaded;
+
+    /**
+     * The up to {@code limit} newest articles with a title word starting with the prefix.
+     */
+    public List<PrefixIndex.Suggestion> suggestTitles(String prefix, int limit) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return titles.suggest(prefix, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The up to {@code limit} largest categories with a word starting with the prefix.
+     */
+    public List<PrefixIndex.Suggestion> suggestCategories(String prefix, int limit) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return categories.suggest(prefix, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Build the index on startup so the first keystroke does not pay for it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        ensureLoaded();
+    }
+
+    /**
+     * Apply committed article changes.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            // Checked under the lock: a load in progress may have read the article before
+            // this change committed, so the change is applied once the load is done
+            if (!loaded) {
+                // The full load will pick the change up
+                return;
+            }
+            if (event.getType() == ArticleChangedEvent.Type.DELETED) {
+                titles.remove(event.getArticleId());
+                setCategory(event.getArticleId(), null);
+            } else {
+                add(event.getArticleId(), event.getArticle().getTitle(), event.getArticle().getCategory(),
+                        event.getArticle().getYear(), event.getArticle().getMonth());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Apply a committed import batch under one write lock.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticlesImported(ArticlesImportedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            for (ArticleEntryResponse article : event.getArticles()) {
+                add(article.getId(), article.getTitle(), article.getCategory(), article.getYear(), article.getMonth());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Discard the current content and rebuild the index from the database.
+     */
+    public void reload() {
+        lock.writeLock().lock();
+        try {
+            loaded = false;
+            load();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                load();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void load() {
+        long started = System.nanoTime();
+        titles.clear();
+        categories.clear();
+        categoryCounts.clear();
+        categoryIds.clear();
+        articleCategories.clear();
+        long afterId = 0;
+        while (true) {
+            List<ArticleTitle> batch =
+                    articleEntryRepository.findTitlesAfter(afterId, PageRequest.ofSize(LOAD_BATCH_SIZE));
+            if (batch.isEmpty()) {
+                break;
+            }
+            for (ArticleTitle article : batch) {
+                add(article.getId(), article.getTitle(), article.getCategory(), article.getYear(), article.getMonth());
+            }
+            afterId = batch.get(batch.size() - 1).getId();
+        }
+        loaded = true;
+        categoryCounts.keySet().stream().toList().forEach(this::updateCategoryEntry);
+        titles.optimize();
+        categories.optimize();
+        log.info("Article completion index loaded: {} titles, {} categories in {} ms",
+                titles.size(), categories.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void add(long id, String title, String category, Integer year, Integer month) {
+        int sortKey = (year != null ? year : 0) * 100 + (month != null ? month : 0);
+        titles.add(id, title, sortKey);
+        setCategory(id, category);
+    }
+
+    /**
+     * Move the article to the category (or none) and update the completion entries of the
+     * categories involved. Entries are only touched once the initial load is done.
+     */
+    private void setCategory(long articleId, String category) {
+        String current = category == null || category.isBlank() ? null : category;
+        String previous = current == null ? articleCategories.remove(articleId)
+                : articleCategories.put(articleId, current);
+        if (previous != null && previous.equals(current)) {
+            return;
+        }
+        if (previous != null) {
+            categoryCounts.merge(previous, -1, Integer::sum);
+            updateCategoryEntry(previous);
+        }
+        if (current != null) {
+            categoryCounts.merge(current, 1, Integer::sum);
+            updateCategoryEntry(current);
+        }
+    }
+
+    private void updateCategoryEntry(String category) {
+        if (!loaded) {
+            return;
+        }
+        int count = categoryCounts.getOrDefault(category, 0);
+        if (count <= 0) {
+            categoryCounts.remove(category);
+            Long categoryId = categoryIds.remove(category);
+            if (categoryId != null) {
+                categories.remove(categoryId);
+            }
+        } else {
+            categories.add(categoryIds.computeIfAbsent(category, name -> ++nextCategoryId), category, count);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.blindworks.rhenanenmanager.service.search;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Facet postings of an {@link InvertedIndex}: for every field and value, a bitset of the
+ * document numbers having it. Filters are bitset intersections, and the facet counts of a
+ * result are the cardinalities of its bitset intersected with every value's bitset, so
+ * neither needs more than a pass over a few machine words per thousand documents.
+ * Not thread-safe.
+ */
+public class FacetIndex {
+
+    /**
+     * Field, then value, then document bitset. Bitsets are only as long as their highest
+     * document needs.
+     */
+    private final Map<String, Map<String, long[]>> postings = new HashMap<>();
+
+    /**
+     * Per document number: field and value pairs, flattened.
+     */
+    private String[][] documentFacets = new String[16][];
+
+    public void add(int doc, Map<String, String> facets) {
+        if (doc >= documentFacets.length) {
+            documentFacets = Arrays.copyOf(documentFacets, Math.max(doc + 1, documentFacets.length << 1));
+        }
+        String[] flat = new String[facets.size() * 2];
+        int i = 0;
+        for (Map.Entry<String, String> facet : facets.entrySet()) {
+            flat[i++] = facet.getKey();
+            flat[i++] = facet.getValue();
+            Map<String, long[]> values = postings.computeIfAbsent(facet.getKey(), field -> new HashMap<>());
+            values.put(facet.getValue(), set(values.get(facet.getValue()), doc));
+        }
+        documentFacets[doc] = flat;
+    }
+
+    public void remove(int doc) {
+        String[] flat = doc < documentFacets.length ? documentFacets[doc] : null;
+        if (flat == null) {
+            return;
+        }
+        for (int i = 0; i < flat.length; i += 2) {
+            Map<String, long[]> values = postings.get(flat[i]);
+            long[] bits = values.get(flat[i + 1]);
+            bits[doc >>> 6] &= ~(1L << doc);
+            if (isEmpty(bits)) {
+                values.remove(flat[i + 1]);
+            }
+        }
+        documentFacets[doc] = null;
+    }
+
+    public void clear() {
+        postings.clear();
+        Arrays.fill(documentFacets, null);
+    }
+
+    /**
+     * Follow a renumbering of the documents; {@code newNumber[doc]} is -1 for dropped ones.
+     */
+    public void renumber(int[] newNumber) {
+        String[][] old = documentFacets;
+        postings.clear();
+        documentFacets = new String[Math.max(16, old.length)][];
+        for (int doc = 0; doc < newNumber.length && doc < old.length; doc++) {
+            if (newNumber[doc] >= 0 && old[doc] != null) {
+                Map<String, String> facets = new LinkedHashMap<>();
+                for (int i = 0; i < old[doc].length; i += 2) {
+                    facets.put(old[doc][i], old[doc][i + 1]);
+                }
+                add(newNumber[doc], facets);
+            }
+        }
+    }
+
+    /**
+     * Bitset of the documents having all the given field values, or {@code null} for no
+     * filters.
+     */
+    public long[] filter(Map<String, String> filters) {
+        long[] result = null;
+        for (Map.Entry<String, String> filter : filters.entrySet()) {
+            long[] bits = postings.getOrDefault(filter.getKey(), Map.of()).get(filter.getValue());
+            if (bits == null) {
+                return new long[0];
+            }
+            if (result == null) {
+                result = bits.clone();
+            } else {
+                int length = Math.min(result.length, bits.length);
+                result = Arrays.copyOf(result, length);
+                for (int i = 0; i < length; i++) {
+                    result[i] &= bits[i];
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Per field and value, the number of documents of the bitset having it; values without
+     * any are left out.
+     */
+    public Map<String, Map<String, Integer>> count(long[] documents) {
+        Map<String, Map<String, Integer>> counts = new LinkedHashMap<>();
+        for (Map.Entry<String, Map<String, long[]>> field : postings.entrySet()) {
+            Map<String, Integer> values = new LinkedHashMap<>();
+            for (Map.Entry<String, long[]> value : field.getValue().entrySet()) {
+                long[] bits = value.getValue();
+                int length = Math.min(bits.length, documents.length);
+                int count = 0;
+                for (int i = 0; i < length; i++) {
+                    count += Long.bitCount(bits[i] & documents[i]);
+                }
+                if (count > 0) {
+                    values.put(value.getKey(), count);
+                }
+            }
+            counts.put(field.getKey(), values);
+        }
+        return counts;
+    }
+
+    static boolean contains(long[] bits, int doc) {
+        int word = doc >>> 6;
+        return word < bits.length && (bits[word] & (1L << doc)) != 0;
+    }
+
+    static long[] set(long[] bits, int doc) {
+        int word = doc >>> 6;
+        if (bits == null || word >= bits.length) {
+            bits = Arrays.copyOf(bits == null ? new long[0] : bits, Math.max(word + 1, bits == null ? 1 : bits.length << 1));
+        }
+        bits[word] |= 1L << doc;
+        return bits;
+    }
+
+    private static boolean isEmpty(long[] bits) {
+        for (long word : bits) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,42 @@
+package com.blindworks.rhenanenmanager.service.search;
+
+/**
+ * Light stemmer for German nouns and adjectives, in the spirit of Savoy's light stemmer.
+ *
+ * Expects lower-cased words with umlauts and ß already folded (see {@link TextAnalyzer}),
+ * so "Häuser" and "Haus" both end up as "haus". Strips a single inflectional ending
+ * (-ern, -em, -en, -er, -es, -e, and -s after a consonant that allows it) and keeps at
+ * least three characters. Stripping only once keeps the stem of a compound equal to its
+ * first parts plus the stem of the last part, which the compound matching of
+ * {@link InvertedIndex} relies on ("stiftungsfeste" and "feste" become "stiftungsfest"
+ * and "fest").
+ */
+public class GermanStemmer {
+
+    private static final int MIN_STEM_LENGTH = 3;
+
+    private static final String[] ENDINGS = {"ern", "em", "en", "er", "es", "e"};
+
+    public String stem(String word) {
+        for (String ending : ENDINGS) {
+            if (word.length() - ending.length() >= MIN_STEM_LENGTH && word.endsWith(ending)) {
+                return word.substring(0, word.length() - ending.length());
+            }
+        }
+        int length = word.length();
+        if (length > MIN_STEM_LENGTH && word.charAt(length - 1) == 's' && sEnding(word.charAt(length - 2))) {
+            return word.substring(0, length - 1);
+        }
+        return word;
+    }
+
+    /**
+     * Consonants after which a final "s" is an inflectional ending ("Bunds", but not "Corps").
+     */
+    private static boolean sEnding(char c) {
+        return switch (c) {
+            case 'b', 'd', 'f', 'g', 'h', 'k', 'l', 'm', 'n', 't' -> true;
+            default -> false;
+        };
+    }
+}
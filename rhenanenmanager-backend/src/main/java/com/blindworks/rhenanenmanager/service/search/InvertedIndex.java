@@ -0,0 +1,840 @@
+package com.blindworks.rhenanenmanager.service.search;
+
+import com.blindworks.rhenanenmanager.service.graph.IntList;
+import com.blindworks.rhenanenmanager.service.graph.LongIntHashMap;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Postings lists with BM25 ranking.
+ *
+ * Documents get dense numbers in insertion order, so every postings list is sorted by
+ * document number and AND queries are merge intersections starting from the rarest term.
+ * Updating or removing a document only marks its old number as deleted; the postings are
+ * compacted once deleted documents make up a quarter of the index. A {@link TermDictionary}
+ * of all terms serves the compound and typo expansion of query terms, and a
+ * {@link FacetIndex} the facet filters and counts. For snippets, the index keeps where each
+ * term of a document first occurs in one designated field. Not thread-safe.
+ */
+public class InvertedIndex {
+
+    static final float K1 = 1.2f;
+    static final float B = 0.75f;
+
+    /**
+     * Weight of compound words containing a query term.
+     */
+    static final float COMPOUND_BOOST = 0.7f;
+
+    /**
+     * Weight of terms one edit away from an unknown query term, halved for two edits.
+     */
+    static final float FUZZY_BOOST = 0.5f;
+
+    /**
+     * Packed offsets keep the start above this many bits and the token length below.
+     */
+    private static final int OFFSET_LENGTH_BITS = 8;
+
+    private static final int MIN_COMPACT_DELETIONS = 256;
+    private static final int MIN_PART_LENGTH = 3;
+    private static final int MAX_EXPANSIONS = 64;
+
+    /**
+     * Unions with more postings than one in this many documents use a dense score array.
+     */
+    private static final int DENSE_UNION_RATIO = 16;
+
+    /**
+     * Fugenelemente joining the parts of German compounds, longest first.
+     */
+    private static final String[] LINKING_ELEMENTS = {"es", "en", "er", "s", "n", "e", ""};
+
+    /**
+     * An analyzed document: distinct terms with their (weighted) frequencies.
+     */
+    @Getter
+    public static class Document {
+        private final long id;
+
+        /**
+         * Secondary order for equal scores, higher first (e.g. year and month).
+         */
+        private final int sortKey;
+        private final String[] terms;
+        private final int[] frequencies;
+
+        /**
+         * Sum of the frequencies, the document length for BM25.
+         */
+        private final int length;
+
+        /**
+         * Facet field values (e.g. category and year), for filtering and facet counts.
+         */
+        private final Map<String, String> facets;
+
+        /**
+         * Per term, the {@link #packOffset packed} offset of its first occurrence in the
+         * snippet field, or -1; {@code null} if the document has no snippet field.
+         */
+        private final int[] offsets;
+
+        public Document(long id, int sortKey, Map<String, Integer> frequencies) {
+            this(id, sortKey, frequencies, Map.of(), null);
+        }
+
+        public Document(long id, int sortKey, Map<String, Integer> frequencies, Map<String, String> facets) {
+            this(id, sortKey, frequencies, facets, null);
+        }
+
+        /**
+         * @param offsets packed first offsets in the snippet field of the terms occurring there
+         */
+        public Document(long id, int sortKey, Map<String, Integer> frequencies, Map<String, String> facets,
+                        Map<String, Integer> offsets) {
+            this.id = id;
+            this.sortKey = sortKey;
+            this.facets = facets;
+            this.terms = new String[frequencies.size()];
+            this.frequencies = new int[frequencies.size()];
+            this.offsets = offsets != null ? new int[frequencies.size()] : null;
+            int i = 0;
+            int sum = 0;
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                terms[i] = entry.getKey();
+                if (offsets != null) {
+                    this.offsets[i] = offsets.getOrDefault(entry.getKey(), -1);
+                }
+                this.frequencies[i++] = entry.getValue();
+                sum += entry.getValue();
+            }
+            this.length = sum;
+        }
+    }
+
+    /**
+     * One page of ranked results, with the facet counts of all matching documents.
+     */
+    @Getter
+    public static class Result {
+        private final int total;
+        private final long[] ids;
+        private final float[] scores;
+
+        /**
+         * Per facet field, the number of matching documents per value.
+         */
+        private final Map<String, Map<String, Integer>> facets;
+
+        /**
+         * The index terms the query matched, including compound and typo expansions.
+         */
+        private final Set<String> matchedTerms;
+
+        /**
+         * Per page document, the packed first offsets of the matched terms in the snippet
+         * field, in text order.
+         */
+        private final int[][] offsets;
+
+        Result(int total, long[] ids, float[] scores, Map<String, Map<String, Integer>> facets,
+               Set<String> matchedTerms, int[][] offsets) {
+            this.total = total;
+            this.ids = ids;
+            this.scores = scores;
+            this.facets = facets;
+            this.matchedTerms = matchedTerms;
+            this.offsets = offsets;
+        }
+
+        static Result empty() {
+            return new Result(0, new long[0], new float[0], Map.of(), Set.of(), new int[0][]);
+        }
+    }
+
+    /**
+     * Pack the offsets of a token for {@link Document}; -1 if they do not fit.
+     */
+    public static int packOffset(int start, int end) {
+        int length = end - start;
+        if (start >= 1 << (31 - OFFSET_LENGTH_BITS) || length >= 1 << OFFSET_LENGTH_BITS) {
+            return -1;
+        }
+        return start << OFFSET_LENGTH_BITS | length;
+    }
+
+    public static int offsetStart(int packed) {
+        return packed >>> OFFSET_LENGTH_BITS;
+    }
+
+    public static int offsetEnd(int packed) {
+        return offsetStart(packed) + (packed & ((1 << OFFSET_LENGTH_BITS) - 1));
+    }
+
+    // Documents
+    private final LongIntHashMap docById = new LongIntHashMap();
+    private long[] docId = new long[16];
+    private int[] docSortKey = new int[16];
+    private int[] docLength = new int[16];
+    private int[][] docTerms = new int[16][];
+    private int[][] docOffsets = new int[16][];
+    private final BitSet deleted = new BitSet();
+    private int docCount;
+    private int liveDocs;
+    private long liveLength;
+
+    // Terms
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private String[] termNames = new String[16];
+    private IntList[] postingDocs = new IntList[16];
+    private IntList[] postingFrequencies = new IntList[16];
+    private int[] documentFrequency = new int[16];
+    private int termCount;
+    private final TermDictionary dictionary = new TermDictionary();
+    private volatile Norms norms;
+
+    private final FacetIndex facets = new FacetIndex();
+
+    public int size() {
+        return liveDocs;
+    }
+
+    public int termCount() {
+        return termCount;
+    }
+
+    public boolean contains(long id) {
+        return docById.containsKey(id);
+    }
+
+    /**
+     * Number of live documents containing the term.
+     */
+    public int documentFrequency(String term) {
+        Integer id = termIds.get(term);
+        return id != null ? documentFrequency[id] : 0;
+    }
+
+    /**
+     * Add a document, replacing an earlier one with the same ID.
+     */
+    public void add(Document document) {
+        remove(document.getId());
+        if (docCount == docId.length) {
+            int capacity = docCount << 1;
+            docId = Arrays.copyOf(docId, capacity);
+            docSortKey = Arrays.copyOf(docSortKey, capacity);
+            docLength = Arrays.copyOf(docLength, capacity);
+            docTerms = Arrays.copyOf(docTerms, capacity);
+            docOffsets = Arrays.copyOf(docOffsets, capacity);
+        }
+        int doc = docCount++;
+        docId[doc] = document.getId();
+        docSortKey[doc] = document.getSortKey();
+        docLength[doc] = document.getLength();
+        int[] terms = new int[document.getTerms().length];
+        for (int i = 0; i < terms.length; i++) {
+            int term = termId(document.getTerms()[i]);
+            postingDocs[term].add(doc);
+            postingFrequencies[term].add(document.getFrequencies()[i]);
+            documentFrequency[term]++;
+            terms[i] = term;
+        }
+        docTerms[doc] = terms;
+        docOffsets[doc] = document.getOffsets();
+        facets.add(doc, document.getFacets());
+        docById.put(document.getId(), doc);
+        liveDocs++;
+        liveLength += document.getLength();
+    }
+
+    public void remove(long id) {
+        int doc = docById.remove(id);
+        if (doc == LongIntHashMap.MISSING) {
+            return;
+        }
+        deleted.set(doc);
+        for (int term : docTerms[doc]) {
+            documentFrequency[term]--;
+        }
+        docTerms[doc] = null;
+        docOffsets[doc] = null;
+        facets.remove(doc);
+        liveDocs--;
+        liveLength -= docLength[doc];
+        int deletions = docCount - liveDocs;
+        if (deletions >= MIN_COMPACT_DELETIONS && deletions * 4 >= docCount) {
+            compact();
+        }
+    }
+
+    public void clear() {
+        docById.clear();
+        Arrays.fill(docTerms, 0, docCount, null);
+        Arrays.fill(docOffsets, 0, docCount, null);
+        deleted.clear();
+        docCount = 0;
+        liveDocs = 0;
+        liveLength = 0;
+        termIds.clear();
+        Arrays.fill(termNames, 0, termCount, null);
+        Arrays.fill(postingDocs, 0, termCount, null);
+        Arrays.fill(postingFrequencies, 0, termCount, null);
+        Arrays.fill(documentFrequency, 0, termCount, 0);
+        termCount = 0;
+        dictionary.clear();
+        facets.clear();
+    }
+
+    /**
+     * Prepare the term dictionary for queries after bulk loading.
+     */
+    public void optimize() {
+        dictionary.optimize();
+    }
+
+    /**
+     * Rank the documents matching all query terms with BM25 and return the requested page.
+     * Equal scores are ordered by sort key, then ID, both descending.
+     *
+     * A query term matches the same index term, and with a lower weight compound words that
+     * start or end with it ("fest" finds "stiftungsfest"). A term that is not in the index
+     * is tried as a compound of two index terms, and failing that matches the index terms
+     * within one or two edits (typos).
+     */
+    public Result search(List<String> terms, int offset, int limit) {
+        return terms.isEmpty() ? Result.empty() : search(terms, Map.of(), offset, limit);
+    }
+
+    /**
+     * Like {@link #search(List, int, int)}, restricted to the documents having all the given
+     * facet values. Without terms, all documents having them match, newest (highest sort
+     * key) first.
+     */
+    public Result search(List<String> terms, Map<String, String> filters, int offset, int limit) {
+        if (liveDocs == 0) {
+            return Result.empty();
+        }
+        long[] filter = facets.filter(filters);
+        if (terms.isEmpty()) {
+            return browse(filter, offset, limit);
+        }
+        List<Clause> clauses = new ArrayList<>();
+        for (String term : new LinkedHashSet<>(terms)) {
+            if (!expand(term, clauses)) {
+                return Result.empty();
+            }
+        }
+        // Rarest clause first keeps the candidate list short
+        clauses.sort(Comparator.comparingLong(Clause::postings));
+
+        float[] norms = norms();
+        boolean hasDeletions = !deleted.isEmpty();
+        Clause first = clauses.get(0);
+        int[] candidates;
+        float[] scores;
+        int count = 0;
+        if (first.size() == 1) {
+            int term = first.terms.get(0);
+            IntList docs = postingDocs[term];
+            IntList frequencies = postingFrequencies[term];
+            float weight = first.boosts[0] * idf(term);
+            candidates = new int[documentFrequency[term]];
+            scores = new float[candidates.length];
+            for (int i = 0; i < docs.size(); i++) {
+                int doc = docs.get(i);
+                if (!hasDeletions || !deleted.get(doc)) {
+                    candidates[count] = doc;
+                    scores[count++] = weight * termScore(frequencies.get(i), norms[doc]);
+                }
+            }
+        } else {
+            Postings merged = merge(first, norms, hasDeletions);
+            candidates = merged.docs.toArray();
+            scores = merged.scores;
+            count = candidates.length;
+        }
+        if (filter != null) {
+            int kept = 0;
+            for (int c = 0; c < count; c++) {
+                if (FacetIndex.contains(filter, candidates[c])) {
+                    candidates[kept] = candidates[c];
+                    scores[kept++] = scores[c];
+                }
+            }
+            count = kept;
+        }
+
+        for (int q = 1; q < clauses.size() && count > 0; q++) {
+            Clause clause = clauses.get(q);
+            IntList docs;
+            IntList frequencies = null;
+            float[] clauseScores = null;
+            float weight = 0;
+            if (clause.size() == 1) {
+                int term = clause.terms.get(0);
+                docs = postingDocs[term];
+                frequencies = postingFrequencies[term];
+                weight = clause.boosts[0] * idf(term);
+            } else {
+                Postings merged = merge(clause, norms, hasDeletions);
+                docs = merged.docs;
+                clauseScores = merged.scores;
+            }
+            int kept = 0;
+            int position = 0;
+            for (int c = 0; c < count; c++) {
+                int doc = candidates[c];
+                position = seek(docs, position, doc);
+                if (position < docs.size() && docs.get(position) == doc) {
+                    candidates[kept] = doc;
+                    scores[kept++] = scores[c] + (clauseScores != null ? clauseScores[position]
+                            : weight * termScore(frequencies.get(position), norms[doc]));
+                }
+            }
+            count = kept;
+        }
+
+        return page(candidates, scores, count, offset, limit, clauses);
+    }
+
+    /**
+     * All live documents passing the filter (if any), with equal scores.
+     */
+    private Result browse(long[] filter, int offset, int limit) {
+        int[] candidates = new int[liveDocs];
+        int count = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (!deleted.get(doc) && (filter == null || FacetIndex.contains(filter, doc))) {
+                candidates[count++] = doc;
+            }
+        }
+        return page(candidates, new float[count], count, offset, limit, List.of());
+    }
+
+    /**
+     * Add the clauses for one query term.
+     *
+     * @return false if the term cannot match any document
+     */
+    private boolean expand(String term, List<Clause> clauses) {
+        Clause clause = new Clause();
+        int exact = liveTerm(term);
+        if (exact >= 0) {
+            clause.add(exact, 1f);
+        }
+        if (term.length() >= MIN_PART_LENGTH) {
+            dictionary.forEachWithSuffix(term, candidate -> {
+                if (candidate.length() > term.length()
+                        && isPart(candidate.substring(0, candidate.length() - term.length()), true)) {
+                    clause.add(liveTerm(candidate), COMPOUND_BOOST);
+                }
+            });
+            dictionary.forEachWithPrefix(term, candidate -> {
+                if (candidate.length() > term.length() && isPart(candidate.substring(term.length()), false)) {
+                    clause.add(liveTerm(candidate), COMPOUND_BOOST);
+                }
+            });
+        }
+        if (clause.size() > 0) {
+            clauses.add(clause);
+            return true;
+        }
+
+        // An unknown compound matches documents containing both of its parts
+        for (int split = MIN_PART_LENGTH; split <= term.length() - MIN_PART_LENGTH; split++) {
+            int head = partTerm(term.substring(0, split), true);
+            int tail = liveTerm(term.substring(split));
+            if (head >= 0 && tail >= 0) {
+                clauses.add(new Clause().add(head, COMPOUND_BOOST));
+                clauses.add(new Clause().add(tail, COMPOUND_BOOST));
+                return true;
+            }
+        }
+
+        int maxEdits = term.length() < 3 ? 0 : term.length() < 6 ? 1 : 2;
+        if (maxEdits > 0) {
+            dictionary.forEachWithin(term, maxEdits, (candidate, edits) -> {
+                int similar = liveTerm(candidate);
+                if (similar >= 0) {
+                    clause.add(similar, FUZZY_BOOST / edits);
+                }
+            });
+        }
+        clauses.add(clause);
+        return clause.size() > 0;
+    }
+
+    /**
+     * Whether the fragment of a compound is an index term, possibly with a linking element
+     * (e.g. the "s" in "stiftungsfest") at its end (first part) or start (last part).
+     */
+    private boolean isPart(String fragment, boolean first) {
+        return partTerm(fragment, first) >= 0;
+    }
+
+    private int partTerm(String fragment, boolean first) {
+        for (String linking : LINKING_ELEMENTS) {
+            int length = fragment.length() - linking.length();
+            if (length < MIN_PART_LENGTH) {
+                continue;
+            }
+            if (first && fragment.endsWith(linking)) {
+                int term = liveTerm(fragment.substring(0, length));
+                if (term >= 0) {
+                    return term;
+                }
+            } else if (!first && fragment.startsWith(linking)) {
+                int term = liveTerm(fragment.substring(linking.length()));
+                if (term >= 0) {
+                    return term;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * ID of a term contained in at least one live document, otherwise -1.
+     */
+    private int liveTerm(String term) {
+        Integer id = termIds.get(term);
+        return id != null && documentFrequency[id] > 0 ? id : -1;
+    }
+
+    /**
+     * Union of the postings of several terms, with the best weighted score per document.
+     * Large unions are collected in a dense score array, small ones by sorting.
+     */
+    private Postings merge(Clause clause, float[] norms, boolean hasDeletions) {
+        boolean dense = clause.postings() * DENSE_UNION_RATIO > docCount;
+        float[] best = dense ? new float[docCount] : null;
+        long[] packed = dense ? null : new long[(int) clause.postings()];
+        int k = 0;
+        for (int v = 0; v < clause.size(); v++) {
+            int term = clause.terms.get(v);
+            IntList docs = postingDocs[term];
+            IntList frequencies = postingFrequencies[term];
+            float weight = clause.boosts[v] * idf(term);
+            for (int i = 0; i < docs.size(); i++) {
+                int doc = docs.get(i);
+                if (hasDeletions && deleted.get(doc)) {
+                    continue;
+                }
+                float score = weight * termScore(frequencies.get(i), norms[doc]);
+                if (dense) {
+                    best[doc] = Math.max(best[doc], score);
+                } else {
+                    // Scores are positive, so their bits sort like the floats
+                    packed[k++] = (long) doc << 32 | Float.floatToRawIntBits(score);
+                }
+            }
+        }
+
+        IntList docs = new IntList(dense ? docCount : k);
+        float[] scores;
+        if (dense) {
+            scores = new float[docCount];
+            for (int doc = 0; doc < docCount; doc++) {
+                if (best[doc] > 0) {
+                    scores[docs.size()] = best[doc];
+                    docs.add(doc);
+                }
+            }
+        } else {
+            Arrays.sort(packed, 0, k);
+            scores = new float[k];
+            for (int i = 0; i < k; i++) {
+                int doc = (int) (packed[i] >>> 32);
+                float score = Float.intBitsToFloat((int) packed[i]);
+                if (!docs.isEmpty() && docs.get(docs.size() - 1) == doc) {
+                    scores[docs.size() - 1] = score;
+                } else {
+                    scores[docs.size()] = score;
+                    docs.add(doc);
+                }
+            }
+        }
+        return new Postings(docs, scores);
+    }
+
+    /**
+     * The index terms one query term stands for, with their boosts; a document matches the
+     * clause if it contains any of them.
+     */
+    private class Clause {
+        private final IntList terms = new IntList();
+        private final float[] boosts = new float[MAX_EXPANSIONS];
+        private long postings;
+
+        Clause add(int term, float boost) {
+            for (int i = 0; i < terms.size(); i++) {
+                if (terms.get(i) == term) {
+                    boosts[i] = Math.max(boosts[i], boost);
+                    return this;
+                }
+            }
+            if (terms.size() < MAX_EXPANSIONS) {
+                boosts[terms.size()] = boost;
+                terms.add(term);
+                postings += postingDocs[term].size();
+            }
+            return this;
+        }
+
+        int size() {
+            return terms.size();
+        }
+
+        long postings() {
+            return postings;
+        }
+    }
+
+    private record Postings(IntList docs, float[] scores) {
+    }
+
+    private record Norms(long liveLength, int docCount, float[] values) {
+    }
+
+    private Result page(int[] candidates, float[] scores, int count, int offset, int limit, List<Clause> clauses) {
+        long[] matching = new long[(docCount + 63) >>> 6];
+        for (int c = 0; c < count; c++) {
+            matching[candidates[c] >>> 6] |= 1L << candidates[c];
+        }
+        Map<String, Map<String, Integer>> facetCounts = facets.count(matching);
+
+        BitSet matched = new BitSet();
+        Set<String> matchedTerms = new HashSet<>();
+        for (Clause clause : clauses) {
+            for (int i = 0; i < clause.size(); i++) {
+                matched.set(clause.terms.get(i));
+                matchedTerms.add(termNames[clause.terms.get(i)]);
+            }
+        }
+
+        int wanted = (int) Math.min((long) offset + limit, count);
+        if (wanted <= offset) {
+            return new Result(count, new long[0], new float[0], facetCounts, matchedTerms, new int[0][]);
+        }
+        // Min-heap of the best `wanted` candidates (as positions in the arrays)
+        PriorityQueue<Integer> best = new PriorityQueue<>(wanted + 1,
+                (a, b) -> compare(candidates[a], scores[a], candidates[b], scores[b]));
+        for (int c = 0; c < count; c++) {
+            if (best.size() < wanted) {
+                best.add(c);
+            } else if (compare(candidates[c], scores[c], candidates[best.peek()], scores[best.peek()]) > 0) {
+                best.poll();
+                best.add(c);
+            }
+        }
+        int size = wanted - offset;
+        long[] ids = new long[size];
+        float[] pageScores = new float[size];
+        int[][] offsets = new int[size][];
+        // The heap yields the worst first; the page is the best `size` in reverse
+        for (int i = wanted - 1; i >= 0; i--) {
+            int c = best.poll();
+            if (i >= offset) {
+                ids[i - offset] = docId[candidates[c]];
+                pageScores[i - offset] = scores[c];
+                offsets[i - offset] = matchedOffsets(candidates[c], matched);
+            }
+        }
+        return new Result(count, ids, pageScores, facetCounts, matchedTerms, offsets);
+    }
+
+    /**
+     * The packed first offsets of the matched terms of a document, in text order.
+     */
+    private int[] matchedOffsets(int doc, BitSet matched) {
+        int[] terms = docTerms[doc];
+        int[] offsets = docOffsets[doc];
+        if (offsets == null || matched.isEmpty()) {
+            return new int[0];
+        }
+        IntList found = new IntList();
+        for (int i = 0; i < terms.length; i++) {
+            if (offsets[i] >= 0 && matched.get(terms[i])) {
+                found.add(offsets[i]);
+            }
+        }
+        // Packed offsets sort by start
+        int[] sorted = found.toArray();
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    /**
+     * Positive if document a ranks before document b.
+     */
+    private int compare(int a, float scoreA, int b, float scoreB) {
+        int order = Float.compare(scoreA, scoreB);
+        if (order == 0) {
+            order = Integer.compare(docSortKey[a], docSortKey[b]);
+        }
+        return order != 0 ? order : Long.compare(docId[a], docId[b]);
+    }
+
+    private float idf(int term) {
+        int df = documentFrequency[term];
+        return (float) Math.log(1 + (liveDocs - df + 0.5) / (df + 0.5));
+    }
+
+    private static float termScore(int frequency, float norm) {
+        return frequency * (K1 + 1) / (frequency + norm);
+    }
+
+    /**
+     * BM25 length normalization {@code K1 * (1 - B + B * length / averageLength)} per
+     * document, recomputed when documents were added or removed since the last query.
+     */
+    private float[] norms() {
+        Norms current = norms;
+        if (current != null && current.liveLength() == liveLength && current.docCount() == docCount) {
+            return current.values();
+        }
+        float averageLength = (float) liveLength / liveDocs;
+        float[] values = new float[docCount];
+        for (int doc = 0; doc < docCount; doc++) {
+            values[doc] = K1 * (1 - B + B * docLength[doc] / averageLength);
+        }
+        // Concurrent readers may compute the same values; the last one wins
+        norms = new Norms(liveLength, docCount, values);
+        return values;
+    }
+
+    /**
+     * Index of the first posting at or after `from` whose document is not below `doc`
+     * (galloping, then binary search).
+     */
+    private static int seek(IntList docs, int from, int doc) {
+        int size = docs.size();
+        if (from >= size || docs.get(from) >= doc) {
+            return from;
+        }
+        int step = 1;
+        int low = from;
+        int high = from + 1;
+        while (high < size && docs.get(high) < doc) {
+            low = high;
+            step <<= 1;
+            high = from + step;
+        }
+        high = Math.min(high, size);
+        // docs[low] < doc <= docs[high] (or high == size)
+        while (low + 1 < high) {
+            int middle = (low + high) >>> 1;
+            if (docs.get(middle) < doc) {
+                low = middle;
+            } else {
+                high = middle;
+            }
+        }
+        return high;
+    }
+
+    private int termId(String name) {
+        Integer id = termIds.get(name);
+        if (id != null) {
+            return id;
+        }
+        if (termCount == postingDocs.length) {
+            int capacity = termCount << 1;
+            termNames = Arrays.copyOf(termNames, capacity);
+            postingDocs = Arrays.copyOf(postingDocs, capacity);
+            postingFrequencies = Arrays.copyOf(postingFrequencies, capacity);
+            documentFrequency = Arrays.copyOf(documentFrequency, capacity);
+        }
+        int term = termCount++;
+        termNames[term] = name;
+        postingDocs[term] = new IntList();
+        postingFrequencies[term] = new IntList();
+        termIds.put(name, term);
+        dictionary.add(name);
+        return term;
+    }
+
+    /**
+     * Renumber the live documents densely and drop deleted documents and unused terms.
+     */
+    private void compact() {
+        int[] newNumber = new int[docCount];
+        int next = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (deleted.get(doc)) {
+                newNumber[doc] = -1;
+            } else {
+                newNumber[doc] = next;
+                docId[next] = docId[doc];
+                docSortKey[next] = docSortKey[doc];
+                docLength[next] = docLength[doc];
+                docTerms[next] = docTerms[doc];
+                docOffsets[next] = docOffsets[doc];
+                next++;
+            }
+        }
+        Arrays.fill(docTerms, next, docCount, null);
+        Arrays.fill(docOffsets, next, docCount, null);
+
+        Map<String, Integer> oldIds = new HashMap<>(termIds);
+        IntList[] oldDocs = postingDocs;
+        IntList[] oldFrequencies = postingFrequencies;
+        int[] oldDocumentFrequency = documentFrequency;
+        int[] termMapping = new int[termCount];
+        termIds.clear();
+        termNames = new String[Math.max(16, termCount)];
+        postingDocs = new IntList[termNames.length];
+        postingFrequencies = new IntList[postingDocs.length];
+        documentFrequency = new int[postingDocs.length];
+        termCount = 0;
+        for (Map.Entry<String, Integer> entry : oldIds.entrySet()) {
+            int old = entry.getValue();
+            if (oldDocumentFrequency[old] == 0) {
+                termMapping[old] = -1;
+                continue;
+            }
+            int term = termCount++;
+            termMapping[old] = term;
+            termIds.put(entry.getKey(), term);
+            termNames[term] = entry.getKey();
+            IntList docs = new IntList(oldDocumentFrequency[old]);
+            IntList frequencies = new IntList(oldDocumentFrequency[old]);
+            for (int i = 0; i < oldDocs[old].size(); i++) {
+                int doc = newNumber[oldDocs[old].get(i)];
+                if (doc >= 0) {
+                    docs.add(doc);
+                    frequencies.add(oldFrequencies[old].get(i));
+                }
+            }
+            postingDocs[term] = docs;
+            postingFrequencies[term] = frequencies;
+            documentFrequency[term] = docs.size();
+        }
+
+        docById.clear();
+        for (int doc = 0; doc < next; doc++) {
+            int[] terms = docTerms[doc];
+            for (int i = 0; i < terms.length; i++) {
+                terms[i] = termMapping[terms[i]];
+            }
+            docById.put(docId[doc], doc);
+        }
+        deleted.clear();
+        docCount = next;
+        dictionary.rebuild(termIds.keySet());
+        facets.renumber(newNumber);
+    }
+}
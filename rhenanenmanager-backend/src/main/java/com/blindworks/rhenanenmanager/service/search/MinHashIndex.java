@@ -0,0 +1,274 @@
+package com.blindworks.rhenanenmanager.service.search;
+
+import com.blindworks.rhenanenmanager.service.graph.LongIntHashMap;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Near-neighbor index over term sets: MinHash signatures estimate the Jaccard similarity of
+ * two documents, and locality-sensitive hashing finds the documents worth comparing.
+ *
+ * Signatures use one-permutation hashing: every term is hashed once into one of
+ * {@link #HASHES} bins, each bin keeps its minimum, and empty bins borrow from the next
+ * filled one. The signature is cut into {@link #BANDS} bands; documents agreeing on all
+ * values of some band are candidates, which catches pairs above a Jaccard similarity of
+ * roughly 0.3 with high probability and few below 0.1. Each band is a sorted array of
+ * (band hash, document) pairs packed into longs; additions are appended and the arrays
+ * re-sorted before the next lookup, which is a linear merge for a few appended pairs.
+ * Not thread-safe.
+ */
+public class MinHashIndex {
+
+    static final int HASHES = 64;
+    static final int BANDS = 32;
+    static final int ROWS = HASHES / BANDS;
+
+    /**
+     * Documents with fewer distinct terms get no signature; their similarity is noise.
+     */
+    static final int MIN_TERMS = 3;
+
+    private static final int BIN_BITS = 6;
+
+    /**
+     * A similar document and its estimated Jaccard similarity.
+     */
+    @Getter
+    public static class Neighbor {
+        private final long id;
+        private final float similarity;
+
+        Neighbor(long id, float similarity) {
+            this.id = id;
+            this.similarity = similarity;
+        }
+    }
+
+    // Documents; removed ones keep their number with a null signature
+    private final LongIntHashMap docById = new LongIntHashMap();
+    private long[] docId = new long[16];
+    private int[][] signatures = new int[16][];
+    private int docCount;
+
+    // Per band: (band hash << 32 | document) pairs, sorted unless `sorted` is false
+    private final long[][] bands = new long[BANDS][16];
+    private int bandSize;
+    private boolean sorted = true;
+    private int removedEntries;
+
+    public int size() {
+        return docById.size();
+    }
+
+    public boolean contains(long id) {
+        return docById.containsKey(id);
+    }
+
+    /**
+     * Add a document by its distinct terms, replacing an earlier one with the same ID.
+     *
+     * @return false if it has too few terms to be indexed
+     */
+    public boolean add(long id, Collection<String> terms) {
+        remove(id);
+        if (terms.size() < MIN_TERMS) {
+            return false;
+        }
+        if (docCount == docId.length) {
+            docId = Arrays.copyOf(docId, docCount << 1);
+            signatures = Arrays.copyOf(signatures, docCount << 1);
+        }
+        if (bandSize == bands[0].length) {
+            for (int band = 0; band < BANDS; band++) {
+                bands[band] = Arrays.copyOf(bands[band], bandSize << 1);
+            }
+        }
+        int doc = docCount++;
+        int[] signature = signature(terms);
+        docId[doc] = id;
+        signatures[doc] = signature;
+        docById.put(id, doc);
+        for (int band = 0; band < BANDS; band++) {
+            bands[band][bandSize] = (long) bandHash(signature, band) << 32 | doc;
+        }
+        bandSize++;
+        sorted = false;
+        return true;
+    }
+
+    public void remove(long id) {
+        int doc = docById.remove(id);
+        if (doc == LongIntHashMap.MISSING) {
+            return;
+        }
+        signatures[doc] = null;
+        // Lookups skip removed documents; sorting drops them once they are a quarter
+        removedEntries++;
+        if (removedEntries * 4 > bandSize) {
+            sorted = false;
+        }
+    }
+
+    public void clear() {
+        docById.clear();
+        Arrays.fill(signatures, 0, docCount, null);
+        docCount = 0;
+        bandSize = 0;
+        removedEntries = 0;
+        sorted = true;
+    }
+
+    /**
+     * IDs of the documents sharing at least one band with the document, excluding itself.
+     */
+    public List<Long> candidates(long id) {
+        List<Long> candidates = new ArrayList<>();
+        int doc = docById.get(id);
+        if (doc != LongIntHashMap.MISSING) {
+            forEachCandidate(doc, candidate -> candidates.add(docId[candidate]));
+        }
+        return candidates;
+    }
+
+    /**
+     * The up to {@code limit} candidates with the highest estimated similarity of at least
+     * {@code minSimilarity}, most similar first; equal similarities by ID.
+     */
+    public List<Neighbor> neighbors(long id, int limit, float minSimilarity) {
+        int doc = docById.get(id);
+        if (doc == LongIntHashMap.MISSING) {
+            return List.of();
+        }
+        int[] signature = signatures[doc];
+        List<Neighbor> neighbors = new ArrayList<>();
+        forEachCandidate(doc, candidate -> {
+            float similarity = similarity(signature, signatures[candidate]);
+            if (similarity >= minSimilarity) {
+                neighbors.add(new Neighbor(docId[candidate], similarity));
+            }
+        });
+        neighbors.sort(Comparator.comparingDouble((Neighbor neighbor) -> -neighbor.similarity)
+                .thenComparingLong(Neighbor::getId));
+        return neighbors.size() > limit ? new ArrayList<>(neighbors.subList(0, limit)) : neighbors;
+    }
+
+    /**
+     * The one-permutation MinHash signature of a term set.
+     */
+    static int[] signature(Collection<String> terms) {
+        int[] signature = new int[HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        boolean[] filled = new boolean[HASHES];
+        for (String term : terms) {
+            long hash = mix(term.hashCode());
+            int bin = (int) (hash >>> (64 - BIN_BITS));
+            // Non-negative, so Integer.MAX_VALUE stays above every value
+            int value = (int) hash >>> 1;
+            if (value < signature[bin]) {
+                signature[bin] = value;
+            }
+            filled[bin] = true;
+        }
+        // Densification: an empty bin takes the value of the next filled one, offset by the
+        // distance so that borrowed values only match values borrowed the same way
+        for (int bin = 0; bin < HASHES; bin++) {
+            if (!filled[bin]) {
+                int distance = 1;
+                while (!filled[(bin + distance) % HASHES]) {
+                    distance++;
+                }
+                signature[bin] = (int) (mix(signature[(bin + distance) % HASHES] + 31L * distance) >>> 33);
+            }
+        }
+        return signature;
+    }
+
+    static float similarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < HASHES; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (float) equal / HASHES;
+    }
+
+    private interface DocConsumer {
+        void accept(int doc);
+    }
+
+    private void forEachCandidate(int doc, DocConsumer consumer) {
+        ensureSorted();
+        int[] signature = signatures[doc];
+        BitSet seen = new BitSet();
+        seen.set(doc);
+        for (int band = 0; band < BANDS; band++) {
+            long[] entries = bands[band];
+            long key = (long) bandHash(signature, band) << 32;
+            for (int i = lowerBound(entries, bandSize, key); i < bandSize && (entries[i] & 0xFFFFFFFF00000000L) == key; i++) {
+                int candidate = (int) entries[i];
+                if (!seen.get(candidate) && signatures[candidate] != null) {
+                    seen.set(candidate);
+                    consumer.accept(candidate);
+                }
+            }
+        }
+    }
+
+    private void ensureSorted() {
+        if (sorted) {
+            return;
+        }
+        int size = 0;
+        for (int band = 0; band < BANDS; band++) {
+            long[] entries = bands[band];
+            size = 0;
+            for (int i = 0; i < bandSize; i++) {
+                if (signatures[(int) entries[i]] != null) {
+                    entries[size++] = entries[i];
+                }
+            }
+            Arrays.sort(entries, 0, size);
+        }
+        bandSize = size;
+        removedEntries = 0;
+        sorted = true;
+    }
+
+    private static int bandHash(int[] signature, int band) {
+        long hash = band;
+        for (int row = band * ROWS; row < (band + 1) * ROWS; row++) {
+            hash = mix(hash * 31 + signature[row]);
+        }
+        return (int) hash;
+    }
+
+    private static int lowerBound(long[] entries, int size, long key) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (entries[middle] < key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * The SplitMix64 finalizer.
+     */
+    private static long mix(long x) {
+        x = (x ^ (x >>> 30)) * 0xBF58476D1CE4E5B9L;
+        x = (x ^ (x >>> 27)) * 0x94D049BB133111EBL;
+        return x ^ (x >>> 31);
+    }
+}
@@ -0,0 +1,336 @@
+package com.blindworks.rhenanenmanager.service.search;
+
+import com.blindworks.rhenanenmanager.service.graph.LongIntHashMap;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+
+/**
+ * Completion index: finds the heaviest entries having a word that starts with a prefix,
+ * where the prefix may run on into the following words ("stiftungsfest 20" completes
+ * "Stiftungsfest 2024").
+ *
+ * Every entry is indexed under one key per word: the normalized text from that word to the
+ * end. The keys sit in one sorted array, so the keys of a prefix form a contiguous range,
+ * and a max-segment-tree over the key weights yields the best entries of a range in
+ * O(k log n) without scanning it. New keys wait in a small unsorted tail that is merged in
+ * once it grows beyond an eighth of the sorted part; removed entries are skipped at lookup
+ * and dropped by the next merge, which is forced once they make up a quarter of the keys.
+ * Not thread-safe.
+ */
+public class PrefixIndex {
+
+    /**
+     * Keys are cut after this many characters; longer prefixes are matched on the cut key.
+     */
+    static final int MAX_KEY_LENGTH = 48;
+
+    private static final int MIN_PENDING = 256;
+
+    /**
+     * A completion: the entry ID and its text as indexed.
+     */
+    @Getter
+    public static class Suggestion {
+        private final long id;
+        private final String text;
+        private final int weight;
+
+        Suggestion(long id, String text, int weight) {
+            this.id = id;
+            this.text = text;
+            this.weight = weight;
+        }
+    }
+
+    // Entries
+    private final LongIntHashMap entryById = new LongIntHashMap();
+    private long[] entryId = new long[16];
+    private String[] entryText = new String[16];
+    private int[] entryWeight = new int[16];
+    private final BitSet removed = new BitSet();
+    private int entryCount;
+    private int removedKeys;
+
+    // Sorted keys with their entries, and the segment tree over their weights
+    private String[] keys = new String[0];
+    private int[] keyEntry = new int[0];
+    private int[] tree = new int[0];
+
+    // Keys not merged yet
+    private final List<String> pendingKeys = new ArrayList<>();
+    private final List<Integer> pendingEntries = new ArrayList<>();
+
+    public int size() {
+        return entryById.size();
+    }
+
+    /**
+     * Add an entry, replacing an earlier one with the same ID. Higher weights rank first.
+     */
+    public void add(long id, String text, int weight) {
+        remove(id);
+        List<String> entryKeys = keys(text);
+        if (entryKeys.isEmpty()) {
+            return;
+        }
+        if (entryCount == entryId.length) {
+            int capacity = entryCount << 1;
+            entryId = Arrays.copyOf(entryId, capacity);
+            entryText = Arrays.copyOf(entryText, capacity);
+            entryWeight = Arrays.copyOf(entryWeight, capacity);
+        }
+        int entry = entryCount++;
+        entryId[entry] = id;
+        entryText[entry] = text;
+        entryWeight[entry] = weight;
+        entryById.put(id, entry);
+        for (String key : entryKeys) {
+            pendingKeys.add(key);
+            pendingEntries.add(entry);
+        }
+        if (pendingKeys.size() > Math.max(MIN_PENDING, keys.length / 8)) {
+            merge();
+        }
+    }
+
+    public void remove(long id) {
+        int entry = entryById.remove(id);
+        if (entry == LongIntHashMap.MISSING) {
+            return;
+        }
+        removed.set(entry);
+        removedKeys += keys(entryText[entry]).size();
+        entryText[entry] = null;
+        if (removedKeys >= MIN_PENDING && removedKeys * 4 >= keys.length + pendingKeys.size()) {
+            merge();
+        }
+    }
+
+    public void clear() {
+        entryById.clear();
+        Arrays.fill(entryText, 0, entryCount, null);
+        removed.clear();
+        entryCount = 0;
+        removedKeys = 0;
+        keys = new String[0];
+        keyEntry = new int[0];
+        tree = new int[0];
+        pendingKeys.clear();
+        pendingEntries.clear();
+    }
+
+    /**
+     * Merge the unsorted tail, e.g. after bulk loading.
+     */
+    public void optimize() {
+        if (!pendingKeys.isEmpty() || removedKeys > 0) {
+            merge();
+        }
+    }
+
+    /**
+     * The up to {@code limit} heaviest entries with a key starting with the normalized
+     * prefix; equal weights in text order.
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        if (normalized.length() > MAX_KEY_LENGTH) {
+            normalized = normalized.substring(0, MAX_KEY_LENGTH);
+        }
+        List<Integer> found = new ArrayList<>();
+        BitSet seen = new BitSet();
+
+        int from = lowerBound(normalized);
+        int to = lowerBound(normalized + Character.MAX_VALUE);
+        if (from < to) {
+            // Best-first over sub-ranges: pop the heaviest key, split its range around it
+            PriorityQueue<int[]> ranges = new PriorityQueue<>(
+                    (a, b) -> compareEntries(keyEntry[b[0]], keyEntry[a[0]]));
+            ranges.add(new int[]{best(from, to), from, to});
+            while (!ranges.isEmpty() && found.size() < limit) {
+                int[] range = ranges.poll();
+                int position = range[0];
+                int entry = keyEntry[position];
+                if (!removed.get(entry) && !seen.get(entry)) {
+                    seen.set(entry);
+                    found.add(entry);
+                }
+                if (range[1] < position) {
+                    ranges.add(new int[]{best(range[1], position), range[1], position});
+                }
+                if (position + 1 < range[2]) {
+                    ranges.add(new int[]{best(position + 1, range[2]), position + 1, range[2]});
+                }
+            }
+        }
+        for (int i = 0; i < pendingKeys.size(); i++) {
+            int entry = pendingEntries.get(i);
+            if (pendingKeys.get(i).startsWith(normalized) && !removed.get(entry) && !seen.get(entry)) {
+                seen.set(entry);
+                found.add(entry);
+            }
+        }
+
+        found.sort((a, b) -> compareEntries(b, a));
+        List<Suggestion> suggestions = new ArrayList<>(Math.min(limit, found.size()));
+        for (int i = 0; i < found.size() && i < limit; i++) {
+            int entry = found.get(i);
+            suggestions.add(new Suggestion(entryId[entry], entryText[entry], entryWeight[entry]));
+        }
+        return suggestions;
+    }
+
+    /**
+     * Lower-cased words of letters and digits with diacritics folded, separated by single
+     * spaces; the form keys and prefixes are compared in.
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String folded = TextAnalyzer.fold(text.toLowerCase(Locale.ROOT));
+        StringBuilder normalized = new StringBuilder(folded.length());
+        boolean space = false;
+        for (int i = 0; i < folded.length(); i++) {
+            char c = folded.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (space && !normalized.isEmpty()) {
+                    normalized.append(' ');
+                }
+                normalized.append(c);
+                space = false;
+            } else {
+                space = true;
+            }
+        }
+        return normalized.toString();
+    }
+
+    private static List<String> keys(String text) {
+        String normalized = normalize(text);
+        List<String> keys = new ArrayList<>();
+        int start = 0;
+        while (start < normalized.length()) {
+            keys.add(normalized.substring(start, Math.min(normalized.length(), start + MAX_KEY_LENGTH)));
+            int space = normalized.indexOf(' ', start);
+            start = space < 0 ? normalized.length() : space + 1;
+        }
+        return keys;
+    }
+
+    /**
+     * Positive if entry a ranks before entry b.
+     */
+    private int compareEntries(int a, int b) {
+        int order = Integer.compare(entryWeight[a], entryWeight[b]);
+        if (order == 0) {
+            order = entryText[b] == null || entryText[a] == null ? 0 : entryText[b].compareTo(entryText[a]);
+        }
+        return order;
+    }
+
+    /**
+     * Renumber the live entries densely, rebuild the sorted keys from them and recompute
+     * the segment tree.
+     */
+    private void merge() {
+        int[] newNumber = new int[entryCount];
+        int next = 0;
+        for (int entry = 0; entry < entryCount; entry++) {
+            if (removed.get(entry)) {
+                newNumber[entry] = -1;
+            } else {
+                newNumber[entry] = next;
+                entryId[next] = entryId[entry];
+                entryText[next] = entryText[entry];
+                entryWeight[next] = entryWeight[entry];
+                entryById.put(entryId[next], next);
+                next++;
+            }
+        }
+        Arrays.fill(entryText, next, entryCount, null);
+        entryCount = next;
+        removed.clear();
+
+        int total = keys.length + pendingKeys.size();
+        String[] allKeys = new String[total];
+        int[] allEntries = new int[total];
+        int n = 0;
+        for (int i = 0; i < total; i++) {
+            int entry = newNumber[i < keys.length ? keyEntry[i] : pendingEntries.get(i - keys.length)];
+            if (entry >= 0) {
+                allKeys[n] = i < keys.length ? keys[i] : pendingKeys.get(i - keys.length);
+                allEntries[n++] = entry;
+            }
+        }
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparing(i -> allKeys[i]));
+        keys = new String[n];
+        keyEntry = new int[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = allKeys[order[i]];
+            keyEntry[i] = allEntries[order[i]];
+        }
+        pendingKeys.clear();
+        pendingEntries.clear();
+        removedKeys = 0;
+
+        tree = new int[2 * n];
+        for (int i = 0; i < n; i++) {
+            tree[n + i] = i;
+        }
+        for (int node = n - 1; node > 0; node--) {
+            tree[node] = better(tree[2 * node], tree[2 * node + 1]);
+        }
+    }
+
+    /**
+     * Position of the best key in [from, to) (iterative bottom-up segment tree query).
+     */
+    private int best(int from, int to) {
+        int n = keys.length;
+        int result = -1;
+        for (int low = from + n, high = to + n; low < high; low >>= 1, high >>= 1) {
+            if ((low & 1) == 1) {
+                result = result < 0 ? tree[low] : better(result, tree[low]);
+                low++;
+            }
+            if ((high & 1) == 1) {
+                high--;
+                result = result < 0 ? tree[high] : better(result, tree[high]);
+            }
+        }
+        return result;
+    }
+
+    private int better(int a, int b) {
+        return compareEntries(keyEntry[a], keyEntry[b]) >= 0 ? a : b;
+    }
+
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (keys[middle].compareTo(key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,92 @@
+package com.blindworks.rhenanenmanager.service.search;
+
+import com.blindworks.rhenanenmanager.domain.dto.projection.ProfileName;
+import com.blindworks.rhenanenmanager.domain.repository.ProfileRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Resident completion index over profile names (see {@link PrefixIndex}); every name part
+ * completes, so "Mül" and "Hans M" both find "Hans Müller".
+ *
+ * Profiles are not written through this application, so instead of following write events
+ * the index is rebuilt off to the side on a schedule and swapped in as a whole. Lookups
+ * never block and never reach the database.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProfileSuggestIndex {
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private final ProfileRepository profileRepository;
+
+    /**
+     * Never modified after it was published.
+     */
+    private volatile PrefixIndex index;
+
+    /**
+     * The up to {@code limit} profiles with a name part starting with the prefix, by name.
+     */
+    public List<PrefixIndex.Suggestion> suggest(String prefix, int limit) {
+        PrefixIndex current = index;
+        if (current == null) {
+            current = reload();
+        }
+        return current.suggest(prefix, limit);
+    }
+
+    /**
+     * Build the index on startup so the first keystroke does not pay for it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (index == null) {
+            reload();
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.suggest.profiles.refresh-ms:300000}",
+               fixedDelayString = "${app.suggest.profiles.refresh-ms:300000}")
+    public void refresh() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            log.error("Refreshing the profile completion index failed", e);
+        }
+    }
+
+    /**
+     * Build a new index from the database and publish it.
+     */
+    public synchronized PrefixIndex reload() {
+        long started = System.nanoTime();
+        PrefixIndex loaded = new PrefixIndex();
+        long afterId = 0;
+        while (true) {
+            List<ProfileName> batch =
+                    profileRepository.findNamesAfter(afterId, PageRequest.ofSize(LOAD_BATCH_SIZE));
+            if (batch.isEmpty()) {
+                break;
+            }
+            for (ProfileName profile : batch) {
+                loaded.add(profile.getId(), profile.getFirstname() + " " + profile.getLastname(), 0);
+            }
+            afterId = batch.get(batch.size() - 1).getId();
+        }
+        loaded.optimize();
+        index = loaded;
+        log.debug("Profile completion index loaded: {} profiles in {} ms",
+                loaded.size(), (System.nanoTime() - started) / 1_000_000);
+        return loaded;
+    }
+}
@@ -0,0 +1,233 @@
+package com.blindworks.rhenanenmanager.service.search;
+
+import com.blindworks.rhenanenmanager.domain.dto.projection.ArticleSearchFields;
+import com.blindworks.rhenanenmanager.domain.repository.ArticleEntryRepository;
+import com.blindworks.rhenanenmanager.domain.repository.RelatedArticleRepository;
+import com.blindworks.rhenanenmanager.service.event.ArticleChangedEvent;
+import com.blindworks.rhenanenmanager.service.event.ArticlesImportedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Background job maintaining the precomputed "related articles" lists of the article_related
+ * table, from which {@code /api/articles/{id}/related} is served with a single lookup.
+ *
+ * Every article is reduced to its {@link #KEYWORDS} best TF-IDF terms (see
+ * {@link ArticleSearchIndex#keywords}), and a {@link MinHashIndex} over these keyword sets
+ * finds the articles sharing the most of them. The first run builds the index and replaces
+ * the table; afterwards article changes are queued and applied incrementally on the
+ * scheduler thread: the changed articles and all articles that shared an LSH band with
+ * their old or new keywords get their lists recomputed. As the term statistics drift with
+ * the changes, the index is rebuilt from scratch periodically.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RelatedArticleJob {
+
+    static final int NEIGHBORS = 10;
+    static final int KEYWORDS = 24;
+
+    /**
+     * Lower similarities are mostly shared common words.
+     */
+    static final float MIN_SIMILARITY = 0.1f;
+
+    private static final int LOAD_BATCH_SIZE = 500;
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO article_related (article_id, list_position, related_id, similarity, computed_at) " +
+            "VALUES (?, ?, ?, ?, ?)";
+
+    private static final int[] ARGUMENT_TYPES = {Types.BIGINT, Types.INTEGER, Types.BIGINT, Types.FLOAT,
+            Types.TIMESTAMP};
+
+    private final ArticleEntryRepository articleEntryRepository;
+    private final RelatedArticleRepository relatedArticleRepository;
+    private final ArticleSearchIndex articleSearchIndex;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.articles.related.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.articles.related.rebuild-interval-ms:86400000}")
+    private long rebuildIntervalMs;
+
+    private final MinHashIndex index = new MinHashIndex();
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    private volatile long builtAt;
+
+    /**
+     * Queue committed article changes for the next run.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        pending.add(event.getArticleId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticlesImported(ArticlesImportedEvent event) {
+        event.getArticles().forEach(article -> pending.add(article.getId()));
+    }
+
+    @Scheduled(initialDelayString = "${app.articles.related.initial-delay-ms:30000}",
+               fixedDelayString = "${app.articles.related.delay-ms:5000}")
+    public void runScheduled() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            if (builtAt == 0 || System.currentTimeMillis() - builtAt > rebuildIntervalMs) {
+                rebuild();
+            } else if (!pending.isEmpty()) {
+                update();
+            }
+        } catch (RuntimeException e) {
+            log.error("Related articles job failed", e);
+        }
+    }
+
+    /**
+     * Rebuild the index from all articles and replace all lists. Runs on the calling thread.
+     *
+     * @return the number of articles with a list
+     */
+    public synchronized int rebuild() {
+        long started = System.nanoTime();
+        // Changes from here on are picked up by the load or by the next update
+        pending.clear();
+        index.clear();
+        List<Long> ids = new ArrayList<>();
+        long afterId = 0;
+        while (true) {
+            List<ArticleSearchFields> batch =
+                    articleEntryRepository.findSearchFieldsAfter(afterId, PageRequest.ofSize(LOAD_BATCH_SIZE));
+            if (batch.isEmpty()) {
+                break;
+            }
+            for (ArticleSearchFields article : batch) {
+                if (index.add(article.getId(), articleSearchIndex.keywords(article, KEYWORDS))) {
+                    ids.add(article.getId());
+                }
+            }
+            afterId = batch.get(batch.size() - 1).getId();
+        }
+
+        int lists = store(ids, null);
+        builtAt = System.currentTimeMillis();
+        log.info("Related articles built: {} articles indexed, {} with related articles in {} ms",
+                index.size(), lists, (System.nanoTime() - started) / 1_000_000);
+        return lists;
+    }
+
+    /**
+     * Apply the queued article changes. Runs on the calling thread.
+     *
+     * @return the number of articles whose list was recomputed
+     */
+    public synchronized int update() {
+        if (builtAt == 0) {
+            rebuild();
+            return index.size();
+        }
+        List<Long> changed = new ArrayList<>(pending);
+        pending.removeAll(changed);
+        if (changed.isEmpty()) {
+            return 0;
+        }
+
+        Set<Long> affected = new LinkedHashSet<>(changed);
+        for (Long id : changed) {
+            affected.addAll(index.candidates(id));
+        }
+        // In chunks, as imports queue many articles at once
+        Map<Long, ArticleSearchFields> articles = new HashMap<>();
+        for (int start = 0; start < changed.size(); start += LOAD_BATCH_SIZE) {
+            articleEntryRepository.findSearchFieldsByIdIn(
+                            changed.subList(start, Math.min(changed.size(), start + LOAD_BATCH_SIZE)))
+                    .forEach(article -> articles.put(article.getId(), article));
+        }
+        for (Long id : changed) {
+            ArticleSearchFields article = articles.get(id);
+            if (article == null || !index.add(id, articleSearchIndex.keywords(article, KEYWORDS))) {
+                index.remove(id);
+            } else {
+                affected.addAll(index.candidates(id));
+            }
+        }
+
+        store(affected, affected);
+        log.debug("Related articles updated for {} changed articles, {} lists recomputed",
+                changed.size(), affected.size());
+        return affected.size();
+    }
+
+    /**
+     * Compute the lists of the given articles and write them in one transaction.
+     *
+     * @param replaced articles whose rows are replaced, or {@code null} to replace the table
+     * @return the number of non-empty lists
+     */
+    private int store(Collection<Long> ids, Collection<Long> replaced) {
+        Timestamp computedAt = Timestamp.valueOf(LocalDateTime.now());
+        int[] lists = new int[1];
+        transactionTemplate.executeWithoutResult(status -> {
+            if (replaced == null) {
+                relatedArticleRepository.deleteAllInBatch();
+            } else {
+                List<Long> chunk = new ArrayList<>(BATCH_SIZE);
+                for (Long id : replaced) {
+                    chunk.add(id);
+                    if (chunk.size() == BATCH_SIZE) {
+                        relatedArticleRepository.deleteByArticleIdIn(chunk);
+                        chunk.clear();
+                    }
+                }
+                if (!chunk.isEmpty()) {
+                    relatedArticleRepository.deleteByArticleIdIn(chunk);
+                }
+            }
+
+            List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+            for (Long id : ids) {
+                List<MinHashIndex.Neighbor> neighbors = index.neighbors(id, NEIGHBORS, MIN_SIMILARITY);
+                if (!neighbors.isEmpty()) {
+                    lists[0]++;
+                }
+                for (int position = 0; position < neighbors.size(); position++) {
+                    MinHashIndex.Neighbor neighbor = neighbors.get(position);
+                    batch.add(new Object[]{id, position, neighbor.getId(), neighbor.getSimilarity(), computedAt});
+                    if (batch.size() == BATCH_SIZE) {
+                        jdbcTemplate.batchUpdate(INSERT_SQL, batch, ARGUMENT_TYPES);
+                        batch.clear();
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch, ARGUMENT_TYPES);
+            }
+        });
+        return lists[0];
+    }
+}
@@ -0,0 +1,135 @@
+package com.blindworks.rhenanenmanager.service.search;
+
+import com.blindworks.rhenanenmanager.domain.entity.ArticleBody;
+import com.blindworks.rhenanenmanager.service.graph.IntList;
+import lombok.Getter;
+
+import java.util.Set;
+
+/**
+ * Cuts search result snippets out of article texts.
+ *
+ * The window is chosen from the first offsets of the matched terms kept by the
+ * {@link InvertedIndex}, before the text is read, so only the text up to the end of the
+ * window has to be loaded ({@link #requiredLength}) from the uncompressed snippet source. Within the window, every token whose
+ * term the query matched is highlighted.
+ */
+public class SnippetExtractor {
+
+    static final int SNIPPET_LENGTH = 200;
+
+    /**
+     * Characters kept before the first highlighted term of a window.
+     */
+    static final int LEADING_CONTEXT = 40;
+
+    private static final String ELLIPSIS = "…";
+
+    private final TextAnalyzer analyzer = new TextAnalyzer();
+
+    /**
+     * A snippet with the highlighted ranges as start and end pairs, relative to the snippet.
+     */
+    @Getter
+    public static class Snippet {
+        private final String text;
+        private final int[] highlights;
+
+        Snippet(String text, int[] highlights) {
+            this.text = text;
+            this.highlights = highlights;
+        }
+    }
+
+    /**
+     * Start of the window covering the most matched terms, given their packed first
+     * offsets in text order; 0 without matches in the text.
+     */
+    public int windowStart(int[] offsets) {
+        int best = 0;
+        int bestCount = 0;
+        int last = 0;
+        for (int first = 0; first < offsets.length; first++) {
+            int limit = InvertedIndex.offsetStart(offsets[first]) + SNIPPET_LENGTH - LEADING_CONTEXT;
+            last = Math.max(last, first);
+            while (last < offsets.length && InvertedIndex.offsetEnd(offsets[last]) <= limit) {
+                last++;
+            }
+            if (last - first > bestCount) {
+                bestCount = last - first;
+                best = Math.max(0, InvertedIndex.offsetStart(offsets[first]) - LEADING_CONTEXT);
+            }
+        }
+        return best;
+    }
+
+    /**
+     * How many leading characters of the text {@link #extract} needs for a window.
+     */
+    public int requiredLength(int windowStart) {
+        // One more, to tell whether the text goes on
+        return windowStart + SNIPPET_LENGTH + 1;
+    }
+
+    /**
+     * Whether a window around a term starting at this offset lies within the snippet source
+     * kept uncompressed ({@link ArticleBody#SNIPPET_SOURCE_LENGTH}). The index only records
+     * offsets for which this holds, so every window can be cut from the snippet source.
+     */
+    public static boolean withinSnippetSource(int termStart) {
+        return Math.max(0, termStart - LEADING_CONTEXT) + SNIPPET_LENGTH + 1 <= ArticleBody.SNIPPET_SOURCE_LENGTH;
+    }
+
+    /**
+     * Cut the snippet at word boundaries and highlight the tokens of the given index terms.
+     *
+     * @param text at least the {@link #requiredLength} first characters of the text, if it has
+     *             that many
+     */
+    public Snippet extract(String text, int windowStart, Set<String> terms) {
+        if (text == null || windowStart >= text.length()) {
+            return new Snippet("", new int[0]);
+        }
+        int begin = windowStart;
+        int end = Math.min(text.length(), begin + SNIPPET_LENGTH);
+        if (begin > 0) {
+            // Start after a space within the leading context, unless the word is huge
+            int space = firstWhitespace(text, begin, Math.min(end, begin + LEADING_CONTEXT));
+            begin = space >= 0 ? space + 1 : begin;
+        }
+        if (end < text.length()) {
+            int space = lastWhitespace(text, begin, end);
+            end = space > begin ? space : end;
+        }
+
+        String prefix = begin > 0 ? ELLIPSIS : "";
+        String window = text.substring(begin, end);
+        IntList highlights = new IntList();
+        analyzer.analyze(window, (term, start, tokenEnd) -> {
+            if (terms.contains(term)) {
+                highlights.add(prefix.length() + start);
+                highlights.add(prefix.length() + tokenEnd);
+            }
+        });
+        String snippet = prefix + window + (end < text.length() ? ELLIPSIS : "");
+        return new Snippet(snippet, highlights.toArray());
+    }
+
+    private static int firstWhitespace(String text, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (Character.isWhitespace(text.charAt(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int lastWhitespace(String text, int from, int to) {
+        for (int i = to; i > from; i--) {
+            if (Character.isWhitespace(text.charAt(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
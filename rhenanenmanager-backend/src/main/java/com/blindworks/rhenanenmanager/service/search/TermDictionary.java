@@ -0,0 +1,222 @@
+package com.blindworks.rhenanenmanager.service.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Sorted term list for prefix, suffix and fuzzy lookups.
+ *
+ * Terms are kept in a sorted array plus a sorted array of the reversed terms (for suffix
+ * ranges). New terms go to a small unsorted tail first, which is merged in once it grows
+ * beyond an eighth of the sorted part, so bulk loading stays linear-logarithmic.
+ * Terms are never removed individually; {@link #rebuild} replaces the content. Not
+ * thread-safe.
+ */
+public class TermDictionary {
+
+    private static final int MIN_PENDING = 1024;
+
+    private String[] sorted = new String[0];
+    private String[] reversed = new String[0];
+    private final List<String> pending = new ArrayList<>();
+    private int maxLength;
+
+    public int size() {
+        return sorted.length + pending.size();
+    }
+
+    public void add(String term) {
+        pending.add(term);
+        maxLength = Math.max(maxLength, term.length());
+        if (pending.size() > Math.max(MIN_PENDING, sorted.length / 8)) {
+            merge();
+        }
+    }
+
+    /**
+     * Merge the unsorted tail, e.g. after bulk loading.
+     */
+    public void optimize() {
+        if (!pending.isEmpty()) {
+            merge();
+        }
+    }
+
+    public void rebuild(Collection<String> terms) {
+        pending.clear();
+        sorted = terms.toArray(String[]::new);
+        maxLength = 0;
+        for (String term : sorted) {
+            maxLength = Math.max(maxLength, term.length());
+        }
+        Arrays.sort(sorted);
+        reversed = new String[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            reversed[i] = reverse(sorted[i]);
+        }
+        Arrays.sort(reversed);
+    }
+
+    public void clear() {
+        rebuild(List.of());
+    }
+
+    /**
+     * Pass every term starting with the prefix (including the prefix itself) to the consumer.
+     */
+    public void forEachWithPrefix(String prefix, Consumer<String> consumer) {
+        for (int i = lowerBound(sorted, prefix); i < sorted.length && sorted[i].startsWith(prefix); i++) {
+            consumer.accept(sorted[i]);
+        }
+        for (String term : pending) {
+            if (term.startsWith(prefix)) {
+                consumer.accept(term);
+            }
+        }
+    }
+
+    /**
+     * Pass every term ending with the suffix (including the suffix itself) to the consumer.
+     */
+    public void forEachWithSuffix(String suffix, Consumer<String> consumer) {
+        String reversedSuffix = reverse(suffix);
+        for (int i = lowerBound(reversed, reversedSuffix);
+             i < reversed.length && reversed[i].startsWith(reversedSuffix); i++) {
+            consumer.accept(reverse(reversed[i]));
+        }
+        for (String term : pending) {
+            if (term.endsWith(suffix)) {
+                consumer.accept(term);
+            }
+        }
+    }
+
+    /**
+     * Pass every term within {@code maxEdits} Levenshtein edits of the target to the
+     * consumer, together with its distance.
+     *
+     * Walks the sorted terms like a Levenshtein automaton over a trie: the dynamic
+     * programming rows of a shared prefix are computed once, and as soon as every cell of a
+     * prefix row exceeds the limit, all terms with that prefix are skipped by binary search.
+     */
+    public void forEachWithin(String target, int maxEdits, ObjIntConsumer<String> consumer) {
+        int n = target.length();
+        int[][] rows = new int[maxLength + 1][n + 1];
+        for (int j = 0; j <= n; j++) {
+            rows[0][j] = j;
+        }
+        // Rows 0..depth are valid for the first `depth` characters of `computed`
+        String computed = "";
+        int depth = 0;
+        int i = 0;
+        while (i < sorted.length) {
+            String term = sorted[i];
+            int d = Math.min(depth, commonPrefix(computed, term));
+            boolean pruned = false;
+            while (d < term.length()) {
+                int rowMin = nextRow(rows, d, term.charAt(d), target);
+                d++;
+                if (rowMin > maxEdits) {
+                    pruned = true;
+                    break;
+                }
+            }
+            computed = term;
+            depth = pruned ? d - 1 : d;
+            if (pruned) {
+                // No term starting with term[0..d) can come within the limit
+                i = lowerBound(sorted, term.substring(0, d) + Character.MAX_VALUE);
+                continue;
+            }
+            if (rows[d][n] <= maxEdits) {
+                consumer.accept(term, rows[d][n]);
+            }
+            i++;
+        }
+        for (String term : pending) {
+            for (int d = 0; d < term.length(); d++) {
+                nextRow(rows, d, term.charAt(d), target);
+            }
+            if (rows[term.length()][n] <= maxEdits) {
+                consumer.accept(term, rows[term.length()][n]);
+            }
+        }
+    }
+
+    /**
+     * Fill row d + 1 for the character c, returning its minimum.
+     */
+    private static int nextRow(int[][] rows, int d, char c, String target) {
+        int[] previous = rows[d];
+        int[] row = rows[d + 1];
+        row[0] = d + 1;
+        int min = row[0];
+        for (int j = 1; j < row.length; j++) {
+            int cost = target.charAt(j - 1) == c ? 0 : 1;
+            row[j] = Math.min(Math.min(row[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+            min = Math.min(min, row[j]);
+        }
+        return min;
+    }
+
+    private void merge() {
+        String[] added = pending.toArray(String[]::new);
+        Arrays.sort(added);
+        sorted = mergeSorted(sorted, added);
+        String[] addedReversed = new String[added.length];
+        for (int i = 0; i < added.length; i++) {
+            addedReversed[i] = reverse(added[i]);
+        }
+        Arrays.sort(addedReversed);
+        reversed = mergeSorted(reversed, addedReversed);
+        pending.clear();
+    }
+
+    private static String[] mergeSorted(String[] a, String[] b) {
+        String[] merged = new String[a.length + b.length];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < a.length && j < b.length) {
+            merged[k++] = a[i].compareTo(b[j]) <= 0 ? a[i++] : b[j++];
+        }
+        while (i < a.length) {
+            merged[k++] = a[i++];
+        }
+        while (j < b.length) {
+            merged[k++] = b[j++];
+        }
+        return merged;
+    }
+
+    private static int lowerBound(String[] terms, String key) {
+        int low = 0;
+        int high = terms.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (terms[middle].compareTo(key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static int commonPrefix(String a, String b) {
+        int length = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < length && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static String reverse(String term) {
+        return new StringBuilder(term).reverse().toString();
+    }
+}
@@ -0,0 +1,138 @@
+package com.blindworks.rhenanenmanager.service.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Splits German text into index terms. Used for both documents and queries, so both sides
+ * agree on the terms.
+ *
+ * <ol>
+ *   <li>Tokens are maximal runs of letters and digits, lower-cased.</li>
+ *   <li>Umlauts and other diacritics are folded to the base letter and ß to "ss", so
+ *       "Muller" finds "Müller".</li>
+ *   <li>German stop words are dropped.</li>
+ *   <li>Words are reduced to their stem ({@link GermanStemmer}), so "Stiftungsfeste"
+ *       finds "Stiftungsfest".</li>
+ * </ol>
+ *
+ * Compound words and typos are handled at query time by {@link InvertedIndex}.
+ */
+public class TextAnalyzer {
+
+    /**
+     * Longer tokens are mostly garbage (URLs, OCR artefacts) and are skipped.
+     */
+    private static final int MAX_TOKEN_LENGTH = 64;
+
+    /**
+     * Folded, lower-cased.
+     */
+    private static final Set<String> STOP_WORDS = Set.of(
+            "aber", "alle", "allem", "allen", "aller", "alles", "als", "also", "am", "an", "ander", "andere",
+            "anderem", "anderen", "anderer", "anderes", "auch", "auf", "aus", "bei", "bin", "bis", "bist",
+            "da", "damit", "dann", "das", "dass", "dein", "deine", "dem", "den", "denn", "der", "des", "dessen",
+            "die", "dies", "diese", "diesem", "diesen", "dieser", "dieses", "doch", "dort", "du", "durch",
+            "ein", "eine", "einem", "einen", "einer", "eines", "er", "es", "etwas", "fur", "hat", "hatte",
+            "hier", "hin", "ich", "ihr", "ihre", "ihrem", "ihren", "ihrer", "im", "in", "ist", "ja", "jede",
+            "jedem", "jeden", "jeder", "jedes", "kann", "kein", "keine", "man", "mit", "nach", "nicht",
+            "noch", "nun", "nur", "ob", "oder", "ohne", "sein", "seine", "seinem", "seinen", "seiner",
+            "sich", "sie", "sind", "so", "um", "und", "uns", "unter", "vom", "von", "vor", "war", "waren",
+            "was", "weil", "wenn", "wer", "wie", "wir", "wird", "wo", "zu", "zum", "zur", "uber");
+
+    private final GermanStemmer stemmer = new GermanStemmer();
+
+    /**
+     * Receives a term together with the position of its token in the text.
+     */
+    @FunctionalInterface
+    public interface TermOffsetConsumer {
+
+        /**
+         * @param start index of the first character of the token
+         * @param end   index after the last character of the token
+         */
+        void accept(String term, int start, int end);
+    }
+
+    /**
+     * Pass every term of the text to the consumer, in order and with repetitions.
+     */
+    public void analyze(String text, Consumer<String> terms) {
+        analyze(text, (term, start, end) -> terms.accept(term));
+    }
+
+    /**
+     * Like {@link #analyze(String, Consumer)}, with the character offsets of every token.
+     */
+    public void analyze(String text, TermOffsetConsumer terms) {
+        if (text == null) {
+            return;
+        }
+        int length = text.length();
+        int start = -1;
+        for (int i = 0; i <= length; i++) {
+            boolean inToken = i < length && Character.isLetterOrDigit(text.charAt(i));
+            if (inToken && start < 0) {
+                start = i;
+            } else if (!inToken && start >= 0) {
+                if (i - start <= MAX_TOKEN_LENGTH) {
+                    String term = term(text.substring(start, i));
+                    if (term != null) {
+                        terms.accept(term, start, i);
+                    }
+                }
+                start = -1;
+            }
+        }
+    }
+
+    public List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        analyze(text, terms::add);
+        return terms;
+    }
+
+    /**
+     * The index term of a token, or {@code null} for stop words.
+     */
+    private String term(String token) {
+        String word = fold(token.toLowerCase(Locale.ROOT));
+        if (word.isEmpty() || word.length() > MAX_TOKEN_LENGTH || STOP_WORDS.contains(word)) {
+            return null;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            if (!Character.isLetter(word.charAt(i))) {
+                // Years, Semester numbers and the like are kept as written
+                return word;
+            }
+        }
+        return stemmer.stem(word);
+    }
+
+    /**
+     * Fold umlauts and other diacritics to the base letter and ß to "ss".
+     */
+    static String fold(String word) {
+        boolean ascii = true;
+        for (int i = 0; i < word.length() && ascii; i++) {
+            ascii = word.charAt(i) < 0x80;
+        }
+        if (ascii) {
+            return word;
+        }
+        String decomposed = Normalizer.normalize(word.replace("ß", "ss"), Normalizer.Form.NFD);
+        StringBuilder folded = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                folded.append(c);
+            }
+        }
+        return folded.toString();
+    }
+}
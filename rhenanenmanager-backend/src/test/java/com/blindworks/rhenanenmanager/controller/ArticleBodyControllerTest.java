@@ -0,0 +1,162 @@
+package com.blindworks.rhenanenmanager.controller;
+
+import com.blindworks.rhenanenmanager.domain.entity.ArticleBody;
+import com.blindworks.rhenanenmanager.domain.repository.ArticleBodyRepository;
+import com.blindworks.rhenanenmanager.domain.repository.ArticleEntryRepository;
+import com.blindworks.rhenanenmanager.service.search.ArticleSearchIndex;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that article texts are stored compressed, that listings and search pages never
+ * load them and that detail views, search and writes see the texts.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser(authorities = "ROLE_ADMIN")
+class ArticleBodyControllerTest {
+
+    private static final String TEXT = "Zum Stiftungsfest kamen viele Alte Herren nach Bonn. ".repeat(40);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ArticleEntryRepository articleEntryRepository;
+
+    @Autowired
+    private ArticleBodyRepository articleBodyRepository;
+
+    @Autowired
+    private ArticleSearchIndex articleSearchIndex;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        articleSearchIndex.reload();
+    }
+
+    @AfterEach
+    void tearDown() {
+        articleBodyRepository.deleteAll();
+        articleEntryRepository.deleteAll();
+        articleSearchIndex.reload();
+    }
+
+    @Test
+    void listingsSkipTextsAndDetailsInflateThem() throws Exception {
+        String body = mockMvc.perform(post("/api/articles")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Stiftungsfest\",\"category\":\"Feste\",\"text\":\"" + TEXT +
+                                 "\",\"year\":2024}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.text").value(TEXT))
+                .andReturn().getResponse().getContentAsString();
+        long id = Long.parseLong(body.replaceAll("^\\{\"id\":(\\d+).*$", "$1"));
+
+        ArticleBody stored = articleBodyRepository.findById(id).orElseThrow();
+        assertThat(stored.getText()).isEqualTo(TEXT);
+        assertThat(stored.getSnippetSource()).isEqualTo(TEXT);
+
+        // Listings and search pages carry the stored preview and snippet source, not the texts
+        String preview = TEXT.substring(0, 200) + "...";
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        mockMvc.perform(get("/api/articles"))
+                .andExpect(jsonPath("$.content[0].id").value(id))
+                .andExpect(jsonPath("$.content[0].title").value("Stiftungsfest"))
+                .andExpect(jsonPath("$.content[0].text").doesNotExist())
+                .andExpect(jsonPath("$.content[0].textPreview").value(preview));
+        // Only the page; a partial first page needs no count
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        mockMvc.perform(get("/api/articles/year/2024"))
+                .andExpect(jsonPath("$[0].text").doesNotExist())
+                .andExpect(jsonPath("$[0].textPreview").value(preview));
+        mockMvc.perform(get("/api/articles/category/Feste"))
+                .andExpect(jsonPath("$.content[0].text").doesNotExist())
+                .andExpect(jsonPath("$.content[0].textPreview").value(preview));
+        mockMvc.perform(get("/api/articles/scroll"))
+                .andExpect(jsonPath("$.content[0].text").doesNotExist())
+                .andExpect(jsonPath("$.content[0].textPreview").value(preview));
+        mockMvc.perform(get("/api/articles/search").param("keyword", "Herren"))
+                .andExpect(jsonPath("$.content[0].snippet").value(startsWith("Zum Stiftungsfest")));
+        assertThat(statistics.getEntityStatistics(ArticleBody.class.getName()).getLoadCount()).isZero();
+        statistics.setStatisticsEnabled(false);
+
+        mockMvc.perform(get("/api/articles/" + id))
+                .andExpect(jsonPath("$.text").value(TEXT));
+
+        mockMvc.perform(put("/api/articles/" + id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Stiftungsfest\",\"text\":\"Kurz.\",\"year\":2024}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/articles/" + id))
+                .andExpect(jsonPath("$.text").value("Kurz."));
+        mockMvc.perform(get("/api/articles"))
+                .andExpect(jsonPath("$.content[0].textPreview").value("Kurz."));
+
+        mockMvc.perform(delete("/api/articles/" + id)).andExpect(status().isNoContent());
+        assertThat(articleBodyRepository.existsById(id)).isFalse();
+    }
+
+    @Test
+    void matchesBeyondSnippetSourceGetLeadingSnippet() throws Exception {
+        String text = TEXT.repeat(3) + "Zuletzt sprach der Kneipwart.";
+        assertThat(text.length()).isGreaterThan(ArticleBody.SNIPPET_SOURCE_LENGTH);
+        mockMvc.perform(post("/api/articles")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Stiftungsfest\",\"text\":\"" + text + "\",\"year\":2024}"))
+                .andExpect(status().isCreated());
+
+        // Found through the index, the snippet cut from the stored beginning of the text
+        mockMvc.perform(get("/api/articles/search").param("keyword", "Kneipwart"))
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.content[0].snippet").value(startsWith("Zum Stiftungsfest")))
+                .andExpect(jsonPath("$.content[0].highlights.length()").value(0));
+    }
+
+    @Test
+    void updateWithoutTextKeepsStoredText() throws Exception {
+        String body = mockMvc.perform(post("/api/articles")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Stiftungsfest\",\"text\":\"" + TEXT + "\",\"year\":2024}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long id = Long.parseLong(body.replaceAll("^\\{\"id\":(\\d+).*$", "$1"));
+
+        mockMvc.perform(put("/api/articles/" + id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Stiftungsfest 2024\",\"year\":2024}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Stiftungsfest 2024"))
+                .andExpect(jsonPath("$.text").value(TEXT));
+        assertThat(articleBodyRepository.findTextByArticleId(id)).contains(TEXT);
+        // The search index was updated with the kept text, not an empty one
+        mockMvc.perform(get("/api/articles/search").param("keyword", "Herren"))
+                .andExpect(jsonPath("$.content[0].id").value(id));
+    }
+}
@@ -0,0 +1,154 @@
+package com.blindworks.rhenanenmanager.controller;
+
+import com.blindworks.rhenanenmanager.config.ArticleImportRunner;
+import com.blindworks.rhenanenmanager.domain.repository.ArticleBodyRepository;
+import com.blindworks.rhenanenmanager.domain.repository.ArticleEntryRepository;
+import com.blindworks.rhenanenmanager.service.search.ArticleSearchIndex;
+import com.blindworks.rhenanenmanager.service.search.ArticleSuggestIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that bulk imports create the valid rows, report the invalid ones by row and
+ * update the search and completion indexes.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser(authorities = "ROLE_ADMIN")
+class ArticleImportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ArticleEntryRepository articleEntryRepository;
+
+    @Autowired
+    private ArticleBodyRepository articleBodyRepository;
+
+    @Autowired
+    private ArticleSearchIndex articleSearchIndex;
+
+    @Autowired
+    private ArticleSuggestIndex articleSuggestIndex;
+
+    @Autowired
+    private ArticleImportRunner articleImportRunner;
+
+    @BeforeEach
+    void setUp() {
+        articleSearchIndex.reload();
+        articleSuggestIndex.reload();
+    }
+
+    @AfterEach
+    void tearDown() {
+        articleBodyRepository.deleteAll();
+        articleEntryRepository.deleteAll();
+        articleSearchIndex.reload();
+        articleSuggestIndex.reload();
+    }
+
+    @Test
+    void importsCsvAndReportsRejectedLines() throws Exception {
+        String csv = """
+                title,category,year,month,text,date
+                Stiftungsfest 2024,Feste,2024,6,"Der Kommers, dann der Ball.
+                Zweite Zeile.",2024-06-01
+                ,Feste,2024,6,Ohne Titel,
+                Semesterbericht,Berichte,zwanzig,,Text,
+                Sommerkneipe,Feste,2024,7,Gesang im Garten,
+                """;
+        mockMvc.perform(post("/api/articles/bulk").contentType("text/csv").content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalRows").value(4))
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.failed").value(2))
+                .andExpect(jsonPath("$.errors[0].row").value(4))
+                .andExpect(jsonPath("$.errors[0].message").value("title: Title is required"))
+                .andExpect(jsonPath("$.errors[1].row").value(5))
+                .andExpect(jsonPath("$.errors[1].message").value("year: not a number: zwanzig"));
+
+        mockMvc.perform(get("/api/articles/search").param("keyword", "kommers"))
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.content[0].title").value("Stiftungsfest 2024"))
+                .andExpect(jsonPath("$.content[0].date").value("2024-06-01"))
+                .andExpect(jsonPath("$.content[0].snippet").value("Der Kommers, dann der Ball.\nZweite Zeile."));
+        mockMvc.perform(get("/api/articles/year/2024"))
+                .andExpect(jsonPath("$[?(@.title == 'Sommerkneipe')].textPreview").value("Gesang im Garten"));
+        mockMvc.perform(get("/api/articles/suggest").param("prefix", "sommer"))
+                .andExpect(jsonPath("$[0].text").value("Sommerkneipe"));
+        long id = articleEntryRepository.findAll().stream()
+                .filter(article -> article.getTitle().equals("Stiftungsfest 2024"))
+                .findFirst().orElseThrow().getId();
+        mockMvc.perform(get("/api/articles/" + id))
+                .andExpect(jsonPath("$.text").value("Der Kommers, dann der Ball.\nZweite Zeile."))
+                .andExpect(jsonPath("$.month").value(6));
+
+        mockMvc.perform(post("/api/articles/bulk").contentType("text/csv").content("category,text\nFeste,x\n"))
+                .andExpect(jsonPath("$.imported").value(0))
+                .andExpect(jsonPath("$.errors[0].message").value("Missing column(s): title"));
+    }
+
+    @Test
+    void importsJsonAndStopsAtMalformedInput() throws Exception {
+        String json = """
+                [{"title": "Stiftungsfest", "text": "Kommers im Kneipsaal.", "year": 2024},
+                 {"title": "Semesterbericht", "year": "zwanzig"},
+                 "kein Artikel",
+                 {"title": "Sommerkneipe", "year": 2024, "month": 7}]
+                """;
+        mockMvc.perform(post("/api/articles/bulk").contentType(MediaType.APPLICATION_JSON).content(json))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalRows").value(4))
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.createdIds.length()").value(2))
+                .andExpect(jsonPath("$.errors[0].row").value(2))
+                .andExpect(jsonPath("$.errors[0].message").value(startsWith("year: ")))
+                .andExpect(jsonPath("$.errors[1].row").value(3))
+                .andExpect(jsonPath("$.errors[1].message").value("Not a JSON object"));
+
+        mockMvc.perform(post("/api/articles/bulk").contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"title\": \"Ball\"}, {\"title\": "))
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.errors[0].row").value(2))
+                .andExpect(jsonPath("$.errors[0].message").value(startsWith("Malformed JSON")));
+        mockMvc.perform(post("/api/articles/bulk").contentType(MediaType.APPLICATION_JSON).content("{}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/articles/search").param("keyword", "kneipsaal"))
+                .andExpect(jsonPath("$.totalElements").value(1));
+        assertThat(articleEntryRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    void runnerImportsFiles(@TempDir Path directory) throws Exception {
+        Path csv = Files.writeString(directory.resolve("ausgabe.csv"), "title,year\nStiftungsfest,2024\n");
+        Path json = Files.writeString(directory.resolve("ausgabe.json"), "[{\"title\": \"Sommerkneipe\"}, {}]");
+
+        assertThat(articleImportRunner.importFiles(List.of(csv.toString()))).isZero();
+        assertThat(articleImportRunner.importFiles(List.of(json.toString()))).isEqualTo(1);
+        assertThat(articleEntryRepository.count()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,122 @@
+package com.blindworks.rhenanenmanager.controller;
+
+import com.blindworks.rhenanenmanager.domain.entity.ArticleEntry;
+import com.blindworks.rhenanenmanager.domain.repository.ArticleEntryRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that keyset pagination of articles visits every article exactly once in the
+ * order of the offset listing, including articles without year or month, with one query
+ * per slice.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser(authorities = "ROLE_ADMIN")
+class ArticleScrollControllerTest {
+
+    private static final Comparator<ArticleEntry> NEWEST_FIRST = Comparator
+            .comparing(ArticleEntry::getYear, Comparator.nullsFirst(Comparator.<Integer>naturalOrder()))
+            .thenComparing(ArticleEntry::getMonth, Comparator.nullsFirst(Comparator.<Integer>naturalOrder()))
+            .thenComparing(ArticleEntry::getId)
+            .reversed();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ArticleEntryRepository articleEntryRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void tearDown() {
+        articleEntryRepository.deleteAll();
+    }
+
+    @Test
+    void scrollVisitsAllArticlesNewestFirst() throws Exception {
+        articleEntryRepository.deleteAll();
+        SplittableRandom random = new SplittableRandom(3);
+        List<ArticleEntry> articles = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            ArticleEntry article = new ArticleEntry();
+            article.setTitle("Artikel " + i);
+            // Few distinct keys, so ties on year and month are common
+            article.setYear(random.nextInt(5) == 0 ? null : 2020 + random.nextInt(3));
+            article.setMonth(random.nextInt(5) == 0 ? null : 1 + random.nextInt(3));
+            article.setCategory(i % 2 == 0 ? "Feste" : "Berichte");
+            articles.add(articleEntryRepository.save(article));
+        }
+
+        List<Long> expected = articles.stream().sorted(NEWEST_FIRST).map(ArticleEntry::getId).toList();
+        assertThat(scroll(null, 7)).isEqualTo(expected);
+        assertThat(scroll("Feste", 4)).isEqualTo(articles.stream()
+                .filter(article -> "Feste".equals(article.getCategory()))
+                .sorted(NEWEST_FIRST).map(ArticleEntry::getId).toList());
+        assertThat(scroll("Unbekannt", 4)).isEmpty();
+    }
+
+    @Test
+    void malformedCursorIsRejected() throws Exception {
+        mockMvc.perform(get("/api/articles/scroll").param("cursor", "not a cursor"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/articles/scroll").param("cursor", "MToy"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private List<Long> scroll(String category, int size) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        try {
+            do {
+                MockHttpServletRequestBuilder request = get("/api/articles/scroll").param("size", String.valueOf(size));
+                if (category != null) {
+                    request.param("category", category);
+                }
+                if (cursor != null) {
+                    request.param("cursor", cursor);
+                }
+                statistics.clear();
+                JsonNode slice = objectMapper.readTree(mockMvc.perform(request)
+                        .andExpect(status().isOk())
+                        .andReturn().getResponse().getContentAsString());
+                // No count query
+                assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+                slice.get("content").forEach(article -> ids.add(article.get("id").asLong()));
+                cursor = slice.get("hasNext").asBoolean() ? slice.get("nextCursor").asText() : null;
+            } while (cursor != null);
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+        return ids;
+    }
+}
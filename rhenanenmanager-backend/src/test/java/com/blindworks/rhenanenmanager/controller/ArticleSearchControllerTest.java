@@ -0,0 +1,168 @@
+package com.blindworks.rhenanenmanager.controller;
+
+import com.blindworks.rhenanenmanager.domain.repository.ArticleEntryRepository;
+import com.blindworks.rhenanenmanager.service.search.ArticleSearchIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that article search is answered from the full-text index, counts facets, returns
+ * snippets instead of full texts and follows writes.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser(authorities = "ROLE_ADMIN")
+class ArticleSearchControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ArticleEntryRepository articleEntryRepository;
+
+    @Autowired
+    private ArticleSearchIndex articleSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        articleSearchIndex.reload();
+    }
+
+    @AfterEach
+    void tearDown() {
+        articleEntryRepository.deleteAll();
+        articleSearchIndex.reload();
+    }
+
+    @Test
+    void searchRanksTitleMatchesFirstAndFollowsWrites() throws Exception {
+        long inText = create("Bericht vom Semester", "Die Kneipe zum Stiftungsfest war gut besucht.", 2019);
+        long inTitle = create("Stiftungsfest 2024", "Festkommers und Ball.", 2024);
+        create("Aus dem Corpshaus", "Neue Fenster im Kneipsaal.", 2024);
+
+        mockMvc.perform(get("/api/articles/search").param("keyword", "stiftungsfest"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andExpect(jsonPath("$.content[0].id").value(inTitle))
+                .andExpect(jsonPath("$.content[1].id").value(inText));
+        // All terms must match
+        mockMvc.perform(get("/api/articles/search").param("keyword", "Stiftungsfest Kneipe"))
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.content[0].id").value(inText));
+
+        mockMvc.perform(put("/api/articles/" + inText)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Bericht vom Semester\",\"text\":\"Nichts Besonderes.\",\"year\":2019}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/articles/" + inTitle)).andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/articles/search").param("keyword", "stiftungsfest"))
+                .andExpect(jsonPath("$.totalElements").value(0));
+        mockMvc.perform(get("/api/articles/search").param("keyword", "besonderes"))
+                .andExpect(jsonPath("$.content[0].id").value(inText));
+    }
+
+    @Test
+    void searchReturnsSnippetsInsteadOfFullTexts() throws Exception {
+        String text = "Vom Semester ist wenig zu berichten. ".repeat(10)
+                + "Beim Kommers sprach der Senior. " + "Danach wurde gesungen. ".repeat(10);
+        long id = create("Semesterbericht", text, 2024);
+
+        mockMvc.perform(get("/api/articles/search").param("keyword", "kommers"))
+                .andExpect(jsonPath("$.content[0].id").value(id))
+                .andExpect(jsonPath("$.content[0].title").value("Semesterbericht"))
+                .andExpect(jsonPath("$.content[0].text").doesNotExist())
+                .andExpect(jsonPath("$.content[0].snippet").value(containsString("Beim Kommers sprach")))
+                .andExpect(jsonPath("$.content[0].snippet").value(startsWith("…")))
+                .andExpect(jsonPath("$.content[0].highlights.length()").value(2));
+        mockMvc.perform(get("/api/articles/" + id))
+                .andExpect(jsonPath("$.text").value(text));
+    }
+
+    @Test
+    void searchPageIsMuchSmallerThanTheTexts() throws Exception {
+        String text = "Vom Semester ist wenig zu berichten. ".repeat(100)
+                + "Beim Kommers sprach der Senior. " + "Danach wurde gesungen. ".repeat(100);
+        long id = create("Semesterbericht", text, 2024);
+
+        int searchBytes = mockMvc.perform(get("/api/articles/search").param("keyword", "kommers"))
+                .andExpect(jsonPath("$.content[0].id").value(id))
+                .andReturn().getResponse().getContentAsByteArray().length;
+        int detailBytes = mockMvc.perform(get("/api/articles/" + id))
+                .andReturn().getResponse().getContentAsByteArray().length;
+        assertThat(searchBytes * 10).isLessThan(detailBytes);
+    }
+
+    @Test
+    void searchCountsFacetsAndDrillsDown() throws Exception {
+        create("Stiftungsfest 1988", "Kommers im Kneipsaal.", 1988, "Feste");
+        long latest = create("Stiftungsfest 2024", "Kommers und Ball.", 2024, "Feste");
+        long report = create("Semesterbericht", "Kommers zum Semesterende.", 2024, "Berichte");
+
+        mockMvc.perform(get("/api/articles/search").param("keyword", "kommers"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(3))
+                .andExpect(jsonPath("$.categories[0].value").value("Feste"))
+                .andExpect(jsonPath("$.categories[0].count").value(2))
+                .andExpect(jsonPath("$.categories[1].value").value("Berichte"))
+                .andExpect(jsonPath("$.years[0].value").value("2024"))
+                .andExpect(jsonPath("$.years[0].count").value(2))
+                .andExpect(jsonPath("$.decades[1].value").value("1980"))
+                .andExpect(jsonPath("$.months.length()").value(0));
+
+        mockMvc.perform(get("/api/articles/search").param("keyword", "kommers").param("year", "2024"))
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andExpect(jsonPath("$.categories.length()").value(2))
+                .andExpect(jsonPath("$.years.length()").value(1));
+        // Without keyword: all articles of the facet, newest first
+        mockMvc.perform(get("/api/articles/search").param("category", "Feste").param("decade", "2020"))
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.content[0].id").value(latest));
+
+        mockMvc.perform(put("/api/articles/" + report)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Semesterbericht\",\"text\":\"Kommers.\",\"year\":2024," +
+                                 "\"category\":\"Feste\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/articles/search").param("keyword", "kommers").param("category", "Berichte"))
+                .andExpect(jsonPath("$.totalElements").value(0));
+        mockMvc.perform(get("/api/articles/categories"))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0]").value("Feste"));
+        mockMvc.perform(get("/api/articles/years"))
+                .andExpect(jsonPath("$[0]").value(2024))
+                .andExpect(jsonPath("$[1]").value(1988));
+    }
+
+    private long create(String title, String text, int year) throws Exception {
+        return create(title, text, year, null);
+    }
+
+    private long create(String title, String text, int year, String category) throws Exception {
+        String body = mockMvc.perform(post("/api/articles")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"" + title + "\",\"text\":\"" + text + "\",\"year\":" + year +
+                                 (category != null ? ",\"category\":\"" + category + "\"" : "") + "}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return Long.parseLong(body.replaceAll("^\\{\"id\":(\\d+).*$", "$1"));
+    }
+}
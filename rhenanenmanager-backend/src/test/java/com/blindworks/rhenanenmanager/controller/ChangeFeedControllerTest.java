@@ -0,0 +1,100 @@
+package com.blindworks.rhenanenmanager.controller;
+
+import com.blindworks.rhenanenmanager.domain.dto.response.ChangeEventResponse;
+import com.blindworks.rhenanenmanager.domain.repository.ArticleEntryRepository;
+import com.blindworks.rhenanenmanager.service.event.ChangeFeed;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that committed writes reach the change feed and that streams resume after Last-Event-ID.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser(authorities = "ROLE_ADMIN")
+class ChangeFeedControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ChangeFeed changeFeed;
+
+    @Autowired
+    private ArticleEntryRepository articleEntryRepository;
+
+    @AfterEach
+    void tearDown() {
+        articleEntryRepository.deleteAll();
+    }
+
+    @Test
+    void streamReplaysChangesAfterLastEventId() throws Exception {
+        long before = changeFeed.currentSequence();
+        mockMvc.perform(post("/api/articles")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Stiftungsfest\",\"year\":2024,\"month\":6}"))
+                .andExpect(status().isCreated());
+
+        List<ChangeEventResponse> events = changeFeed.eventsAfter(before);
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).getEntity()).isEqualTo("article");
+        assertThat(events.get(0).getType()).isEqualTo("CREATED");
+
+        MockHttpServletResponse response = mockMvc.perform(get("/api/changes/stream")
+                        .header("Last-Event-ID", before))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+        String body = awaitContent(response, "event:article");
+        assertThat(body).startsWith("event:ready");
+        assertThat(body).contains("id:" + events.get(0).getSequence());
+        assertThat(body).contains("\"title\":\"Stiftungsfest\"");
+    }
+
+    @Test
+    void streamResetsWhenHistoryDoesNotReachBack() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get("/api/changes/stream")
+                        .header("Last-Event-ID", 1))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+        assertThat(awaitContent(response, "event:" + ChangeFeed.RESET_EVENT))
+                .contains("id:" + changeFeed.currentSequence());
+    }
+
+    /**
+     * Events are written by a sender thread, line by line; wait until the frame containing
+     * the expected text has been written completely, up to the blank line ending it.
+     */
+    private static String awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        String body = response.getContentAsString();
+        while (!frameComplete(body, expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            body = response.getContentAsString();
+        }
+        assertThat(frameComplete(body, expected)).as("complete frame with %s in %s", expected, body).isTrue();
+        return body;
+    }
+
+    private static boolean frameComplete(String body, String expected) {
+        int index = body.indexOf(expected);
+        return index >= 0 && body.indexOf("\n\n", index) >= 0;
+    }
+}
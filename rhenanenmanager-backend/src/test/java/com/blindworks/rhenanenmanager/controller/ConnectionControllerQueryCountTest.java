@@ -0,0 +1,78 @@
+package com.blindworks.rhenanenmanager.controller;
+
+import com.blindworks.rhenanenmanager.domain.entity.Connection;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that the connection read endpoints issue a constant number of SQL statements,
+ * independent of the number of connections and profiles involved.
+ */
+@WithMockUser(authorities = "ROLE_USER")
+class ConnectionControllerQueryCountTest extends ConnectionControllerTestSupport {
+
+    @Test
+    void getAllConnectionsUsesSingleStatement() throws Exception {
+        assertStatements(1, "/api/connections", FUECHSE);
+        assertStatements(1, "/api/connections?activeOnly=true", FUECHSE - 1);
+    }
+
+    @Test
+    void keysetPageUsesSingleStatement() throws Exception {
+        statistics.clear();
+        mockMvc.perform(get("/api/connections").param("afterId", String.valueOf(connectionId)).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(header().string(ConnectionController.NEXT_AFTER_ID_HEADER,
+                        String.valueOf(connectionId + 2)));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getConnectionsByTypeUsesSingleStatement() throws Exception {
+        assertStatements(1, "/api/connections/type/" + Connection.RELATION_LEIBBURSCH, FUECHSE);
+    }
+
+    @Test
+    void getDetailedConnectionsForProfileUsesSingleStatement() throws Exception {
+        assertStatements(1, "/api/connections/profile/" + leibbursch.getId() + "/detail", FUECHSE);
+    }
+
+    @Test
+    void getConnectionByIdUsesSingleStatement() throws Exception {
+        statistics.clear();
+        mockMvc.perform(get("/api/connections/" + connectionId)).andExpect(status().isOk());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        statistics.clear();
+        mockMvc.perform(get("/api/connections/" + connectionId + "/detail"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.fromProfile.email").value("leibbursch@example.org"));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void profileConnectionsAreServedFromGraphIndex() throws Exception {
+        String base = "/api/connections/profile/" + leibbursch.getId();
+        assertStatements(0, base, FUECHSE);
+        assertStatements(0, base + "/from", FUECHSE);
+        assertStatements(0, base + "/to", 0);
+        assertStatements(0, base + "/active", FUECHSE - 1);
+    }
+
+    @Test
+    void asOfQueriesAreServedFromGraphIndex() throws Exception {
+        // Before the start, while all five ran, and after the first one ended
+        assertStatements(0, "/api/connections?asOf=2019-12-31", 0);
+        assertStatements(0, "/api/connections?asOf=2020-06-01", FUECHSE);
+        assertStatements(0, "/api/connections?asOf=2021-01-01", FUECHSE - 1);
+        assertStatements(0, "/api/connections/type/" + Connection.RELATION_LEIBBURSCH + "?asOf=2020-06-01", FUECHSE);
+        assertStatements(0, "/api/connections/profile/" + leibbursch.getId() + "?asOf=2021-01-01", FUECHSE - 1);
+    }
+}
@@ -0,0 +1,135 @@
+package com.blindworks.rhenanenmanager.controller;
+
+import com.blindworks.rhenanenmanager.domain.entity.Connection;
+import com.blindworks.rhenanenmanager.domain.entity.Profile;
+import com.blindworks.rhenanenmanager.domain.entity.Role;
+import com.blindworks.rhenanenmanager.domain.entity.User;
+import com.blindworks.rhenanenmanager.domain.repository.ConnectionRepository;
+import com.blindworks.rhenanenmanager.domain.repository.CorpsMemberDataRepository;
+import com.blindworks.rhenanenmanager.domain.repository.ProfileRepository;
+import com.blindworks.rhenanenmanager.domain.repository.RoleRepository;
+import com.blindworks.rhenanenmanager.domain.repository.UserRepository;
+import com.blindworks.rhenanenmanager.service.graph.ConnectionGraphIndex;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Shared fixture of the connection controller tests: a Leibbursch with {@value #FUECHSE} Füchse,
+ * the first of whose connections has ended, and Hibernate statistics to count statements.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+abstract class ConnectionControllerTestSupport {
+
+    static final int FUECHSE = 5;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    RoleRepository roleRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    ProfileRepository profileRepository;
+
+    @Autowired
+    ConnectionRepository connectionRepository;
+
+    @Autowired
+    CorpsMemberDataRepository corpsMemberDataRepository;
+
+    @Autowired
+    ConnectionGraphIndex connectionGraphIndex;
+
+    Statistics statistics;
+    Profile leibbursch;
+    List<Profile> fuechse;
+    Long connectionId;
+
+    @BeforeEach
+    void setUp() {
+        Role role = roleRepository.save(Role.builder().name("ROLE_CONNECTION_TEST").build());
+        leibbursch = createProfile(role, "leibbursch");
+
+        List<Connection> connections = new ArrayList<>();
+        fuechse = new ArrayList<>();
+        for (int i = 0; i < FUECHSE; i++) {
+            Profile fuchs = createProfile(role, "fuchs" + i);
+            fuechse.add(fuchs);
+            connections.add(Connection.builder()
+                    .fromProfile(leibbursch)
+                    .toProfile(fuchs)
+                    .relationType(Connection.RELATION_LEIBBURSCH)
+                    .startDate(LocalDate.of(2020, 1, 1))
+                    .endDate(i == 0 ? LocalDate.of(2021, 1, 1) : null)
+                    .build());
+        }
+        connectionId = connectionRepository.saveAll(connections).get(0).getId();
+        connectionGraphIndex.reload();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+        connectionRepository.deleteAll();
+        corpsMemberDataRepository.deleteAll();
+        profileRepository.deleteAll();
+        userRepository.deleteAll();
+        roleRepository.deleteAll();
+        connectionGraphIndex.reload();
+    }
+
+    void assertStatements(long expectedStatements, String url, int expectedRows) throws Exception {
+        statistics.clear();
+        mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(expectedRows));
+        assertThat(statistics.getPrepareStatementCount())
+                .as("SQL statements for GET %s", url)
+                .isEqualTo(expectedStatements);
+    }
+
+    Profile createProfile(Role role, String name) {
+        User user = userRepository.save(User.builder()
+                .username(name)
+                .password("secret")
+                .email(name + "@example.org")
+                .firstname(name)
+                .lastname("Rhenane")
+                .role(role)
+                .build());
+        return profileRepository.save(Profile.builder()
+                .user(user)
+                .firstname(name)
+                .lastname("Rhenane")
+                .email(name + "@example.org")
+                .build());
+    }
+}
@@ -0,0 +1,61 @@
+package com.blindworks.rhenanenmanager.controller;
+
+import com.blindworks.rhenanenmanager.domain.entity.Connection;
+import com.blindworks.rhenanenmanager.domain.entity.Profile;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that Leibbursch cycles are rejected on write and reported by the consistency scan.
+ */
+@WithMockUser(authorities = "ROLE_USER")
+class ConnectionCycleControllerTest extends ConnectionControllerTestSupport {
+
+    @Test
+    void leibburschCyclesAndSecondLeibburschenAreRejected() throws Exception {
+        long fuchs0 = fuechse.get(0).getId();
+        long fuchs1 = fuechse.get(1).getId();
+        long fuchs2 = fuechse.get(2).getId();
+
+        postLeibbursch(fuchs0, leibbursch.getId(), null)
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Connection would create a Leibbursch cycle"));
+        postLeibbursch(fuchs1, fuchs2, null).andExpect(status().isBadRequest());
+        // The Leibbursch connection of fuchs0 ended on 2021-01-01
+        postLeibbursch(fuchs1, fuchs0, "2021-01-01").andExpect(status().isCreated());
+        postLeibbursch(fuchs0, fuchs1, null).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(authorities = "ROLE_ADMIN")
+    void consistencyScanReportsExistingCycles() throws Exception {
+        Profile fuchs0 = fuechse.get(0);
+        connectionRepository.save(Connection.builder()
+                .fromProfile(fuchs0)
+                .toProfile(leibbursch)
+                .relationType(Connection.RELATION_LEIBBURSCH)
+                .build());
+        connectionGraphIndex.reload();
+
+        mockMvc.perform(get("/api/connections/consistency"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.connectionCount").value(FUECHSE + 1))
+                .andExpect(jsonPath("$.issueCount").value(1))
+                .andExpect(jsonPath("$.issues[0].type").value("LEIBBURSCH_CYCLE"))
+                .andExpect(jsonPath("$.issues[0].connectionIds.length()").value(2));
+    }
+
+    private ResultActions postLeibbursch(long from, long to, String startDate) throws Exception {
+        String body = "{\"fromProfileId\":" + from + ",\"toProfileId\":" + to + ",\"relationType\":\"" +
+                Connection.RELATION_LEIBBURSCH + "\"" + (startDate != null ? ",\"startDate\":\"" + startDate + "\"" : "") +
+                "}";
+        return mockMvc.perform(post("/api/connections").contentType(MediaType.APPLICATION_JSON).content(body));
+    }
+}
@@ -0,0 +1,76 @@
+package com.blindworks.rhenanenmanager.controller;
+
+import com.blindworks.rhenanenmanager.domain.dto.request.ConnectionRequest;
+import com.blindworks.rhenanenmanager.domain.entity.Connection;
+import com.blindworks.rhenanenmanager.service.ConnectionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Verifies that a connection cannot be stored twice, neither by concurrent writers nor past the service.
+ */
+@WithMockUser(authorities = "ROLE_USER")
+class ConnectionDuplicateControllerTest extends ConnectionControllerTestSupport {
+
+    @Autowired
+    private ConnectionService connectionService;
+
+    @Test
+    void concurrentCreatesOfTheSameConnectionAreSerialized() throws Exception {
+        int writers = 8;
+        ConnectionRequest request = ConnectionRequest.builder()
+                .fromProfileId(fuechse.get(1).getId())
+                .toProfileId(fuechse.get(2).getId())
+                .relationType("PEER")
+                .build();
+        CountDownLatch start = new CountDownLatch(1);
+        Callable<Boolean> create = () -> {
+            start.await();
+            try {
+                connectionService.createConnection(request);
+                return true;
+            } catch (IllegalArgumentException e) {
+                return false;
+            }
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < writers; i++) {
+                results.add(executor.submit(create));
+            }
+            start.countDown();
+            int created = 0;
+            for (Future<Boolean> result : results) {
+                created += result.get() ? 1 : 0;
+            }
+            assertThat(created).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(connectionRepository.count()).isEqualTo(FUECHSE + 1);
+    }
+
+    @Test
+    void databaseRejectsDuplicateConnections() {
+        assertThatThrownBy(() -> connectionRepository.saveAndFlush(Connection.builder()
+                .fromProfile(leibbursch)
+                .toProfile(fuechse.get(1))
+                .relationType(Connection.RELATION_LEIBBURSCH)
+                .build()))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+}
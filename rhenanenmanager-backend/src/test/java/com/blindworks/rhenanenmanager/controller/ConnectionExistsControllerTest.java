@@ -0,0 +1,35 @@
+package com.blindworks.rhenanenmanager.controller;
+
+import com.blindworks.rhenanenmanager.domain.entity.Connection;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that the existence check is answered from the graph index without SQL.
+ */
+@WithMockUser(authorities = "ROLE_USER")
+class ConnectionExistsControllerTest extends ConnectionControllerTestSupport {
+
+    @Test
+    void existenceIsServedFromGraphIndex() throws Exception {
+        statistics.clear();
+        mockMvc.perform(get("/api/connections/exists")
+                        .param("fromProfileId", String.valueOf(leibbursch.getId()))
+                        .param("toProfileId", String.valueOf(fuechse.get(0).getId()))
+                        .param("relationType", Connection.RELATION_LEIBBURSCH))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").value(true));
+        mockMvc.perform(get("/api/connections/exists")
+                        .param("fromProfileId", String.valueOf(fuechse.get(0).getId()))
+                        .param("toProfileId", String.valueOf(leibbursch.getId()))
+                        .param("relationType", Connection.RELATION_LEIBBURSCH))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").value(false));
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+}
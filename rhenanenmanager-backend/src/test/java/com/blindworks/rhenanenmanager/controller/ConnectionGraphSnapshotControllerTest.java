@@ -0,0 +1,50 @@
+package com.blindworks.rhenanenmanager.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that the binary graph snapshot is served from the graph index and revalidated by ETag.
+ */
+@WithMockUser(authorities = "ROLE_USER")
+class ConnectionGraphSnapshotControllerTest extends ConnectionControllerTestSupport {
+
+    @Test
+    void graphSnapshotIsServedFromGraphIndexAndRevalidated() throws Exception {
+        statistics.clear();
+        MvcResult result = mockMvc.perform(get("/api/connections/graph-snapshot"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn();
+        byte[] content = result.getResponse().getContentAsByteArray();
+        assertThat(new String(content, 0, 4, StandardCharsets.US_ASCII)).isEqualTo("RMGS");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        String etag = result.getResponse().getHeader("ETag");
+        mockMvc.perform(get("/api/connections/graph-snapshot")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag));
+        // Weak comparison, entity tag lists and "*" like RFC 9110
+        mockMvc.perform(get("/api/connections/graph-snapshot")
+                        .header("If-None-Match", "W/" + etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/connections/graph-snapshot")
+                        .header("If-None-Match", "\"other\", " + etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/connections/graph-snapshot")
+                        .header("If-None-Match", "*"))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/connections/graph-snapshot")
+                        .header("If-None-Match", "\"other\""))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,72 @@
+package com.blindworks.rhenanenmanager.controller;
+
+import com.blindworks.rhenanenmanager.domain.entity.Connection;
+import com.blindworks.rhenanenmanager.domain.entity.Profile;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that bulk imports of JSON and CSV rows validate every row and report the rejected ones.
+ */
+@WithMockUser(authorities = "ROLE_USER")
+class ConnectionImportControllerTest extends ConnectionControllerTestSupport {
+
+    @Test
+    @WithMockUser(authorities = "ROLE_ADMIN")
+    void bulkImportValidatesWithSetBasedLookups() throws Exception {
+        long a = fuechse.get(0).getId();
+        long b = fuechse.get(1).getId();
+        String body = "[" +
+                "{\"fromProfileId\":" + a + ",\"toProfileId\":" + b + ",\"relationType\":\"PEER\"}," +
+                "{\"fromProfileId\":" + b + ",\"toProfileId\":" + a + ",\"relationType\":\"PEER\"," +
+                "\"bidirectional\":true}," +
+                "{\"fromProfileId\":" + a + ",\"toProfileId\":" + b + ",\"relationType\":\"PEER\"}," +
+                "{\"fromProfileId\":" + leibbursch.getId() + ",\"toProfileId\":" + a +
+                ",\"relationType\":\"" + Connection.RELATION_LEIBBURSCH + "\"}," +
+                "{\"fromProfileId\":" + a + ",\"toProfileId\":999999,\"relationType\":\"PEER\"}," +
+                "{\"fromProfileId\":" + a + ",\"toProfileId\":" + a + ",\"relationType\":\"PEER\"}," +
+                "{\"fromProfileId\":" + a + "}" +
+                "]";
+
+        statistics.clear();
+        mockMvc.perform(post("/api/connections/bulk").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalRows").value(7))
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.errors[0].row").value(3))
+                .andExpect(jsonPath("$.errors[0].message").value("Duplicate of row 1"))
+                .andExpect(jsonPath("$.errors[1].row").value(4))
+                .andExpect(jsonPath("$.errors[2].row").value(5))
+                .andExpect(jsonPath("$.errors[3].row").value(6))
+                .andExpect(jsonPath("$.errors[4].row").value(7));
+        // Profile lookup and existing connections; the inserts bypass Hibernate
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(connectionRepository.count()).isEqualTo(FUECHSE + 2);
+        assertStatements(0, "/api/connections/profile/" + a + "/from", 1);
+    }
+
+    @Test
+    @WithMockUser(authorities = "ROLE_ADMIN")
+    void bulkCsvImportReportsLineNumbers() throws Exception {
+        String csv = "fromProfileId,toProfileId,relationType,startDate,description\r\n" +
+                fuechse.get(0).getId() + "," + fuechse.get(1).getId() + ",PEER,2020-10-01,\"Conkneipant, \"\"Bude\"\"\"\r\n" +
+                fuechse.get(1).getId() + ",x,PEER,,\r\n" +
+                fuechse.get(2).getId() + "," + fuechse.get(3).getId() + ",PEER,2020-13-01,\r\n";
+
+        mockMvc.perform(post("/api/connections/bulk").contentType("text/csv").content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalRows").value(3))
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.errors[0].row").value(3))
+                .andExpect(jsonPath("$.errors[1].row").value(4));
+        mockMvc.perform(get("/api/connections/profile/" + fuechse.get(0).getId() + "/from"))
+                .andExpect(jsonPath("$[0].description").value("Conkneipant, \"Bude\""));
+    }
+}
@@ -0,0 +1,66 @@
+package com.blindworks.rhenanenmanager.controller;
+
+import com.blindworks.rhenanenmanager.domain.entity.CorpsMemberData;
+import com.blindworks.rhenanenmanager.domain.entity.Profile;
+import com.blindworks.rhenanenmanager.domain.entity.Role;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that lineages combine connections with the Leibbursch links of the corps member data.
+ */
+@WithMockUser(authorities = "ROLE_USER")
+class ConnectionLineageControllerTest extends ConnectionControllerTestSupport {
+
+    @Test
+    void lineageQueriesCorpsMemberDataPerGenerationAndAsOf() throws Exception {
+        Role role = roleRepository.findAll().get(0);
+        Profile enkel = createProfile(role, "enkel");
+        corpsMemberDataRepository.save(CorpsMemberData.builder()
+                .profile(enkel)
+                .leibBursch(fuechse.get(1))
+                .receptionDate(LocalDate.of(2022, 1, 1))
+                .quited(false)
+                .numberOfMensuren(0)
+                .numberOfReinigungen(0)
+                .build());
+
+        // One corps member data statement per generation, the last one finding nobody
+        statistics.clear();
+        mockMvc.perform(get("/api/connections/profile/" + leibbursch.getId() + "/lineage")
+                        .param("direction", "down"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.members.length()").value(FUECHSE + 1))
+                .andExpect(jsonPath("$.members[" + FUECHSE + "].profileId").value(enkel.getId()))
+                .andExpect(jsonPath("$.members[" + FUECHSE + "].generation").value(2))
+                .andExpect(jsonPath("$.members[" + FUECHSE + "].viaProfileId").value(fuechse.get(1).getId()));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+
+        // Before the reception the corps member data link does not count yet
+        mockMvc.perform(get("/api/connections/profile/" + leibbursch.getId() + "/lineage")
+                        .param("direction", "down")
+                        .param("asOf", "2021-06-01"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.members.length()").value(FUECHSE - 1));
+        // The direction is case-insensitive
+        mockMvc.perform(get("/api/connections/profile/" + leibbursch.getId() + "/lineage")
+                        .param("direction", "Down"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.members.length()").value(FUECHSE + 1));
+        mockMvc.perform(get("/api/connections/profile/" + enkel.getId() + "/lineage")
+                        .param("asOf", "2021-06-01"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.members.length()").value(0));
+        mockMvc.perform(get("/api/connections/profile/" + enkel.getId() + "/lineage")
+                        .param("asOf", "2022-06-01"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.members.length()").value(2));
+    }
+}
@@ -0,0 +1,28 @@
+package com.blindworks.rhenanenmanager.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that renamed members are picked up by the graph index.
+ */
+@WithMockUser(authorities = "ROLE_USER")
+class ConnectionNamesControllerTest extends ConnectionControllerTestSupport {
+
+    @Test
+    void renamedMembersAreRefreshedInGraphIndex() throws Exception {
+        leibbursch.setFirstname("Hans");
+        profileRepository.save(leibbursch);
+        assertThat(connectionGraphIndex.refreshNames()).isEqualTo(1);
+        assertThat(connectionGraphIndex.refreshNames()).isZero();
+
+        mockMvc.perform(get("/api/connections").param("asOf", "2020-06-01"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].fromProfileName").value("Hans Rhenane"));
+    }
+}
@@ -0,0 +1,44 @@
+package com.blindworks.rhenanenmanager.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that neighborhoods are answered from the graph index and follow changes to it.
+ */
+@WithMockUser(authorities = "ROLE_USER")
+class ConnectionNeighborhoodControllerTest extends ConnectionControllerTestSupport {
+
+    @Test
+    void neighborhoodIsServedFromGraphIndexAndCachedPerVersion() throws Exception {
+        String url = "/api/connections/profile/" + fuechse.get(1).getId() + "/neighborhood";
+        statistics.clear();
+        mockMvc.perform(get(url).param("hops", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.members.length()").value(2))
+                .andExpect(jsonPath("$.members[1].profileId").value(leibbursch.getId()))
+                .andExpect(jsonPath("$.connections.length()").value(1));
+        // The other Füchse are reached over the Leibbursch; the ended connection is skipped when activeOnly
+        mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.members.length()").value(FUECHSE + 1))
+                .andExpect(jsonPath("$.members[2].hops").value(2))
+                .andExpect(jsonPath("$.connections.length()").value(FUECHSE));
+        mockMvc.perform(get(url).param("activeOnly", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.members.length()").value(FUECHSE))
+                .andExpect(jsonPath("$.connections.length()").value(FUECHSE - 1));
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        connectionRepository.delete(connectionRepository.findById(connectionId).orElseThrow());
+        connectionGraphIndex.reload();
+        mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.connections.length()").value(FUECHSE - 1));
+    }
+}
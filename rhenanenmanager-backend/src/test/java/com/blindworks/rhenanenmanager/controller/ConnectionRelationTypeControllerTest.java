@@ -0,0 +1,35 @@
+package com.blindworks.rhenanenmanager.controller;
+
+import com.blindworks.rhenanenmanager.domain.entity.Connection;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that relation types are stored as dictionary IDs and listed by name.
+ */
+@WithMockUser(authorities = "ROLE_USER")
+class ConnectionRelationTypeControllerTest extends ConnectionControllerTestSupport {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void relationTypesAreStoredAsDictionaryIds() throws Exception {
+        Short id = jdbcTemplate.queryForObject(
+                "SELECT relation_type_id FROM connection WHERE id = ?", Short.class, connectionId);
+        assertThat(jdbcTemplate.queryForObject("SELECT name FROM relation_type WHERE id = ?", String.class, id))
+                .isEqualTo(Connection.RELATION_LEIBBURSCH);
+
+        mockMvc.perform(get("/api/connections/types"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@ == '" + Connection.RELATION_LEIBBURSCH + "')]").exists());
+        assertStatements(0, "/api/connections/type/UNKNOWN_TYPE", 0);
+    }
+}
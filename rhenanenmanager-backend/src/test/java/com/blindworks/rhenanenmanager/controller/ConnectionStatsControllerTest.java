@@ -0,0 +1,40 @@
+package com.blindworks.rhenanenmanager.controller;
+
+import com.blindworks.rhenanenmanager.service.graph.GraphAnalyticsJob;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that network statistics are served from the last analytics run.
+ */
+@WithMockUser(authorities = "ROLE_USER")
+class ConnectionStatsControllerTest extends ConnectionControllerTestSupport {
+
+    @Autowired
+    private GraphAnalyticsJob graphAnalyticsJob;
+
+    @Test
+    void statsServeLastAnalyticsRun() throws Exception {
+        graphAnalyticsJob.run();
+
+        mockMvc.perform(get("/api/connections/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.available").value(true))
+                .andExpect(jsonPath("$.stale").value(false))
+                .andExpect(jsonPath("$.profileCount").value(FUECHSE + 1))
+                .andExpect(jsonPath("$.componentCount").value(1))
+                .andExpect(jsonPath("$.familyCount").value(1))
+                .andExpect(jsonPath("$.membersPerGeneration[1]").value(FUECHSE))
+                .andExpect(jsonPath("$.topDegree[0].profileId").value(leibbursch.getId()));
+        mockMvc.perform(get("/api/connections/stats/profile/" + leibbursch.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.outDegree").value(FUECHSE))
+                .andExpect(jsonPath("$.generation").value(0))
+                .andExpect(jsonPath("$.familySize").value(FUECHSE + 1));
+    }
+}
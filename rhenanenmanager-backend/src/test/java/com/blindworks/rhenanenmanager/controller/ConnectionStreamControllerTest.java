@@ -0,0 +1,30 @@
+package com.blindworks.rhenanenmanager.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that all connections can be streamed as NDJSON, one line per connection.
+ */
+@WithMockUser(authorities = "ROLE_USER")
+class ConnectionStreamControllerTest extends ConnectionControllerTestSupport {
+
+    @Test
+    void ndjsonStreamsOneLinePerConnection() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/connections").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThat(body.lines()).hasSize(FUECHSE).allMatch(line -> line.startsWith("{\"id\":"));
+    }
+}
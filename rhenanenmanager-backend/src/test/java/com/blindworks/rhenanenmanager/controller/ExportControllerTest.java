@@ -0,0 +1,195 @@
+package com.blindworks.rhenanenmanager.controller;
+
+import com.blindworks.rhenanenmanager.domain.entity.Profile;
+import com.blindworks.rhenanenmanager.domain.entity.Role;
+import com.blindworks.rhenanenmanager.domain.entity.User;
+import com.blindworks.rhenanenmanager.domain.repository.ArticleBodyRepository;
+import com.blindworks.rhenanenmanager.domain.repository.ArticleEntryRepository;
+import com.blindworks.rhenanenmanager.domain.repository.ProfileRepository;
+import com.blindworks.rhenanenmanager.domain.repository.RoleRepository;
+import com.blindworks.rhenanenmanager.domain.repository.UserRepository;
+import com.blindworks.rhenanenmanager.service.csv.CsvReader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies the streaming exports in all formats, with and without gzip.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser(authorities = "ROLE_ADMIN")
+class ExportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ArticleEntryRepository articleEntryRepository;
+
+    @Autowired
+    private ArticleBodyRepository articleBodyRepository;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @AfterEach
+    void tearDown() {
+        articleBodyRepository.deleteAll();
+        articleEntryRepository.deleteAll();
+        profileRepository.deleteAll();
+        userRepository.deleteAll();
+        roleRepository.deleteAll();
+    }
+
+    @Test
+    void exportsArticlesAsGzippedCsvWithTexts() throws Exception {
+        create("Stiftungsfest 2024", "Der Kommers, dann der Ball.\\nZweite Zeile mit \\\"Zitat\\\".");
+        create("Semesterbericht", "Kurz.");
+
+        MockHttpServletResponse response = export(get("/api/articles/export")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"));
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(response.getContentType()).startsWith("text/csv");
+        assertThat(response.getHeader(HttpHeaders.CONTENT_DISPOSITION)).contains("rhenanenruf-articles.csv");
+
+        CsvReader csv = new CsvReader(new InputStreamReader(
+                new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray())),
+                StandardCharsets.UTF_8));
+        List<String> header = csv.next();
+        List<List<String>> rows = new ArrayList<>();
+        for (List<String> row = csv.next(); row != null; row = csv.next()) {
+            rows.add(row);
+        }
+        assertThat(header).startsWith("id", "title").endsWith("text");
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).get(header.indexOf("title"))).isEqualTo("Stiftungsfest 2024");
+        assertThat(rows.get(0).get(header.indexOf("text")))
+                .isEqualTo("Der Kommers, dann der Ball.\nZweite Zeile mit \"Zitat\".");
+        assertThat(rows.get(1).get(header.indexOf("text"))).isEqualTo("Kurz.");
+    }
+
+    @Test
+    void exportsArticlesAsNdjsonWithoutGzipUnlessAccepted() throws Exception {
+        create("Stiftungsfest 2024", "Text");
+        create("Semesterbericht", "Kurz.");
+
+        MockHttpServletResponse response = export(get("/api/articles/export").param("format", "ndjson"));
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(response.getContentType()).isEqualTo(MediaType.APPLICATION_NDJSON_VALUE);
+        assertThat(response.getContentAsString(StandardCharsets.UTF_8).lines())
+                .hasSize(2)
+                .allMatch(line -> line.startsWith("{\"id\":"))
+                .anyMatch(line -> line.contains("\"title\":\"Semesterbericht\"") && line.contains("\"text\":\"Kurz.\""));
+    }
+
+    @Test
+    void exportsArticlesAsXlsxWorkbook() throws Exception {
+        create("Stiftungsfest <2024> & Ball", "Text");
+
+        // Zip archives are not gzipped again
+        MockHttpServletResponse response = export(get("/api/articles/export").param("format", "XLSX")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip"));
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+
+        Map<String, String> parts = new HashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                parts.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        assertThat(parts).containsKeys("[Content_Types].xml", "_rels/.rels", "xl/workbook.xml",
+                "xl/_rels/workbook.xml.rels", "xl/worksheets/sheet1.xml");
+        assertThat(parts.get("xl/worksheets/sheet1.xml"))
+                .contains("<t xml:space=\"preserve\">title</t>")
+                .contains("Stiftungsfest &lt;2024&gt; &amp; Ball")
+                .endsWith("</sheetData></worksheet>");
+    }
+
+    @Test
+    void exportsMemberDirectory() throws Exception {
+        Role role = roleRepository.save(Role.builder().name("ROLE_EXPORT").build());
+        User user = userRepository.save(User.builder()
+                .username("hans")
+                .password("secret")
+                .email("hans@example.org")
+                .firstname("Hans")
+                .lastname("Müller")
+                .role(role)
+                .build());
+        profileRepository.save(Profile.builder()
+                .user(user)
+                .firstname("Hans")
+                .lastname("Müller")
+                .email("hans@example.org")
+                .build());
+
+        MockHttpServletResponse response = export(get("/api/profiles/export"));
+        assertThat(response.getHeader(HttpHeaders.CONTENT_DISPOSITION)).contains("members.csv");
+        CsvReader csv = new CsvReader(new InputStreamReader(
+                new ByteArrayInputStream(response.getContentAsByteArray()), StandardCharsets.UTF_8));
+        List<String> header = csv.next();
+        List<String> row = csv.next();
+        assertThat(csv.next()).isNull();
+        assertThat(row.get(header.indexOf("lastname"))).isEqualTo("Müller");
+        assertThat(row.get(header.indexOf("email"))).isEqualTo("hans@example.org");
+        assertThat(row.get(header.indexOf("memberNumber"))).isEmpty();
+    }
+
+    @Test
+    void rejectsUnknownFormat() throws Exception {
+        mockMvc.perform(get("/api/articles/export").param("format", "pdf"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private MockHttpServletResponse export(MockHttpServletRequestBuilder builder) throws Exception {
+        MvcResult result = mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+    }
+
+    private void create(String title, String text) throws Exception {
+        mockMvc.perform(post("/api/articles")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"" + title + "\",\"text\":\"" + text + "\"}"))
+                .andExpect(status().isCreated());
+    }
+}
@@ -0,0 +1,131 @@
+package com.blindworks.rhenanenmanager.controller;
+
+import com.blindworks.rhenanenmanager.domain.repository.ArticleEntryRepository;
+import com.blindworks.rhenanenmanager.domain.repository.RelatedArticleRepository;
+import com.blindworks.rhenanenmanager.service.search.ArticleSearchIndex;
+import com.blindworks.rhenanenmanager.service.search.RelatedArticleJob;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that related articles are served from the precomputed lists with one query and
+ * that the incremental updates follow created, updated and deleted articles.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser(authorities = "ROLE_ADMIN")
+class RelatedArticlesControllerTest {
+
+    private static final String FEST = "Zum Stiftungsfest kamen viele Alte Herren nach Bonn. Der Kommers im Kneipsaal " +
+            "begann mit der Festrede des Seniors, danach Chargierte, Landesvater und Gesang. Am Samstag folgte " +
+            "der Ball im Kurhaus mit Tanz bis zum Morgen.";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ArticleEntryRepository articleEntryRepository;
+
+    @Autowired
+    private RelatedArticleRepository relatedArticleRepository;
+
+    @Autowired
+    private ArticleSearchIndex articleSearchIndex;
+
+    @Autowired
+    private RelatedArticleJob relatedArticleJob;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        articleSearchIndex.reload();
+    }
+
+    @AfterEach
+    void tearDown() {
+        relatedArticleRepository.deleteAll();
+        articleEntryRepository.deleteAll();
+        articleSearchIndex.reload();
+    }
+
+    @Test
+    void relatedArticlesFollowChanges() throws Exception {
+        long fest = create("Stiftungsfest 2024", FEST);
+        long festReport = create("Bericht vom Stiftungsfest", FEST.replace("Bonn", "Bad Godesberg")
+                .replace("Samstag", "Sonntag"));
+        long house = create("Renovierung", "Im Corpshaus wurden neue Fenster eingesetzt, das Dach gedeckt, " +
+                "die Heizung erneuert und der Garten hinter dem Haus gepflegt.");
+        long sailing = create("Segeltörn", "Mit dem Boot ging es über den Rhein bis Koblenz, bei Wind und " +
+                "Wetter, abends wurde der Anker im Hafen geworfen.");
+        relatedArticleJob.rebuild();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        mockMvc.perform(get("/api/articles/" + fest + "/related"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(festReport))
+                .andExpect(jsonPath("$[0].title").value("Bericht vom Stiftungsfest"))
+                .andExpect(jsonPath("$[0].text").doesNotExist());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        statistics.setStatisticsEnabled(false);
+        mockMvc.perform(get("/api/articles/" + house + "/related"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+
+        // The sailing trip becomes a festival report, the first report goes away
+        mockMvc.perform(put("/api/articles/" + sailing)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Stiftungsfest\",\"text\":\"" + FEST + "\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/articles/" + festReport)).andExpect(status().isNoContent());
+        long newcomer = create("Nach dem Stiftungsfest", FEST.replace("Kurhaus", "Hotel"));
+        relatedArticleJob.update();
+
+        mockMvc.perform(get("/api/articles/" + fest + "/related"))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(sailing))
+                .andExpect(jsonPath("$[0].similarity").value(greaterThan(0.8)))
+                .andExpect(jsonPath("$[1].id").value(newcomer));
+        mockMvc.perform(get("/api/articles/" + newcomer + "/related"))
+                .andExpect(jsonPath("$[*].id", hasItem((int) fest)))
+                .andExpect(jsonPath("$[*].id", not(hasItem((int) festReport))));
+        assertThat(relatedArticleRepository.findItemsByArticleId(festReport)).isEmpty();
+        mockMvc.perform(get("/api/articles/" + festReport + "/related")).andExpect(status().isNotFound());
+    }
+
+    private long create(String title, String text) throws Exception {
+        String body = mockMvc.perform(post("/api/articles")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"" + title + "\",\"text\":\"" + text + "\",\"year\":2024}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return Long.parseLong(body.replaceAll("^\\{\"id\":(\\d+).*$", "$1"));
+    }
+}
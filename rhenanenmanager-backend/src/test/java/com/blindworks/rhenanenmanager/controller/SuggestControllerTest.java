@@ -0,0 +1,165 @@
+package com.blindworks.rhenanenmanager.controller;
+
+import com.blindworks.rhenanenmanager.domain.entity.Profile;
+import com.blindworks.rhenanenmanager.domain.entity.Role;
+import com.blindworks.rhenanenmanager.domain.entity.User;
+import com.blindworks.rhenanenmanager.domain.repository.ArticleEntryRepository;
+import com.blindworks.rhenanenmanager.domain.repository.ProfileRepository;
+import com.blindworks.rhenanenmanager.domain.repository.RoleRepository;
+import com.blindworks.rhenanenmanager.domain.repository.UserRepository;
+import com.blindworks.rhenanenmanager.service.search.ArticleSuggestIndex;
+import com.blindworks.rhenanenmanager.service.search.ProfileSuggestIndex;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies the search-as-you-type endpoints: answered without queries and kept in sync
+ * with article writes.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser(authorities = "ROLE_ADMIN")
+class SuggestControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ArticleEntryRepository articleEntryRepository;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private ArticleSuggestIndex articleSuggestIndex;
+
+    @Autowired
+    private ProfileSuggestIndex profileSuggestIndex;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        articleSuggestIndex.reload();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+        articleEntryRepository.deleteAll();
+        profileRepository.deleteAll();
+        userRepository.deleteAll();
+        roleRepository.deleteAll();
+        articleSuggestIndex.reload();
+        profileSuggestIndex.reload();
+    }
+
+    @Test
+    void suggestsCategoriesAndNewestTitlesFromMemory() throws Exception {
+        long older = create("Bericht vom Stiftungsfest", "Feste", 2019);
+        create("Stiftungsfest 2024", "Feste", 2024);
+        create("Aus dem Corpshaus", "Haus", 2024);
+
+        statistics.clear();
+        statistics.setStatisticsEnabled(true);
+        mockMvc.perform(get("/api/articles/suggest").param("prefix", "Stiftungsf"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].type").value("ARTICLE"))
+                .andExpect(jsonPath("$[0].text").value("Stiftungsfest 2024"))
+                .andExpect(jsonPath("$[1].id").value(older));
+        mockMvc.perform(get("/api/articles/suggest").param("prefix", "fe"))
+                .andExpect(jsonPath("$[0].type").value("CATEGORY"))
+                .andExpect(jsonPath("$[0].text").value("Feste"));
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        statistics.setStatisticsEnabled(false);
+
+        mockMvc.perform(put("/api/articles/" + older)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Bericht vom Kommers\",\"category\":\"Haus\",\"year\":2019}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/articles/suggest").param("prefix", "stift"))
+                .andExpect(jsonPath("$", hasSize(1)));
+        mockMvc.perform(get("/api/articles/suggest").param("prefix", "ha").param("limit", "1"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].text").value("Haus"));
+        mockMvc.perform(delete("/api/articles/" + older)).andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/articles/suggest").param("prefix", "kommers"))
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    void suggestsProfilesByAnyNamePart() throws Exception {
+        Role role = roleRepository.save(Role.builder().name("ROLE_SUGGEST").build());
+        createProfile(role, "Hans", "Müller");
+        createProfile(role, "Karl", "Mustermann");
+        profileSuggestIndex.reload();
+
+        mockMvc.perform(get("/api/profiles/suggest").param("prefix", "Mu"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].type").value("PROFILE"))
+                .andExpect(jsonPath("$[0].text").value("Hans Müller"));
+        mockMvc.perform(get("/api/profiles/suggest").param("prefix", "karl must"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].text").value("Karl Mustermann"));
+    }
+
+    private long create(String title, String category, int year) throws Exception {
+        String body = mockMvc.perform(post("/api/articles")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"" + title + "\",\"category\":\"" + category + "\",\"year\":" + year + "}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return Long.parseLong(body.replaceAll("^\\{\"id\":(\\d+).*$", "$1"));
+    }
+
+    private void createProfile(Role role, String firstname, String lastname) {
+        String name = (firstname + lastname).toLowerCase();
+        User user = userRepository.save(User.builder()
+                .username(name)
+                .password("secret")
+                .email(name + "@example.org")
+                .firstname(firstname)
+                .lastname(lastname)
+                .role(role)
+                .build());
+        profileRepository.save(Profile.builder()
+                .user(user)
+                .firstname(firstname)
+                .lastname(lastname)
+                .email(name + "@example.org")
+                .build());
+    }
+}
@@ -0,0 +1,50 @@
+package com.blindworks.rhenanenmanager.domain.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.DeflaterOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompressedTextConverterTest {
+
+    private final CompressedTextConverter converter = new CompressedTextConverter();
+
+    @Test
+    void roundTripsTextsAndCompressesThem() {
+        String text = "Beim Stiftungsfest sprach der Senior über Bundesbrüder, Kneipe und Kommers. ".repeat(100);
+        byte[] compressed = converter.convertToDatabaseColumn(text);
+        assertThat(compressed.length * 10).isLessThan(text.getBytes(StandardCharsets.UTF_8).length);
+        assertThat(converter.convertToEntityAttribute(compressed)).isEqualTo(text);
+
+        assertThat(converter.convertToEntityAttribute(converter.convertToDatabaseColumn("ä"))).isEqualTo("ä");
+        assertThat(converter.convertToDatabaseColumn("")).isEmpty();
+        assertThat(converter.convertToEntityAttribute(new byte[0])).isEmpty();
+        assertThat(converter.convertToDatabaseColumn(null)).isNull();
+        assertThat(converter.convertToEntityAttribute(null)).isNull();
+    }
+
+    @Test
+    void readsMysqlCompressFormat() throws Exception {
+        // COMPRESS('Größe'): UTF-8 length, little-endian, then any zlib stream
+        byte[] raw = "Größe".getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(new byte[]{(byte) raw.length, 0, 0, 0});
+        try (DeflaterOutputStream deflater = new DeflaterOutputStream(out)) {
+            deflater.write(raw);
+        }
+        assertThat(converter.convertToEntityAttribute(out.toByteArray())).isEqualTo("Größe");
+
+        byte[] written = converter.convertToDatabaseColumn("Größe");
+        assertThat(Arrays.copyOf(written, 4)).containsExactly(raw.length, 0, 0, 0);
+        // A stream shorter than its stated length
+        byte[] corrupt = written.clone();
+        corrupt[0] += 5;
+        assertThatThrownBy(() -> converter.convertToEntityAttribute(corrupt))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
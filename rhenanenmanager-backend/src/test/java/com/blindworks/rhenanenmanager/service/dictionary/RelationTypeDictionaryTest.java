@@ -0,0 +1,91 @@
+package com.blindworks.rhenanenmanager.service.dictionary;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RelationTypeDictionaryTest {
+
+    private String url;
+    private JdbcTemplate jdbcTemplate;
+    private AtomicInteger loads;
+    private RelationTypeDictionary dictionary;
+
+    @BeforeEach
+    void setUp() {
+        url = "jdbc:h2:mem:relation_types_" + System.nanoTime() + ";MODE=MySQL;DB_CLOSE_DELAY=-1";
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(url);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE relation_type (id SMALLINT AUTO_INCREMENT PRIMARY KEY, " +
+                             "name VARCHAR(50) NOT NULL UNIQUE)");
+        jdbcTemplate.update("INSERT INTO relation_type (name) VALUES ('LEIBBURSCH')");
+        loads = new AtomicInteger();
+        JdbcTemplate countingTemplate = new JdbcTemplate(dataSource) {
+            @Override
+            public void query(String sql, RowCallbackHandler handler) {
+                loads.incrementAndGet();
+                super.query(sql, handler);
+            }
+        };
+        dictionary = new RelationTypeDictionary(countingTemplate);
+    }
+
+    @Test
+    void lookupsOfUnknownNamesNeitherRegisterNorReloadRepeatedly() {
+        assertThat(dictionary.codeOf("LEIBBURSCH")).isEqualTo((short) 1);
+        for (int i = 0; i < 100; i++) {
+            assertThat(dictionary.codeOf("UNBEKANNT")).isEqualTo(RelationTypeDictionary.UNKNOWN);
+        }
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM relation_type", Integer.class)).isEqualTo(1);
+    }
+
+    @Test
+    void registerAddsNamesAndIdMissesReload() {
+        short id = dictionary.register("FREUND");
+        assertThat(id).isNotEqualTo(RelationTypeDictionary.UNKNOWN);
+        assertThat(dictionary.codeOf("FREUND")).isEqualTo(id);
+        assertThat(dictionary.register("FREUND")).isEqualTo(id);
+
+        // Registered elsewhere: the ID comes from a row, so it is looked up right away
+        jdbcTemplate.update("INSERT INTO relation_type (name) VALUES ('BUNDESBRUDER')");
+        short other = jdbcTemplate.queryForObject("SELECT id FROM relation_type WHERE name = 'BUNDESBRUDER'",
+                Short.class);
+        assertThat(dictionary.nameOf(other)).isEqualTo("BUNDESBRUDER");
+        assertThat(dictionary.names()).containsExactly("BUNDESBRUDER", "FREUND", "LEIBBURSCH");
+    }
+
+    @Test
+    void registerUsesTheCallersConnectionAndRollsBackWithIt() {
+        try (HikariDataSource pool = new HikariDataSource()) {
+            pool.setJdbcUrl(url);
+            pool.setMaximumPoolSize(1);
+            pool.setConnectionTimeout(1000);
+            RelationTypeDictionary pooled = new RelationTypeDictionary(new JdbcTemplate(pool));
+            TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(pool));
+
+            // The only connection is held by the transaction; registering must not ask for another
+            short id = transaction.execute(status -> pooled.register("FREUND"));
+            assertThat(pooled.codeOf("FREUND")).isEqualTo(id);
+            assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM relation_type WHERE name = 'FREUND'",
+                    Integer.class)).isEqualTo(1);
+
+            transaction.executeWithoutResult(status -> {
+                pooled.register("KARTELLBRUDER");
+                status.setRollbackOnly();
+            });
+            assertThat(pooled.names()).containsExactly("FREUND", "LEIBBURSCH");
+            assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM relation_type WHERE name = 'KARTELLBRUDER'",
+                    Integer.class)).isZero();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.blindworks.rhenanenmanager.service.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that {@link BloomFilter} never misses an added hash and stays near its false
+ * positive rate at capacity.
+ */
+class BloomFilterTest {
+
+    private static final int CAPACITY = 10_000;
+
+    @Test
+    void containsEveryAddedHashAndFewOthers() {
+        SplittableRandom random = new SplittableRandom(42);
+        BloomFilter filter = new BloomFilter(CAPACITY);
+        Set<Long> added = new HashSet<>();
+        while (added.size() < CAPACITY) {
+            long hash = random.nextLong();
+            added.add(hash);
+            filter.add(hash);
+        }
+        for (long hash : added) {
+            assertThat(filter.mightContain(hash)).isTrue();
+        }
+
+        int falsePositives = 0;
+        int probes = 0;
+        while (probes < 100_000) {
+            long hash = random.nextLong();
+            if (!added.contains(hash)) {
+                probes++;
+                falsePositives += filter.mightContain(hash) ? 1 : 0;
+            }
+        }
+        // Sized for about 1%
+        assertThat(falsePositives).isLessThan(probes * 3 / 100);
+    }
+
+    @Test
+    void smallCapacitiesAreRoundedUp() {
+        assertThat(new BloomFilter(0).capacity()).isEqualTo(64);
+        assertThat(new BloomFilter(1_000).capacity()).isEqualTo(1_000);
+    }
+}
@@ -0,0 +1,165 @@
+package com.blindworks.rhenanenmanager.service.graph;
+
+import com.blindworks.rhenanenmanager.domain.entity.Connection;
+import com.blindworks.rhenanenmanager.domain.entity.Profile;
+import com.blindworks.rhenanenmanager.domain.entity.Role;
+import com.blindworks.rhenanenmanager.domain.entity.User;
+import com.blindworks.rhenanenmanager.domain.repository.ConnectionRepository;
+import com.blindworks.rhenanenmanager.domain.repository.ProfileRepository;
+import com.blindworks.rhenanenmanager.domain.repository.RoleRepository;
+import com.blindworks.rhenanenmanager.domain.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark for the existence check of {@link ConnectionGraphIndex} against the COUNT query
+ * it replaced, on random lookups of which about half hit. Logs the time per lookup of both
+ * and fails if the answers differ or the index is not clearly faster. Tagged as a benchmark,
+ * so it only runs with {@code mvn test -Pbenchmark}; {@link BloomFilterTest} and
+ * {@link LongIntHashMapTest} cover the structures behind the check in the default build.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Slf4j
+@Tag("benchmark")
+class ConnectionExistsBenchmarkTest {
+
+    private static final int MEMBERS = 300;
+    private static final int CONNECTIONS = 1_500;
+    private static final int LOOKUPS = 2_000;
+    private static final String[] TYPES = {Connection.RELATION_LEIBBURSCH, "CONTACT", "FRIEND"};
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private ConnectionRepository connectionRepository;
+
+    @Autowired
+    private ConnectionGraphIndex connectionGraphIndex;
+
+    private final List<Profile> profiles = new ArrayList<>();
+    private final List<Connection> connections = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Role role = roleRepository.save(Role.builder().name("ROLE_BENCHMARK").build());
+        for (int i = 0; i < MEMBERS; i++) {
+            String name = "member" + i;
+            User user = userRepository.save(User.builder()
+                    .username(name)
+                    .password("secret")
+                    .email(name + "@example.org")
+                    .firstname(name)
+                    .lastname("Rhenane")
+                    .role(role)
+                    .build());
+            profiles.add(profileRepository.save(Profile.builder()
+                    .user(user)
+                    .firstname(name)
+                    .lastname("Rhenane")
+                    .email(name + "@example.org")
+                    .build()));
+        }
+        SplittableRandom random = new SplittableRandom(42);
+        Set<String> keys = new HashSet<>();
+        while (connections.size() < CONNECTIONS) {
+            int from = random.nextInt(MEMBERS);
+            int to = (from + 1 + random.nextInt(MEMBERS - 1)) % MEMBERS;
+            // Leibbursch only forward, so the lineage stays acyclic
+            String type = TYPES[from < to ? random.nextInt(TYPES.length) : 1 + random.nextInt(2)];
+            // At most one connection per pair and type, like the unique constraint
+            if (!keys.add(from + ">" + to + ":" + type)) {
+                continue;
+            }
+            connections.add(Connection.builder()
+                    .fromProfile(profiles.get(from))
+                    .toProfile(profiles.get(to))
+                    .relationType(type)
+                    .build());
+        }
+        connectionRepository.saveAll(connections);
+        connectionGraphIndex.reload();
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionRepository.deleteAll();
+        profileRepository.deleteAll();
+        userRepository.deleteAll();
+        roleRepository.deleteAll();
+        connectionGraphIndex.reload();
+    }
+
+    @Test
+    void indexAnswersLikeTheQueryAndFaster() {
+        SplittableRandom random = new SplittableRandom(7);
+        long[] from = new long[LOOKUPS];
+        long[] to = new long[LOOKUPS];
+        String[] types = new String[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            if (random.nextBoolean()) {
+                Connection hit = connections.get(random.nextInt(connections.size()));
+                from[i] = hit.getFromProfile().getId();
+                to[i] = hit.getToProfile().getId();
+                types[i] = hit.getRelationType();
+            } else {
+                from[i] = profiles.get(random.nextInt(MEMBERS)).getId();
+                to[i] = profiles.get(random.nextInt(MEMBERS)).getId();
+                types[i] = TYPES[random.nextInt(TYPES.length)];
+            }
+        }
+
+        boolean[] expected = new boolean[LOOKUPS];
+        long started = System.nanoTime();
+        for (int i = 0; i < LOOKUPS; i++) {
+            expected[i] = connectionRepository.existsByFromProfileIdAndToProfileIdAndRelationType(
+                    from[i], to[i], types[i]);
+        }
+        long queryNanos = System.nanoTime() - started;
+
+        // Warm up, then measure over several rounds: a single round is too short to time
+        int rounds = 50;
+        boolean[] actual = new boolean[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            actual[i] = connectionGraphIndex.containsConnection(from[i], to[i], types[i]);
+        }
+        started = System.nanoTime();
+        for (int round = 0; round < rounds; round++) {
+            for (int i = 0; i < LOOKUPS; i++) {
+                actual[i] = connectionGraphIndex.containsConnection(from[i], to[i], types[i]);
+            }
+        }
+        long indexNanos = (System.nanoTime() - started) / rounds;
+
+        int hits = 0;
+        for (boolean exists : expected) {
+            hits += exists ? 1 : 0;
+        }
+        log.info("Existence check over {} connections, {} lookups ({} hits): query {} ns/lookup, index {} ns/lookup",
+                CONNECTIONS, LOOKUPS, hits, queryNanos / LOOKUPS, indexNanos / LOOKUPS);
+
+        assertThat(actual).isEqualTo(expected);
+        assertThat(indexNanos * 10).isLessThan(queryNanos);
+    }
+}
@@ -0,0 +1,88 @@
+package com.blindworks.rhenanenmanager.service.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the maintained order against a plain reachability search on random graphs.
+ */
+class DynamicTopologicalOrderTest {
+
+    @Test
+    void rejectsExactlyTheEdgesThatCloseCycles() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int round = 0; round < 20; round++) {
+            int n = 30 + random.nextInt(50);
+            DynamicTopologicalOrder order = new DynamicTopologicalOrder();
+            List<List<Integer>> adjacency = new ArrayList<>();
+            for (int node = 0; node < n; node++) {
+                adjacency.add(new ArrayList<>());
+            }
+            for (int i = 0; i < 4 * n; i++) {
+                int from = random.nextInt(n);
+                int to = random.nextInt(n);
+                boolean closes = from == to || reaches(adjacency, to, from);
+                assertThat(order.wouldCloseCycle(from, to, -1, -1)).isEqualTo(closes);
+                assertThat(order.addEdge(from, to)).isEqualTo(!closes);
+                if (!closes) {
+                    adjacency.get(from).add(to);
+                }
+                assertThat(order.isConsistent()).isTrue();
+            }
+        }
+    }
+
+    @Test
+    void forcedCyclesFallBackToFullSearchUntilRemoved() {
+        DynamicTopologicalOrder order = new DynamicTopologicalOrder();
+        assertThat(order.addEdge(0, 1)).isTrue();
+        assertThat(order.addEdge(1, 2)).isTrue();
+        assertThat(order.addEdge(2, 0)).isFalse();
+        order.forceEdge(2, 0);
+        assertThat(order.isAcyclic()).isFalse();
+        assertThat(order.wouldCloseCycle(2, 3, -1, -1)).isFalse();
+        assertThat(order.addEdge(3, 1)).isTrue();
+        assertThat(order.wouldCloseCycle(1, 3, -1, -1)).isTrue();
+
+        order.removeEdge(2, 0);
+        assertThat(order.isAcyclic()).isTrue();
+        assertThat(order.isConsistent()).isTrue();
+        assertThat(order.wouldCloseCycle(2, 0, -1, -1)).isTrue();
+        // Ignoring 0 -> 1, as when that connection is being changed
+        assertThat(order.wouldCloseCycle(2, 0, 0, 1)).isFalse();
+    }
+
+    @Test
+    void copyIsIndependent() {
+        DynamicTopologicalOrder order = new DynamicTopologicalOrder();
+        order.addEdge(0, 1);
+        DynamicTopologicalOrder trial = order.copy();
+        assertThat(trial.addEdge(1, 2)).isTrue();
+        assertThat(trial.wouldCloseCycle(2, 0, -1, -1)).isTrue();
+        assertThat(order.wouldCloseCycle(2, 0, -1, -1)).isFalse();
+    }
+
+    private static boolean reaches(List<List<Integer>> adjacency, int from, int to) {
+        boolean[] seen = new boolean[adjacency.size()];
+        List<Integer> pending = new ArrayList<>(List.of(from));
+        seen[from] = true;
+        while (!pending.isEmpty()) {
+            int node = pending.remove(pending.size() - 1);
+            if (node == to) {
+                return true;
+            }
+            for (int next : adjacency.get(node)) {
+                if (!seen[next]) {
+                    seen[next] = true;
+                    pending.add(next);
+                }
+            }
+        }
+        return false;
+    }
+}
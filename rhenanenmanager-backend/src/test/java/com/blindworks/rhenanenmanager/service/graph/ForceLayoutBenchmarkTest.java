@@ -0,0 +1,72 @@
+package com.blindworks.rhenanenmanager.service.graph;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark for {@link ForceLayout} on a synthetic Corps network: Leibbursch trees per
+ * semester cohort plus random peer connections. Logs computation time and layout quality
+ * and fails if either degrades noticeably. Tagged as a benchmark, so it only runs with
+ * {@code mvn test -Pbenchmark}; {@link ForceLayoutTest} covers the layout in the default build.
+ */
+@Slf4j
+@Tag("benchmark")
+class ForceLayoutBenchmarkTest {
+
+    private static final int MEMBERS = 3_000;
+    private static final int PEERS = 1_200;
+
+    @Test
+    void layoutsCorpsNetworkQuicklyAndCompactly() {
+        SplittableRandom random = new SplittableRandom(42);
+        List<int[]> edges = new ArrayList<>();
+        for (int member = 1; member < MEMBERS; member++) {
+            // Leibbursch from the previous few semesters
+            int leibbursch = Math.max(0, member - 1 - random.nextInt(Math.min(member, 40)));
+            edges.add(new int[]{leibbursch, member});
+        }
+        for (int i = 0; i < PEERS; i++) {
+            int a = random.nextInt(MEMBERS);
+            edges.add(new int[]{a, Math.min(MEMBERS - 1, a + 1 + random.nextInt(20))});
+        }
+        int[] from = edges.stream().mapToInt(edge -> edge[0]).toArray();
+        int[] to = edges.stream().mapToInt(edge -> edge[1]).toArray();
+
+        ForceLayout random0 = new ForceLayout(MEMBERS, from, to, ForkJoinPool.commonPool());
+        random0.placeRemaining(new boolean[MEMBERS], 1);
+        double initialRatio = random0.edgeLengthRatio(7);
+
+        long started = System.nanoTime();
+        ForceLayout layout = new ForceLayout(MEMBERS, from, to, ForkJoinPool.commonPool());
+        layout.placeRemaining(new boolean[MEMBERS], 1);
+        layout.run(300, Math.sqrt(MEMBERS));
+        long fullMillis = (System.nanoTime() - started) / 1_000_000;
+        double ratio = layout.edgeLengthRatio(7);
+
+        // Incremental update: start from the finished layout
+        started = System.nanoTime();
+        ForceLayout incremental = new ForceLayout(MEMBERS, from, to, ForkJoinPool.commonPool());
+        for (int node = 0; node < MEMBERS; node++) {
+            incremental.place(node, layout.x(node), layout.y(node));
+        }
+        incremental.run(50, 1);
+        long incrementalMillis = (System.nanoTime() - started) / 1_000_000;
+        double incrementalRatio = incremental.edgeLengthRatio(7);
+
+        log.info("Layout of {} nodes / {} edges: full {} ms (ratio {} -> {}), incremental {} ms (ratio {}), {} threads",
+                MEMBERS, from.length, fullMillis, String.format("%.3f", initialRatio), String.format("%.3f", ratio),
+                incrementalMillis, String.format("%.3f", incrementalRatio), ForkJoinPool.commonPool().getParallelism());
+
+        assertThat(ratio).isLessThan(initialRatio / 2);
+        assertThat(incrementalRatio).isLessThan(ratio * 1.2);
+        assertThat(fullMillis).isLessThan(30_000);
+    }
+}
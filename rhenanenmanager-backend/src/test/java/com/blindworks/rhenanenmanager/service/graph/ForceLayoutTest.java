@@ -0,0 +1,69 @@
+package com.blindworks.rhenanenmanager.service.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks {@link ForceLayout} on small fixed graphs: equal inputs give equal layouts, and the
+ * simulation pulls connected nodes together.
+ */
+class ForceLayoutTest {
+
+    /**
+     * Two separate rings of 20 nodes each.
+     */
+    private static final int NODES = 40;
+    private static final int[] FROM = new int[NODES];
+    private static final int[] TO = new int[NODES];
+
+    static {
+        for (int node = 0; node < NODES; node++) {
+            FROM[node] = node;
+            TO[node] = node % 20 == 19 ? node - 19 : node + 1;
+        }
+    }
+
+    @Test
+    void equalInputsGiveEqualLayouts() {
+        ForceLayout first = layout(1);
+        ForceLayout second = layout(1);
+        for (int node = 0; node < NODES; node++) {
+            assertThat(second.x(node)).isEqualTo(first.x(node));
+            assertThat(second.y(node)).isEqualTo(first.y(node));
+        }
+    }
+
+    @Test
+    void simulationPullsConnectedNodesTogether() {
+        ForceLayout start = new ForceLayout(NODES, FROM, TO, ForkJoinPool.commonPool());
+        start.placeRemaining(new boolean[NODES], 1);
+        ForceLayout layout = layout(1);
+        assertThat(layout.edgeLengthRatio(7)).isLessThan(start.edgeLengthRatio(7));
+        for (int node = 0; node < NODES; node++) {
+            assertThat(Double.isFinite(layout.x(node)) && Double.isFinite(layout.y(node))).isTrue();
+        }
+    }
+
+    @Test
+    void placedNodesKeepTheirStartPositions() {
+        ForceLayout layout = new ForceLayout(NODES, FROM, TO, ForkJoinPool.commonPool());
+        boolean[] placed = new boolean[NODES];
+        layout.place(0, 100, -50);
+        placed[0] = true;
+        layout.placeRemaining(placed, 1);
+        assertThat(layout.x(0)).isEqualTo(100);
+        assertThat(layout.y(0)).isEqualTo(-50);
+        // Placed next to the already placed neighbour, not on the spiral around the origin
+        assertThat(Math.hypot(layout.x(1) - 100, layout.y(1) + 50)).isLessThan(Math.hypot(100, 50));
+    }
+
+    private static ForceLayout layout(long seed) {
+        ForceLayout layout = new ForceLayout(NODES, FROM, TO, ForkJoinPool.commonPool());
+        layout.placeRemaining(new boolean[NODES], seed);
+        layout.run(100, Math.sqrt(NODES));
+        return layout;
+    }
+}
@@ -0,0 +1,54 @@
+package com.blindworks.rhenanenmanager.service.graph;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.blindworks.rhenanenmanager.service.graph.GraphAnalyticsTest.LEIBBURSCH;
+import static com.blindworks.rhenanenmanager.service.graph.GraphAnalyticsTest.snapshot;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Running time of {@link GraphAnalytics} on a synthetic network of 50,000 profiles.
+ * Tagged as a benchmark, so it only runs with {@code mvn test -Pbenchmark}.
+ */
+@Slf4j
+@Tag("benchmark")
+class GraphAnalyticsBenchmarkTest {
+
+    @Test
+    void analyzes50kProfilesInSeconds() {
+        int profiles = 50_000;
+        SplittableRandom random = new SplittableRandom(7);
+        int edges = profiles - 1 + profiles / 2;
+        int[] from = new int[edges];
+        int[] to = new int[edges];
+        short[] types = new short[edges];
+        int e = 0;
+        for (int member = 1; member < profiles; member++) {
+            from[e] = Math.max(0, member - 1 - random.nextInt(Math.min(member, 40)));
+            to[e++] = member;
+        }
+        while (e < edges) {
+            from[e] = random.nextInt(profiles);
+            to[e] = random.nextInt(profiles);
+            types[e++] = 1;
+        }
+
+        long started = System.nanoTime();
+        GraphAnalytics.Result result = GraphAnalytics.compute(snapshot(profiles, from, to, types), LEIBBURSCH, 512,
+                ForkJoinPool.commonPool());
+        long millis = (System.nanoTime() - started) / 1_000_000;
+        log.info("Analytics of {} profiles / {} connections took {} ms on {} threads",
+                profiles, edges, millis, ForkJoinPool.commonPool().getParallelism());
+
+        assertThat(result.getComponentCount()).isEqualTo(1);
+        assertThat(result.isBetweennessSampled()).isTrue();
+        assertThat(Arrays.stream(result.getGeneration()).max().orElse(0)).isPositive();
+        assertThat(millis).isLessThan(15_000);
+    }
+}
@@ -0,0 +1,64 @@
+package com.blindworks.rhenanenmanager.service.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Correctness of {@link GraphAnalytics} on small graphs.
+ */
+class GraphAnalyticsTest {
+
+    static final String LEIBBURSCH = "LEIBBURSCH";
+    private static final String PEER = "PEER";
+
+    @Test
+    void computesComponentsCentralityAndLeibfamilien() {
+        // Leibfamilie 0 -> 1 -> 2, 0 -> 3, peer 3 - 4; separate pair 5 - 6; Leibbursch cycle 7 -> 8 -> 7
+        GraphSnapshot snapshot = snapshot(9,
+                new int[]{0, 1, 0, 3, 5, 7, 8},
+                new int[]{1, 2, 3, 4, 6, 8, 7},
+                new short[]{0, 0, 0, 1, 1, 0, 0});
+
+        GraphAnalytics.Result result = GraphAnalytics.compute(snapshot, LEIBBURSCH, 100, ForkJoinPool.commonPool());
+
+        assertThat(result.getComponentCount()).isEqualTo(3);
+        assertThat(result.getComponentSize()).containsExactly(5, 5, 5, 5, 5, 2, 2, 2, 2);
+        assertThat(result.degree(0)).isEqualTo(2);
+        assertThat(result.degree(3)).isEqualTo(2);
+
+        // Path 2 - 1 - 0 - 3 - 4: every inner node lies between the nodes on either side
+        assertThat(result.getBetweenness()[0]).isEqualTo(4.0);
+        assertThat(result.getBetweenness()[1]).isEqualTo(3.0);
+        assertThat(result.getBetweenness()[3]).isEqualTo(3.0);
+        assertThat(result.getBetweenness()[2]).isZero();
+        assertThat(result.isBetweennessSampled()).isFalse();
+
+        assertThat(result.getGeneration()).containsExactly(0, 1, 2, 1,
+                GraphAnalytics.NONE, GraphAnalytics.NONE, GraphAnalytics.NONE, GraphAnalytics.NONE, GraphAnalytics.NONE);
+        assertThat(result.getFamilyFounder()[2]).isZero();
+        assertThat(result.getFamilySize()[2]).isEqualTo(4);
+        assertThat(result.getFamilyFounder()[7]).isEqualTo(GraphAnalytics.NONE);
+    }
+
+    static GraphSnapshot snapshot(int nodes, int[] from, int[] to, short[] types) {
+        long[] profileIds = new long[nodes];
+        String[] names = new String[nodes];
+        for (int node = 0; node < nodes; node++) {
+            profileIds[node] = node + 1;
+            names[node] = "P" + node;
+        }
+        int edges = from.length;
+        long[] edgeIds = new long[edges];
+        for (int i = 0; i < edges; i++) {
+            edgeIds[i] = i + 1;
+        }
+        int[] open = new int[edges];
+        Arrays.fill(open, ConnectionGraphIndex.OPEN_END);
+        return new GraphSnapshot(1, profileIds, names, names, new String[]{LEIBBURSCH, PEER},
+                edgeIds, from, to, types, new int[edges], open, new boolean[edges]);
+    }
+}
@@ -0,0 +1,51 @@
+package com.blindworks.rhenanenmanager.service.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checks {@link LongIntHashMap} against a {@link HashMap} on random puts and removes.
+ */
+class LongIntHashMapTest {
+
+    @Test
+    void answersLikeAHashMap() {
+        SplittableRandom random = new SplittableRandom(42);
+        LongIntHashMap map = new LongIntHashMap(4);
+        Map<Long, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 50_000; i++) {
+            // Small key range, so keys collide, repeat and are removed again
+            long key = random.nextInt(2_000) - 1_000L;
+            if (random.nextInt(3) == 0) {
+                Integer removed = expected.remove(key);
+                assertThat(map.remove(key)).isEqualTo(removed != null ? removed : LongIntHashMap.MISSING);
+            } else {
+                int value = random.nextInt(1_000_000);
+                expected.put(key, value);
+                map.put(key, value);
+            }
+            assertThat(map.size()).isEqualTo(expected.size());
+        }
+        for (long key = -1_000; key < 1_000; key++) {
+            Integer value = expected.get(key);
+            assertThat(map.get(key)).isEqualTo(value != null ? value : LongIntHashMap.MISSING);
+            assertThat(map.containsKey(key)).isEqualTo(value != null);
+        }
+
+        map.clear();
+        assertThat(map.size()).isZero();
+        assertThat(map.containsKey(expected.keySet().iterator().next())).isFalse();
+    }
+
+    @Test
+    void rejectsTheReservedKey() {
+        assertThatThrownBy(() -> new LongIntHashMap().put(Long.MIN_VALUE, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
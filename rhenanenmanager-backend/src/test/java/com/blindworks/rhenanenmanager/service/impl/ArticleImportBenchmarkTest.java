@@ -0,0 +1,106 @@
+package com.blindworks.rhenanenmanager.service.impl;
+
+import com.blindworks.rhenanenmanager.domain.dto.request.ArticleEntryRequest;
+import com.blindworks.rhenanenmanager.domain.dto.response.BulkImportResponse;
+import com.blindworks.rhenanenmanager.domain.repository.ArticleBodyRepository;
+import com.blindworks.rhenanenmanager.domain.repository.ArticleEntryRepository;
+import com.blindworks.rhenanenmanager.service.ArticleEntryService;
+import com.blindworks.rhenanenmanager.service.ArticleImportService;
+import com.blindworks.rhenanenmanager.service.search.ArticleSearchIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.StringReader;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark for the bulk article import against creating the same articles one by one
+ * through the article service. Logs the articles per second of both; only the imported
+ * counts are asserted. Tagged as a benchmark, so it only runs with {@code mvn test -Pbenchmark}.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Slf4j
+@Tag("benchmark")
+class ArticleImportBenchmarkTest {
+
+    private static final int IMPORTED = 10_000;
+    private static final int ONE_BY_ONE = 500;
+    private static final int TEXT_WORDS = 150;
+
+    private static final String[] WORDS = {
+            "Stiftungsfest", "Kommers", "Bundesbruder", "Semester", "Kneipe", "Altherr", "Corpshaus", "Convent",
+            "und", "der", "die", "im", "wurde", "feierlich", "begangen", "mit", "vielen", "Gästen"};
+
+    @Autowired
+    private ArticleImportService articleImportService;
+
+    @Autowired
+    private ArticleEntryService articleEntryService;
+
+    @Autowired
+    private ArticleEntryRepository articleEntryRepository;
+
+    @Autowired
+    private ArticleBodyRepository articleBodyRepository;
+
+    @Autowired
+    private ArticleSearchIndex articleSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        // Loaded, so that both ways pay for the index updates
+        articleSearchIndex.reload();
+    }
+
+    @AfterEach
+    void tearDown() {
+        articleBodyRepository.deleteAllInBatch();
+        articleEntryRepository.deleteAllInBatch();
+        articleSearchIndex.reload();
+    }
+
+    @Test
+    void comparesBulkImportWithSingleCreates() {
+        SplittableRandom random = new SplittableRandom(31);
+        StringBuilder csv = new StringBuilder("title,category,year,month,text\n");
+        for (int i = 0; i < IMPORTED; i++) {
+            csv.append("Bericht ").append(i).append(",Feste,").append(1950 + i % 75).append(',')
+                    .append(1 + i % 12).append(",\"").append(text(random)).append("\"\n");
+        }
+
+        long started = System.nanoTime();
+        BulkImportResponse report = articleImportService.importArticlesCsv(new StringReader(csv.toString()));
+        double bulkPerSecond = IMPORTED / ((System.nanoTime() - started) / 1e9);
+        assertThat(report.getImported()).isEqualTo(IMPORTED);
+
+        started = System.nanoTime();
+        for (int i = 0; i < ONE_BY_ONE; i++) {
+            articleEntryService.createArticle(ArticleEntryRequest.builder()
+                    .title("Einzeln " + i).category("Feste").year(2024).month(1).text(text(random))
+                    .build());
+        }
+        double singlePerSecond = ONE_BY_ONE / ((System.nanoTime() - started) / 1e9);
+
+        log.info("Article import: bulk {} articles/s, one by one {} articles/s, speedup {}x",
+                String.format("%.0f", bulkPerSecond), String.format("%.0f", singlePerSecond),
+                String.format("%.1f", bulkPerSecond / singlePerSecond));
+        assertThat(articleSearchIndex.size()).isEqualTo(IMPORTED + ONE_BY_ONE);
+    }
+
+    private static String text(SplittableRandom random) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < TEXT_WORDS; i++) {
+            text.append(i > 0 ? " " : "").append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,135 @@
+package com.blindworks.rhenanenmanager.service.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark for the article search on a synthetic corpus of 100,000 German-like articles
+ * with compound words. Runs a mix of plain, multi-term, compound-part, unknown-compound and
+ * misspelled queries, logs the latency percentiles and fails if p99 exceeds 20 ms.
+ * Tagged as a benchmark, so it only runs with {@code mvn test -Pbenchmark}.
+ */
+@Slf4j
+@Tag("benchmark")
+class ArticleSearchBenchmarkTest {
+
+    private static final int ARTICLES = 100_000;
+    private static final int WORDS_PER_ARTICLE = 60;
+    private static final int QUERIES = 2_000;
+
+    private static final String[] SYLLABLES = {
+            "stift", "ung", "fest", "haus", "bau", "kom", "mers", "bund", "bru", "der", "fuch", "sen", "mei",
+            "ster", "rhe", "nan", "kneip", "saal", "corps", "tag", "zeit", "schrift", "alt", "herr", "ver",
+            "ein", "land", "mann", "schaft", "bur", "ger", "wirt", "tisch", "lied", "gut", "farb", "band"};
+
+    private final TextAnalyzer analyzer = new TextAnalyzer();
+
+    @Test
+    void searchesLargeCorpusWithinLatencyBudget() {
+        SplittableRandom random = new SplittableRandom(17);
+        String[] words = vocabulary(random);
+
+        long started = System.nanoTime();
+        long[] seeds = random.longs(ARTICLES).toArray();
+        InvertedIndex index = new InvertedIndex();
+        IntStream.range(0, ARTICLES).parallel()
+                .mapToObj(article -> document(article, words, new SplittableRandom(seeds[article])))
+                .toList()
+                .forEach(index::add);
+        index.optimize();
+        log.info("Indexed {} articles ({} terms) in {} ms",
+                index.size(), index.termCount(), (System.nanoTime() - started) / 1_000_000);
+
+        List<String> queries = queries(words, random);
+        for (String query : queries(words, random).subList(0, 200)) {
+            // Warm-up
+            index.search(analyzer.terms(query), 0, 20);
+        }
+        long[] nanos = new long[queries.size()];
+        int hits = 0;
+        for (int q = 0; q < queries.size(); q++) {
+            long start = System.nanoTime();
+            InvertedIndex.Result result = index.search(analyzer.terms(queries.get(q)), 0, 20);
+            nanos[q] = System.nanoTime() - start;
+            hits += result.getTotal() > 0 ? 1 : 0;
+        }
+        Arrays.sort(nanos);
+        double p50 = nanos[nanos.length / 2] / 1e6;
+        double p99 = nanos[(int) (nanos.length * 0.99)] / 1e6;
+        double max = nanos[nanos.length - 1] / 1e6;
+        log.info("{} queries, {} with results: p50 {} ms, p99 {} ms, max {} ms",
+                queries.size(), hits, String.format("%.3f", p50), String.format("%.3f", p99),
+                String.format("%.3f", max));
+
+        assertThat(hits).isGreaterThan(queries.size() / 2);
+        assertThat(p99).isLessThan(20.0);
+    }
+
+    /**
+     * Simple words of two or three syllables, and compounds of two simple words.
+     */
+    private static String[] vocabulary(SplittableRandom random) {
+        List<String> words = new ArrayList<>();
+        for (int i = 0; i < 8_000; i++) {
+            StringBuilder word = new StringBuilder();
+            for (int s = 0; s < 2 + random.nextInt(2); s++) {
+                word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            words.add(word.toString());
+        }
+        for (int i = 0; i < 8_000; i++) {
+            String head = words.get(random.nextInt(8_000));
+            String tail = words.get(random.nextInt(8_000));
+            words.add(head + (random.nextBoolean() ? "s" : "") + tail);
+        }
+        return words.toArray(String[]::new);
+    }
+
+    private InvertedIndex.Document document(int article, String[] words, SplittableRandom random) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < WORDS_PER_ARTICLE; i++) {
+            text.append(words[zipf(words.length, random)]).append(i % 12 == 0 ? "en " : " ");
+        }
+        Map<String, Integer> frequencies = new HashMap<>();
+        analyzer.analyze(text.toString(), term -> frequencies.merge(term, 1, Integer::sum));
+        return new InvertedIndex.Document(article, 1950_00 + article % 7_000, frequencies);
+    }
+
+    private static List<String> queries(String[] words, SplittableRandom random) {
+        List<String> queries = new ArrayList<>();
+        for (int q = 0; q < QUERIES; q++) {
+            String word = words[zipf(words.length, random)];
+            switch (q % 5) {
+                case 0 -> queries.add(word);
+                case 1 -> queries.add(word + " " + words[zipf(words.length, random)]);
+                case 2 -> queries.add(words[random.nextInt(8_000)]);
+                case 3 -> queries.add(words[random.nextInt(1_000)] + words[random.nextInt(1_000)]);
+                default -> {
+                    // One typo
+                    char[] chars = word.toCharArray();
+                    chars[random.nextInt(chars.length)] = (char) ('a' + random.nextInt(26));
+                    queries.add(new String(chars));
+                }
+            }
+        }
+        return queries;
+    }
+
+    /**
+     * Roughly Zipf-distributed index: a few words are very common, most are rare.
+     */
+    private static int zipf(int n, SplittableRandom random) {
+        return (int) Math.min(n - 1, Math.exp(random.nextDouble() * Math.log(n + 1)) - 1);
+    }
+}
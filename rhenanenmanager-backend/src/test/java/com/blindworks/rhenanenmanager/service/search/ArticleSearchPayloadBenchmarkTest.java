@@ -0,0 +1,95 @@
+package com.blindworks.rhenanenmanager.service.search;
+
+import com.blindworks.rhenanenmanager.domain.dto.response.ArticleEntryResponse;
+import com.blindworks.rhenanenmanager.domain.dto.response.ArticleSummaryResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Compares the JSON payload of a search result page of 20 articles with full texts (the
+ * former response) against list views with snippets, logging size and serialization time.
+ * Tagged as a benchmark, so it only runs with {@code mvn test -Pbenchmark};
+ * ArticleSearchControllerTest checks the size of search pages in the default build.
+ */
+@Slf4j
+@Tag("benchmark")
+class ArticleSearchPayloadBenchmarkTest {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int TEXT_WORDS = 1_200;
+    private static final int ROUNDS = 2_000;
+
+    private static final String[] WORDS = {
+            "Stiftungsfest", "Kommers", "Bundesbruder", "Semester", "Kneipe", "Altherr", "Corpshaus", "Convent",
+            "und", "der", "die", "im", "wurde", "feierlich", "begangen", "mit", "vielen", "Gästen"};
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final TextAnalyzer analyzer = new TextAnalyzer();
+    private final SnippetExtractor extractor = new SnippetExtractor();
+
+    @Test
+    void comparesSnippetPageWithFullTextPage() throws Exception {
+        SplittableRandom random = new SplittableRandom(23);
+        List<ArticleEntryResponse> fullPage = new ArrayList<>();
+        List<ArticleSummaryResponse> snippetPage = new ArrayList<>();
+        Set<String> matched = Set.copyOf(analyzer.terms("Kommers"));
+        for (long id = 1; id <= PAGE_SIZE; id++) {
+            String text = text(random);
+            fullPage.add(ArticleEntryResponse.builder()
+                    .id(id).title("Bericht vom Stiftungsfest " + id).category("Feste").text(text)
+                    .year(2024).month(6).date(LocalDate.of(2024, 6, 1))
+                    .created(LocalDateTime.now()).createdBy("admin")
+                    .build());
+
+            Map<String, Integer> offsets = new HashMap<>();
+            analyzer.analyze(text, (term, start, end) -> offsets.putIfAbsent(term, InvertedIndex.packOffset(start, end)));
+            int windowStart = extractor.windowStart(matched.stream().mapToInt(offsets::get).sorted().toArray());
+            SnippetExtractor.Snippet snippet = extractor.extract(text, windowStart, matched);
+            snippetPage.add(ArticleSummaryResponse.builder()
+                    .id(id).title("Bericht vom Stiftungsfest " + id).category("Feste")
+                    .year(2024).month(6).date(LocalDate.of(2024, 6, 1))
+                    .snippet(snippet.getText()).highlights(snippet.getHighlights())
+                    .build());
+        }
+
+        int fullBytes = objectMapper.writeValueAsBytes(fullPage).length;
+        int snippetBytes = objectMapper.writeValueAsBytes(snippetPage).length;
+        double fullMicros = serializationMicros(fullPage);
+        double snippetMicros = serializationMicros(snippetPage);
+        log.info("Search page of {} articles: full texts {} bytes in {} us, snippets {} bytes in {} us",
+                PAGE_SIZE, fullBytes, String.format("%.1f", fullMicros), snippetBytes,
+                String.format("%.1f", snippetMicros));
+    }
+
+    private double serializationMicros(Object page) throws Exception {
+        for (int i = 0; i < ROUNDS / 4; i++) {
+            // Warm-up
+            objectMapper.writeValueAsBytes(page);
+        }
+        long started = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            objectMapper.writeValueAsBytes(page);
+        }
+        return (System.nanoTime() - started) / 1_000.0 / ROUNDS;
+    }
+
+    private static String text(SplittableRandom random) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < TEXT_WORDS; i++) {
+            text.append(WORDS[random.nextInt(WORDS.length)]).append(i % 12 == 11 ? ". " : " ");
+        }
+        return text.toString();
+    }
+}
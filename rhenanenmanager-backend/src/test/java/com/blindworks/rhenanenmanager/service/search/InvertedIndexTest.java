@@ -0,0 +1,209 @@
+package com.blindworks.rhenanenmanager.service.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Checks {@link InvertedIndex} against a brute-force BM25 and facet count over the same
+ * documents, including updates and deletions that trigger compaction.
+ */
+class InvertedIndexTest {
+
+    private static final String[] VOCABULARY = {
+            "corps", "rhenania", "stiftungsfest", "kneipe", "mensur", "fuchs", "bursch", "altherr",
+            "convent", "semester", "haus", "bonn", "rhein", "kommers", "farben", "band"};
+
+    private final Map<Long, Map<String, Integer>> documents = new HashMap<>();
+
+    @Test
+    void ranksLikeBruteForceAcrossUpdatesAndDeletions() {
+        SplittableRandom random = new SplittableRandom(11);
+        InvertedIndex index = new InvertedIndex();
+        for (long id = 1; id <= 2_000; id++) {
+            put(index, id, random);
+        }
+        for (int i = 0; i < 1_500; i++) {
+            long id = 1 + random.nextInt(2_000);
+            if (random.nextBoolean()) {
+                index.remove(id);
+                documents.remove(id);
+            } else {
+                put(index, id, random);
+            }
+        }
+        assertThat(index.size()).isEqualTo(documents.size());
+
+        for (int q = 0; q < 50; q++) {
+            List<String> terms = new ArrayList<>();
+            for (int t = 0; t < 1 + random.nextInt(3); t++) {
+                terms.add(VOCABULARY[random.nextInt(VOCABULARY.length)]);
+            }
+            Map<Long, Float> expected = bruteForce(terms);
+            InvertedIndex.Result all = index.search(terms, 0, Integer.MAX_VALUE);
+            List<Long> ids = Arrays.stream(all.getIds()).boxed().toList();
+            assertThat(all.getTotal()).isEqualTo(expected.size());
+            assertThat(ids).containsExactlyInAnyOrderElementsOf(expected.keySet());
+            for (int i = 0; i < ids.size(); i++) {
+                // Summation order differs, so compare with a tolerance
+                assertThat(all.getScores()[i]).isCloseTo(expected.get(ids.get(i)), within(1e-4f));
+                if (i > 0) {
+                    assertThat(all.getScores()[i]).isLessThanOrEqualTo(all.getScores()[i - 1]);
+                }
+            }
+
+            InvertedIndex.Result page = index.search(terms, 5, 10);
+            assertThat(page.getTotal()).isEqualTo(expected.size());
+            assertThat(Arrays.stream(page.getIds()).boxed().toList())
+                    .isEqualTo(ids.subList(Math.min(5, ids.size()), Math.min(15, ids.size())));
+        }
+    }
+
+    @Test
+    void unknownTermsMatchNothing() {
+        InvertedIndex index = new InvertedIndex();
+        index.add(new InvertedIndex.Document(1, 0, Map.of("corps", 1)));
+        assertThat(index.search(List.of("corps", "unbekannt"), 0, 10).getTotal()).isZero();
+        assertThat(index.search(List.of("corps"), 0, 10).getIds()).containsExactly(1L);
+    }
+
+    @Test
+    void matchesCompoundPartsAndTypos() {
+        TextAnalyzer analyzer = new TextAnalyzer();
+        InvertedIndex index = new InvertedIndex();
+        add(index, analyzer, 1, "Das Stiftungsfest im Corpshaus");
+        add(index, analyzer, 2, "Bericht der Stiftung");
+        add(index, analyzer, 3, "Ein Fest am Rhein");
+        add(index, analyzer, 4, "Altherr Müller");
+
+        // Exact match first, then compounds with the term as a part
+        assertThat(search(index, analyzer, "Fest")).containsExactly(3L, 1L);
+        assertThat(search(index, analyzer, "Stiftung")).containsExactly(2L, 1L);
+        // Unknown compound of known parts
+        assertThat(search(index, analyzer, "Stiftungsfeste")).containsExactly(1L);
+        assertThat(search(index, analyzer, "Rheinfest")).containsExactly(3L);
+        // Typos
+        assertThat(search(index, analyzer, "Mueller")).containsExactly(4L);
+        assertThat(search(index, analyzer, "Stiftngsfest")).containsExactly(1L);
+        assertThat(search(index, analyzer, "Xylophon")).isEmpty();
+    }
+
+    @Test
+    void filtersAndCountsFacetsLikeBruteForceAcrossDeletions() {
+        SplittableRandom random = new SplittableRandom(5);
+        InvertedIndex index = new InvertedIndex();
+        Map<Long, Map<String, String>> facets = new HashMap<>();
+        for (long id = 1; id <= 2_000; id++) {
+            put(index, id, random, facets);
+        }
+        // Enough deletions to compact, so the facet postings are renumbered
+        for (int i = 0; i < 1_000; i++) {
+            long id = 1 + random.nextInt(2_000);
+            if (random.nextInt(4) > 0) {
+                index.remove(id);
+                documents.remove(id);
+                facets.remove(id);
+            } else {
+                put(index, id, random, facets);
+            }
+        }
+
+        for (int q = 0; q < 50; q++) {
+            List<String> terms = q % 5 == 0 ? List.of() : List.of(VOCABULARY[random.nextInt(VOCABULARY.length)]);
+            Map<String, String> filters = new HashMap<>();
+            if (random.nextBoolean()) {
+                filters.put("category", "c" + random.nextInt(4));
+            }
+            if (random.nextBoolean()) {
+                filters.put("year", String.valueOf(2000 + random.nextInt(10)));
+            }
+            Map<String, Map<String, Integer>> expected = new HashMap<>();
+            int total = 0;
+            for (Map.Entry<Long, Map<String, String>> document : facets.entrySet()) {
+                if (documents.get(document.getKey()).keySet().containsAll(terms)
+                        && document.getValue().entrySet().containsAll(filters.entrySet())) {
+                    total++;
+                    document.getValue().forEach((field, value) ->
+                            expected.computeIfAbsent(field, f -> new HashMap<>()).merge(value, 1, Integer::sum));
+                }
+            }
+
+            InvertedIndex.Result result = index.search(terms, filters, 0, 10);
+            assertThat(result.getTotal()).isEqualTo(total);
+            assertThat(result.getFacets().entrySet().stream()
+                    .filter(field -> !field.getValue().isEmpty())
+                    .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue)))
+                    .isEqualTo(expected);
+        }
+        assertThat(index.search(List.of(), Map.of("category", "unbekannt"), 0, 10).getTotal()).isZero();
+    }
+
+    private void put(InvertedIndex index, long id, SplittableRandom random, Map<Long, Map<String, String>> facets) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (int i = 0; i < 5; i++) {
+            frequencies.merge(VOCABULARY[random.nextInt(VOCABULARY.length)], 1, Integer::sum);
+        }
+        Map<String, String> values = Map.of(
+                "category", "c" + random.nextInt(4), "year", String.valueOf(2000 + random.nextInt(10)));
+        index.add(new InvertedIndex.Document(id, 0, frequencies, values));
+        documents.put(id, frequencies);
+        facets.put(id, values);
+    }
+
+    private static void add(InvertedIndex index, TextAnalyzer analyzer, long id, String text) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        analyzer.analyze(text, term -> frequencies.merge(term, 1, Integer::sum));
+        index.add(new InvertedIndex.Document(id, 0, frequencies));
+    }
+
+    private static List<Long> search(InvertedIndex index, TextAnalyzer analyzer, String query) {
+        return Arrays.stream(index.search(analyzer.terms(query), 0, 10).getIds()).boxed().toList();
+    }
+
+    private void put(InvertedIndex index, long id, SplittableRandom random) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = 5 + random.nextInt(60);
+        for (int i = 0; i < length; i++) {
+            // Skewed, so some terms are common and some rare
+            int term = (int) (VOCABULARY.length * Math.pow(random.nextDouble(), 2));
+            frequencies.merge(VOCABULARY[term], 1 + random.nextInt(3), Integer::sum);
+        }
+        int sortKey = 1950_00 + random.nextInt(70) * 100 + random.nextInt(12);
+        index.add(new InvertedIndex.Document(id, sortKey, frequencies));
+        documents.put(id, frequencies);
+    }
+
+    private Map<Long, Float> bruteForce(List<String> terms) {
+        List<String> distinct = terms.stream().distinct().toList();
+        int n = documents.size();
+        double averageLength = documents.values().stream()
+                .mapToInt(frequencies -> frequencies.values().stream().mapToInt(Integer::intValue).sum())
+                .average().orElse(0);
+        Map<Long, Float> scores = new HashMap<>();
+        for (Map.Entry<Long, Map<String, Integer>> document : documents.entrySet()) {
+            if (!document.getValue().keySet().containsAll(distinct)) {
+                continue;
+            }
+            int length = document.getValue().values().stream().mapToInt(Integer::intValue).sum();
+            float score = 0;
+            for (String term : distinct) {
+                long df = documents.values().stream().filter(frequencies -> frequencies.containsKey(term)).count();
+                float idf = (float) Math.log(1 + (n - df + 0.5) / (df + 0.5));
+                int tf = document.getValue().get(term);
+                score += idf * (tf * (InvertedIndex.K1 + 1)
+                        / (tf + InvertedIndex.K1 * (1 - InvertedIndex.B + InvertedIndex.B * length / (float) averageLength)));
+            }
+            scores.put(document.getKey(), score);
+        }
+        return scores;
+    }
+}
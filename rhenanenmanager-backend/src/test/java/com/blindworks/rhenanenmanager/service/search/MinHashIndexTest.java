@@ -0,0 +1,86 @@
+package com.blindworks.rhenanenmanager.service.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MinHashIndexTest {
+
+    @Test
+    void estimatesJaccardSimilarity() {
+        SplittableRandom random = new SplittableRandom(5);
+        double totalError = 0;
+        for (int round = 0; round < 200; round++) {
+            Set<String> a = new HashSet<>();
+            Set<String> b = new HashSet<>();
+            for (int i = 0; i < 30; i++) {
+                String term = "t" + random.nextInt(60);
+                if (random.nextBoolean()) {
+                    a.add(term);
+                } else {
+                    b.add(term);
+                }
+                if (random.nextInt(3) == 0) {
+                    a.add(term);
+                    b.add(term);
+                }
+            }
+            Set<String> union = new HashSet<>(a);
+            union.addAll(b);
+            Set<String> intersection = new HashSet<>(a);
+            intersection.retainAll(b);
+            double jaccard = (double) intersection.size() / union.size();
+            double estimate = MinHashIndex.similarity(MinHashIndex.signature(a), MinHashIndex.signature(b));
+            totalError += Math.abs(estimate - jaccard);
+        }
+        // The standard error of 64 hashes is at most 1/16
+        assertThat(totalError / 200).isLessThan(0.08);
+    }
+
+    @Test
+    void findsSimilarDocumentsAndFollowsChanges() {
+        MinHashIndex index = new MinHashIndex();
+        List<String> base = terms("fest", 0, 20);
+        index.add(1, base);
+        index.add(2, withReplaced(base, 4));
+        index.add(3, terms("haus", 0, 20));
+        index.add(4, withReplaced(base, 12));
+        assertThat(index.add(5, List.of("kurz", "text"))).isFalse();
+
+        List<MinHashIndex.Neighbor> neighbors = index.neighbors(1, 10, 0.1f);
+        assertThat(neighbors).extracting(MinHashIndex.Neighbor::getId).startsWith(2L).doesNotContain(1L, 3L);
+        assertThat(neighbors.get(0).getSimilarity()).isGreaterThan(0.4f);
+        assertThat(index.neighbors(3, 10, 0.1f)).isEmpty();
+        assertThat(index.neighbors(5, 10, 0.1f)).isEmpty();
+
+        // Document 3 becomes a copy of document 1, document 2 goes away
+        index.add(3, base);
+        index.remove(2);
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(index.neighbors(1, 10, 0.1f)).extracting(MinHashIndex.Neighbor::getId)
+                .startsWith(3L).doesNotContain(2L);
+        assertThat(index.neighbors(1, 10, 0.1f).get(0).getSimilarity()).isEqualTo(1f);
+        assertThat(index.candidates(2)).isEmpty();
+        assertThat(index.neighbors(1, 1, 0.1f)).hasSize(1);
+    }
+
+    private static List<String> terms(String prefix, int from, int to) {
+        List<String> terms = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            terms.add(prefix + i);
+        }
+        return terms;
+    }
+
+    private static List<String> withReplaced(List<String> terms, int count) {
+        List<String> replaced = new ArrayList<>(terms.subList(count, terms.size()));
+        replaced.addAll(terms("neu", 0, count));
+        return replaced;
+    }
+}
@@ -0,0 +1,69 @@
+package com.blindworks.rhenanenmanager.service.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark for {@link PrefixIndex} with 100,000 article titles: every prefix of typed
+ * words, from one character on. Logs the latency percentiles and fails if p99 reaches
+ * a millisecond. Tagged as a benchmark, so it only runs with {@code mvn test -Pbenchmark};
+ * {@link PrefixIndexTest} covers the completions in the default build.
+ */
+@Slf4j
+@Tag("benchmark")
+class PrefixIndexBenchmarkTest {
+
+    private static final int TITLES = 100_000;
+    private static final int LOOKUPS = 20_000;
+
+    private static final String[] WORDS = {
+            "Stiftungsfest", "Kneipe", "Kommers", "Mensur", "Fuchsenstunde", "Bursch", "Altherren", "Convent",
+            "Semester", "Corpshaus", "Bonn", "Rhein", "Farben", "Band", "Kneipsaal", "Bericht", "Nachruf",
+            "Bundesbruder", "Jubiläum", "Ball", "Exkneipe", "Antrittskneipe", "Landesvater", "Chargen"};
+
+    @Test
+    void completesLargeIndexWellUnderAMillisecond() {
+        SplittableRandom random = new SplittableRandom(3);
+        PrefixIndex index = new PrefixIndex();
+        long started = System.nanoTime();
+        for (int id = 0; id < TITLES; id++) {
+            index.add(id, title(random), 1950_00 + random.nextInt(7_000));
+        }
+        index.optimize();
+        log.info("Indexed {} titles in {} ms", index.size(), (System.nanoTime() - started) / 1_000_000);
+
+        long[] nanos = new long[LOOKUPS];
+        int hits = 0;
+        for (int i = -2_000; i < LOOKUPS; i++) {
+            String word = title(random);
+            String prefix = word.substring(0, 1 + random.nextInt(Math.min(word.length(), 20)));
+            long start = System.nanoTime();
+            int found = index.suggest(prefix, 10).size();
+            if (i >= 0) {
+                // The first 2,000 lookups warm up the JIT
+                nanos[i] = System.nanoTime() - start;
+                hits += found > 0 ? 1 : 0;
+            }
+        }
+        Arrays.sort(nanos);
+        double p50 = nanos[LOOKUPS / 2] / 1e3;
+        double p99 = nanos[(int) (LOOKUPS * 0.99)] / 1e3;
+        log.info("{} lookups, {} with results: p50 {} us, p99 {} us",
+                LOOKUPS, hits, String.format("%.1f", p50), String.format("%.1f", p99));
+
+        // Prefixes running into the second word need not match any title
+        assertThat(hits).isGreaterThan(LOOKUPS * 9 / 10);
+        assertThat(p99).isLessThan(1_000.0);
+    }
+
+    private static String title(SplittableRandom random) {
+        return WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " "
+                + (1950 + random.nextInt(75));
+    }
+}
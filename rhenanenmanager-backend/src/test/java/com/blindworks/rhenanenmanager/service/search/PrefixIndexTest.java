@@ -0,0 +1,83 @@
+package com.blindworks.rhenanenmanager.service.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks {@link PrefixIndex} against a scan over all entries, including replacements and
+ * removals on both sides of a merge.
+ */
+class PrefixIndexTest {
+
+    private static final String[] WORDS = {
+            "Stiftungsfest", "Kneipe", "Kommers", "Mensur", "Fuchsenstunde", "Bursch", "Altherren",
+            "Convent", "Semester", "Corpshaus", "Bonn", "Rhein", "Farben", "Band", "Kneipsaal", "Müller"};
+
+    @Test
+    void suggestsLikeFullScanAcrossUpdatesAndRemovals() {
+        SplittableRandom random = new SplittableRandom(5);
+        PrefixIndex index = new PrefixIndex();
+        Map<Long, String> texts = new HashMap<>();
+        Map<Long, Integer> weights = new HashMap<>();
+        for (int round = 0; round < 4_000; round++) {
+            long id = 1 + random.nextInt(1_500);
+            if (random.nextInt(4) == 0) {
+                index.remove(id);
+                texts.remove(id);
+                weights.remove(id);
+            } else {
+                String text = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]
+                        + " " + (1950 + random.nextInt(70));
+                int weight = random.nextInt(50);
+                index.add(id, text, weight);
+                texts.put(id, text);
+                weights.put(id, weight);
+            }
+            if (round % 500 == 0) {
+                index.optimize();
+            }
+        }
+        assertThat(index.size()).isEqualTo(texts.size());
+
+        for (String prefix : List.of("k", "kne", "Kneipe K", "mul", "MÜLLER", "19", "bonn rhein 19", "x", "s")) {
+            String normalized = PrefixIndex.normalize(prefix);
+            List<Long> expected = texts.keySet().stream()
+                    .filter(id -> matches(PrefixIndex.normalize(texts.get(id)), normalized))
+                    .sorted(Comparator.<Long>comparingInt(weights::get).reversed()
+                            .thenComparing(texts::get))
+                    .limit(10)
+                    .toList();
+            List<PrefixIndex.Suggestion> suggestions = index.suggest(prefix, 10);
+            assertThat(suggestions).extracting(PrefixIndex.Suggestion::getWeight)
+                    .isEqualTo(expected.stream().map(weights::get).toList());
+            assertThat(suggestions).allSatisfy(suggestion ->
+                    assertThat(matches(PrefixIndex.normalize(suggestion.getText()), normalized)).isTrue());
+        }
+    }
+
+    @Test
+    void completesAcrossWordsAndIgnoresCaseAndUmlauts() {
+        PrefixIndex index = new PrefixIndex();
+        index.add(1, "Stiftungsfest 2024", 202405);
+        index.add(2, "Bericht vom Stiftungsfest", 202311);
+        index.add(3, "Hans Müller", 0);
+
+        assertThat(index.suggest("stift", 10)).extracting(PrefixIndex.Suggestion::getId).containsExactly(1L, 2L);
+        assertThat(index.suggest("Stiftungsfest 20", 10)).extracting(PrefixIndex.Suggestion::getId).containsExactly(1L);
+        assertThat(index.suggest("muel", 10)).isEmpty();
+        assertThat(index.suggest("mul", 10)).extracting(PrefixIndex.Suggestion::getId).containsExactly(3L);
+        assertThat(index.suggest("hans m", 10)).extracting(PrefixIndex.Suggestion::getText).containsExactly("Hans Müller");
+        assertThat(index.suggest("  ", 10)).isEmpty();
+    }
+
+    private static boolean matches(String text, String prefix) {
+        return text.startsWith(prefix) || text.contains(" " + prefix);
+    }
+}
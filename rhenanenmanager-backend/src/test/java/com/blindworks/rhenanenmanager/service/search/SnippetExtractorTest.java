@@ -0,0 +1,65 @@
+package com.blindworks.rhenanenmanager.service.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SnippetExtractorTest {
+
+    private final TextAnalyzer analyzer = new TextAnalyzer();
+    private final SnippetExtractor extractor = new SnippetExtractor();
+
+    @Test
+    void cutsWindowAroundMatchesAndHighlightsThem() {
+        String text = "Lorem ipsum dolor sit amet. ".repeat(20)
+                + "Zum Stiftungsfest kamen viele Alte Herren, das Stiftungsfest war ein Erfolg. "
+                + "Consectetur adipiscing elit. ".repeat(20);
+        InvertedIndex index = new InvertedIndex();
+        index.add(document(1, text));
+
+        InvertedIndex.Result result = index.search(analyzer.terms("Stiftungsfeste Herren"), 0, 10);
+        int windowStart = extractor.windowStart(result.getOffsets()[0]);
+        assertThat(windowStart).isPositive().isLessThan(text.indexOf("Stiftungsfest"));
+
+        // Only the text up to the end of the window is needed
+        String prefix = text.substring(0, Math.min(text.length(), extractor.requiredLength(windowStart)));
+        SnippetExtractor.Snippet snippet = extractor.extract(prefix, windowStart, result.getMatchedTerms());
+        assertThat(snippet.getText()).startsWith("…").endsWith("…").contains("Zum Stiftungsfest kamen");
+        assertThat(snippet.getText().length()).isLessThanOrEqualTo(SnippetExtractor.SNIPPET_LENGTH + 2);
+
+        int[] highlights = snippet.getHighlights();
+        assertThat(highlights).hasSize(6);
+        assertThat(List.of(
+                snippet.getText().substring(highlights[0], highlights[1]),
+                snippet.getText().substring(highlights[2], highlights[3]),
+                snippet.getText().substring(highlights[4], highlights[5])))
+                .containsExactly("Stiftungsfest", "Herren", "Stiftungsfest");
+    }
+
+    @Test
+    void startsAtBeginningWithoutMatchesInText() {
+        InvertedIndex index = new InvertedIndex();
+        index.add(document(1, "Kurzer Text."));
+        InvertedIndex.Result result = index.search(analyzer.terms("unbekannt"), 0, 10);
+        assertThat(result.getTotal()).isZero();
+
+        assertThat(extractor.windowStart(new int[0])).isZero();
+        SnippetExtractor.Snippet snippet = extractor.extract("Kurzer Text.", 0, result.getMatchedTerms());
+        assertThat(snippet.getText()).isEqualTo("Kurzer Text.");
+        assertThat(snippet.getHighlights()).isEmpty();
+    }
+
+    private InvertedIndex.Document document(long id, String text) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        Map<String, Integer> offsets = new HashMap<>();
+        analyzer.analyze(text, (term, start, end) -> {
+            frequencies.merge(term, 1, Integer::sum);
+            offsets.putIfAbsent(term, InvertedIndex.packOffset(start, end));
+        });
+        return new InvertedIndex.Document(id, 0, frequencies, Map.of(), offsets);
+    }
+}
@@ -0,0 +1,26 @@
+package com.blindworks.rhenanenmanager.service.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TextAnalyzerTest {
+
+    private final TextAnalyzer analyzer = new TextAnalyzer();
+
+    @Test
+    void foldsUmlautsAndSharpS() {
+        assertThat(analyzer.terms("Müller")).isEqualTo(analyzer.terms("Muller"));
+        assertThat(analyzer.terms("Straße")).isEqualTo(analyzer.terms("Strasse"));
+        assertThat(analyzer.terms("Café Bönn")).isEqualTo(analyzer.terms("cafe bonn"));
+    }
+
+    @Test
+    void dropsStopWordsAndStemsInflections() {
+        assertThat(analyzer.terms("Die Stiftungsfeste und der Kommers")).hasSize(2);
+        assertThat(analyzer.terms("Stiftungsfeste")).isEqualTo(analyzer.terms("Stiftungsfest"));
+        assertThat(analyzer.terms("Kommerse")).isEqualTo(analyzer.terms("Kommers"));
+        assertThat(analyzer.terms("Bundesbrüdern")).isEqualTo(analyzer.terms("Bundesbruder"));
+        assertThat(analyzer.terms("Semester 1848")).endsWith("1848");
+    }
+}
@@ -7,7 +7,9 @@ export interface ArticleEntry {
   subtitle?: string;
   alternativeAuthor?: string;
   category?: string;
+  /** Only set for single articles; listings carry textPreview instead. */
   text?: string;
+  textPreview?: string;
   year?: number;
   month?: number;
   page?: number;
@@ -29,10 +31,51 @@ export interface ArticleEntryPage {
   number: number;
 }
 
+/**
+ * An article in a search result: no text, but a snippet of it around the matches.
+ */
+export interface ArticleSummary {
+  id: number;
+  title: string;
+  subtitle?: string;
+  alternativeAuthor?: string;
+  category?: string;
+  year?: number;
+  month?: number;
+  page?: number;
+  date?: string;
+  snippet?: string;
+  /** Matched ranges in the snippet, as start and end (exclusive) pairs. */
+  highlights?: number[];
+}
+
+/**
+ * Count of search matches with one facet value (category, year, decade or month).
+ */
+export interface FacetCount {
+  value: string;
+  count: number;
+}
+
+/**
+ * One page of search results with the facet counts of all matches.
+ */
+export interface ArticleSearchPage {
+  content: ArticleSummary[];
+  totalElements: number;
+  totalPages: number;
+  size: number;
+  number: number;
+  categories: FacetCount[];
+  years: FacetCount[];
+  decades: FacetCount[];
+  months: FacetCount[];
+}
+
 /**
  * Helper function to get formatted issue string (e.g., "Ausgabe 01/2024").
  */
-export function getFormattedIssue(article: ArticleEntry): string {
+export function getFormattedIssue(article: ArticleEntry | ArticleSummary): string {
   if (article.month && article.year) {
     return `Ausgabe ${String(article.month).padStart(2, '0')}/${article.year}`;
   } else if (article.year) {
@@ -42,9 +85,15 @@ export function getFormattedIssue(article: ArticleEntry): string {
 }
 
 /**
- * Helper function to get text preview (first 200 characters).
+ * Helper function to get text preview (first 200 characters, or the snippet of a search result).
  */
-export function getTextPreview(article: ArticleEntry): string {
+export function getTextPreview(article: ArticleEntry | ArticleSummary): string {
+  if ('snippet' in article) {
+    return article.snippet || '';
+  }
+  if (article.textPreview) {
+    return article.textPreview;
+  }
   if (!article.text) {
     return '';
   }
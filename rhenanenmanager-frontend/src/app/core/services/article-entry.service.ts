@@ -1,7 +1,7 @@
 import { Injectable, inject } from '@angular/core';
 import { HttpClient, HttpParams } from '@angular/common/http';
 import { Observable } from 'rxjs';
-import { ArticleEntry, ArticleEntryPage } from '../models/article-entry.model';
+import { ArticleEntry, ArticleEntryPage, ArticleSearchPage } from '../models/article-entry.model';
 import { environment } from '../../../environments/environment';
 
 @Injectable({
@@ -46,14 +46,14 @@ export class ArticleEntryService {
   }
 
   /**
-   * Search articles by keyword.
+   * Search articles by keyword. Results carry snippets instead of texts.
    */
-  searchArticles(keyword: string, page: number = 0, size: number = 20): Observable<ArticleEntryPage> {
+  searchArticles(keyword: string, page: number = 0, size: number = 20): Observable<ArticleSearchPage> {
     const params = new HttpParams()
       .set('keyword', keyword)
       .set('page', page.toString())
       .set('size', size.toString());
-    return this.http.get<ArticleEntryPage>(`${this.apiUrl}/search`, { params });
+    return this.http.get<ArticleSearchPage>(`${this.apiUrl}/search`, { params });
   }
 
   /**
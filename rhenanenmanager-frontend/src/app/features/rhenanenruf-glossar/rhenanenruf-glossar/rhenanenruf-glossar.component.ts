@@ -20,7 +20,7 @@ import { MatTooltipModule } from '@angular/material/tooltip';
 import { ArticleEntryService } from '../../../core/services/article-entry.service';
 import { ThemeService } from '../../../core/services/theme.service';
 import { AuthService } from '../../../core/services/auth.service';
-import { ArticleEntry, getFormattedIssue, getTextPreview } from '../../../core/models/article-entry.model';
+import { ArticleEntry, ArticleSummary, getFormattedIssue, getTextPreview } from '../../../core/models/article-entry.model';
 import { ArticleEntryDialogComponent } from '../article-entry-dialog/article-entry-dialog.component';
 import { ArticleDetailsDialogComponent } from '../article-details-dialog/article-details-dialog.component';
 
@@ -58,7 +58,8 @@ export class RhenanenrufGlossarComponent implements OnInit {
 
   currentUser = this.authService.getCurrentUser();
 
-  articles = signal<ArticleEntry[]>([]);
+  // Search results are summaries without text; the dialogs load the full article
+  articles = signal<(ArticleEntry | ArticleSummary)[]>([]);
   categories = signal<string[]>([]);
   years = signal<number[]>([]);
 
@@ -187,11 +188,11 @@ export class RhenanenrufGlossarComponent implements OnInit {
     this.loadArticles();
   }
 
-  getFormattedIssue(article: ArticleEntry): string {
+  getFormattedIssue(article: ArticleEntry | ArticleSummary): string {
     return getFormattedIssue(article);
   }
 
-  getTextPreview(article: ArticleEntry): string {
+  getTextPreview(article: ArticleEntry | ArticleSummary): string {
     return getTextPreview(article);
   }
 
@@ -228,7 +229,18 @@ export class RhenanenrufGlossarComponent implements OnInit {
     });
   }
 
-  openEditDialog(article: ArticleEntry): void {
+  openEditDialog(article: ArticleEntry | ArticleSummary): void {
+    // List items carry no text; editing one without it would clear the stored text
+    this.articleService.getArticleById(article.id).subscribe({
+      next: (fullArticle) => this.openLoadedEditDialog(fullArticle),
+      error: (error) => {
+        console.error('Error loading article:', error);
+        this.snackBar.open('Fehler beim Laden des Artikels', 'OK', { duration: 3000 });
+      }
+    });
+  }
+
+  private openLoadedEditDialog(article: ArticleEntry): void {
     const dialogRef = this.dialog.open(ArticleEntryDialogComponent, {
       width: '600px',
       data: {
@@ -254,7 +266,7 @@ export class RhenanenrufGlossarComponent implements OnInit {
     });
   }
 
-  deleteArticle(article: ArticleEntry): void {
+  deleteArticle(article: ArticleEntry | ArticleSummary): void {
     if (confirm(`Möchten Sie den Artikel "${article.title}" wirklich löschen?`)) {
       this.articleService.deleteArticle(article.id).subscribe({
         next: () => {
@@ -269,11 +281,19 @@ export class RhenanenrufGlossarComponent implements OnInit {
     }
   }
 
-  openDetailsDialog(article: ArticleEntry): void {
-    this.dialog.open(ArticleDetailsDialogComponent, {
-      width: '800px',
-      maxWidth: '90vw',
-      data: article
+  openDetailsDialog(article: ArticleEntry | ArticleSummary): void {
+    this.articleService.getArticleById(article.id).subscribe({
+      next: (fullArticle) => {
+        this.dialog.open(ArticleDetailsDialogComponent, {
+          width: '800px',
+          maxWidth: '90vw',
+          data: fullArticle
+        });
+      },
+      error: (error) => {
+        console.error('Error loading article:', error);
+        this.snackBar.open('Fehler beim Laden des Artikels', 'OK', { duration: 3000 });
+      }
     });
   }
 